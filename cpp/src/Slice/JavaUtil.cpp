@@ -399,6 +399,11 @@ private:
                             result.push_back(s);
                             continue;
                         }
+                        else if(rest == "immutable")
+                        {
+                            result.push_back(s);
+                            continue;
+                        }
                         else if(rest == "optional")
                         {
                             result.push_back(s);
@@ -114,6 +114,117 @@ bool isValue(const TypePtr& type)
 }
 
 
+bool isImmutable(const TypePtr& type)
+{
+    BuiltinPtr b = BuiltinPtr::dynamicCast(type);
+    if(b)
+    {
+        return b->kind() <= Builtin::KindString;
+    }
+    return EnumPtr::dynamicCast(type);
+}
+
+//
+// Returns true if the type is or contains a proxy. Proxies are immutable
+// but marshaling them drops their context and rejects fixed proxies, so
+// they can't be passed as is to the servant.
+//
+bool containsProxies(const TypePtr& type, set<string>& visited)
+{
+    BuiltinPtr b = BuiltinPtr::dynamicCast(type);
+    if(b)
+    {
+        return b->kind() == Builtin::KindObjectProxy;
+    }
+    if(ProxyPtr::dynamicCast(type))
+    {
+        return true;
+    }
+
+    ContainedPtr contained = ContainedPtr::dynamicCast(type);
+    if(contained && !visited.insert(contained->scoped()).second)
+    {
+        return false; // Already checked or being checked.
+    }
+
+    SequencePtr seq = SequencePtr::dynamicCast(type);
+    if(seq)
+    {
+        return containsProxies(seq->type(), visited);
+    }
+    DictionaryPtr dict = DictionaryPtr::dynamicCast(type);
+    if(dict)
+    {
+        return containsProxies(dict->keyType(), visited) || containsProxies(dict->valueType(), visited);
+    }
+    StructPtr st = StructPtr::dynamicCast(type);
+    if(st)
+    {
+        const DataMemberList members = st->dataMembers();
+        for(DataMemberList::const_iterator p = members.begin(); p != members.end(); ++p)
+        {
+            if(containsProxies((*p)->type(), visited))
+            {
+                return true;
+            }
+        }
+    }
+    return false;
+}
+
+//
+// Returns true if the parameters and results of a collocated invocation of
+// the operation can be passed as is to the servant (Ice.CollocationDirect):
+// they are immutable or the operation or its interface has the
+// java:immutable metadata. Operations which transfer class instances or
+// proxies or have optional in parameters always marshal their parameters.
+//
+bool supportsDirectInvocation(const OperationPtr& op)
+{
+    if(op->sendsClasses(false) || op->returnsClasses(false) || op->sendsOptionals())
+    {
+        return false;
+    }
+
+    const ParamDeclList params = op->parameters();
+    if(params.empty() && !op->returnType())
+    {
+        return false; // Nothing to pass.
+    }
+
+    set<string> visited;
+    if(op->returnType() && containsProxies(op->returnType(), visited))
+    {
+        return false;
+    }
+    for(ParamDeclList::const_iterator p = params.begin(); p != params.end(); ++p)
+    {
+        if(containsProxies((*p)->type(), visited))
+        {
+            return false;
+        }
+    }
+
+    const ClassDefPtr cl = ClassDefPtr::dynamicCast(op->container());
+    if(op->hasMetaData("java:immutable") || (cl && cl->hasMetaData("java:immutable")))
+    {
+        return true;
+    }
+
+    if(op->returnType() && !isImmutable(op->returnType()))
+    {
+        return false;
+    }
+    for(ParamDeclList::const_iterator p = params.begin(); p != params.end(); ++p)
+    {
+        if(!isImmutable((*p)->type()))
+        {
+            return false;
+        }
+    }
+    return true;
+}
+
 // Returns java.util.OptionalXXX.ofYYY depending on the type
 string ofFactory(const TypePtr& type)
 {
@@ -1231,7 +1342,43 @@ Slice::JavaVisitor::writeDispatch(Output& out, const ClassDefPtr& p)
 
         out << nl << "com.zeroc.Ice.Object._iceCheckMode(" << sliceModeToIceMode(op->mode()) << ", current.mode);";
 
-        if(!inParams.empty())
+        const bool direct = supportsDirectInvocation(op);
+
+        if(direct && !inParams.empty())
+        {
+            //
+            // Declare 'in' parameters.
+            //
+            for(ParamDeclList::const_iterator pli = inParams.begin(); pli != inParams.end(); ++pli)
+            {
+                const string typeS = typeToString((*pli)->type(), TypeModeIn, package, (*pli)->getMetaData(), true);
+                out << nl << typeS << " iceP_" << (*pli)->name() << ';';
+            }
+
+            //
+            // Obtain the 'in' parameters from a direct collocated invocation or unmarshal them.
+            //
+            out << nl << "if(inS.readDirectParams())";
+            out << sb;
+            int index = 0;
+            for(ParamDeclList::const_iterator pli = inParams.begin(); pli != inParams.end(); ++pli)
+            {
+                out << nl << "iceP_" << (*pli)->name() << " = inS.getDirectParam(" << index++ << ");";
+            }
+            out << eb;
+            out << nl << "else";
+            out << sb;
+            out << nl << "com.zeroc.Ice.InputStream istr = inS.startReadParams();";
+            int iter = 0;
+            for(ParamDeclList::const_iterator pli = inParams.begin(); pli != inParams.end(); ++pli)
+            {
+                writeMarshalUnmarshalCode(out, package, (*pli)->type(), OptionalNone, false, 0, "iceP_" + (*pli)->name(),
+                                          false, iter, "", (*pli)->getMetaData());
+            }
+            out << nl << "inS.endReadParams();";
+            out << eb;
+        }
+        else if(!inParams.empty())
         {
             ParamDeclList values;
 
@@ -1343,6 +1490,13 @@ Slice::JavaVisitor::writeDispatch(Output& out, const ClassDefPtr& p)
             }
             else if(ret || !outParams.empty())
             {
+                if(direct)
+                {
+                    out << nl << "if(inS.isDirect())";
+                    out << sb;
+                    out << nl << "return inS.setDirectResult(ret);";
+                    out << eb;
+                }
                 out << nl << "com.zeroc.Ice.OutputStream ostr = inS.startWriteParams();";
                 writeMarshalServantResults(out, package, op, "ret");
                 out << nl << "inS.endWriteParams(ostr);";
@@ -5170,6 +5324,28 @@ Slice::Gen::ProxyVisitor::visitOperation(const OperationPtr& p)
     out.useCurrentPosAsIndent();
     out << (p->returnsData() ? "true" : "false") << ", context, " << opFormatTypeToString(p)
         << ", ";
+    if(supportsDirectInvocation(p))
+    {
+        const ParamDeclList inParams = p->inParameters();
+        if(inParams.empty())
+        {
+            out << "com.zeroc.IceInternal.OutgoingAsync.NoDirectParams";
+        }
+        else
+        {
+            out << "new java.lang.Object[] { ";
+            for(ParamDeclList::const_iterator q = inParams.begin(); q != inParams.end(); ++q)
+            {
+                if(q != inParams.begin())
+                {
+                    out << ", ";
+                }
+                out << "iceP_" << (*q)->name();
+            }
+            out << " }";
+        }
+        out << ", ";
+    }
     if(!p->inParameters().empty())
     {
         out << "ostr -> {";
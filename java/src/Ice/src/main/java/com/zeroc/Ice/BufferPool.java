@@ -0,0 +1,67 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.Ice;
+
+/**
+ * A pool of byte buffers used by the Ice run time for the memory of its
+ * marshaling streams. Applications can install their own pool with
+ * {@link InitializationData#bufferPool}; otherwise the communicator creates
+ * one when <code>Ice.BufferPool.SizeMax</code> is set.
+ * <p>
+ * The pool is disabled when the communicator uses background IO, that is
+ * when <code>Ice.ThreadInterruptSafe</code> is set or on Android.
+ * <p>
+ * The methods of a pool are called concurrently by the threads of the Ice
+ * run time and must be thread-safe.
+ *
+ * @see Util#getBufferPool
+ **/
+public interface BufferPool
+{
+    /**
+     * Returns a buffer with a capacity of at least the given size. The buffer
+     * position is 0 and its limit is its capacity.
+     *
+     * @param size The minimum capacity of the buffer.
+     * @param direct True if a direct buffer is required, false otherwise.
+     * @return The buffer.
+     **/
+    java.nio.ByteBuffer allocate(int size, boolean direct);
+
+    /**
+     * Gives back a buffer obtained from {@link #allocate}. The caller must
+     * not use the buffer anymore and must release it only once. The buffer
+     * can be released from a thread other than the one that allocated it.
+     *
+     * @param buf The buffer.
+     **/
+    void release(java.nio.ByteBuffer buf);
+
+    /**
+     * Returns the number of allocations satisfied with a pooled buffer.
+     *
+     * @return The number of hits.
+     **/
+    long hits();
+
+    /**
+     * Returns the number of allocations which required a new buffer.
+     *
+     * @return The number of misses.
+     **/
+    long misses();
+
+    /**
+     * Returns the number of bytes currently held by the pool.
+     *
+     * @return The number of retained bytes.
+     **/
+    long retained();
+}
@@ -440,6 +440,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             // Add to the async requests map.
             //
             _asyncRequests.put(requestId, out);
+            updateOutstandingRequests();
         }
         return status;
     }
@@ -655,6 +656,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 if(o.requestId > 0)
                 {
                     _asyncRequests.remove(o.requestId);
+                    updateOutstandingRequests();
                 }
 
                 if(ex instanceof ConnectionTimeoutException)
@@ -1496,7 +1498,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 // retriable AMI calls which are not marshalled again.
                 //
                 OutgoingMessage message = _sendStreams.getFirst();
-                _writeStream.swap(message.stream);
+                message.swapOut(_writeStream);
             }
 
             for(OutgoingMessage p : _sendStreams)
@@ -1518,6 +1520,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             }
         }
         _asyncRequests.clear();
+        updateOutstandingRequests();
 
         //
         // Don't wait to be reaped to reclaim memory allocated by read/write streams.
@@ -1558,6 +1561,16 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         }
     }
 
+    //
+    // Returns the number of requests that are either queued for sending
+    // or awaiting a reply. This is read without locking by the connection
+    // pool request handler to pick the least loaded connection.
+    //
+    public int outstandingRequests()
+    {
+        return _outstandingRequests;
+    }
+
     @Override
     public String toString()
     {
@@ -1651,9 +1664,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         _connector = connector;
         _endpoint = endpoint;
         _adapter = adapter;
+        _gatheringTransceiver = transceiver instanceof com.zeroc.IceInternal.GatheringTransceiver ?
+            (com.zeroc.IceInternal.GatheringTransceiver)transceiver : null;
         final InitializationData initData = instance.initializationData();
-        // Cached for better performance.
-        _dispatcher = initData.dispatcher != null;
         _logger = initData.logger; // Cached for better performance.
         _traceLevels = instance.traceLevels(); // Cached for better performance.
         _timer = instance.timer();
@@ -1693,6 +1706,12 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             compressionLevel = 9;
         }
         _compressionLevel = compressionLevel;
+        _compressionCodecManager = instance.compressionCodecManager();
+
+        //
+        // bzip2 is used until the peer reports support for another codec.
+        //
+        _compressionCodec = _compressionCodecManager.get((byte)2);
 
         if(adapter != null)
         {
@@ -1713,6 +1732,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             {
                 _threadPool = _instance.clientThreadPool();
             }
+            _dispatcher = _threadPool.hasDispatcher(); // Cached for better performance.
             _threadPool.initialize(this);
         }
         catch(LocalException ex)
@@ -1754,6 +1774,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private static final int StateClosed = 6;
     private static final int StateFinished = 7;
 
+    private static final int GatherMax = 64; // Maximum number of messages sent with a gathering write.
+
     private void setState(int state, LocalException ex)
     {
         //
@@ -2136,9 +2158,14 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     Protocol.currentProtocol.ice_writeMembers(_writeStream);
                     Protocol.currentProtocolEncoding.ice_writeMembers(_writeStream);
                     _writeStream.writeByte(Protocol.validateConnectionMsg);
-                    _writeStream.writeByte((byte) 0); // Compression status
-                                                      // (always zero for
-                                                      // validate connection).
+
+                    //
+                    // The compression status of the validate connection message is
+                    // ignored by peers which only support bzip2. We use it to advertise
+                    // the preferred compression codec if it's not bzip2.
+                    //
+                    com.zeroc.IceInternal.CompressionCodec codec = _instance.compressionCodec();
+                    _writeStream.writeByte(codec.id() != (byte)2 ? codec.id() : (byte)0); // Compression status
                     _writeStream.writeInt(Protocol.headerSize); // Message size.
                     TraceUtil.traceSend(_writeStream, _logger, _traceLevels);
                     _writeStream.prepareWrite();
@@ -2217,8 +2244,19 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 {
                     throw new ConnectionNotValidatedException();
                 }
-                _readStream.readByte(); // Ignore compression status for
-                                        // validate connection.
+                //
+                // The compression status of the validate connection message is
+                // the compression codec preferred by the server, if any.
+                //
+                byte compress = _readStream.readByte();
+                if(compress > (byte)2)
+                {
+                    com.zeroc.IceInternal.CompressionCodec codec = _compressionCodecManager.get(compress);
+                    if(codec != null && codec.supported())
+                    {
+                        _compressionCodec = codec;
+                    }
+                }
                 int size = _readStream.readInt();
                 if(size != Protocol.headerSize)
                 {
@@ -2273,25 +2311,34 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         {
             // Message wasn't sent, empty the _writeStream, we're not going to send more data.
             OutgoingMessage message = _sendStreams.getFirst();
-            _writeStream.swap(message.stream);
+            message.swapOut(_writeStream);
             return SocketOperation.None;
         }
 
         assert (!_writeStream.isEmpty() && _writeStream.pos() == _writeStream.size());
+        int sentMessages = 0;
         try
         {
+            boolean blocked = false; // True if a gathering write couldn't send all the queued messages.
             while(true)
             {
                 //
                 // Notify the message that it was sent.
                 //
                 OutgoingMessage message = _sendStreams.getFirst();
-                _writeStream.swap(message.stream);
+                message.swapOut(_writeStream);
                 if(message.sent())
                 {
                     callbacks.add(message);
                 }
                 _sendStreams.removeFirst();
+                updateOutstandingRequests();
+                message.release();
+                ++sentMessages;
+                if(_observer != null)
+                {
+                    observerMessageWritten(message);
+                }
 
                 //
                 // If there's nothing left to send, we're done.
@@ -2314,20 +2361,20 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 }
 
                 //
-                // Otherwise, prepare the next message stream for writing.
+                // Otherwise, prepare the next message stream for writing. It
+                // might already be prepared (and even sent) if it was part of
+                // a gathering write.
                 //
                 message = _sendStreams.getFirst();
-                assert (!message.prepared);
-                OutputStream stream = message.stream;
-
-                message.stream = doCompress(stream, message.compress);
-                message.stream.prepareWrite();
-                message.prepared = true;
-                TraceUtil.traceSend(stream, _logger, _traceLevels);
-                _writeStream.swap(message.stream);
+                if(!message.prepared)
+                {
+                    prepareMessage(message);
+                }
+                message.swapIn(_writeStream);
 
                 //
-                // Send the message.
+                // Send the message. If other messages are queued and the
+                // transceiver supports it, they are sent with the same write.
                 //
                 if(_observer != null)
                 {
@@ -2335,10 +2382,26 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 }
                 if(_writeStream.pos() != _writeStream.size())
                 {
-                    int op = write(_writeStream.getBuffer());
-                    if(op != 0)
+                    if(blocked)
+                    {
+                        return SocketOperation.Write;
+                    }
+
+                    if(_gatheringTransceiver != null && _sendStreams.size() > 1)
+                    {
+                        blocked = writeQueuedMessages() != 0;
+                        if(_writeStream.pos() != _writeStream.size())
+                        {
+                            return SocketOperation.Write;
+                        }
+                    }
+                    else
                     {
-                        return op;
+                        int op = write(_writeStream.getBuffer());
+                        if(op != 0)
+                        {
+                            return op;
+                        }
                     }
                 }
                 if(_observer != null)
@@ -2365,17 +2428,112 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         {
             setState(StateClosed, ex);
         }
+        finally
+        {
+            if(_observer != null)
+            {
+                observerSentMessages(sentMessages);
+            }
+        }
         return SocketOperation.None;
     }
 
+    //
+    // Send the message being written and the messages queued after it with
+    // a single gathering write. The queued messages are prepared for writing
+    // but stay queued, they are notified by sendNextMessage() once they become
+    // the message being written.
+    //
+    private int writeQueuedMessages()
+    {
+        if(_gatherBuffers == null)
+        {
+            _gatherBuffers = new java.nio.ByteBuffer[GatherMax];
+        }
+
+        int count = 0;
+        _gatherBuffers[count++] = _writeStream.getBuffer().b;
+        java.util.Iterator<OutgoingMessage> p = _sendStreams.iterator();
+        p.next(); // Skip the message being written, its stream is _writeStream.
+        while(p.hasNext() && count < GatherMax)
+        {
+            OutgoingMessage message = p.next();
+            if(!message.prepared)
+            {
+                prepareMessage(message);
+            }
+            _gatherBuffers[count++] = message.stream.getBuffer().b;
+        }
+
+        int start = _gatherBuffers[0].position();
+        int op;
+        try
+        {
+            op = _gatheringTransceiver.write(_gatherBuffers, 0, count);
+        }
+        finally
+        {
+            ++_writes;
+        }
+
+        //
+        // The queued messages weren't written before, their position is the
+        // number of bytes sent. The bytes sent for the message being written
+        // are reported by observerFinishWrite().
+        //
+        long sent = _gatherBuffers[0].position() - start;
+        for(int i = 1; i < count; ++i)
+        {
+            int n = _gatherBuffers[i].position();
+            if(_observer != null && n > 0)
+            {
+                _observer.sentBytes(n);
+            }
+            sent += n;
+            _gatherBuffers[i] = null;
+        }
+        _gatherBuffers[0] = null;
+
+        if(_instance.traceLevels().network >= 3 && sent > 0)
+        {
+            StringBuffer s = new StringBuffer("sent ");
+            s.append(sent);
+            s.append(" bytes of ");
+            s.append(count);
+            s.append(" messages via ");
+            s.append(_endpoint.protocol());
+            s.append("\n");
+            s.append(toString());
+            _instance.initializationData().logger.trace(_instance.traceLevels().networkCat, s.toString());
+        }
+        return op;
+    }
+
+    private void prepareMessage(OutgoingMessage message)
+    {
+        assert (!message.prepared);
+        OutputStream stream = message.stream;
+
+        message.stream = doCompress(stream, message.compress);
+        message.stream.prepareWrite();
+        message.prepared = true;
+        TraceUtil.traceSend(stream, _logger, _traceLevels);
+    }
+
     private int sendMessage(OutgoingMessage message)
     {
         assert (_state < StateClosed);
 
+        if(_observer != null)
+        {
+            message.sendTime = System.nanoTime();
+        }
+
         if(!_sendStreams.isEmpty())
         {
             message.adopt();
             _sendStreams.addLast(message);
+            updateOutstandingRequests();
             return AsyncStatus.Queued;
         }
 
@@ -2383,16 +2541,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         // Attempt to send the message without blocking. If the send blocks, we
         // register the connection with the selector thread.
         //
-
-        assert (!message.prepared);
-
-        OutputStream stream = message.stream;
-
-        message.stream = doCompress(stream, message.compress);
-        message.stream.prepareWrite();
-        message.prepared = true;
+        prepareMessage(message);
         int op;
-        TraceUtil.traceSend(stream, _logger, _traceLevels);
 
         //
         // Send the message without blocking.
@@ -2415,6 +2565,12 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 status |= AsyncStatus.InvokeSentCallback;
             }
 
+            if(_observer != null)
+            {
+                observerSentMessages(1);
+                observerMessageWritten(message);
+            }
+
             if(_acmLastActivity > 0)
             {
                 _acmLastActivity = Time.currentMonotonicTimeMillis();
@@ -2422,10 +2578,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             return status;
         }
 
-        message.adopt();
-
-        _writeStream.swap(message.stream);
+        message.swapIn(_writeStream);
         _sendStreams.addLast(message);
+        updateOutstandingRequests();
         scheduleTimeout(op);
         _threadPool.register(this, op);
         return AsyncStatus.Queued;
@@ -2440,7 +2595,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             // Don't check whether compression support is available unless the
             // proxy is configured for compression.
             //
-            compressionSupported = com.zeroc.IceInternal.BZip2.supported();
+            compressionSupported = _compressionCodec.supported();
         }
 
         if(compressionSupported && uncompressed.size() >= 100)
@@ -2448,8 +2603,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
             //
             // Do compression.
             //
-            Buffer cbuf = com.zeroc.IceInternal.BZip2.compress(uncompressed.getBuffer(),
-                                                               Protocol.headerSize, _compressionLevel);
+            Buffer cbuf = _compressionCodec.compress(uncompressed.getBuffer(), Protocol.headerSize, _compressionLevel);
             if(cbuf != null)
             {
                 OutputStream cstream =
@@ -2459,7 +2613,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 // Set compression status.
                 //
                 cstream.pos(9);
-                cstream.writeByte((byte) 2);
+                cstream.writeByte(_compressionCodec.id());
 
                 //
                 // Write the size of the compressed stream into the header.
@@ -2473,15 +2627,31 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 // this to trace requests correctly.
                 //
                 uncompressed.pos(9);
-                uncompressed.writeByte((byte) 2);
+                uncompressed.writeByte(_compressionCodec.id());
                 uncompressed.writeInt(cstream.size());
 
                 return cstream;
             }
         }
 
+        //
+        // If the message isn't compressed with a codec other than bzip2, we set the
+        // high bit of the codec id to report that the response should be compressed
+        // with the same codec.
+        //
         uncompressed.pos(9);
-        uncompressed.writeByte((byte) (compressionSupported ? 1 : 0));
+        if(!compressionSupported)
+        {
+            uncompressed.writeByte((byte) 0);
+        }
+        else if(_compressionCodec.id() == (byte)2)
+        {
+            uncompressed.writeByte((byte) 1);
+        }
+        else
+        {
+            uncompressed.writeByte((byte) (_compressionCodec.id() | 0x80));
+        }
 
         //
         // Not compressed, fill in the message size.
@@ -2555,6 +2725,38 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     throw ex;
                 }
             }
+            else if(info.compress > (byte)2)
+            {
+                com.zeroc.IceInternal.CompressionCodec codec = _compressionCodecManager.get(info.compress);
+                if(codec == null || !codec.supported())
+                {
+                    FeatureNotSupportedException ex = new FeatureNotSupportedException();
+                    ex.unsupportedFeature = "Cannot uncompress compressed message: compression codec "
+                                            + info.compress + " is not available";
+                    throw ex;
+                }
+                Buffer ubuf = codec.uncompress(info.stream.getBuffer(), Protocol.headerSize, _messageSizeMax);
+                info.stream = new InputStream(info.stream.instance(), info.stream.getEncoding(), ubuf, true);
+
+                //
+                // The peer supports this codec, use it for the responses and batch requests
+                // compressed by this connection.
+                //
+                _compressionCodec = codec;
+            }
+            else if(info.compress < 0)
+            {
+                //
+                // The message isn't compressed but the peer reports support for the
+                // given codec.
+                //
+                com.zeroc.IceInternal.CompressionCodec codec =
+                    _compressionCodecManager.get((byte)(info.compress & 0x7f));
+                if(codec != null && codec.supported())
+                {
+                    _compressionCodec = codec;
+                }
+            }
             info.stream.pos(Protocol.headerSize);
 
             switch(messageType)
@@ -2634,6 +2836,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                     info.requestId = info.stream.readInt();
 
                     OutgoingAsyncBase outAsync = _asyncRequests.remove(info.requestId);
+                    updateOutstandingRequests();
                     if(outAsync != null && outAsync.completed(info.stream))
                     {
                         info.outAsync = outAsync;
@@ -2918,6 +3121,33 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         _writeStreamPos = buf.empty() ? -1 : buf.b.position();
     }
 
+    private void observerSentMessages(int messages)
+    {
+        //
+        // Report the number of messages sent and the writes performed to
+        // send them. The writes of messages still being sent are reported
+        // with these messages.
+        //
+        if(messages > 0 && _observer instanceof com.zeroc.IceInternal.ConnectionObserverI)
+        {
+            ((com.zeroc.IceInternal.ConnectionObserverI)_observer).sentMessages(messages, _writes);
+            _writes = 0;
+        }
+    }
+
+    private void observerMessageWritten(OutgoingMessage message)
+    {
+        //
+        // Report the time taken to write the message, from the call to
+        // sendMessage() until the message is fully written.
+        //
+        if(message.sendTime != 0 && _observer instanceof com.zeroc.IceInternal.ConnectionObserverI)
+        {
+            ((com.zeroc.IceInternal.ConnectionObserverI)_observer).messageWritten(
+                (System.nanoTime() - message.sendTime) / 1000);
+        }
+    }
+
     private void observerFinishWrite(Buffer buf)
     {
         if(_writeStreamPos == -1)
@@ -2985,6 +3215,11 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         }
     }
 
+    private void updateOutstandingRequests()
+    {
+        _outstandingRequests = _asyncRequests.size() + _sendStreams.size();
+    }
+
     private int read(Buffer buf)
     {
         int start = buf.b.position();
@@ -3015,6 +3250,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private int write(Buffer buf)
     {
         int start = buf.b.position();
+        ++_writes;
         int op = _transceiver.write(buf);
         if(_instance.traceLevels().network >= 3 && buf.b.position() != start)
         {
@@ -3067,6 +3303,53 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
                 stream.swap(this.stream);
                 this.stream = stream;
                 adopt = false;
+                adopted = true;
+            }
+        }
+
+        //
+        // Swap the prepared message stream with the write stream to send the
+        // message. If the message stream must be adopted, its buffer is
+        // transferred to the write stream rather than to a new stream: the
+        // message is sent without being queued, the write stream is the only
+        // stream referencing the buffer until the message is sent.
+        //
+        public void swapIn(OutputStream writeStream)
+        {
+            writeStream.swap(stream);
+            if(adopt)
+            {
+                stream = null;
+                adopt = false;
+                adopted = true;
+            }
+        }
+
+        //
+        // Swap the message stream back once the message is sent or when it
+        // won't be sent.
+        //
+        public void swapOut(OutputStream writeStream)
+        {
+            if(stream != null)
+            {
+                writeStream.swap(stream);
+            }
+            else
+            {
+                writeStream.getBuffer().clear(); // The buffer was transferred with swapIn().
+            }
+        }
+
+        public void release()
+        {
+            //
+            // Once sent, the memory of an adopted stream is no longer referenced and
+            // can be returned to the buffer pool.
+            //
+            if(adopted && stream != null)
+            {
+                stream.getBuffer().clear();
             }
         }
 
@@ -3092,7 +3375,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
         public boolean compress;
         public int requestId;
         boolean adopt;
+        boolean adopted;
         boolean prepared;
+        long sendTime; // Set by sendMessage() if the connection has an observer.
     }
 
     private Communicator _communicator;
@@ -3108,6 +3393,9 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private com.zeroc.IceInternal.ServantManager _servantManager;
 
     private final boolean _dispatcher;
+    private final com.zeroc.IceInternal.GatheringTransceiver _gatheringTransceiver; // Null if not supported.
+    private java.nio.ByteBuffer[] _gatherBuffers;
+    private int _writes; // Transport writes since the last report to the observer.
     private final Logger _logger;
     private final com.zeroc.IceInternal.TraceLevels _traceLevels;
     private final com.zeroc.IceInternal.ThreadPool _threadPool;
@@ -3126,6 +3414,8 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private long _acmLastActivity;
 
     private final int _compressionLevel;
+    private final com.zeroc.IceInternal.CompressionCodecManager _compressionCodecManager;
+    private com.zeroc.IceInternal.CompressionCodec _compressionCodec;
 
     private int _nextRequestId;
 
@@ -3137,6 +3427,7 @@ public final class ConnectionI extends com.zeroc.IceInternal.EventHandler
     private com.zeroc.IceInternal.BatchRequestQueue _batchRequestQueue;
 
     private java.util.LinkedList<OutgoingMessage> _sendStreams = new java.util.LinkedList<>();
+    private volatile int _outstandingRequests; // _asyncRequests.size() + _sendStreams.size()
 
     private InputStream _readStream;
     private boolean _readHeader;
@@ -94,6 +94,26 @@ public final class InitializationData implements Cloneable
       **/
     public java.util.function.BiConsumer<Runnable, Connection> dispatcher;
 
+    /**
+     * The executor used by the thread pools configured with the
+     * <code>VirtualThreads</code> property. Such thread pools hand each
+     * dispatch to a new virtual thread, or to this executor if it's set.
+     * <p>
+     * If a dispatcher is also installed, the dispatcher is called from
+     * the executor thread.
+     **/
+    public java.util.concurrent.Executor executor;
+
+    /**
+     * The buffer pool used for the memory of the communicator's marshaling
+     * streams. If not set, a pool is created when
+     * <code>Ice.BufferPool.SizeMax</code> is set.
+     * <p>
+     * The pool is ignored, with a warning, when the communicator uses
+     * background IO (<code>Ice.ThreadInterruptSafe</code> or Android).
+     **/
+    public BufferPool bufferPool;
+
     /**
      * Applications that make use of compact type IDs to conserve space
      * when marshaling class instances, and also use the streaming API to
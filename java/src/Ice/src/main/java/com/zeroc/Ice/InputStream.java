@@ -80,7 +80,7 @@ public class InputStream
     {
         Instance instance = com.zeroc.IceInternal.Util.getInstance(communicator);
         initialize(instance, instance.defaultsAndOverrides().defaultEncoding);
-        _buf = new Buffer(instance.cacheMessageBuffers() > 1);
+        _buf = new Buffer(instance.cacheMessageBuffers() > 1, instance.bufferPool());
     }
 
     /**
@@ -174,7 +174,7 @@ public class InputStream
     {
         Instance instance = com.zeroc.IceInternal.Util.getInstance(communicator);
         initialize(instance, encoding);
-        _buf = new Buffer(instance.cacheMessageBuffers() > 1);
+        _buf = new Buffer(instance.cacheMessageBuffers() > 1, instance.bufferPool());
     }
 
     /**
@@ -222,7 +222,7 @@ public class InputStream
     public InputStream(Instance instance, EncodingVersion encoding, boolean direct)
     {
         initialize(instance, encoding);
-        _buf = new Buffer(direct);
+        _buf = new Buffer(direct, instance.bufferPool());
     }
 
     public InputStream(Instance instance, EncodingVersion encoding, byte[] data)
@@ -1030,6 +1030,7 @@ public class InputStream
         {
             final int sz = readAndCheckSeqSize(1);
             java.nio.ByteBuffer v = _buf.b.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz);
             return v.asReadOnlyBuffer();
@@ -1265,6 +1266,7 @@ public class InputStream
             final int sz = readAndCheckSeqSize(2);
             java.nio.ShortBuffer shortBuf = _buf.b.asShortBuffer();
             java.nio.ShortBuffer v = shortBuf.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz * 2);
             return v.asReadOnlyBuffer();
@@ -1363,6 +1365,7 @@ public class InputStream
             final int sz = readAndCheckSeqSize(4);
             java.nio.IntBuffer intBuf = _buf.b.asIntBuffer();
             java.nio.IntBuffer v = intBuf.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz * 4);
             return v.asReadOnlyBuffer();
@@ -1461,6 +1464,7 @@ public class InputStream
             final int sz = readAndCheckSeqSize(8);
             java.nio.LongBuffer longBuf = _buf.b.asLongBuffer();
             java.nio.LongBuffer v = longBuf.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz * 8);
             return v.asReadOnlyBuffer();
@@ -1559,6 +1563,7 @@ public class InputStream
             final int sz = readAndCheckSeqSize(4);
             java.nio.FloatBuffer floatBuf = _buf.b.asFloatBuffer();
             java.nio.FloatBuffer v = floatBuf.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz * 4);
             return v.asReadOnlyBuffer();
@@ -1657,6 +1662,7 @@ public class InputStream
             final int sz = readAndCheckSeqSize(8);
             java.nio.DoubleBuffer doubleBuf = _buf.b.asDoubleBuffer();
             java.nio.DoubleBuffer v = doubleBuf.slice();
+            _buf.retain(); // The slice references the buffer memory.
             v.limit(sz);
             _buf.b.position(_buf.b.position() + sz * 8);
             return v.asReadOnlyBuffer();
@@ -1667,9 +1673,6 @@ public class InputStream
         }
     }
 
-    final static java.nio.charset.Charset _utf8 = java.nio.charset.Charset.forName("UTF8");
-    private java.nio.charset.CharsetEncoder _charEncoder = null;
-
     /**
      * Extracts a string from the stream.
      *
@@ -1693,63 +1696,153 @@ public class InputStream
                 throw new UnmarshalOutOfBoundsException();
             }
 
-            try
+            final java.nio.ByteBuffer b = _buf.b;
+            final int start = b.position();
+            final int end = start + len;
+
+            if(b.hasArray())
             {
                 //
-                // We reuse the _stringBytes array to avoid creating
-                // excessive garbage.
+                // A 7-bit string is decoded directly from the backing array of
+                // heap buffers, the ISO-8859-1 decoding is a plain copy.
                 //
-                if(_stringBytes == null || len > _stringBytes.length)
+                final byte[] arr = b.array();
+                final int off = b.arrayOffset() + start;
+                int i = 0;
+                while(i < len && arr[off + i] >= 0)
                 {
-                    _stringBytes = new byte[len];
+                    ++i;
                 }
-                if(_stringChars == null || len > _stringChars.length)
+                if(i == len)
                 {
-                    _stringChars = new char[len];
+                    String s = new String(arr, off, len, java.nio.charset.StandardCharsets.ISO_8859_1);
+                    b.position(end);
+                    return s;
                 }
-                _buf.b.get(_stringBytes, 0, len);
+            }
 
-                //
-                // It's more efficient to construct a string using a
-                // character array instead of a byte array, because
-                // byte arrays require conversion.
-                //
-                for(int i = 0; i < len; i++)
+            //
+            // We decode the UTF-8 bytes into the _stringChars array, which we
+            // reuse to avoid creating excessive garbage. A UTF-8 string never
+            // has more characters than bytes.
+            //
+            if(_stringChars == null || len > _stringChars.length)
+            {
+                _stringChars = new char[len];
+            }
+            final char[] chars = _stringChars;
+
+            int i = start;
+            int n = 0;
+            while(i < end)
+            {
+                final byte c = b.get(i);
+                if(c < 0)
                 {
-                    if(_stringBytes[i] < 0)
-                    {
-                        //
-                        // Multi-byte character found - we must use
-                        // conversion.
-                        //
-                        // TODO: If the string contains garbage bytes
-                        // that won't correctly decode as UTF, the
-                        // behavior of this constructor is
-                        // undefined. It would be better to explicitly
-                        // decode using
-                        // java.nio.charset.CharsetDecoder and to
-                        // throw MarshalException if the string won't
-                        // decode.
-                        //
-                        return new String(_stringBytes, 0, len, "UTF8");
-                    }
-                    else
-                    {
-                        _stringChars[i] = (char)_stringBytes[i];
-                    }
+                    break;
                 }
-                return new String(_stringChars, 0, len);
+                chars[n++] = (char)c;
+                ++i;
             }
-            catch(java.io.UnsupportedEncodingException ex)
+            if(i < end)
             {
-                assert(false);
-                return "";
+                n = decodeUTF8(b, i, end, chars, n);
             }
-            catch(java.nio.BufferUnderflowException ex)
+            b.position(end);
+            return new String(chars, 0, n);
+        }
+    }
+
+    //
+    // Decodes the multi-byte UTF-8 sequences in b between pos and end. Raises
+    // MarshalException if the bytes aren't valid UTF-8.
+    //
+    private static int decodeUTF8(java.nio.ByteBuffer b, int pos, int end, char[] chars, int n)
+    {
+        while(pos < end)
+        {
+            final int c = b.get(pos++) & 0xff;
+            if(c < 0x80)
             {
-                throw new UnmarshalOutOfBoundsException();
+                chars[n++] = (char)c;
+                continue;
+            }
+
+            //
+            // Get the number of continuation bytes and the valid range of the
+            // first continuation byte, which excludes overlong encodings,
+            // surrogates and code points above U+10FFFF.
+            //
+            int count;
+            int cp;
+            int lower = 0x80;
+            int upper = 0xbf;
+            if(c >= 0xc2 && c <= 0xdf)
+            {
+                count = 1;
+                cp = c & 0x1f;
+            }
+            else if(c >= 0xe0 && c <= 0xef)
+            {
+                count = 2;
+                cp = c & 0x0f;
+                if(c == 0xe0)
+                {
+                    lower = 0xa0;
+                }
+                else if(c == 0xed)
+                {
+                    upper = 0x9f;
+                }
+            }
+            else if(c >= 0xf0 && c <= 0xf4)
+            {
+                count = 3;
+                cp = c & 0x07;
+                if(c == 0xf0)
+                {
+                    lower = 0x90;
+                }
+                else if(c == 0xf4)
+                {
+                    upper = 0x8f;
+                }
+            }
+            else
+            {
+                throw new MarshalException("string contains an invalid UTF-8 byte");
+            }
+
+            int k = 0;
+            while(k < count && pos < end)
+            {
+                final int cc = b.get(pos) & 0xff;
+                if(cc < lower || cc > upper)
+                {
+                    break;
+                }
+                cp = (cp << 6) | (cc & 0x3f);
+                lower = 0x80;
+                upper = 0xbf;
+                ++pos;
+                ++k;
+            }
+
+            if(k < count)
+            {
+                throw new MarshalException("string contains an invalid UTF-8 sequence");
+            }
+            else if(cp >= 0x10000)
+            {
+                chars[n++] = Character.highSurrogate(cp);
+                chars[n++] = Character.lowSurrogate(cp);
+            }
+            else
+            {
+                chars[n++] = (char)cp;
             }
         }
+        return n;
     }
 
     /**
@@ -2205,18 +2298,37 @@ public class InputStream
         return _buf.empty();
     }
 
+    //
+    // The factories cached by the communicator are only used with the class
+    // resolver of the communicator and if the communicator has a class loader.
+    // Without a class loader, a type id can resolve to different classes with
+    // the context class loaders of different threads.
+    //
+    private boolean useClassFactoryCache()
+    {
+        return _classResolver != null && _classResolver == _instance && _instance.getClassLoader() != null;
+    }
+
     private UserException createUserException(String id)
     {
         UserException userEx = null;
 
         try
         {
-            if(_classResolver != null)
+            if(useClassFactoryCache())
+            {
+                java.util.function.Supplier<java.lang.Object> factory = _instance.classFactoryCache().getFactory(id);
+                if(factory != null)
+                {
+                    userEx = (UserException)factory.get();
+                }
+            }
+            else if(_classResolver != null)
             {
                 Class<?> c = _classResolver.apply(id);
                 if(c != null)
                 {
-                    userEx = (UserException)c.newInstance();
+                    userEx = (UserException)com.zeroc.IceInternal.ClassFactoryCache.getFactory(c).get();
                 }
             }
         }
@@ -2231,21 +2343,30 @@ public class InputStream
     private Instance _instance;
     private Buffer _buf;
     private Object _closure;
-    private byte[] _stringBytes; // Reusable array for reading strings.
     private char[] _stringChars; // Reusable array for reading strings.
 
     private enum SliceType { NoSlice, ValueSlice, ExceptionSlice }
 
     abstract private static class EncapsDecoder
     {
-        EncapsDecoder(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr)
+        EncapsDecoder(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                      java.util.function.Function<String, Class<?>> cr)
         {
             _stream = stream;
             _sliceValues = sliceValues;
             _valueFactoryManager = f;
             _classResolver = cr;
             _typeIdIndex = 0;
-            _unmarshaledMap = new java.util.TreeMap<>();
+
+            if(encaps.tables == null) // Lazy initialization
+            {
+                encaps.tables = new DecoderTables();
+            }
+            encaps.tables.setDenseLimit(encaps.sz);
+            _tables = encaps.tables;
+            _unmarshaledMap = _tables.unmarshaledMap;
+            _typeIdMap = _tables.typeIdMap;
+            _patchMap = _tables.patchMap;
         }
 
         abstract void readValue(java.util.function.Consumer<Value> cb);
@@ -2269,11 +2390,6 @@ public class InputStream
 
         protected String readTypeId(boolean isIndex)
         {
-            if(_typeIdMap == null) // Lazy initialization
-            {
-                _typeIdMap = new java.util.TreeMap<>();
-            }
-
             if(isIndex)
             {
                 int index = _stream.readSize();
@@ -2353,9 +2469,36 @@ public class InputStream
             }
 
             //
-            // Last chance: try to instantiate the class dynamically.
+            // Last chance: try to instantiate the class dynamically. The
+            // communicator's class resolver uses the factories cached by
+            // the communicator if it has a class loader, the classes are
+            // otherwise resolved and cached by this decoder.
             //
-            if(v == null)
+            if(v == null && _stream.useClassFactoryCache())
+            {
+                java.util.function.Supplier<java.lang.Object> factory;
+                try
+                {
+                    factory = _stream._instance.classFactoryCache().getFactory(typeId);
+                }
+                catch(java.lang.Exception ex)
+                {
+                    throw new NoValueFactoryException("no value factory", typeId, ex);
+                }
+
+                if(factory != null)
+                {
+                    try
+                    {
+                        v = (Value)factory.get();
+                    }
+                    catch(java.lang.Exception ex)
+                    {
+                        throw new NoValueFactoryException("no value factory", typeId, ex);
+                    }
+                }
+            }
+            else if(v == null)
             {
                 Class<?> cls = resolveClass(typeId);
 
@@ -2363,7 +2506,7 @@ public class InputStream
                 {
                     try
                     {
-                        v = (Value)cls.newInstance();
+                        v = (Value)com.zeroc.IceInternal.ClassFactoryCache.getFactory(cls).get();
                     }
                     catch(java.lang.Exception ex)
                     {
@@ -2390,24 +2533,19 @@ public class InputStream
                 return;
             }
 
-            if(_patchMap == null) // Lazy initialization
-            {
-                _patchMap = new java.util.TreeMap<>();
-            }
-
             //
             // Add patch entry if the instance isn't unmarshaled yet,
             // the callback will be called when the instance is
             // unmarshaled.
             //
-            java.util.LinkedList<java.util.function.Consumer<Value>> l = _patchMap.get(index);
+            java.util.List<java.util.function.Consumer<Value>> l = _patchMap.get(index);
             if(l == null)
             {
                 //
                 // We have no outstanding instances to be patched for this
                 // index, so make a new entry in the patch map.
                 //
-                l = new java.util.LinkedList<>();
+                l = new java.util.ArrayList<>(2);
                 _patchMap.put(index, l);
             }
 
@@ -2430,33 +2568,30 @@ public class InputStream
             //
             v._iceRead(_stream);
 
-            if(_patchMap != null)
+            //
+            // Patch all instances now that the instance is unmarshaled.
+            //
+            java.util.List<java.util.function.Consumer<Value>> l = _patchMap.get(index);
+            if(l != null)
             {
+                assert(l.size() > 0);
+
                 //
-                // Patch all instances now that the instance is unmarshaled.
+                // Patch all pointers that refer to the instance.
                 //
-                java.util.LinkedList<java.util.function.Consumer<Value>> l = _patchMap.get(index);
-                if(l != null)
+                for(java.util.function.Consumer<Value> cb : l)
                 {
-                    assert(l.size() > 0);
-
-                    //
-                    // Patch all pointers that refer to the instance.
-                    //
-                    for(java.util.function.Consumer<Value> cb : l)
-                    {
-                        cb.accept(v);
-                    }
-
-                    //
-                    // Clear out the patch map for that index -- there is nothing left
-                    // to patch for that index for the time being.
-                    //
-                    _patchMap.remove(index);
+                    cb.accept(v);
                 }
+
+                //
+                // Clear out the patch map for that index -- there is nothing left
+                // to patch for that index for the time being.
+                //
+                _patchMap.remove(index);
             }
 
-            if((_patchMap == null || _patchMap.isEmpty()) && _valueList == null)
+            if(_patchMap.isEmpty() && _valueList == null)
             {
                 try
                 {
@@ -2476,7 +2611,7 @@ public class InputStream
                 }
                 _valueList.add(v);
 
-                if(_patchMap == null || _patchMap.isEmpty())
+                if(_patchMap.isEmpty())
                 {
                     //
                     // Iterate over the instance list and invoke ice_postUnmarshal on
@@ -2510,9 +2645,10 @@ public class InputStream
         //
         // Encapsulation attributes for value unmarshaling.
         //
-        protected java.util.TreeMap<Integer, java.util.LinkedList<java.util.function.Consumer<Value>> > _patchMap;
-        private java.util.TreeMap<Integer, Value> _unmarshaledMap;
-        private java.util.TreeMap<Integer, String> _typeIdMap;
+        protected final DecoderTables _tables;
+        protected final com.zeroc.IceInternal.IntObjectMap<java.util.List<java.util.function.Consumer<Value>>> _patchMap;
+        private final com.zeroc.IceInternal.IntObjectMap<Value> _unmarshaledMap;
+        private final com.zeroc.IceInternal.IntObjectMap<String> _typeIdMap;
         private int _typeIdIndex;
         private java.util.List<Value> _valueList;
         private java.util.HashMap<String, Class<?> > _typeIdCache;
@@ -2520,9 +2656,10 @@ public class InputStream
 
     private static final class EncapsDecoder10 extends EncapsDecoder
     {
-        EncapsDecoder10(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr)
+        EncapsDecoder10(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                        java.util.function.Function<String, Class<?>> cr)
         {
-            super(stream, sliceValues, f, cr);
+            super(stream, encaps, sliceValues, f, cr);
             _sliceType = SliceType.NoSlice;
         }
 
@@ -2730,7 +2867,7 @@ public class InputStream
             }
             while(num > 0);
 
-            if(_patchMap != null && !_patchMap.isEmpty())
+            if(!_patchMap.isEmpty())
             {
                 //
                 // If any entries remain in the patch map, the sender has sent an index for an object, but failed
@@ -2811,10 +2948,10 @@ public class InputStream
 
     private static class EncapsDecoder11 extends EncapsDecoder
     {
-        EncapsDecoder11(InputStream stream, boolean sliceValues, ValueFactoryManager f, java.util.function.Function<String, Class<?>> cr,
-                        java.util.function.IntFunction<String> r)
+        EncapsDecoder11(InputStream stream, Encaps encaps, boolean sliceValues, ValueFactoryManager f,
+                        java.util.function.Function<String, Class<?>> cr, java.util.function.IntFunction<String> r)
         {
-            super(stream, sliceValues, f, cr);
+            super(stream, encaps, sliceValues, f, cr);
             _compactIdResolver = r;
             _current = null;
             _valueIdIndex = 1;
@@ -3227,28 +3364,20 @@ public class InputStream
                     //
                     // Translate a compact (numeric) type ID into a class.
                     //
-                    if(_compactIdCache == null)
-                    {
-                        _compactIdCache = new java.util.TreeMap<>(); // Lazy initialization.
-                    }
-                    else
+                    // Check the cache to see if we've already translated the compact type ID into a class.
+                    //
+                    Class<?> cls = _tables.compactIdCache.get(_current.compactId);
+                    if(cls != null)
                     {
-                        //
-                        // Check the cache to see if we've already translated the compact type ID into a class.
-                        //
-                        Class<?> cls = _compactIdCache.get(_current.compactId);
-                        if(cls != null)
+                        try
                         {
-                            try
-                            {
-                                v = (Value)cls.newInstance();
-                                updateCache = false;
-                            }
-                            catch(java.lang.Exception ex)
-                            {
-                                throw new NoValueFactoryException("no value factory", "compact ID " +
-                                                                  _current.compactId, ex);
-                            }
+                            v = (Value)com.zeroc.IceInternal.ClassFactoryCache.getFactory(cls).get();
+                            updateCache = false;
+                        }
+                        catch(java.lang.Exception ex)
+                        {
+                            throw new NoValueFactoryException("no value factory", "compact ID " +
+                                                              _current.compactId, ex);
                         }
                     }
 
@@ -3278,7 +3407,7 @@ public class InputStream
 
                         if(_current.typeId.isEmpty())
                         {
-                            _current.typeId = _stream.instance().resolveCompactId(_current.compactId);
+                            _current.typeId = _stream.instance().classFactoryCache().resolveCompactId(_current.compactId);
                         }
                     }
                 }
@@ -3293,7 +3422,7 @@ public class InputStream
                     if(updateCache)
                     {
                         assert(_current.compactId >= 0);
-                        _compactIdCache.put(_current.compactId, v.getClass());
+                        _tables.compactIdCache.put(_current.compactId, v.getClass());
                     }
 
                     //
@@ -3344,7 +3473,7 @@ public class InputStream
             //
             unmarshal(index, v);
 
-            if(_current == null && _patchMap != null && !_patchMap.isEmpty())
+            if(_current == null && !_patchMap.isEmpty())
             {
                 //
                 // If any entries remain in the patch map, the sender has sent an index for an instance, but failed
@@ -3448,7 +3577,35 @@ public class InputStream
         private java.util.function.IntFunction<String> _compactIdResolver;
         private InstanceData _current;
         private int _valueIdIndex; // The ID of the next instance to unmarshal.
-        private java.util.TreeMap<Integer, Class<?> > _compactIdCache; // Cache of compact type IDs.
+    }
+
+    //
+    // The index tables of the decoders, kept with the encapsulations to
+    // reuse them for the next encapsulations read with this stream.
+    //
+    private static final class DecoderTables
+    {
+        void setDenseLimit(int sz)
+        {
+            unmarshaledMap.setDenseLimit(sz);
+            typeIdMap.setDenseLimit(sz);
+            patchMap.setDenseLimit(sz);
+            compactIdCache.setDenseLimit(sz);
+        }
+
+        void clear()
+        {
+            unmarshaledMap.clear();
+            typeIdMap.clear();
+            patchMap.clear();
+            compactIdCache.clear();
+        }
+
+        final com.zeroc.IceInternal.IntObjectMap<Value> unmarshaledMap = new com.zeroc.IceInternal.IntObjectMap<>();
+        final com.zeroc.IceInternal.IntObjectMap<String> typeIdMap = new com.zeroc.IceInternal.IntObjectMap<>();
+        final com.zeroc.IceInternal.IntObjectMap<java.util.List<java.util.function.Consumer<Value>>> patchMap =
+            new com.zeroc.IceInternal.IntObjectMap<>();
+        final com.zeroc.IceInternal.IntObjectMap<Class<?>> compactIdCache = new com.zeroc.IceInternal.IntObjectMap<>();
     }
 
     private static final class Encaps
@@ -3456,6 +3613,10 @@ public class InputStream
         void reset()
         {
             decoder = null;
+            if(tables != null)
+            {
+                tables.clear();
+            }
         }
 
         void setEncoding(EncodingVersion encoding)
@@ -3470,6 +3631,7 @@ public class InputStream
         boolean encoding_1_0;
 
         EncapsDecoder decoder;
+        DecoderTables tables;
 
         Encaps next;
     }
@@ -3509,12 +3671,13 @@ public class InputStream
         {
             if(_encapsStack.encoding_1_0)
             {
-                _encapsStack.decoder = new EncapsDecoder10(this, _sliceValues, _valueFactoryManager, _classResolver);
+                _encapsStack.decoder = new EncapsDecoder10(this, _encapsStack, _sliceValues, _valueFactoryManager,
+                                                           _classResolver);
             }
             else
             {
-                _encapsStack.decoder = new EncapsDecoder11(this, _sliceValues, _valueFactoryManager, _classResolver,
-                                                           _compactIdResolver);
+                _encapsStack.decoder = new EncapsDecoder11(this, _encapsStack, _sliceValues, _valueFactoryManager,
+                                                           _classResolver, _compactIdResolver);
             }
         }
     }
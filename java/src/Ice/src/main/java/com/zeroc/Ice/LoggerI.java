@@ -14,16 +14,25 @@ public class LoggerI implements Logger
     public
     LoggerI(String prefix, String file)
     {
-        _prefix = prefix;
-
-        if(prefix.length() > 0)
-        {
-            _formattedPrefix = prefix + ": ";
-        }
+        this(prefix, file, null);
+    }
 
+    /**
+     * Creates a logger which writes its messages asynchronously with the
+     * writer thread of the given ring buffer. If the ring buffer is null,
+     * the messages are written by the logging thread.
+     *
+     * @param prefix The logger prefix.
+     * @param file The log file, or an empty string to log to stderr.
+     * @param buffer The ring buffer, or null for a synchronous logger.
+     **/
+    public
+    LoggerI(String prefix, String file, com.zeroc.IceInternal.LogRingBuffer buffer)
+    {
+        _prefix = prefix;
         _lineSeparator = System.getProperty("line.separator");
-        _date = java.text.DateFormat.getDateInstance(java.text.DateFormat.SHORT);
-        _time = new java.text.SimpleDateFormat(" HH:mm:ss:SSS");
+        _formatter = new com.zeroc.IceInternal.LogFormatter(prefix);
+        _buffer = buffer;
 
         if(file.length() != 0)
         {
@@ -37,78 +46,53 @@ public class LoggerI implements Logger
                 throw new InitializationException("FileLogger: cannot open " + _file);
             }
         }
+        _output = new Output(_out);
+    }
+
+    private
+    LoggerI(String prefix, LoggerI logger)
+    {
+        //
+        // Clones of an asynchronous logger share its output, the file is
+        // only opened once.
+        //
+        _prefix = prefix;
+        _file = logger._file;
+        _lineSeparator = logger._lineSeparator;
+        _formatter = new com.zeroc.IceInternal.LogFormatter(prefix);
+        _buffer = logger._buffer;
+        _out = logger._out;
+        _output = logger._output;
     }
 
     @Override
     public void
     print(String message)
     {
-        StringBuilder s = new StringBuilder(256);
-        s.append(message);
-        write(s, false);
+        log(com.zeroc.IceInternal.LogRingBuffer.Print, null, message);
     }
 
     @Override
     public void
     trace(String category, String message)
     {
-        StringBuilder s = new StringBuilder(256);
-        s.append("-- ");
-        synchronized(this)
-        {
-            java.util.Date date = new java.util.Date();
-            s.append(_date.format(date));
-            s.append(_time.format(date));
-        }
-        s.append(' ');
-        s.append(_formattedPrefix);
-        s.append(category);
-        s.append(": ");
-        s.append(message);
-        write(s, true);
+        log(com.zeroc.IceInternal.LogRingBuffer.Trace, category, message);
     }
 
     @Override
     public void
     warning(String message)
     {
-        StringBuilder s = new StringBuilder(256);
-        s.append("-! ");
-        synchronized(this)
-        {
-            s.append(_date.format(new java.util.Date()));
-            s.append(_time.format(new java.util.Date()));
-        }
-        s.append(' ');
-        s.append(_formattedPrefix);
-        s.append("warning: ");
-        s.append(Thread.currentThread().getName());
-        s.append(": ");
-        s.append(message);
-        write(s, true);
+        log(com.zeroc.IceInternal.LogRingBuffer.Warning, null, message);
     }
 
     @Override
     public void
     error(String message)
     {
-        StringBuilder s = new StringBuilder(256);
-        s.append("!! ");
-        synchronized(this)
-        {
-            s.append(_date.format(new java.util.Date()));
-            s.append(_time.format(new java.util.Date()));
-        }
-        s.append(' ');
-        s.append(_formattedPrefix);
-        s.append("error: ");
-        s.append(Thread.currentThread().getName());
-        s.append(": ");
-        s.append(message);
-        write(s, true);
+        log(com.zeroc.IceInternal.LogRingBuffer.Error, null, message);
     }
 
-    
     @Override
     public String
     getPrefix()
@@ -120,44 +104,108 @@ public class LoggerI implements Logger
     public Logger
     cloneWithPrefix(String prefix)
     {
+        if(_buffer != null)
+        {
+            return new LoggerI(prefix, this);
+        }
         return new LoggerI(prefix, _file);
     }
 
     private void
-    write(StringBuilder message, boolean indent)
+    log(int type, String category, String message)
     {
-        if(indent)
+        if(_buffer == null || !_buffer.add(_consumer, type, category, message))
         {
-            int idx = 0;
-            while((idx = message.indexOf("\n", idx)) != -1)
-            {
-                message.insert(idx + 1, "   ");
-                ++idx;
-            }
+            //
+            // Synchronous logger, or the ring buffer is destroyed.
+            //
+            StringBuilder s = new StringBuilder(256);
+            String threadName = type >= com.zeroc.IceInternal.LogRingBuffer.Warning ?
+                Thread.currentThread().getName() : null;
+            format(s, type, System.currentTimeMillis(), threadName, category, message);
+            _output.write(s);
         }
-        message.append(_lineSeparator);
+    }
+
+    private void
+    format(StringBuilder s, int type, long time, String threadName, String category, String message)
+    {
+        _formatter.format(s, type, time, threadName, category, message);
+        s.append(_lineSeparator);
+    }
 
-        if(_out == null)
+    //
+    // The destination of the messages, shared by the clones of an
+    // asynchronous logger. The writer thread of the ring buffer formats
+    // a batch of messages in a single buffer and writes it at once.
+    //
+    private static final class Output
+    {
+        Output(java.io.FileOutputStream out)
         {
-            System.err.print(message.toString());
+            _out = out;
         }
-        else
+
+        synchronized void
+        write(StringBuilder message)
         {
-            try
+            if(_out == null)
             {
-                _out.write(message.toString().getBytes());
+                System.err.print(message.toString());
             }
-            catch(java.io.IOException ex)
+            else
             {
+                try
+                {
+                    _out.write(message.toString().getBytes());
+                }
+                catch(java.io.IOException ex)
+                {
+                }
             }
         }
+
+        final StringBuilder batch = new StringBuilder(BatchCapacity); // Only used by the writer thread.
+        private final java.io.FileOutputStream _out;
     }
 
+    private final com.zeroc.IceInternal.LogRingBuffer.Consumer _consumer =
+        new com.zeroc.IceInternal.LogRingBuffer.Consumer()
+        {
+            @Override
+            public void
+            write(int type, long time, String threadName, String category, String message)
+            {
+                format(_output.batch, type, time, threadName, category, message);
+                if(_output.batch.length() >= BatchCapacity)
+                {
+                    flush();
+                }
+            }
+
+            @Override
+            public void
+            flush()
+            {
+                if(_output.batch.length() > 0)
+                {
+                    _output.write(_output.batch);
+                    _output.batch.setLength(0);
+                    if(_output.batch.capacity() > BatchCapacity * 4)
+                    {
+                        _output.batch.trimToSize();
+                    }
+                }
+            }
+        };
+
+    private static final int BatchCapacity = 64 * 1024;
+
     String _prefix = "";
-    String _formattedPrefix = "";
     String _file = "";
     String _lineSeparator;
-    java.text.DateFormat _date;
-    java.text.SimpleDateFormat _time;
     java.io.FileOutputStream _out = null;
+    private final com.zeroc.IceInternal.LogFormatter _formatter;
+    private final Output _output;
+    private final com.zeroc.IceInternal.LogRingBuffer _buffer; // Null if the logger is synchronous.
 }
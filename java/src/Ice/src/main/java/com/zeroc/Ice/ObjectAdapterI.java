@@ -194,6 +194,8 @@ public final class ObjectAdapterI implements ObjectAdapter
             _state = StateDeactivating;
         }
 
+        _objectAdapterFactory.updateCollocationIndex(this);
+
         //
         // NOTE: the router/locator infos and incoming connection
         // facatory list are immutable at this point.
@@ -656,6 +658,10 @@ public final class ObjectAdapterI implements ObjectAdapter
                 throw ex;
             }
         }
+        finally
+        {
+            _objectAdapterFactory.updateCollocationIndex(this);
+        }
     }
 
     @Override
@@ -703,6 +709,45 @@ public final class ObjectAdapterI implements ObjectAdapter
                 throw ex;
             }
         }
+        finally
+        {
+            _objectAdapterFactory.updateCollocationIndex(this);
+        }
+    }
+
+    public String
+    getAdapterId()
+    {
+        return _id;
+    }
+
+    public String
+    getReplicaGroupId()
+    {
+        return _replicaGroupId;
+    }
+
+    //
+    // Returns the endpoints which make a direct proxy local, used to index
+    // the adapter with the object adapter factory.
+    //
+    public synchronized List<com.zeroc.IceInternal.EndpointI>
+    getLocalEndpoints()
+    {
+        List<com.zeroc.IceInternal.EndpointI> endpoints = new ArrayList<>();
+        if(_state < StateDeactivating)
+        {
+            endpoints.addAll(_publishedEndpoints);
+            for(IncomingConnectionFactory p : _incomingConnectionFactories)
+            {
+                endpoints.add(p.endpoint());
+            }
+            if(_routerInfo != null)
+            {
+                endpoints.addAll(_routerEndpoints);
+            }
+        }
+        return endpoints;
     }
 
     public boolean
@@ -907,7 +952,7 @@ public final class ObjectAdapterI implements ObjectAdapter
         _instance = instance;
         _communicator = communicator;
         _objectAdapterFactory = objectAdapterFactory;
-        _servantManager = new com.zeroc.IceInternal.ServantManager(instance, name);
+        _servantManager = new com.zeroc.IceInternal.ServantManager(instance, name, objectAdapterFactory, this);
         _name = name;
         _directCount = 0;
         _noConfig = noConfig;
@@ -998,11 +1043,12 @@ public final class ObjectAdapterI implements ObjectAdapter
         {
             int threadPoolSize = properties.getPropertyAsInt(_name + ".ThreadPool.Size");
             int threadPoolSizeMax = properties.getPropertyAsInt(_name + ".ThreadPool.SizeMax");
+            int threadPoolVirtualThreads = properties.getPropertyAsInt(_name + ".ThreadPool.VirtualThreads");
 
             //
             // Create the per-adapter thread pool, if necessary.
             //
-            if(threadPoolSize > 0 || threadPoolSizeMax > 0)
+            if(threadPoolSize > 0 || threadPoolSizeMax > 0 || threadPoolVirtualThreads > 0)
             {
                 _threadPool = new com.zeroc.IceInternal.ThreadPool(_instance, _name + ".ThreadPool", 0);
             }
@@ -1526,7 +1572,8 @@ public final class ObjectAdapterI implements ObjectAdapter
         "ThreadPool.SizeMax",
         "ThreadPool.SizeWarn",
         "ThreadPool.StackSize",
-        "ThreadPool.Serialize"
+        "ThreadPool.Serialize",
+        "ThreadPool.VirtualThreads"
     };
 
     boolean
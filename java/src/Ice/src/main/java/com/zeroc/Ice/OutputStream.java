@@ -134,7 +134,7 @@ public class OutputStream
 
     private void initialize(com.zeroc.IceInternal.Instance instance, EncodingVersion encoding, boolean direct)
     {
-        initialize(instance, encoding, new com.zeroc.IceInternal.Buffer(direct));
+        initialize(instance, encoding, new com.zeroc.IceInternal.Buffer(direct, instance.bufferPool()));
     }
 
     private void initialize(com.zeroc.IceInternal.Instance instance, EncodingVersion encoding,
@@ -1442,9 +1442,6 @@ public class OutputStream
         }
     }
 
-    final static java.nio.charset.Charset _utf8 = java.nio.charset.Charset.forName("UTF8");
-    private java.nio.charset.CharsetEncoder _charEncoder = null;
-
     /**
      * Writes a string to the stream.
      *
@@ -1462,49 +1459,89 @@ public class OutputStream
             final int len = v.length();
             if(len > 0)
             {
-                if(_stringBytes == null || len > _stringBytes.length)
-                {
-                    _stringBytes = new byte[len];
-                }
-                if(_stringChars == null || len > _stringChars.length)
-                {
-                    _stringChars = new char[len];
-                }
                 //
-                // If the string contains only 7-bit characters, it's more efficient
-                // to perform the conversion to UTF-8 manually.
+                // We encode the string directly into the buffer. The encoded size
+                // is at least the string length, so we reserve a 5-byte size if the
+                // string has more than 254 characters and a 1-byte size otherwise.
+                // The bytes are moved in the unlikely event that a short string with
+                // multibyte characters needs more than 254 bytes.
                 //
-                v.getChars(0, len, _stringChars, 0);
-                for(int i = 0; i < len; ++i)
+                final int start = _buf.b.position();
+                final int oldSize = _buf.size();
+                int sizeLen = len > 254 ? 5 : 1;
+                expand(sizeLen + len);
+                java.nio.ByteBuffer b = _buf.b;
+                int pos = start + sizeLen;
+
+                //
+                // If the string contains only 7-bit characters, each character is
+                // written as a single byte.
+                //
+                int i = 0;
+                while(i < len)
                 {
-                    if(_stringChars[i] > (char)127)
+                    final char c = v.charAt(i);
+                    if(c > (char)127)
                     {
-                        //
-                        // Found a multibyte character.
-                        //
-                        if(_charEncoder == null)
-                        {
-                            _charEncoder = _utf8.newEncoder();
-                        }
-                        java.nio.ByteBuffer b = null;
-                        try
-                        {
-                            b = _charEncoder.encode(java.nio.CharBuffer.wrap(_stringChars, 0, len));
-                        }
-                        catch(java.nio.charset.CharacterCodingException ex)
+                        break;
+                    }
+                    b.put(pos++, (byte)c);
+                    ++i;
+                }
+
+                if(i < len)
+                {
+                    //
+                    // Found a multibyte character, a character requires at most
+                    // three bytes (a surrogate pair requires four bytes).
+                    //
+                    b.position(pos);
+                    expand((len - i) * 3);
+                    b = _buf.b;
+                    try
+                    {
+                        pos = encodeUTF8(v, i, len, b, pos);
+                    }
+                    catch(MarshalException ex)
+                    {
+                        b.position(start);
+                        _buf.resize(oldSize, false);
+                        throw ex;
+                    }
+
+                    if(sizeLen == 1 && pos - start - 1 > 254)
+                    {
+                        b.position(pos);
+                        expand(4);
+                        b = _buf.b;
+                        for(int p = pos - 1; p > start; --p)
                         {
-                            throw new MarshalException(ex);
+                            b.put(p + 4, b.get(p));
                         }
-                        writeSize(b.limit());
-                        expand(b.limit());
-                        _buf.b.put(b);
-                        return;
+                        pos += 4;
+                        sizeLen = 5;
                     }
-                    _stringBytes[i] = (byte)_stringChars[i];
                 }
-                writeSize(len);
-                expand(len);
-                _buf.b.put(_stringBytes, 0, len);
+
+                final int sz = pos - start - sizeLen;
+                if(sizeLen == 5)
+                {
+                    b.put(start, (byte)-1);
+                    b.putInt(start + 1, sz);
+                }
+                else
+                {
+                    b.put(start, (byte)sz);
+                }
+                b.position(pos);
+
+                //
+                // Release the bytes reserved but not used by the encoding.
+                //
+                if(_buf.size() > pos)
+                {
+                    _buf.resize(Math.max(pos, oldSize), false);
+                }
             }
             else
             {
@@ -1513,6 +1550,46 @@ public class OutputStream
         }
     }
 
+    //
+    // Encodes the characters of v from i to len as UTF-8 into b at pos, the buffer
+    // must have enough space. Returns the position after the last encoded byte.
+    //
+    private static int encodeUTF8(String v, int i, int len, java.nio.ByteBuffer b, int pos)
+    {
+        while(i < len)
+        {
+            final char c = v.charAt(i++);
+            if(c < 0x80)
+            {
+                b.put(pos++, (byte)c);
+            }
+            else if(c < 0x800)
+            {
+                b.put(pos++, (byte)(0xc0 | (c >> 6)));
+                b.put(pos++, (byte)(0x80 | (c & 0x3f)));
+            }
+            else if(Character.isSurrogate(c))
+            {
+                if(!Character.isHighSurrogate(c) || i == len || !Character.isLowSurrogate(v.charAt(i)))
+                {
+                    throw new MarshalException("string contains an unpaired surrogate character");
+                }
+                final int cp = Character.toCodePoint(c, v.charAt(i++));
+                b.put(pos++, (byte)(0xf0 | (cp >> 18)));
+                b.put(pos++, (byte)(0x80 | ((cp >> 12) & 0x3f)));
+                b.put(pos++, (byte)(0x80 | ((cp >> 6) & 0x3f)));
+                b.put(pos++, (byte)(0x80 | (cp & 0x3f)));
+            }
+            else
+            {
+                b.put(pos++, (byte)(0xe0 | (c >> 12)));
+                b.put(pos++, (byte)(0x80 | ((c >> 6) & 0x3f)));
+                b.put(pos++, (byte)(0x80 | (c & 0x3f)));
+            }
+        }
+        return pos;
+    }
+
     /**
      * Writes an optional string to the stream.
      *
@@ -1798,8 +1875,6 @@ public class OutputStream
     private com.zeroc.IceInternal.Buffer _buf;
     private Object _closure;
     private FormatType _format;
-    private byte[] _stringBytes; // Reusable array for string operations.
-    private char[] _stringChars; // Reusable array for string operations.
 
     private enum SliceType { NoSlice, ValueSlice, ExceptionSlice }
 
@@ -1810,7 +1885,14 @@ public class OutputStream
             _stream = stream;
             _encaps = encaps;
             _typeIdIndex = 0;
-            _marshaledMap = new java.util.IdentityHashMap<>();
+
+            if(encaps.tables == null) // Lazy initialization
+            {
+                encaps.tables = new EncoderTables();
+            }
+            _tables = encaps.tables;
+            _marshaledMap = _tables.marshaledMap;
+            _typeIdMap = _tables.typeIdMap;
         }
 
         abstract void writeValue(Value v);
@@ -1832,13 +1914,8 @@ public class OutputStream
 
         protected int registerTypeId(String typeId)
         {
-            if(_typeIdMap == null) // Lazy initialization
-            {
-                _typeIdMap = new java.util.TreeMap<>();
-            }
-
-            Integer p = _typeIdMap.get(typeId);
-            if(p != null)
+            int p = _typeIdMap.get(typeId);
+            if(p > 0)
             {
                 return p;
             }
@@ -1853,8 +1930,9 @@ public class OutputStream
         final protected Encaps _encaps;
 
         // Encapsulation attributes for instance marshaling.
-        final protected java.util.IdentityHashMap<Value, Integer> _marshaledMap;
-        private java.util.TreeMap<String, Integer> _typeIdMap;
+        final protected EncoderTables _tables;
+        final protected com.zeroc.IceInternal.ObjectIndexMap _marshaledMap;
+        final private com.zeroc.IceInternal.ObjectIndexMap _typeIdMap;
         private int _typeIdIndex;
     }
 
@@ -1865,7 +1943,7 @@ public class OutputStream
             super(stream, encaps);
             _sliceType = SliceType.NoSlice;
             _valueIdIndex = 0;
-            _toBeMarshaledMap = new java.util.IdentityHashMap<>();
+            _marshaledCount = 0;
         }
 
         @Override
@@ -1970,31 +2048,27 @@ public class OutputStream
         @Override
         void writePendingValues()
         {
-            while(_toBeMarshaledMap.size() > 0)
+            java.util.List<Value> values = _tables.values;
+            while(_marshaledCount < values.size())
             {
                 //
-                // Consider the to be marshalled instances as marshaled now,
-                // this is necessary to avoid adding again the "to be
-                // marshaled instances" into _toBeMarshaledMap while writing
-                // instances.
+                // The instances registered while writing this batch of
+                // instances are written with the next batch.
                 //
-                _marshaledMap.putAll(_toBeMarshaledMap);
-
-                java.util.IdentityHashMap<Value, Integer> savedMap = _toBeMarshaledMap;
-                _toBeMarshaledMap = new java.util.IdentityHashMap<>();
-                _stream.writeSize(savedMap.size());
-                for(java.util.Map.Entry<Value, Integer> p : savedMap.entrySet())
+                final int end = values.size();
+                _stream.writeSize(end - _marshaledCount);
+                for(int i = _marshaledCount; i < end; ++i)
                 {
                     //
-                    // Ask the instance to marshal itself. Any new class
-                    // instances that are triggered by the classes marshaled
-                    // are added to toBeMarshaledMap.
+                    // Ask the instance to marshal itself. The instance index
+                    // is its position in the list of registered instances + 1.
                     //
-                    _stream.writeInt(p.getValue().intValue());
+                    Value v = values.get(i);
+                    _stream.writeInt(i + 1);
 
                     try
                     {
-                        p.getKey().ice_preMarshal();
+                        v.ice_preMarshal();
                     }
                     catch(java.lang.Exception ex)
                     {
@@ -2002,8 +2076,9 @@ public class OutputStream
                         _stream.instance().initializationData().logger.warning(s);
                     }
 
-                    p.getKey()._iceWrite(_stream);
+                    v._iceWrite(_stream);
                 }
+                _marshaledCount = end;
             }
             _stream.writeSize(0); // Zero marker indicates end of sequence of sequences of instances.
         }
@@ -2013,28 +2088,22 @@ public class OutputStream
             assert(v != null);
 
             //
-            // Look for this instance in the to-be-marshaled map.
+            // Look for this instance in the map of marshaled or to be
+            // marshaled instances.
             //
-            Integer p = _toBeMarshaledMap.get(v);
-            if(p != null)
+            int p = _marshaledMap.get(v);
+            if(p > 0)
             {
-                return p.intValue();
-            }
-
-            //
-            // Didn't find it, try the marshaled map next.
-            //
-            p = _marshaledMap.get(v);
-            if(p != null)
-            {
-                return p.intValue();
+                return p;
             }
 
             //
             // We haven't seen this instance previously, create a new
-            // index, and insert it into the to-be-marshaled map.
+            // index, and add it to the instances to be marshaled.
             //
-            _toBeMarshaledMap.put(v, ++_valueIdIndex);
+            _marshaledMap.put(v, ++_valueIdIndex);
+            _tables.values.add(v);
+            assert(_tables.values.size() == _valueIdIndex);
             return _valueIdIndex;
         }
 
@@ -2046,7 +2115,7 @@ public class OutputStream
 
         // Encapsulation attributes for instance marshaling.
         private int _valueIdIndex;
-        private java.util.IdentityHashMap<Value, Integer> _toBeMarshaledMap;
+        private int _marshaledCount; // The number of registered instances already marshaled.
     }
 
     private static final class EncapsEncoder11 extends EncapsEncoder
@@ -2070,7 +2139,7 @@ public class OutputStream
                 if(_current.indirectionTable == null) // Lazy initialization
                 {
                     _current.indirectionTable = new java.util.ArrayList<>();
-                    _current.indirectionMap = new java.util.IdentityHashMap<>();
+                    _current.indirectionMap = new com.zeroc.IceInternal.ObjectIndexMap(true);
                 }
 
                 //
@@ -2080,8 +2149,8 @@ public class OutputStream
                 // each slice and is always read (even if the Slice is
                 // unknown).
                 //
-                Integer index = _current.indirectionMap.get(v);
-                if(index == null)
+                int index = _current.indirectionMap.get(v);
+                if(index == 0)
                 {
                     _current.indirectionTable.add(v);
                     final int idx = _current.indirectionTable.size(); // Position + 1 (0 is reserved for nil)
@@ -2090,7 +2159,7 @@ public class OutputStream
                 }
                 else
                 {
-                    _stream.writeSize(index.intValue());
+                    _stream.writeSize(index);
                 }
             }
             else
@@ -2306,7 +2375,7 @@ public class OutputStream
                     if(_current.indirectionTable == null) // Lazy initialization
                     {
                         _current.indirectionTable = new java.util.ArrayList<>();
-                        _current.indirectionMap = new java.util.IdentityHashMap<>();
+                        _current.indirectionMap = new com.zeroc.IceInternal.ObjectIndexMap(true);
                     }
                     for(Value o : info.instances)
                     {
@@ -2325,8 +2394,8 @@ public class OutputStream
             //
             // If the instance was already marshaled, just write it's ID.
             //
-            Integer p = _marshaledMap.get(v);
-            if(p != null)
+            int p = _marshaledMap.get(v);
+            if(p > 0)
             {
                 _stream.writeSize(p);
                 return;
@@ -2373,7 +2442,7 @@ public class OutputStream
             int writeSlice;    // Position of the slice data members
             int sliceFlagsPos; // Position of the slice flags
             java.util.List<Value> indirectionTable;
-            java.util.IdentityHashMap<Value, Integer> indirectionMap;
+            com.zeroc.IceInternal.ObjectIndexMap indirectionMap;
 
             final InstanceData previous;
             InstanceData next;
@@ -2384,11 +2453,42 @@ public class OutputStream
         private int _valueIdIndex; // The ID of the next instance to marhsal
     }
 
+    //
+    // The index tables of the encoders, kept with the encapsulations to
+    // reuse them for the next encapsulations written with this stream.
+    //
+    private static final class EncoderTables
+    {
+        void clear()
+        {
+            marshaledMap.clear();
+            typeIdMap.clear();
+            if(values.size() > MaxRetainedValues)
+            {
+                values = new java.util.ArrayList<>();
+            }
+            else
+            {
+                values.clear();
+            }
+        }
+
+        private static final int MaxRetainedValues = 8192;
+
+        final com.zeroc.IceInternal.ObjectIndexMap marshaledMap = new com.zeroc.IceInternal.ObjectIndexMap(true);
+        final com.zeroc.IceInternal.ObjectIndexMap typeIdMap = new com.zeroc.IceInternal.ObjectIndexMap(false);
+        java.util.ArrayList<Value> values = new java.util.ArrayList<>(); // The instances of the 1.0 encoding.
+    }
+
     private static final class Encaps
     {
         void reset()
         {
             encoder = null;
+            if(tables != null)
+            {
+                tables.clear();
+            }
         }
 
         void setEncoding(EncodingVersion encoding)
@@ -2403,6 +2503,7 @@ public class OutputStream
         boolean encoding_1_0;
 
         EncapsEncoder encoder;
+        EncoderTables tables;
 
         Encaps next;
     }
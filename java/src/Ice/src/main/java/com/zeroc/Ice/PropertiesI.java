@@ -170,67 +170,7 @@ public final class PropertiesI implements Properties
             throw new InitializationException("Attempt to set property with empty key");
         }
 
-        int dotPos = key.indexOf('.');
-        if(dotPos != -1)
-        {
-            String prefix = key.substring(0, dotPos);
-            for(int i = 0; com.zeroc.IceInternal.PropertyNames.validProps[i] != null; ++i)
-            {
-                String pattern = com.zeroc.IceInternal.PropertyNames.validProps[i][0].pattern();
-                dotPos = pattern.indexOf('.');
-                //
-                // Each top level prefix describes a non-empty namespace. Having a string without a
-                // prefix followed by a dot is an error.
-                //
-                assert(dotPos != -1);
-                String propPrefix = pattern.substring(0, dotPos - 1);
-                boolean mismatchCase = false;
-                String otherKey = "";
-                if(!propPrefix.toUpperCase().equals(prefix.toUpperCase()))
-                {
-                    continue;
-                }
-
-                boolean found = false;
-                for(int j = 0; com.zeroc.IceInternal.PropertyNames.validProps[i][j] != null && !found; ++j)
-                {
-                    pattern = com.zeroc.IceInternal.PropertyNames.validProps[i][j].pattern();
-                    java.util.regex.Pattern pComp = java.util.regex.Pattern.compile(pattern);
-                    java.util.regex.Matcher m = pComp.matcher(key);
-                    found = m.matches();
-
-                    if(found && com.zeroc.IceInternal.PropertyNames.validProps[i][j].deprecated())
-                    {
-                        logger.warning("deprecated property: " + key);
-                        if(com.zeroc.IceInternal.PropertyNames.validProps[i][j].deprecatedBy() != null)
-                        {
-                            key = com.zeroc.IceInternal.PropertyNames.validProps[i][j].deprecatedBy();
-                        }
-                    }
-
-                    if(!found)
-                    {
-                        pComp = java.util.regex.Pattern.compile(pattern.toUpperCase());
-                        m = pComp.matcher(key.toUpperCase());
-                        if(m.matches())
-                        {
-                            found = true;
-                            mismatchCase = true;
-                            otherKey = pattern.replaceAll("\\\\", "");
-                            break;
-                        }
-                    }
-                }
-                if(!found)
-                {
-                    logger.warning("unknown property: " + key);
-                }
-                else if(mismatchCase)
-                {
-                    logger.warning("unknown property: `" + key + "'; did you mean `" + otherKey + "'");
-                }
-            }
-        }
+        key = com.zeroc.IceInternal.PropertyNameValidator.validate(key, logger);
 
         synchronized(this)
         {
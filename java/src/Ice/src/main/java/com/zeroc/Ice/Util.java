@@ -480,6 +480,20 @@ public final class Util
         }
     }
 
+    /**
+     * Returns the buffer pool of a communicator. The pool is either the one
+     * set in the initialization data or the one configured with the
+     * <code>Ice.BufferPool</code> properties. Its counters report how
+     * effective pooling is for the communicator's workload.
+     *
+     * @param communicator The communicator.
+     * @return The buffer pool, or null if the communicator doesn't use one.
+     **/
+    public static BufferPool getBufferPool(Communicator communicator)
+    {
+        return com.zeroc.IceInternal.Util.getInstance(communicator).bufferPool();
+    }
+
     /**
      * Returns the Ice version in the form <code>A.B.C</code>, where <code>A</code> indicates the
      * major version, <code>B</code> indicates the minor version, and <code>C</code> indicates the
@@ -0,0 +1,132 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Wraps the process logger or the logger installed by the application or
+// a Logger plugin when Ice.LogAsync is enabled: the messages are passed
+// to the wrapped logger by the writer thread of the ring buffer.
+//
+final class AsyncLoggerI implements com.zeroc.Ice.Logger, LogRingBuffer.Consumer
+{
+    AsyncLoggerI(com.zeroc.Ice.Logger logger, LogRingBuffer buffer)
+    {
+        _logger = logger;
+        _buffer = buffer;
+        _formatter = logger.getClass() == com.zeroc.Ice.LoggerI.class ? new LogFormatter(logger.getPrefix()) : null;
+    }
+
+    @Override
+    public void
+    print(String message)
+    {
+        if(!_buffer.add(this, LogRingBuffer.Print, null, message))
+        {
+            _logger.print(message);
+        }
+    }
+
+    @Override
+    public void
+    trace(String category, String message)
+    {
+        if(!_buffer.add(this, LogRingBuffer.Trace, category, message))
+        {
+            _logger.trace(category, message);
+        }
+    }
+
+    @Override
+    public void
+    warning(String message)
+    {
+        if(!_buffer.add(this, LogRingBuffer.Warning, null, message))
+        {
+            _logger.warning(message);
+        }
+    }
+
+    @Override
+    public void
+    error(String message)
+    {
+        if(!_buffer.add(this, LogRingBuffer.Error, null, message))
+        {
+            _logger.error(message);
+        }
+    }
+
+    @Override
+    public String
+    getPrefix()
+    {
+        return _logger.getPrefix();
+    }
+
+    @Override
+    public com.zeroc.Ice.Logger
+    cloneWithPrefix(String prefix)
+    {
+        return new AsyncLoggerI(_logger.cloneWithPrefix(prefix), _buffer);
+    }
+
+    @Override
+    public void
+    write(int type, long time, String threadName, String category, String message)
+    {
+        //
+        // The messages of the Ice logger are formatted here, with the time
+        // and the name of the logging thread, and printed as is. Other
+        // loggers are called from the writer thread, which is shared by all
+        // the loggers of the ring buffer.
+        //
+        if(_formatter != null)
+        {
+            StringBuilder s = new StringBuilder(256);
+            _formatter.format(s, type, time, threadName, category, message);
+            _logger.print(s.toString());
+            return;
+        }
+
+        switch(type)
+        {
+            case LogRingBuffer.Print:
+            {
+                _logger.print(message);
+                break;
+            }
+            case LogRingBuffer.Trace:
+            {
+                _logger.trace(category, message);
+                break;
+            }
+            case LogRingBuffer.Warning:
+            {
+                _logger.warning(message);
+                break;
+            }
+            default:
+            {
+                _logger.error(message);
+                break;
+            }
+        }
+    }
+
+    @Override
+    public void
+    flush()
+    {
+    }
+
+    private final com.zeroc.Ice.Logger _logger;
+    private final LogRingBuffer _buffer;
+    private final LogFormatter _formatter; // Null unless the logger is a com.zeroc.Ice.LoggerI.
+}
@@ -0,0 +1,16 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+public class BatchFlushObserverI
+    extends com.zeroc.IceMX.ObserverWithDelegate<com.zeroc.IceMX.BatchFlushMetrics,
+                                                 com.zeroc.Ice.Instrumentation.Observer>
+{
+}
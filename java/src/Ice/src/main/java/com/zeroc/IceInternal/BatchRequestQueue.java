@@ -9,21 +9,35 @@
 
 package com.zeroc.IceInternal;
 
+//
+// Batch requests are marshaled by the invoking thread into the stream of
+// its outgoing request, without holding the queue lock, and appended to
+// the batch stream once marshaled. Threads batching requests on the same
+// proxy or connection only serialize for the append, not while they
+// marshal. Calls to the batch request interceptor are still serialized
+// since the interceptor decides whether or not to enqueue a request based
+// on the current queue size.
+//
 public class BatchRequestQueue
 {
     class BatchRequestI implements com.zeroc.Ice.BatchRequest
     {
-        public void reset(com.zeroc.Ice.ObjectPrx proxy, String operation, int size)
+        public void reset(com.zeroc.Ice.ObjectPrx proxy, String operation, com.zeroc.Ice.OutputStream os)
         {
             _proxy = proxy;
             _operation = operation;
-            _size = size;
+            _os = os;
+            _size = os != null ? os.size() : 0;
         }
 
         @Override
         public void enqueue()
         {
-            enqueueBatchRequest(_proxy);
+            if(_os != null)
+            {
+                enqueueBatchRequest(_os, _proxy, false);
+                _os = null; // Only enqueue the request once.
+            }
         }
 
         @Override
@@ -46,19 +60,27 @@ public class BatchRequestQueue
 
         private com.zeroc.Ice.ObjectPrx _proxy;
         private String _operation;
+        private com.zeroc.Ice.OutputStream _os;
         private int _size;
     }
 
     public
     BatchRequestQueue(Instance instance, boolean datagram)
+    {
+        this(instance, datagram, instance.batchAutoFlushDelay());
+    }
+
+    public
+    BatchRequestQueue(Instance instance, boolean datagram, int flushDelay)
     {
         com.zeroc.Ice.InitializationData initData = instance.initializationData();
+        _instance = instance;
+        _flushDelay = flushDelay;
         _interceptor = initData.batchRequestInterceptor;
-        _batchStreamInUse = false;
+        _interceptorInUse = false;
         _batchRequestNum = 0;
         _batchStream = new com.zeroc.Ice.OutputStream(instance, Protocol.currentProtocolEncoding);
         _batchStream.writeBlob(Protocol.requestBatchHdr);
-        _batchMarker = _batchStream.size();
         _batchCompress = false;
         _request = new BatchRequestI();
 
@@ -73,77 +95,86 @@ public class BatchRequestQueue
         }
     }
 
-    synchronized public void
+    public void
     prepareBatchRequest(com.zeroc.Ice.OutputStream os)
     {
-        if(_exception != null)
+        //
+        // The request is marshaled in the given stream, it's only
+        // appended to the batch stream by finishBatchRequest.
+        //
+        assert(os.size() == 0);
+        com.zeroc.Ice.LocalException ex = _exception;
+        if(ex != null)
         {
-            throw (com.zeroc.Ice.LocalException)_exception.fillInStackTrace();
+            throw (com.zeroc.Ice.LocalException)ex.fillInStackTrace();
         }
-
-        waitStreamInUse(false);
-        _batchStreamInUse = true;
-        _batchStream.swap(os);
     }
 
     public void
     finishBatchRequest(com.zeroc.Ice.OutputStream os, com.zeroc.Ice.ObjectPrx proxy, String operation)
     {
-        //
-        // No need for synchronization, no other threads are supposed
-        // to modify the queue since we set _batchStreamInUse to true.
-        //
-        assert(_batchStreamInUse);
-        _batchStream.swap(os);
+        int size = os.size();
+        assert(size > 0);
 
-        try
+        if(_interceptor == null)
         {
-            _batchStreamCanFlush = true; // Allow flush to proceed even if the stream is marked in use.
-
-            if(_maxSize > 0 && _batchStream.size() >= _maxSize)
+            //
+            // Other threads might append requests between the auto flush
+            // and the enqueue, in which case the batch is flushed again.
+            //
+            while(!enqueueBatchRequest(os, proxy, true))
             {
-                proxy.ice_flushBatchRequestsAsync(); // Auto flush
+                flush(proxy, "size"); // Auto flush
             }
+            return;
+        }
+
+        int batchRequestNum;
+        int batchSize;
+        synchronized(this)
+        {
+            waitInterceptorInUse();
+            _interceptorInUse = true;
+        }
 
-            assert(_batchMarker < _batchStream.size());
-            if(_interceptor != null)
+        try
+        {
+            if(checkAutoFlush(size))
             {
-                _request.reset(proxy, operation, _batchStream.size() - _batchMarker);
-                _interceptor.enqueue(_request, _batchRequestNum, _batchMarker);
+                flush(proxy, "size"); // Auto flush
             }
-            else
+
+            synchronized(this)
             {
-                Boolean compress = proxy._getReference().getCompressOverride();
-                if(compress != null)
-                {
-                    _batchCompress |= compress.booleanValue();
-                }
-                _batchMarker = _batchStream.size();
-                ++_batchRequestNum;
+                batchRequestNum = _batchRequestNum;
+                batchSize = _batchStream.size();
             }
+
+            //
+            // No need for synchronization, no other threads are supposed to
+            // use the request since we set _interceptorInUse to true.
+            //
+            _request.reset(proxy, operation, os);
+            _interceptor.enqueue(_request, batchRequestNum, batchSize);
         }
         finally
         {
+            _request.reset(null, null, null);
             synchronized(this)
             {
-                _batchStream.resize(_batchMarker);
-                _batchStreamInUse = false;
-                _batchStreamCanFlush = false;
+                _interceptorInUse = false;
                 notifyAll();
             }
         }
     }
 
-    synchronized public void
+    public void
     abortBatchRequest(com.zeroc.Ice.OutputStream os)
     {
-        if(_batchStreamInUse)
-        {
-            _batchStream.swap(os);
-            _batchStream.resize(_batchMarker);
-            _batchStreamInUse = false;
-            notifyAll();
-        }
+        //
+        // Nothing to release, the request was marshaled in the given stream
+        // and the batch stream is never held while marshaling.
+        //
     }
 
     public class SwapResult
@@ -152,29 +183,26 @@ public class BatchRequestQueue
         public boolean compress;
     };
 
-    synchronized public SwapResult
+    public SwapResult
     swap(com.zeroc.Ice.OutputStream os)
+    {
+        return swap(os, "user");
+    }
+
+    synchronized SwapResult
+    swap(com.zeroc.Ice.OutputStream os, String reason)
     {
         if(_batchRequestNum == 0)
         {
             return null;
         }
 
-        waitStreamInUse(true);
-
-        byte[] lastRequest = null;
-        if(_batchMarker < _batchStream.size())
-        {
-            lastRequest = new byte[_batchStream.size() - _batchMarker];
-            Buffer buffer = _batchStream.getBuffer();
-            buffer.b.position(_batchMarker);
-            buffer.b.get(lastRequest);
-            _batchStream.resize(_batchMarker);
-        }
+        cancelFlush();
 
         SwapResult result = new SwapResult();
         result.batchRequestNum = _batchRequestNum;
         result.compress = _batchCompress;
+        observeFlush(reason, _batchRequestNum, _batchStream.size());
         _batchStream.swap(os);
 
         //
@@ -183,11 +211,6 @@ public class BatchRequestQueue
         _batchRequestNum = 0;
         _batchCompress = false;
         _batchStream.writeBlob(Protocol.requestBatchHdr);
-        _batchMarker = _batchStream.size();
-        if(lastRequest != null)
-        {
-            _batchStream.writeBlob(lastRequest);
-        }
         return result;
     }
 
@@ -195,6 +218,7 @@ public class BatchRequestQueue
     destroy(com.zeroc.Ice.LocalException ex)
     {
         _exception = ex;
+        cancelFlush();
     }
 
     synchronized public boolean
@@ -203,17 +227,23 @@ public class BatchRequestQueue
         return _batchStream.size() == Protocol.requestBatchHdr.length;
     }
 
+    private synchronized boolean
+    checkAutoFlush(int size)
+    {
+        return _maxSize > 0 && _batchRequestNum > 0 && _batchStream.size() + size >= _maxSize;
+    }
+
     private void
-    waitStreamInUse(boolean flush)
+    waitInterceptorInUse()
     {
         //
-        // This is similar to a mutex lock in that the stream is
-        // only "locked" while marshaling. As such we don't permit the wait
+        // This is similar to a mutex lock in that the interceptor is
+        // only "locked" while enqueuing. As such we don't permit the wait
         // to be interrupted. Instead the interrupted status is saved and
         // restored.
         //
         boolean interrupted = false;
-        while(_batchStreamInUse && !(flush && _batchStreamCanFlush))
+        while(_interceptorInUse)
         {
             try
             {
@@ -233,28 +263,143 @@ public class BatchRequestQueue
         }
     }
 
-    private void enqueueBatchRequest(com.zeroc.Ice.ObjectPrx proxy)
+    //
+    // The flushes lock this mutex while swapping and sending the batch, so
+    // the batches are sent in the order they were swapped and an explicit
+    // flush can't overtake an auto flush. The requests batched by a thread
+    // are therefore sent in order.
+    //
+    java.lang.Object
+    flushMutex()
+    {
+        return _flushMutex;
+    }
+
+    private void
+    flush(com.zeroc.Ice.ObjectPrx proxy, String reason)
+    {
+        ProxyFlushBatch f = new ProxyFlushBatch((com.zeroc.Ice._ObjectPrxI)proxy, reason);
+        try
+        {
+            f.invoke();
+        }
+        catch(com.zeroc.Ice.Exception ex)
+        {
+            f.abort(ex);
+        }
+    }
+
+    //
+    // Schedule the flush of the batch once the auto flush delay elapsed,
+    // the flush is canceled if the batch is flushed meanwhile.
+    //
+    private void
+    scheduleFlush(com.zeroc.Ice.ObjectPrx proxy)
+    {
+        try
+        {
+            _flushFuture = _instance.timer().schedule(() -> delayedFlush(), _flushDelay,
+                                                      java.util.concurrent.TimeUnit.MILLISECONDS);
+            _flushProxy = proxy;
+        }
+        catch(com.zeroc.Ice.CommunicatorDestroyedException | java.util.concurrent.RejectedExecutionException ex)
+        {
+            // Ignore, the communicator is being destroyed.
+        }
+    }
+
+    private void
+    cancelFlush()
+    {
+        if(_flushFuture != null)
+        {
+            _flushFuture.cancel(false);
+            _flushFuture = null;
+            _flushProxy = null;
+        }
+    }
+
+    private void
+    delayedFlush()
+    {
+        com.zeroc.Ice.ObjectPrx proxy;
+        synchronized(this)
+        {
+            proxy = _flushProxy;
+            _flushFuture = null;
+            _flushProxy = null;
+            if(proxy == null || _batchRequestNum == 0 || _exception != null)
+            {
+                return;
+            }
+        }
+        flush(proxy, "delay");
+    }
+
+    private void
+    observeFlush(String reason, int requests, int size)
+    {
+        com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = _instance.initializationData().observer;
+        if(obsv instanceof CommunicatorObserverI)
+        {
+            com.zeroc.Ice.Instrumentation.Observer observer =
+                ((CommunicatorObserverI)obsv).getBatchFlushObserver(reason, requests, size);
+            if(observer != null)
+            {
+                observer.attach();
+                observer.detach();
+            }
+        }
+    }
+
+    private boolean
+    enqueueBatchRequest(com.zeroc.Ice.OutputStream os, com.zeroc.Ice.ObjectPrx proxy, boolean checkSize)
     {
-        assert(_batchMarker < _batchStream.size());
         Boolean compress = proxy._getReference().getCompressOverride();
-        if(compress != null)
+
+        //
+        // Copy the marshaled request at the end of the batch stream, this
+        // is the only time the batch stream is held by a batching thread.
+        //
+        java.nio.ByteBuffer b = os.getBuffer().b.duplicate();
+        b.limit(os.size());
+        b.position(0);
+        synchronized(this)
         {
-            _batchCompress |= compress.booleanValue();
+            if(checkSize && _maxSize > 0 && _batchRequestNum > 0 && _batchStream.size() + b.remaining() >= _maxSize)
+            {
+                return false; // The batch must be flushed first.
+            }
+
+            _batchStream.expand(b.remaining());
+            _batchStream.getBuffer().b.put(b);
+            if(compress != null)
+            {
+                _batchCompress |= compress.booleanValue();
+            }
+            ++_batchRequestNum;
+
+            if(_flushDelay > 0 && _flushFuture == null && _exception == null)
+            {
+                scheduleFlush(proxy);
+            }
         }
-        _batchMarker = _batchStream.size();
-        ++_batchRequestNum;
+        return true;
     }
 
+    private final Instance _instance;
+    private final int _flushDelay; // Auto flush delay in milliseconds, 0 if disabled.
+    private java.util.concurrent.Future<?> _flushFuture;
+    private com.zeroc.Ice.ObjectPrx _flushProxy; // The proxy used for the delayed flush.
     private com.zeroc.Ice.BatchRequestInterceptor _interceptor;
+    private boolean _interceptorInUse;
     private com.zeroc.Ice.OutputStream _batchStream;
-    private boolean _batchStreamInUse;
-    private boolean _batchStreamCanFlush;
     private int _batchRequestNum;
-    private int _batchMarker;
     private boolean _batchCompress;
     private BatchRequestI _request;
-    private com.zeroc.Ice.LocalException _exception;
+    private volatile com.zeroc.Ice.LocalException _exception;
     private int _maxSize;
+    private final java.lang.Object _flushMutex = new java.lang.Object();
 
     final private static int _udpOverhead = 20 + 8;
 }
@@ -21,12 +21,23 @@ public class Buffer
     }
 
     public Buffer(boolean direct, java.nio.ByteOrder order)
+    {
+        this(direct, order, null);
+    }
+
+    public Buffer(boolean direct, com.zeroc.Ice.BufferPool pool)
+    {
+        this(direct, java.nio.ByteOrder.LITTLE_ENDIAN, pool);
+    }
+
+    public Buffer(boolean direct, java.nio.ByteOrder order, com.zeroc.Ice.BufferPool pool)
     {
         b = _emptyBuffer;
         _size = 0;
         _capacity = 0;
         _direct = direct;
         _order = order;
+        _pool = pool;
     }
 
     public Buffer(byte[] data)
@@ -67,11 +78,18 @@ public class Buffer
         _direct = buf._direct;
         _shrinkCounter = buf._shrinkCounter;
         _order = buf._order;
+        _pool = buf._pool;
+        _ref = buf._ref;
 
         if(adopt)
         {
+            buf._ref = null; // The memory now belongs to this buffer.
             buf.clear();
         }
+        else if(_ref != null)
+        {
+            _ref.incrementAndGet(); // The memory is shared by both buffers.
+        }
     }
 
     public void swap(Buffer buf)
@@ -82,6 +100,8 @@ public class Buffer
         final boolean direct = buf._direct;
         final int shrinkCounter = buf._shrinkCounter;
         final java.nio.ByteOrder order = buf._order;
+        final com.zeroc.Ice.BufferPool pool = buf._pool;
+        final java.util.concurrent.atomic.AtomicInteger ref = buf._ref;
 
         buf.b = b;
         buf._size = _size;
@@ -89,6 +109,8 @@ public class Buffer
         buf._direct = _direct;
         buf._shrinkCounter = _shrinkCounter;
         buf._order = _order;
+        buf._pool = _pool;
+        buf._ref = _ref;
 
         b = bb;
         _size = size;
@@ -96,6 +118,8 @@ public class Buffer
         _direct = direct;
         _shrinkCounter = shrinkCounter;
         _order = order;
+        _pool = pool;
+        _ref = ref;
     }
 
     public int size()
@@ -110,6 +134,7 @@ public class Buffer
 
     public void clear()
     {
+        release();
         b = _emptyBuffer;
         _size = 0;
         _capacity = 0;
@@ -182,6 +207,31 @@ public class Buffer
         }
     }
 
+    //
+    // Called when the memory of this buffer is referenced outside of the buffer, for
+    // example by a slice returned to the application. The memory is no longer returned
+    // to the pool.
+    //
+    public void retain()
+    {
+        if(_ref != null)
+        {
+            _ref.incrementAndGet();
+        }
+    }
+
+    private void release()
+    {
+        if(_ref != null)
+        {
+            if(_ref.decrementAndGet() == 0)
+            {
+                _pool.release(b);
+            }
+            _ref = null;
+        }
+    }
+
     private void reserve(int n)
     {
         if(n > _capacity)
@@ -202,7 +252,12 @@ public class Buffer
         {
             java.nio.ByteBuffer buf;
 
-            if(_direct)
+            if(_pool != null)
+            {
+                buf = _pool.allocate(_capacity, _direct);
+                _capacity = buf.capacity(); // The pool might return a larger buffer.
+            }
+            else if(_direct)
             {
                 buf = java.nio.ByteBuffer.allocateDirect(_capacity);
             }
@@ -221,11 +276,17 @@ public class Buffer
                 b.position(0);
                 b.limit(java.lang.Math.min(_capacity, b.capacity()));
                 buf.put(b);
+                release();
                 b = buf;
                 b.limit(b.capacity());
                 b.position(pos);
             }
 
+            if(_pool != null)
+            {
+                _ref = new java.util.concurrent.atomic.AtomicInteger(1);
+            }
+
             b.order(_order); // Preserve the original order.
         }
         catch(OutOfMemoryError ex)
@@ -244,4 +305,6 @@ public class Buffer
     private boolean _direct; // Use direct buffers?
     private int _shrinkCounter;
     private java.nio.ByteOrder _order;
+    private com.zeroc.Ice.BufferPool _pool; // The pool used to allocate the buffer memory, null if not pooled.
+    private java.util.concurrent.atomic.AtomicInteger _ref; // Reference count of pooled memory.
 }
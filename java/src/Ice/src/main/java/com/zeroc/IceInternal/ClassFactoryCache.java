@@ -0,0 +1,232 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// The factories of the classes of Slice values and user exceptions, by
+// type id, and the type ids of the compact ids. The cache is shared by
+// the input streams which use the class resolver of the communicator.
+//
+// The type ids are only cached if the communicator has a class loader
+// (InitializationData.classLoader). Otherwise the classes are loaded with
+// the context class loader of the calling thread, and threads with
+// different context class loaders can resolve a type id to different
+// classes. With a class loader, a type id is only cached if its class is
+// defined by this class loader or one of its parents, and type ids
+// without a class are never cached: the class loader falls back to the
+// context class loader of the calling thread for the classes it can't
+// load. Without a class loader, the input streams don't use the factories
+// by type id, their decoders resolve and keep the classes of the type ids
+// they read, and get the factories of these classes.
+//
+// A factory calls the no-argument constructor of the class with a lambda
+// bound to the constructor, or with a method handle if the class isn't
+// visible from the class loader of Ice. The factories are created once
+// per class and kept with the class.
+//
+public final class ClassFactoryCache
+{
+    //
+    // Returns the factory of the class of the type id or null if there's
+    // no class for this type id.
+    //
+    public java.util.function.Supplier<java.lang.Object>
+    getFactory(String typeId)
+    {
+        ClassLoader classLoader = _instance.getClassLoader();
+        java.util.function.Supplier<java.lang.Object> factory =
+            classLoader != null ? _factories.get(typeId) : null;
+        if(factory == null)
+        {
+            Class<?> cls = _instance.apply(typeId);
+            if(cls == null)
+            {
+                return null;
+            }
+            factory = getFactory(cls);
+            if(classLoader != null && isDefinedBy(cls, classLoader))
+            {
+                _factories.put(typeId, factory);
+            }
+        }
+        return factory;
+    }
+
+    //
+    // Returns the type id of the compact id or an empty string if there's
+    // no type id for this compact id. The type id of a compact id is set by
+    // the Slice definitions, it's cached once found if the communicator has
+    // a class loader.
+    //
+    public String
+    resolveCompactId(int compactId)
+    {
+        if(_instance.getClassLoader() == null)
+        {
+            return _instance.resolveCompactId(compactId);
+        }
+
+        String typeId = _compactIds.get(compactId);
+        if(typeId == null)
+        {
+            typeId = _instance.resolveCompactId(compactId);
+            if(!typeId.isEmpty())
+            {
+                _compactIds.put(compactId, typeId);
+            }
+        }
+        return typeId;
+    }
+
+    //
+    // Returns the factory of the class, for the streams which don't use the
+    // class resolver of the communicator.
+    //
+    public static java.util.function.Supplier<java.lang.Object>
+    getFactory(Class<?> cls)
+    {
+        return _classFactories.get(cls);
+    }
+
+    public void
+    clear()
+    {
+        _factories.clear();
+        _compactIds.clear();
+    }
+
+    ClassFactoryCache(Instance instance)
+    {
+        _instance = instance;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static java.util.function.Supplier<java.lang.Object>
+    createFactory(Class<?> cls)
+    {
+        final java.lang.invoke.MethodHandle constructor;
+        try
+        {
+            constructor = _lookup.findConstructor(cls, java.lang.invoke.MethodType.methodType(void.class));
+        }
+        catch(NoSuchMethodException | IllegalAccessException ex)
+        {
+            //
+            // Report the failure with each instantiation, as Class.newInstance() did.
+            //
+            return () ->
+            {
+                throw new java.lang.reflect.UndeclaredThrowableException(ex);
+            };
+        }
+
+        if(isVisible(cls))
+        {
+            try
+            {
+                java.lang.invoke.CallSite site = java.lang.invoke.LambdaMetafactory.metafactory(
+                    _lookup,
+                    "get",
+                    java.lang.invoke.MethodType.methodType(java.util.function.Supplier.class),
+                    java.lang.invoke.MethodType.methodType(java.lang.Object.class),
+                    constructor,
+                    java.lang.invoke.MethodType.methodType(cls));
+                return (java.util.function.Supplier<java.lang.Object>)site.getTarget().invoke();
+            }
+            catch(Throwable ex)
+            {
+                // Use the method handle.
+            }
+        }
+
+        final java.lang.invoke.MethodHandle handle =
+            constructor.asType(java.lang.invoke.MethodType.methodType(java.lang.Object.class));
+        return () ->
+        {
+            try
+            {
+                return handle.invokeExact();
+            }
+            catch(RuntimeException | Error ex)
+            {
+                throw ex;
+            }
+            catch(Throwable ex)
+            {
+                throw new java.lang.reflect.UndeclaredThrowableException(ex);
+            }
+        };
+    }
+
+    //
+    // Returns true if the class is defined by the class loader or by one of
+    // its parents, the class loader then always resolves to this class.
+    //
+    private static boolean
+    isDefinedBy(Class<?> cls, ClassLoader classLoader)
+    {
+        ClassLoader definingLoader = cls.getClassLoader();
+        if(definingLoader == null)
+        {
+            return true; // Bootstrap class loader
+        }
+        try
+        {
+            for(ClassLoader p = classLoader; p != null; p = p.getParent())
+            {
+                if(p == definingLoader)
+                {
+                    return true;
+                }
+            }
+        }
+        catch(SecurityException ex)
+        {
+            // A security manager may forbid access to the parent class loader.
+        }
+        return false;
+    }
+
+    //
+    // The lambda class is defined by the class loader of Ice, it can only
+    // call the constructor of a class visible from this class loader.
+    //
+    private static boolean
+    isVisible(Class<?> cls)
+    {
+        try
+        {
+            return Class.forName(cls.getName(), false, ClassFactoryCache.class.getClassLoader()) == cls;
+        }
+        catch(ClassNotFoundException | LinkageError ex)
+        {
+            return false;
+        }
+    }
+
+    private static final java.lang.invoke.MethodHandles.Lookup _lookup = java.lang.invoke.MethodHandles.lookup();
+
+    private static final ClassValue<java.util.function.Supplier<java.lang.Object>> _classFactories =
+        new ClassValue<java.util.function.Supplier<java.lang.Object>>()
+        {
+            @Override
+            protected java.util.function.Supplier<java.lang.Object>
+            computeValue(Class<?> cls)
+            {
+                return createFactory(cls);
+            }
+        };
+
+    private final Instance _instance;
+    private final java.util.concurrent.ConcurrentHashMap<String, java.util.function.Supplier<java.lang.Object>>
+        _factories = new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<Integer, String> _compactIds =
+        new java.util.concurrent.ConcurrentHashMap<>();
+}
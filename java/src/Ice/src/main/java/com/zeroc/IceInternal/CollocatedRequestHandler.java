@@ -27,7 +27,7 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
         {
             if(sentAsync(_outAsync))
             {
-                invokeAll(_os, _requestId, _batchRequestNum);
+                invokeAll(_outAsync, _os, _requestId, _batchRequestNum);
             }
         }
 
@@ -239,7 +239,7 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
         {
             if(sentAsync(outAsync))
             {
-                invokeAll(outAsync.getOs(), requestId, batchRequestNum);
+                invokeAll(outAsync, outAsync.getOs(), requestId, batchRequestNum);
             }
         }
         return AsyncStatus.Queued;
@@ -271,7 +271,7 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
     }
 
     private void
-    invokeAll(com.zeroc.Ice.OutputStream os, int requestId, int batchRequestNum)
+    invokeAll(OutgoingAsyncBase outAsync, com.zeroc.Ice.OutputStream os, int requestId, int batchRequestNum)
     {
         if(_traceLevels.protocol >= 1)
         {
@@ -300,6 +300,11 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
         }
 
         int invokeNum = batchRequestNum > 0 ? batchRequestNum : 1;
+        OutgoingAsync<?> direct = null;
+        if(outAsync instanceof OutgoingAsync && ((OutgoingAsync<?>)outAsync).getDirectParams() != null)
+        {
+            direct = (OutgoingAsync<?>)outAsync;
+        }
         ServantManager servantManager = _adapter.getServantManager();
         try
         {
@@ -323,6 +328,10 @@ public class CollocatedRequestHandler implements RequestHandler, ResponseHandler
 
                 Incoming in = new Incoming(_reference.getInstance(), this, null, _adapter, _response, (byte)0,
                                            requestId);
+                if(direct != null)
+                {
+                    in.setDirect(direct);
+                }
                 in.invoke(servantManager, is);
                 --invokeNum;
             }
@@ -105,53 +105,61 @@ public class CommunicatorFlushBatch extends InvocationFutureI<Void>
 
         try
         {
-            final FlushBatch flushBatch = new FlushBatch();
-            final BatchRequestQueue.SwapResult r = con.getBatchRequestQueue().swap(flushBatch.getOs());
-            if(r == null)
-            {
-                flushBatch.sent();
-            }
-            else if(_instance.queueRequests())
-            {
-                _instance.getQueueExecutor().executeNoThrow(new Callable<Void>()
+            //
+            // Lock the flush mutex of the batch request queue until the batch
+            // is sent, like auto flushes.
+            //
+            final BatchRequestQueue queue = con.getBatchRequestQueue();
+            synchronized(queue.flushMutex())
+            {
+                final FlushBatch flushBatch = new FlushBatch();
+                final BatchRequestQueue.SwapResult r = queue.swap(flushBatch.getOs());
+                if(r == null)
                 {
-                    @Override
-                    public Void call() throws RetryException
+                    flushBatch.sent();
+                }
+                else if(_instance.queueRequests())
+                {
+                    _instance.getQueueExecutor().executeNoThrow(new Callable<Void>()
                     {
-                        boolean comp = false;
-                        if(compressBatch == com.zeroc.Ice.CompressBatch.Yes)
+                        @Override
+                        public Void call() throws RetryException
                         {
-                            comp = true;
+                            boolean comp = false;
+                            if(compressBatch == com.zeroc.Ice.CompressBatch.Yes)
+                            {
+                                comp = true;
+                            }
+                            else if(compressBatch == com.zeroc.Ice.CompressBatch.No)
+                            {
+                                comp = false;
+                            }
+                            else
+                            {
+                                comp = r.compress;
+                            }
+                            con.sendAsyncRequest(flushBatch, comp, false, r.batchRequestNum);
+                            return null;
                         }
-                        else if(compressBatch == com.zeroc.Ice.CompressBatch.No)
-                        {
-                            comp = false;
-                        }
-                        else
-                        {
-                            comp = r.compress;
-                        }
-                        con.sendAsyncRequest(flushBatch, comp, false, r.batchRequestNum);
-                        return null;
-                    }
-                });
-            }
-            else
-            {
-                boolean comp = false;
-                if(compressBatch == com.zeroc.Ice.CompressBatch.Yes)
-                {
-                    comp = true;
-                }
-                else if(compressBatch == com.zeroc.Ice.CompressBatch.No)
-                {
-                    comp = false;
+                    });
                 }
                 else
                 {
-                    comp = r.compress;
+                    boolean comp = false;
+                    if(compressBatch == com.zeroc.Ice.CompressBatch.Yes)
+                    {
+                        comp = true;
+                    }
+                    else if(compressBatch == com.zeroc.Ice.CompressBatch.No)
+                    {
+                        comp = false;
+                    }
+                    else
+                    {
+                        comp = r.compress;
+                    }
+                    con.sendAsyncRequest(flushBatch, comp, false, r.batchRequestNum);
                 }
-                con.sendAsyncRequest(flushBatch, comp, false, r.batchRequestNum);
             }
         }
         catch(RetryException ex)
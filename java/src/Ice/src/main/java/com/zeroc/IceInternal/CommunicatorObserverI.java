@@ -212,11 +212,13 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
             }
         };
 
-        DispatchHelper(com.zeroc.Ice.Current current, int size)
+        DispatchHelper(com.zeroc.Ice.Current current, int size,
+                       java.util.Map<com.zeroc.Ice.Endpoint, com.zeroc.Ice.EndpointInfo> endpointInfos)
         {
             super(_attributes);
             _current = current;
             _size = size;
+            _endpointInfos = endpointInfos;
         }
 
         @Override
@@ -238,7 +240,7 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
                     return v;
                 }
             }
-            throw new IllegalArgumentException(attribute);
+            return null;
         }
 
         public String
@@ -306,7 +308,13 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         {
             if(_current.con != null && _endpointInfo == null)
             {
-                _endpointInfo = _current.con.getEndpoint().getInfo();
+                com.zeroc.Ice.Endpoint endpoint = _current.con.getEndpoint();
+                _endpointInfo = _endpointInfos.get(endpoint);
+                if(_endpointInfo == null)
+                {
+                    _endpointInfo = endpoint.getInfo();
+                    cache(_endpointInfos, endpoint, _endpointInfo);
+                }
             }
             return _endpointInfo;
         }
@@ -325,6 +333,7 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
 
         final private com.zeroc.Ice.Current _current;
         final private int _size;
+        final private java.util.Map<com.zeroc.Ice.Endpoint, com.zeroc.Ice.EndpointInfo> _endpointInfos;
         private String _id;
         private com.zeroc.Ice.EndpointInfo _endpointInfo;
     }
@@ -357,12 +366,14 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
             }
         };
 
-        InvocationHelper(com.zeroc.Ice.ObjectPrx proxy, String op, java.util.Map<String, String> ctx)
+        InvocationHelper(com.zeroc.Ice.ObjectPrx proxy, String op, java.util.Map<String, String> ctx,
+                         java.util.Map<com.zeroc.Ice.ObjectPrx, String> proxyIds)
         {
             super(_attributes);
             _proxy = proxy;
             _operation = op;
             _context = ctx;
+            _proxyIds = proxyIds;
         }
 
         @Override
@@ -377,7 +388,7 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
                     return v;
                 }
             }
-            throw new IllegalArgumentException(attribute);
+            return null;
         }
 
         public String
@@ -421,17 +432,26 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
             {
                 if(_proxy != null)
                 {
-                    StringBuilder os = new StringBuilder();
-                    try
-                    {
-                        os.append(_proxy.ice_endpoints(emptyEndpoints)).append(" [").append(_operation).append(']');
-                    }
-                    catch(Exception ex)
+                    //
+                    // The stringified proxy without endpoints is cached for
+                    // the proxies in use.
+                    //
+                    String proxyId = _proxyIds.get(_proxy);
+                    if(proxyId == null)
                     {
-                        // Either a fixed proxy or the communicator is destroyed.
-                        os.append(_proxy.ice_getCommunicator().identityToString(_proxy.ice_getIdentity()));
-                        os.append(" [").append(_operation).append(']');
+                        try
+                        {
+                            proxyId = _proxy.ice_endpoints(emptyEndpoints).toString();
+                            cache(_proxyIds, _proxy, proxyId);
+                        }
+                        catch(Exception ex)
+                        {
+                            // Either a fixed proxy or the communicator is destroyed.
+                            proxyId = _proxy.ice_getCommunicator().identityToString(_proxy.ice_getIdentity());
+                        }
                     }
+                    StringBuilder os = new StringBuilder();
+                    os.append(proxyId).append(" [").append(_operation).append(']');
                     _id = os.toString();
                 }
                 else
@@ -482,6 +502,7 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         final private com.zeroc.Ice.ObjectPrx _proxy;
         final private String _operation;
         final private java.util.Map<String, String> _context;
+        final private java.util.Map<com.zeroc.Ice.ObjectPrx, String> _proxyIds;
         private String _id;
 
         static final private com.zeroc.Ice.Endpoint[] emptyEndpoints = new com.zeroc.Ice.Endpoint[0];
@@ -606,6 +627,183 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         private com.zeroc.Ice.EndpointInfo _endpointInfo;
     }
 
+    static public final class LocatorCacheHelper extends MetricsHelper<Metrics>
+    {
+        static private final AttributeResolver _attributes = new AttributeResolver()
+        {
+            {
+                try
+                {
+                    add("parent", LocatorCacheHelper.class.getDeclaredMethod("getParent"));
+                    add("id", LocatorCacheHelper.class.getDeclaredMethod("getId"));
+                    add("result", LocatorCacheHelper.class.getDeclaredMethod("getId"));
+                    add("locator", LocatorCacheHelper.class.getDeclaredMethod("getLocator"));
+                    add("adapter", LocatorCacheHelper.class.getDeclaredMethod("getAdapter"));
+                    add("object", LocatorCacheHelper.class.getDeclaredMethod("getObject"));
+                }
+                catch(Exception ex)
+                {
+                    ex.printStackTrace();
+                    assert(false);
+                }
+            }
+        };
+
+        LocatorCacheHelper(com.zeroc.Ice.LocatorPrx locator, Reference ref, String result)
+        {
+            super(_attributes);
+            _locator = locator;
+            _reference = ref;
+            _result = result;
+        }
+
+        public String
+        getParent()
+        {
+            return "Communicator";
+        }
+
+        public String
+        getId()
+        {
+            return _result;
+        }
+
+        public String
+        getLocator()
+        {
+            return _locator.toString();
+        }
+
+        public String
+        getAdapter()
+        {
+            return _reference.getAdapterId();
+        }
+
+        public String
+        getObject()
+        {
+            if(!_reference.isWellKnown())
+            {
+                return "";
+            }
+            return com.zeroc.Ice.Util.identityToString(_reference.getIdentity(),
+                                                       _reference.getInstance().toStringMode());
+        }
+
+        final private com.zeroc.Ice.LocatorPrx _locator;
+        final private Reference _reference;
+        final private String _result;
+    }
+
+    static public final class HostCacheHelper extends MetricsHelper<Metrics>
+    {
+        static private final AttributeResolver _attributes = new AttributeResolver()
+        {
+            {
+                try
+                {
+                    add("parent", HostCacheHelper.class.getDeclaredMethod("getParent"));
+                    add("id", HostCacheHelper.class.getDeclaredMethod("getId"));
+                    add("result", HostCacheHelper.class.getDeclaredMethod("getId"));
+                    add("host", HostCacheHelper.class.getDeclaredField("_host"));
+                    add("port", HostCacheHelper.class.getDeclaredField("_port"));
+                    add("endpoint", HostCacheHelper.class.getDeclaredMethod("getEndpoint"));
+                }
+                catch(Exception ex)
+                {
+                    ex.printStackTrace();
+                    assert(false);
+                }
+            }
+        };
+
+        HostCacheHelper(com.zeroc.Ice.Endpoint endpt, String host, int port, String result)
+        {
+            super(_attributes);
+            _endpoint = endpt;
+            _host = host;
+            _port = port;
+            _result = result;
+        }
+
+        public String
+        getParent()
+        {
+            return "Communicator";
+        }
+
+        public String
+        getId()
+        {
+            return _result;
+        }
+
+        public String
+        getEndpoint()
+        {
+            return _endpoint.toString();
+        }
+
+        final private com.zeroc.Ice.Endpoint _endpoint;
+        final private String _host;
+        final private int _port;
+        final private String _result;
+    }
+
+    static public final class BatchFlushHelper extends MetricsHelper<BatchFlushMetrics>
+    {
+        static private final AttributeResolver _attributes = new AttributeResolver()
+        {
+            {
+                try
+                {
+                    add("parent", BatchFlushHelper.class.getDeclaredMethod("getParent"));
+                    add("id", BatchFlushHelper.class.getDeclaredMethod("getId"));
+                    add("reason", BatchFlushHelper.class.getDeclaredMethod("getId"));
+                }
+                catch(Exception ex)
+                {
+                    ex.printStackTrace();
+                    assert(false);
+                }
+            }
+        };
+
+        BatchFlushHelper(String reason, int requests, int size)
+        {
+            super(_attributes);
+            _reason = reason;
+            _requests = requests;
+            _size = size;
+        }
+
+        @Override
+        public void
+        initMetrics(BatchFlushMetrics v)
+        {
+            v.requests += _requests;
+            v.size += _size;
+        }
+
+        public String
+        getParent()
+        {
+            return "Communicator";
+        }
+
+        public String
+        getId()
+        {
+            return _reason;
+        }
+
+        final private String _reason;
+        final private int _requests;
+        final private int _size;
+    }
+
     public
     CommunicatorObserverI(com.zeroc.Ice.InitializationData initData)
     {
@@ -624,6 +822,12 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
             com.zeroc.Ice.Instrumentation.Observer>(_metrics, "ConnectionEstablishment", Metrics.class);
         _endpointLookups = new ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
             com.zeroc.Ice.Instrumentation.Observer>(_metrics, "EndpointLookup", Metrics.class);
+        _locatorCacheLookups = new ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
+            com.zeroc.Ice.Instrumentation.Observer>(_metrics, "LocatorCache", Metrics.class);
+        _hostCacheLookups = new ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
+            com.zeroc.Ice.Instrumentation.Observer>(_metrics, "HostCache", Metrics.class);
+        _batchFlushes = new ObserverFactoryWithDelegate<BatchFlushMetrics, BatchFlushObserverI,
+            com.zeroc.Ice.Instrumentation.Observer>(_metrics, "BatchFlush", BatchFlushMetrics.class);
 
         try
         {
@@ -686,6 +890,79 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         return null;
     }
 
+    //
+    // Locator cache lookups aren't part of the Instrumentation local
+    // interfaces, so there is no delegate observer for them. The result
+    // attribute (also the default id) is "hit", "miss" or "stale".
+    //
+    public com.zeroc.Ice.Instrumentation.Observer
+    getLocatorCacheObserver(com.zeroc.Ice.LocatorPrx locator, Reference ref, String result)
+    {
+        if(_locatorCacheLookups.isEnabled())
+        {
+            try
+            {
+                return _locatorCacheLookups.getObserver(new LocatorCacheHelper(locator, ref, result),
+                                                        ObserverWithDelegateI.class,
+                                                        (com.zeroc.Ice.Instrumentation.Observer)null);
+            }
+            catch(Exception ex)
+            {
+                _metrics.getLogger().error("unexpected exception trying to obtain observer:\n" + Ex.toString(ex));
+            }
+        }
+        return null;
+    }
+
+    //
+    // Endpoint host resolver cache lookups aren't part of the
+    // Instrumentation local interfaces either. The result attribute (also
+    // the default id) is "hit", "miss" or "coalesced" for a lookup which
+    // waits for the result of a lookup in progress.
+    //
+    public com.zeroc.Ice.Instrumentation.Observer
+    getHostCacheObserver(com.zeroc.Ice.Endpoint endpt, String host, int port, String result)
+    {
+        if(_hostCacheLookups.isEnabled())
+        {
+            try
+            {
+                return _hostCacheLookups.getObserver(new HostCacheHelper(endpt, host, port, result),
+                                                     ObserverWithDelegateI.class,
+                                                     (com.zeroc.Ice.Instrumentation.Observer)null);
+            }
+            catch(Exception ex)
+            {
+                _metrics.getLogger().error("unexpected exception trying to obtain observer:\n" + Ex.toString(ex));
+            }
+        }
+        return null;
+    }
+
+    //
+    // Like locator cache lookups, batch flushes have no delegate observer.
+    // The reason attribute (also the default id) is "user" for flushes
+    // requested by the application, "size" or "delay" for auto flushes.
+    //
+    public com.zeroc.Ice.Instrumentation.Observer
+    getBatchFlushObserver(String reason, int requests, int size)
+    {
+        if(_batchFlushes.isEnabled())
+        {
+            try
+            {
+                return _batchFlushes.getObserver(new BatchFlushHelper(reason, requests, size),
+                                                 BatchFlushObserverI.class,
+                                                 (com.zeroc.Ice.Instrumentation.Observer)null);
+            }
+            catch(Exception ex)
+            {
+                _metrics.getLogger().error("unexpected exception trying to obtain observer:\n" + Ex.toString(ex));
+            }
+        }
+        return null;
+    }
+
     @Override
     public com.zeroc.Ice.Instrumentation.ConnectionObserver
     getConnectionObserver(com.zeroc.Ice.ConnectionInfo c, com.zeroc.Ice.Endpoint e,
@@ -751,7 +1028,7 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
                 {
                     delegate = _delegate.getInvocationObserver(prx, operation, ctx);
                 }
-                return _invocations.getObserver(new InvocationHelper(prx, operation, ctx),
+                return _invocations.getObserver(new InvocationHelper(prx, operation, ctx, _proxyIds),
                                                 InvocationObserverI.class,
                                                 delegate);
             }
@@ -776,7 +1053,8 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
                 {
                     delegate = _delegate.getDispatchObserver(c, size);
                 }
-                return _dispatch.getObserver(new DispatchHelper(c, size), DispatchObserverI.class, delegate);
+                return _dispatch.getObserver(new DispatchHelper(c, size, _endpointInfos),
+                                             DispatchObserverI.class, delegate);
             }
             catch(Exception ex)
             {
@@ -812,8 +1090,27 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         return _metrics;
     }
 
+    //
+    // Adds an entry to a cache of attribute values, the cache is cleared
+    // once full and refilled with the entries in use.
+    //
+    static private <K, V> void
+    cache(java.util.Map<K, V> cache, K key, V value)
+    {
+        if(cache.size() >= CacheSize)
+        {
+            cache.clear();
+        }
+        cache.put(key, value);
+    }
+
     final private MetricsAdminI _metrics;
     final private com.zeroc.Ice.Instrumentation.CommunicatorObserver _delegate;
+    final private java.util.Map<com.zeroc.Ice.ObjectPrx, String> _proxyIds =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    final private java.util.Map<com.zeroc.Ice.Endpoint, com.zeroc.Ice.EndpointInfo> _endpointInfos =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    static final private int CacheSize = 1024;
     final private ObserverFactoryWithDelegate<ConnectionMetrics, ConnectionObserverI,
         com.zeroc.Ice.Instrumentation.ConnectionObserver> _connections;
     final private ObserverFactoryWithDelegate<DispatchMetrics, DispatchObserverI,
@@ -826,4 +1123,10 @@ public class CommunicatorObserverI implements com.zeroc.Ice.Instrumentation.Comm
         com.zeroc.Ice.Instrumentation.Observer> _connects;
     final private ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
         com.zeroc.Ice.Instrumentation.Observer> _endpointLookups;
+    final private ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
+        com.zeroc.Ice.Instrumentation.Observer> _locatorCacheLookups;
+    final private ObserverFactoryWithDelegate<Metrics, ObserverWithDelegateI,
+        com.zeroc.Ice.Instrumentation.Observer> _hostCacheLookups;
+    final private ObserverFactoryWithDelegate<BatchFlushMetrics, BatchFlushObserverI,
+        com.zeroc.Ice.Instrumentation.Observer> _batchFlushes;
 }
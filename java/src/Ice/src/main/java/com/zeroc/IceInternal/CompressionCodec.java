@@ -0,0 +1,43 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+public interface CompressionCodec
+{
+    //
+    // The compression status written in the header of the messages compressed
+    // with this codec. Status 2 is used by bzip2, other codecs must use a value
+    // between 3 and 127.
+    //
+    byte id();
+
+    //
+    // The codec name, used to select the codec with Ice.Compression.Codec.
+    //
+    String name();
+
+    //
+    // Returns true if the codec can be used.
+    //
+    boolean supported();
+
+    //
+    // Compress the message in the given buffer, the header is copied as-is. The
+    // compressed buffer contains the header, the size of the uncompressed message
+    // and the compressed data. Returns null if the message can't be compressed
+    // to a smaller size.
+    //
+    Buffer compress(Buffer buf, int headerSize, int compressionLevel);
+
+    //
+    // Uncompress a message compressed with compress().
+    //
+    Buffer uncompress(Buffer buf, int headerSize, int messageSizeMax);
+}
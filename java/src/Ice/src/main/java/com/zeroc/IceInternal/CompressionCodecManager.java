@@ -0,0 +1,55 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+public final class CompressionCodecManager
+{
+    CompressionCodecManager()
+    {
+        add(new BZip2Codec());
+        add(new LZ4Codec());
+    }
+
+    public synchronized void add(CompressionCodec codec)
+    {
+        int id = codec.id();
+        if(id < 2 || id > 127 || _codecs[id] != null)
+        {
+            throw new IllegalArgumentException("invalid or duplicate compression codec id " + id);
+        }
+
+        //
+        // Copy on write, the codecs are looked up without locking for each
+        // compressed message.
+        //
+        CompressionCodec[] codecs = _codecs.clone();
+        codecs[id] = codec;
+        _codecs = codecs;
+    }
+
+    public CompressionCodec get(byte id)
+    {
+        return id >= 0 ? _codecs[id] : null;
+    }
+
+    public CompressionCodec get(String name)
+    {
+        for(CompressionCodec codec : _codecs)
+        {
+            if(codec != null && codec.name().equals(name))
+            {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    private volatile CompressionCodec[] _codecs = new CompressionCodec[128];
+}
@@ -46,10 +46,23 @@ public class ConnectionFlushBatch extends OutgoingAsyncBaseI<Void>
     }
 
     public void invoke(com.zeroc.Ice.CompressBatch compressBatch)
+    {
+        //
+        // Lock the flush mutex of the batch request queue until the batch is
+        // sent, like auto flushes.
+        //
+        BatchRequestQueue queue = _connection.getBatchRequestQueue();
+        synchronized(queue.flushMutex())
+        {
+            invoke(queue, compressBatch);
+        }
+    }
+
+    private void invoke(BatchRequestQueue queue, com.zeroc.Ice.CompressBatch compressBatch)
     {
         try
         {
-            final BatchRequestQueue.SwapResult r = _connection.getBatchRequestQueue().swap(_os);
+            final BatchRequestQueue.SwapResult r = queue.swap(_os);
             int status;
             if(r == null)
             {
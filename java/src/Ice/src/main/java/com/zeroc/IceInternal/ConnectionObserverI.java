@@ -36,6 +36,32 @@ public class ConnectionObserverI
         }
     }
 
+    //
+    // Called by the connection with the number of messages sent and the
+    // number of transport writes performed to send them. This isn't part
+    // of the ConnectionObserver interface, it's not forwarded to the
+    // delegate.
+    //
+    public void sentMessages(int messages, int writes)
+    {
+        _sentMessages = messages;
+        _writes = writes;
+        forEach(_sentMessagesUpdate);
+    }
+
+    //
+    // Called by the connection with the time taken to write a message, in
+    // microseconds. It's recorded in the write time histogram of the
+    // metrics maps with histograms enabled.
+    //
+    public void messageWritten(long duration)
+    {
+        for(MetricsMap<com.zeroc.IceMX.ConnectionMetrics>.Entry e : getEntries())
+        {
+            e.written(duration);
+        }
+    }
+
     private MetricsUpdate<com.zeroc.IceMX.ConnectionMetrics> _sentBytesUpdate =
         new MetricsUpdate<com.zeroc.IceMX.ConnectionMetrics>()
         {
@@ -56,6 +82,24 @@ public class ConnectionObserverI
             }
         };
 
+    private MetricsUpdate<com.zeroc.IceMX.ConnectionMetrics> _sentMessagesUpdate =
+        new MetricsUpdate<com.zeroc.IceMX.ConnectionMetrics>()
+        {
+            @Override
+            public void update(com.zeroc.IceMX.ConnectionMetrics v)
+            {
+                //
+                // These members are optional to keep the metrics compatible
+                // with peers which don't know them, they are set with the
+                // first message sent.
+                //
+                v.setSentMessages((v.hasSentMessages() ? v.getSentMessages() : 0) + _sentMessages);
+                v.setWrites((v.hasWrites() ? v.getWrites() : 0) + _writes);
+            }
+        };
+
     private int _sentBytes;
+    private int _sentMessages;
+    private int _writes;
     private int _receivedBytes;
 }
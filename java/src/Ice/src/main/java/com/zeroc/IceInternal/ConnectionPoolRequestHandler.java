@@ -0,0 +1,232 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Request handler used by proxies configured with a ConnectionPoolSize
+// greater than 1. Requests are spread over up to ConnectionPoolSize
+// connections (stripes) to the same endpoints, each request being sent
+// over the connection with the fewest outstanding requests. Stripes are
+// established lazily: a new stripe is only opened when all the
+// established stripes have outstanding requests.
+//
+// Each stripe is a regular connect/connection request handler for a
+// reference whose connection ID is derived from the proxy connection ID,
+// the outgoing connection factory therefore keeps a separate connection
+// for each stripe.
+//
+class ConnectionPoolRequestHandler implements RequestHandler
+{
+    ConnectionPoolRequestHandler(RoutableReference ref, com.zeroc.Ice._ObjectPrxI proxy)
+    {
+        _reference = ref;
+        _proxy = proxy;
+        _handlers = new RequestHandler[ref.getConnectionPoolSize()];
+        _references = new RoutableReference[_handlers.length];
+        _opening = new boolean[_handlers.length];
+    }
+
+    @Override
+    public synchronized RequestHandler
+    update(RequestHandler previousHandler, RequestHandler newHandler)
+    {
+        if(previousHandler == this)
+        {
+            return newHandler;
+        }
+
+        //
+        // A stripe connect request handler replaces itself with a
+        // connection request handler once the connection is established.
+        //
+        if(newHandler != null)
+        {
+            for(int i = 0; i < _handlers.length; ++i)
+            {
+                if(_handlers[i] == previousHandler)
+                {
+                    _handlers[i] = newHandler;
+                }
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public int
+    sendAsyncRequest(ProxyOutgoingAsyncBase out)
+        throws RetryException
+    {
+        return select().sendAsyncRequest(out);
+    }
+
+    @Override
+    public void
+    asyncRequestCanceled(OutgoingAsyncBase outAsync, com.zeroc.Ice.LocalException ex)
+    {
+        //
+        // Requests are registered for cancellation with the stripe request
+        // handler or connection that sent them, never with the pool.
+        //
+        assert(false);
+    }
+
+    @Override
+    public Reference
+    getReference()
+    {
+        return _reference;
+    }
+
+    @Override
+    public synchronized com.zeroc.Ice.ConnectionI
+    getConnection()
+    {
+        for(RequestHandler handler : _handlers)
+        {
+            if(handler != null)
+            {
+                try
+                {
+                    com.zeroc.Ice.ConnectionI connection = handler.getConnection();
+                    if(connection != null)
+                    {
+                        return connection;
+                    }
+                }
+                catch(com.zeroc.Ice.LocalException ex)
+                {
+                    // Ignore, try the next stripe.
+                }
+            }
+        }
+        return null;
+    }
+
+    private RequestHandler
+    select()
+    {
+        int stripe = -1;
+        synchronized(this)
+        {
+            while(true)
+            {
+                RequestHandler best = null;
+                int bestLoad = Integer.MAX_VALUE;
+                int free = -1;
+                boolean opening = false;
+                for(int i = 0; i < _handlers.length; ++i)
+                {
+                    if(_opening[i])
+                    {
+                        opening = true;
+                        continue;
+                    }
+
+                    RequestHandler handler = _handlers[i];
+                    if(handler == null)
+                    {
+                        if(free < 0)
+                        {
+                            free = i;
+                        }
+                        continue;
+                    }
+
+                    int load;
+                    try
+                    {
+                        com.zeroc.Ice.ConnectionI connection = handler.getConnection();
+                        load = connection != null ? connection.outstandingRequests() : Integer.MAX_VALUE - 1;
+                    }
+                    catch(com.zeroc.Ice.LocalException ex)
+                    {
+                        //
+                        // The stripe connection establishment failed, release the
+                        // stripe so that it can be re-opened.
+                        //
+                        _handlers[i] = null;
+                        if(free < 0 || free > i)
+                        {
+                            free = i;
+                        }
+                        continue;
+                    }
+
+                    if(load < bestLoad)
+                    {
+                        best = handler;
+                        bestLoad = load;
+                    }
+                }
+
+                if(best != null && (bestLoad == 0 || free < 0 || opening))
+                {
+                    return best;
+                }
+                else if(free >= 0)
+                {
+                    stripe = free;
+                    _opening[stripe] = true;
+                    break;
+                }
+
+                //
+                // No established stripe and all the stripes are being opened by
+                // other threads, wait for one of them to be ready.
+                //
+                try
+                {
+                    wait();
+                }
+                catch(InterruptedException ex)
+                {
+                    throw new com.zeroc.Ice.OperationInterruptedException();
+                }
+            }
+        }
+
+        //
+        // Open the stripe outside the synchronization: establishing the
+        // connection might call back on the proxy which in turn calls
+        // update() on this request handler.
+        //
+        RequestHandler handler = null;
+        try
+        {
+            if(_references[stripe] == null)
+            {
+                _references[stripe] = stripe == 0 ? _reference :
+                    (RoutableReference)_reference.changeConnectionId(_reference.getConnectionId() + "#" + stripe);
+            }
+            RoutableReference ref = _references[stripe];
+            handler = ref.getInstance().requestHandlerFactory().connect(ref, _proxy);
+            return handler;
+        }
+        finally
+        {
+            synchronized(this)
+            {
+                _opening[stripe] = false;
+                if(_handlers[stripe] == null)
+                {
+                    _handlers[stripe] = handler;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    private final RoutableReference _reference;
+    private final com.zeroc.Ice._ObjectPrxI _proxy;
+    private final RequestHandler[] _handlers;
+    private final RoutableReference[] _references; // Only accessed by the thread opening the stripe.
+    private final boolean[] _opening;
+}
@@ -120,7 +120,11 @@ public final class DefaultsAndOverrides
         {
             overrideCompress = true;
             boolean b = properties.getPropertyAsInt("Ice.Override.Compress") > 0;
-            if(b && !BZip2.supported())
+            //
+            // Other compression codecs don't depend on bzip2 support.
+            //
+            if(b && !BZip2.supported() &&
+               properties.getPropertyWithDefault("Ice.Compression.Codec", "bzip2").equals("bzip2"))
             {
                 System.err.println("warning: bzip2 support not available, Ice.Override.Compress ignored");
                 b = false;
@@ -152,16 +156,27 @@ public final class DefaultsAndOverrides
         if(value.equals("Random"))
         {
             defaultEndpointSelection = com.zeroc.Ice.EndpointSelectionType.Random;
+            defaultLatencySelection = false;
         }
         else if(value.equals("Ordered"))
         {
             defaultEndpointSelection = com.zeroc.Ice.EndpointSelectionType.Ordered;
+            defaultLatencySelection = false;
+        }
+        else if(value.equals("Latency"))
+        {
+            //
+            // Latency-aware selection isn't an EndpointSelectionType, the
+            // endpoints are shuffled first and then ranked by latency.
+            //
+            defaultEndpointSelection = com.zeroc.Ice.EndpointSelectionType.Random;
+            defaultLatencySelection = true;
         }
         else
         {
             com.zeroc.Ice.EndpointSelectionTypeParseException ex =
                 new com.zeroc.Ice.EndpointSelectionTypeParseException();
-            ex.str = "illegal value `" + value + "'; expected `Random' or `Ordered'";
+            ex.str = "illegal value `" + value + "'; expected `Random', `Ordered' or `Latency'";
             throw ex;
         }
 
@@ -207,6 +222,20 @@ public final class DefaultsAndOverrides
             defaultInvocationTimeout = intValue;
         }
 
+        intValue = properties.getPropertyAsIntWithDefault("Ice.Default.ConnectionPoolSize", 1);
+        if(intValue < 1)
+        {
+            defaultConnectionPoolSize = 1;
+            StringBuffer msg = new StringBuffer("invalid value for Ice.Default.ConnectionPoolSize `");
+            msg.append(properties.getProperty("Ice.Default.ConnectionPoolSize"));
+            msg.append("': defaulting to 1");
+            logger.warning(msg.toString());
+        }
+        else
+        {
+            defaultConnectionPoolSize = intValue;
+        }
+
         defaultPreferSecure = properties.getPropertyAsIntWithDefault("Ice.Default.PreferSecure", 0) > 0;
 
         value = properties.getPropertyWithDefault("Ice.Default.EncodingVersion",
@@ -223,9 +252,11 @@ public final class DefaultsAndOverrides
     final public String defaultProtocol;
     final public boolean defaultCollocationOptimization;
     final public com.zeroc.Ice.EndpointSelectionType defaultEndpointSelection;
+    final public boolean defaultLatencySelection;
     final public int defaultTimeout;
     final public int defaultLocatorCacheTimeout;
     final public int defaultInvocationTimeout;
+    final public int defaultConnectionPoolSize;
     final public boolean defaultPreferSecure;
     final public com.zeroc.Ice.EncodingVersion defaultEncoding;
     final public com.zeroc.Ice.FormatType defaultFormat;
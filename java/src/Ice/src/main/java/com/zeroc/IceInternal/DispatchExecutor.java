@@ -0,0 +1,245 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Runs the dispatches of a thread pool configured with VirtualThreads
+// outside the thread pool threads: each dispatch is handed to a new
+// virtual thread or to the executor provided with the communicator
+// initialization data. A servant blocking in a dispatch therefore no
+// longer holds one of the thread pool threads.
+//
+// If the thread pool serializes the requests received over a connection,
+// the dispatches for a connection are queued and run one after the other.
+// The queue of a connection is bounded: once it's full, the thread pool
+// thread which read the request waits for room before reading more
+// requests, like a thread pool thread dispatching a serialized request
+// itself.
+//
+final class DispatchExecutor
+{
+    static DispatchExecutor
+    create(Instance instance, String prefix, String threadPrefix, boolean serialize)
+    {
+        com.zeroc.Ice.InitializationData initData = instance.initializationData();
+        if(initData.properties.getPropertyAsInt(prefix + ".VirtualThreads") <= 0)
+        {
+            return null;
+        }
+
+        java.util.concurrent.Executor executor = initData.executor;
+        if(executor == null)
+        {
+            final java.util.concurrent.ThreadFactory factory = createVirtualThreadFactory(threadPrefix + "-virtual-");
+            if(factory == null)
+            {
+                initData.logger.warning("virtual threads are not supported by this JVM, `" + prefix +
+                                        ".VirtualThreads' is ignored");
+                return null;
+            }
+            executor = runnable -> factory.newThread(runnable).start();
+        }
+        return new DispatchExecutor(instance, prefix, threadPrefix + "-virtual", serialize, executor);
+    }
+
+    void
+    execute(Runnable runnable, com.zeroc.Ice.Connection connection)
+    {
+        if(!_serialize || connection == null)
+        {
+            submit(() -> run(runnable));
+            return;
+        }
+
+        boolean interrupted = false;
+        try
+        {
+            synchronized(this)
+            {
+                while(true)
+                {
+                    java.util.ArrayDeque<Runnable> queue = _queues.get(connection);
+                    if(queue == null)
+                    {
+                        queue = new java.util.ArrayDeque<>();
+                        queue.add(runnable);
+                        _queues.put(connection, queue);
+                        break;
+                    }
+                    else if(queue.size() < QueueSizeMax)
+                    {
+                        queue.add(runnable); // Dispatched by the task running the queue.
+                        return;
+                    }
+
+                    try
+                    {
+                        wait();
+                    }
+                    catch(InterruptedException ex)
+                    {
+                        interrupted = true;
+                    }
+                }
+            }
+        }
+        finally
+        {
+            if(interrupted)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+        submit(() -> runQueue(connection));
+    }
+
+    synchronized void
+    updateObserver()
+    {
+        com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = _instance.initializationData().observer;
+        if(obsv != null)
+        {
+            _observer = obsv.getThreadObserver(_prefix, _name,
+                                               com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle, _observer);
+            if(_observer != null)
+            {
+                _observer.attach();
+            }
+        }
+    }
+
+    private
+    DispatchExecutor(Instance instance, String prefix, String name, boolean serialize,
+                     java.util.concurrent.Executor executor)
+    {
+        _instance = instance;
+        _prefix = prefix;
+        _name = name;
+        _serialize = serialize;
+        _executor = executor;
+        updateObserver();
+    }
+
+    private void
+    submit(Runnable runnable)
+    {
+        try
+        {
+            _executor.execute(runnable);
+        }
+        catch(java.util.concurrent.RejectedExecutionException ex)
+        {
+            //
+            // The executor is shutting down, dispatch from this thread.
+            //
+            runnable.run();
+        }
+    }
+
+    private void
+    runQueue(com.zeroc.Ice.Connection connection)
+    {
+        while(true)
+        {
+            Runnable runnable;
+            synchronized(this)
+            {
+                java.util.ArrayDeque<Runnable> queue = _queues.get(connection);
+                runnable = queue.poll();
+                if(runnable == null)
+                {
+                    _queues.remove(connection);
+                    return;
+                }
+                else if(queue.size() == QueueSizeMax - 1)
+                {
+                    notifyAll(); // Wake up the threads waiting for room in a queue.
+                }
+            }
+            run(runnable);
+        }
+    }
+
+    private void
+    run(Runnable runnable)
+    {
+        //
+        // The dispatches share a single observer, its in use for user count
+        // is the number of dispatches in progress.
+        //
+        setInUse(true);
+        try
+        {
+            runnable.run();
+        }
+        catch(java.lang.Exception ex)
+        {
+            String s = "exception in `" + _prefix + "' dispatch:\n" + Ex.toString(ex);
+            _instance.initializationData().logger.error(s);
+        }
+        finally
+        {
+            setInUse(false);
+        }
+    }
+
+    private synchronized void
+    setInUse(boolean inUse)
+    {
+        if(_observer != null)
+        {
+            if(inUse)
+            {
+                _observer.stateChanged(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle,
+                                       com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForUser);
+            }
+            else
+            {
+                _observer.stateChanged(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForUser,
+                                       com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle);
+            }
+        }
+    }
+
+    //
+    // Virtual threads are only available with Java 21 or later, they are
+    // created through reflection to keep the Java 8 compatibility.
+    //
+    private static java.util.concurrent.ThreadFactory
+    createVirtualThreadFactory(String name)
+    {
+        try
+        {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, name, 0L);
+            return (java.util.concurrent.ThreadFactory)builderClass.getMethod("factory").invoke(builder);
+        }
+        catch(ClassNotFoundException | NoSuchMethodException | IllegalAccessException |
+              java.lang.reflect.InvocationTargetException ex)
+        {
+            return null;
+        }
+    }
+
+    //
+    // The maximum number of queued dispatches for a connection with Serialize.
+    //
+    private static final int QueueSizeMax = 64;
+
+    private final Instance _instance;
+    private final String _prefix;
+    private final String _name;
+    private final boolean _serialize; // True if the dispatches for a connection are serialized.
+    private final java.util.concurrent.Executor _executor;
+    private final java.util.Map<com.zeroc.Ice.Connection, java.util.ArrayDeque<Runnable>> _queues =
+        new java.util.HashMap<>();
+    private com.zeroc.Ice.Instrumentation.ThreadObserver _observer;
+}
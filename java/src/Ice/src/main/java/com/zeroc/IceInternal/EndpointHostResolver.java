@@ -9,6 +9,13 @@
 
 package com.zeroc.IceInternal;
 
+//
+// Resolves endpoint host names with up to Ice.HostResolver.Size threads.
+// Concurrent lookups of the same host and port share a single lookup, and
+// the results are cached for Ice.HostResolver.CacheTTL seconds (or
+// Ice.HostResolver.NegativeCacheTTL seconds for hosts which can't be
+// resolved). Cache lookups are reported to the HostCache metrics map.
+//
 class EndpointHostResolver
 {
     EndpointHostResolver(Instance instance)
@@ -16,12 +23,43 @@ class EndpointHostResolver
         _instance = instance;
         _protocol = instance.protocolSupport();
         _preferIPv6 = instance.preferIPv6();
+
+        final com.zeroc.Ice.Properties properties = _instance.initializationData().properties;
+        _size = Math.max(properties.getPropertyAsIntWithDefault("Ice.HostResolver.Size", 4), 1);
+        _cacheTTL = Math.max(properties.getPropertyAsInt("Ice.HostResolver.CacheTTL"), 0) * 1000L;
+        _negativeCacheTTL = Math.max(properties.getPropertyAsInt("Ice.HostResolver.NegativeCacheTTL"), 0) * 1000L;
         try
         {
-            _threadName = Util.createThreadName(_instance.initializationData().properties, "Ice.HostResolver");
-            _executor = java.util.concurrent.Executors.newFixedThreadPool(1,
-                            Util.createThreadFactory(_instance.initializationData().properties, _threadName));
-            updateObserver();
+            _threadName = Util.createThreadName(properties, "Ice.HostResolver");
+            _executor = new java.util.concurrent.ThreadPoolExecutor(
+                _size, _size, 0L, java.util.concurrent.TimeUnit.MILLISECONDS,
+                new java.util.concurrent.LinkedBlockingQueue<Runnable>(), r ->
+                {
+                    //
+                    // With a single thread, the thread keeps the name of the
+                    // previous single threaded resolver.
+                    //
+                    String name = _threadName;
+                    if(_size > 1)
+                    {
+                        synchronized(EndpointHostResolver.this)
+                        {
+                            name += "-" + _threadIndex++;
+                        }
+                    }
+                    ResolverThread t = new ResolverThread(r, name);
+                    if(properties.getProperty("Ice.ThreadPriority").length() > 0)
+                    {
+                        t.setPriority(Util.getThreadPriorityProperty(properties, "Ice"));
+                    }
+                    return t;
+                });
+
+            //
+            // Start the first thread right away like the previous single
+            // threaded resolver, the other threads are started on demand.
+            //
+            _executor.prestartCoreThread();
         }
         catch(RuntimeException ex)
         {
@@ -31,8 +69,8 @@ class EndpointHostResolver
         }
     }
 
-    synchronized void resolve(final String host, final int port, final com.zeroc.Ice.EndpointSelectionType selType,
-                              final IPEndpointI endpoint, final EndpointI_connectors callback)
+    void resolve(String host, int port, com.zeroc.Ice.EndpointSelectionType selType, IPEndpointI endpoint,
+                 EndpointI_connectors callback)
     {
         //
         // TODO: Optimize to avoid the lookup if the given host is a textual IPv4 or IPv6
@@ -54,81 +92,86 @@ class EndpointHostResolver
             }
         }
 
-        final com.zeroc.Ice.Instrumentation.ThreadObserver threadObserver = _observer;
-        final com.zeroc.Ice.Instrumentation.Observer observer = getObserver(endpoint);
-        if(observer != null)
+        //
+        // The cache isn't used with a network proxy, the address of the
+        // network proxy is resolved with each lookup.
+        //
+        String key = host + ":" + port;
+        if(networkProxy == null)
         {
-            observer.attach();
-        }
-
-        _executor.execute(() ->
+            CacheEntry entry = _cache.get(key);
+            if(entry != null && entry.expires > Time.currentMonotonicTimeMillis())
             {
-                synchronized(EndpointHostResolver.this)
+                if(entry.addresses == null)
                 {
-                    if(_destroyed)
-                    {
-                        com.zeroc.Ice.CommunicatorDestroyedException ex =
-                            new com.zeroc.Ice.CommunicatorDestroyedException();
-                        if(observer != null)
-                        {
-                            observer.failed(ex.ice_id());
-                            observer.detach();
-                        }
-                        callback.exception(ex);
-                        return;
-                    }
+                    com.zeroc.Ice.DNSException ex = new com.zeroc.Ice.DNSException(0, host);
+                    cacheLookup(endpoint, host, port, "hit", ex);
+                    callback.exception(ex);
                 }
-
-                if(threadObserver != null)
+                else
                 {
-                    threadObserver.stateChanged(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle,
-                                                com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForOther);
+                    cacheLookup(endpoint, host, port, "hit", null);
+                    java.util.List<java.net.InetSocketAddress> addrs =
+                        Network.sortAddresses(entry.addresses, _protocol, selType, _preferIPv6);
+                    callback.connectors(endpoint.connectors(addrs, null));
                 }
+                return;
+            }
+        }
 
-                com.zeroc.Ice.Instrumentation.Observer obsv = observer;
-                try
-                {
-                    int protocol = _protocol;
-                    NetworkProxy np = _instance.networkProxy();
-                    if(np != null)
-                    {
-                        np = np.resolveHost(_protocol);
-                        if(np != null)
-                        {
-                            protocol = np.getProtocolSupport();
-                        }
-                    }
-
-                    java.util.List<java.net.InetSocketAddress> addresses =
-                        Network.getAddresses(host, port, _protocol, selType, _preferIPv6, true);
+        Request request = new Request(selType, endpoint, callback, getObserver(endpoint));
+        if(request.observer != null)
+        {
+            request.observer.attach();
+        }
 
-                    if(obsv != null)
-                    {
-                        obsv.detach();
-                        obsv = null;
-                    }
+        Lookup lookup;
+        synchronized(this)
+        {
+            lookup = _pending.get(key);
+            if(lookup != null)
+            {
+                lookup.requests.add(request);
+                lookup = null;
+            }
+            else
+            {
+                lookup = new Lookup(key, host, port);
+                lookup.requests.add(request);
+                _pending.put(key, lookup);
+            }
+        }
 
-                    callback.connectors(endpoint.connectors(addresses, np));
-                }
-                catch(com.zeroc.Ice.LocalException ex)
+        if(lookup == null)
+        {
+            cacheLookup(endpoint, host, port, "coalesced", null);
+        }
+        else
+        {
+            cacheLookup(endpoint, host, port, "miss", null);
+            try
+            {
+                _executor.execute(lookup);
+            }
+            catch(java.util.concurrent.RejectedExecutionException ex)
+            {
+                //
+                // The resolver was destroyed after the lookup was added to
+                // the pending lookups, fail the lookup and the requests which
+                // were coalesced with it.
+                //
+                java.util.List<Request> requests;
+                synchronized(this)
                 {
-                    if(obsv != null)
-                    {
-                        obsv.failed(ex.ice_id());
-                        obsv.detach();
-                    }
-                    callback.exception(ex);
+                    _pending.remove(key);
+                    requests = lookup.requests;
                 }
-                finally
+                for(Request r : requests)
                 {
-                    if(threadObserver != null)
-                    {
-                        threadObserver.stateChanged(
-                            com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForOther,
-                            com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle);
-                    }
+                    completed(r, null, null, new com.zeroc.Ice.CommunicatorDestroyedException());
                 }
-            });
+            }
+        }
     }
 
     synchronized void destroy()
@@ -158,25 +201,24 @@ class EndpointHostResolver
         }
         finally
         {
-            if(_observer != null)
+            synchronized(this)
             {
-                _observer.detach();
+                for(ResolverThread t : _threads)
+                {
+                    if(t.observer != null)
+                    {
+                        t.observer.detach();
+                    }
+                }
             }
         }
     }
 
     synchronized void updateObserver()
     {
-        com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = _instance.initializationData().observer;
-        if(obsv != null)
+        for(ResolverThread t : _threads)
         {
-            _observer = obsv.getThreadObserver("Communicator", _threadName,
-                                               com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle,
-                                               _observer);
-            if(_observer != null)
-            {
-                _observer.attach();
-            }
+            t.updateObserver();
         }
     }
 
@@ -191,11 +233,265 @@ class EndpointHostResolver
         return null;
     }
 
+    private void
+    cacheLookup(IPEndpointI endpoint, String host, int port, String result, com.zeroc.Ice.LocalException ex)
+    {
+        com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = _instance.initializationData().observer;
+        if(obsv instanceof CommunicatorObserverI)
+        {
+            com.zeroc.Ice.Instrumentation.Observer observer =
+                ((CommunicatorObserverI)obsv).getHostCacheObserver(endpoint, host, port, result);
+            if(observer != null)
+            {
+                observer.attach();
+                if(ex != null)
+                {
+                    observer.failed(ex.ice_id());
+                }
+                observer.detach();
+            }
+        }
+    }
+
+    //
+    // Adds the result of a lookup to the cache, called with the resolver
+    // locked.
+    //
+    private void
+    cache(String key, java.util.List<java.net.InetSocketAddress> addresses, com.zeroc.Ice.LocalException ex)
+    {
+        long ttl = addresses != null ? _cacheTTL : (ex instanceof com.zeroc.Ice.DNSException ? _negativeCacheTTL : 0);
+        if(ttl == 0)
+        {
+            return;
+        }
+
+        long now = Time.currentMonotonicTimeMillis();
+        if(_cache.size() >= CacheSize)
+        {
+            _cache.values().removeIf(e -> e.expires <= now);
+            if(_cache.size() >= CacheSize)
+            {
+                _cache.clear();
+            }
+        }
+        _cache.put(key, new CacheEntry(addresses, now + ttl));
+    }
+
+    private void
+    completed(Request request, java.util.List<java.net.InetSocketAddress> addresses, NetworkProxy networkProxy,
+              com.zeroc.Ice.LocalException failure)
+    {
+        if(failure != null)
+        {
+            if(request.observer != null)
+            {
+                request.observer.failed(failure.ice_id());
+                request.observer.detach();
+            }
+            request.callback.exception(failure);
+            return;
+        }
+
+        try
+        {
+            java.util.List<java.net.InetSocketAddress> addrs =
+                Network.sortAddresses(addresses, _protocol, request.selType, _preferIPv6);
+            if(request.observer != null)
+            {
+                request.observer.detach();
+            }
+            request.callback.connectors(request.endpoint.connectors(addrs, networkProxy));
+        }
+        catch(com.zeroc.Ice.LocalException ex)
+        {
+            request.callback.exception(ex);
+        }
+    }
+
+    private static final class Request
+    {
+        Request(com.zeroc.Ice.EndpointSelectionType selType, IPEndpointI endpoint, EndpointI_connectors callback,
+                com.zeroc.Ice.Instrumentation.Observer observer)
+        {
+            this.selType = selType;
+            this.endpoint = endpoint;
+            this.callback = callback;
+            this.observer = observer;
+        }
+
+        final com.zeroc.Ice.EndpointSelectionType selType;
+        final IPEndpointI endpoint;
+        final EndpointI_connectors callback;
+        final com.zeroc.Ice.Instrumentation.Observer observer;
+    }
+
+    //
+    // A lookup in progress, the requests for the same host and port made
+    // before the lookup completes are added to the lookup.
+    //
+    private final class Lookup implements Runnable
+    {
+        Lookup(String key, String host, int port)
+        {
+            _key = key;
+            _host = host;
+            _port = port;
+        }
+
+        @Override
+        public void run()
+        {
+            java.util.List<Request> requests;
+            synchronized(EndpointHostResolver.this)
+            {
+                if(_destroyed)
+                {
+                    _pending.remove(_key);
+                    requests = this.requests;
+                }
+                else
+                {
+                    requests = null;
+                }
+            }
+            if(requests != null)
+            {
+                for(Request r : requests)
+                {
+                    completed(r, null, null, new com.zeroc.Ice.CommunicatorDestroyedException());
+                }
+                return;
+            }
+
+            com.zeroc.Ice.Instrumentation.ThreadObserver threadObserver =
+                ((ResolverThread)Thread.currentThread()).observer;
+            if(threadObserver != null)
+            {
+                threadObserver.stateChanged(com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle,
+                                            com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForOther);
+            }
+
+            NetworkProxy np = null;
+            java.util.List<java.net.InetSocketAddress> addresses = null;
+            com.zeroc.Ice.LocalException failure = null;
+            boolean cache = false;
+            try
+            {
+                int protocol = _protocol;
+                np = _instance.networkProxy();
+                if(np != null)
+                {
+                    np = np.resolveHost(_protocol);
+                    if(np != null)
+                    {
+                        protocol = np.getProtocolSupport();
+                    }
+                }
+
+                cache = np == null;
+                addresses = Network.resolveAddresses(_host, _port, protocol);
+            }
+            catch(com.zeroc.Ice.LocalException ex)
+            {
+                failure = ex;
+            }
+            finally
+            {
+                if(threadObserver != null)
+                {
+                    threadObserver.stateChanged(
+                        com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateInUseForOther,
+                        com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle);
+                }
+            }
+
+            synchronized(EndpointHostResolver.this)
+            {
+                _pending.remove(_key);
+                if(cache)
+                {
+                    cache(_key, addresses, failure);
+                }
+                requests = this.requests;
+            }
+
+            for(Request r : requests)
+            {
+                completed(r, addresses, np, failure);
+            }
+        }
+
+        final java.util.List<Request> requests = new java.util.ArrayList<>(1); // Guarded by the resolver.
+        private final String _key;
+        private final String _host;
+        private final int _port;
+    }
+
+    private static final class CacheEntry
+    {
+        CacheEntry(java.util.List<java.net.InetSocketAddress> addresses, long expires)
+        {
+            this.addresses = addresses;
+            this.expires = expires;
+        }
+
+        final java.util.List<java.net.InetSocketAddress> addresses; // Null if the host couldn't be resolved.
+        final long expires;
+    }
+
+    private final class ResolverThread extends Thread
+    {
+        ResolverThread(Runnable runnable, String name)
+        {
+            super(runnable, name);
+        }
+
+        @Override
+        public void run()
+        {
+            synchronized(EndpointHostResolver.this)
+            {
+                _threads.add(this);
+                updateObserver();
+            }
+            super.run();
+        }
+
+        //
+        // Called with the resolver locked.
+        //
+        void updateObserver()
+        {
+            com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = _instance.initializationData().observer;
+            if(obsv != null)
+            {
+                observer = obsv.getThreadObserver("Communicator", getName(),
+                                                  com.zeroc.Ice.Instrumentation.ThreadState.ThreadStateIdle,
+                                                  observer);
+                if(observer != null)
+                {
+                    observer.attach();
+                }
+            }
+        }
+
+        volatile com.zeroc.Ice.Instrumentation.ThreadObserver observer;
+    }
+
+    private static final int CacheSize = 4096;
+
     private final Instance _instance;
     private final int _protocol;
     private final boolean _preferIPv6;
+    private final int _size;
+    private final long _cacheTTL; // In milliseconds, 0 if positive results aren't cached.
+    private final long _negativeCacheTTL; // In milliseconds, 0 if failures aren't cached.
     private boolean _destroyed;
-    private com.zeroc.Ice.Instrumentation.ThreadObserver _observer;
+    private int _threadIndex;
     private String _threadName;
-    private java.util.concurrent.ExecutorService _executor;
+    private java.util.concurrent.ThreadPoolExecutor _executor;
+    private final java.util.List<ResolverThread> _threads = new java.util.ArrayList<>();
+    private final java.util.Map<String, Lookup> _pending = new java.util.HashMap<>();
+    private final java.util.Map<String, CacheEntry> _cache = new java.util.concurrent.ConcurrentHashMap<>();
 }
@@ -127,6 +127,17 @@ abstract public class EndpointI implements com.zeroc.Ice.Endpoint, java.lang.Com
     //
     public abstract boolean equivalent(EndpointI endpoint);
 
+    //
+    // Returns a key which is equal for equivalent endpoints, used to find
+    // the object adapter of collocated proxies without comparing their
+    // endpoints with the endpoints of each adapter. Returns null if the
+    // endpoint type doesn't provide such a key.
+    //
+    public java.lang.Object equivalentKey()
+    {
+        return null;
+    }
+
     public abstract String options();
 
     public void initWithOptions(java.util.ArrayList<String> args)
@@ -0,0 +1,230 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Per-endpoint round-trip latency and failure statistics used by the
+// latency-aware endpoint selection (EndpointSelection=Latency). Samples
+// are collected at the same points as the remote invocation observer
+// and failures at the same points as the connection establishment
+// observer, only for the proxies which use this selection. The number of
+// endpoints is limited, the endpoints which are no longer used are
+// evicted.
+//
+final class EndpointStatistics
+{
+    static final class Entry
+    {
+        synchronized void
+        started()
+        {
+            ++_inflight;
+        }
+
+        synchronized void
+        succeeded(long latency)
+        {
+            --_inflight;
+            _average = _average < 0 ? latency : _average + (latency - _average) / Decay;
+            _failures = 0;
+        }
+
+        synchronized void
+        failed(long now, int threshold, long ejectionPeriod)
+        {
+            if(++_failures >= threshold)
+            {
+                _ejectedUntil = now + ejectionPeriod;
+            }
+        }
+
+        synchronized void
+        finished()
+        {
+            --_inflight;
+        }
+
+        synchronized boolean
+        ejected(long now, int threshold)
+        {
+            if(_ejectedUntil == 0)
+            {
+                return false;
+            }
+            else if(now < _ejectedUntil)
+            {
+                return true;
+            }
+
+            //
+            // The cool-down period elapsed, give the endpoint another
+            // chance: a single failure will eject it again.
+            //
+            _ejectedUntil = 0;
+            _failures = threshold - 1;
+            return false;
+        }
+
+        synchronized long
+        score()
+        {
+            //
+            // Endpoints without samples score 0 so that they get tried.
+            //
+            return _average < 0 ? 0 : _average * (Math.max(_inflight, 0) + 1);
+        }
+
+        private volatile long _lastUsed = System.nanoTime(); // Monotonic time in nanoseconds.
+        private long _average = -1; // Decaying average of the round-trip latency in nanoseconds.
+        private int _inflight;
+        private int _failures; // Consecutive failures.
+        private long _ejectedUntil; // Monotonic time in nanoseconds, 0 if not ejected.
+    }
+
+    EndpointStatistics(com.zeroc.Ice.Properties properties, com.zeroc.Ice.Logger logger)
+    {
+        int threshold = properties.getPropertyAsIntWithDefault("Ice.EndpointSelection.FailureThreshold", 3);
+        if(threshold < 1)
+        {
+            StringBuffer msg = new StringBuffer("invalid value for Ice.EndpointSelection.FailureThreshold `");
+            msg.append(properties.getProperty("Ice.EndpointSelection.FailureThreshold"));
+            msg.append("': defaulting to 3");
+            logger.warning(msg.toString());
+            threshold = 3;
+        }
+        _failureThreshold = threshold;
+
+        int period = properties.getPropertyAsIntWithDefault("Ice.EndpointSelection.EjectionPeriod", 30);
+        if(period < 0)
+        {
+            StringBuffer msg = new StringBuffer("invalid value for Ice.EndpointSelection.EjectionPeriod `");
+            msg.append(properties.getProperty("Ice.EndpointSelection.EjectionPeriod"));
+            msg.append("': defaulting to 30");
+            logger.warning(msg.toString());
+            period = 30;
+        }
+        _ejectionPeriod = java.util.concurrent.TimeUnit.SECONDS.toNanos(period);
+    }
+
+    Entry
+    get(EndpointI endpoint)
+    {
+        //
+        // Statistics are kept for the endpoint address, connection ID,
+        // compression and timeout settings are not relevant.
+        //
+        java.lang.Object key = endpoint.equivalentKey();
+        if(key == null)
+        {
+            key = endpoint.connectionId("").compress(false).timeout(-1);
+        }
+
+        Entry entry = _entries.get(key);
+        if(entry == null)
+        {
+            if(_entries.size() >= MaxEntries)
+            {
+                evict();
+            }
+            entry = new Entry();
+            Entry previous = _entries.putIfAbsent(key, entry);
+            if(previous != null)
+            {
+                entry = previous;
+            }
+        }
+        else
+        {
+            entry._lastUsed = System.nanoTime();
+        }
+        return entry;
+    }
+
+    void
+    failed(EndpointI endpoint)
+    {
+        get(endpoint).failed(System.nanoTime(), _failureThreshold, _ejectionPeriod);
+    }
+
+    void
+    failed(Entry entry)
+    {
+        entry.finished();
+        entry.failed(System.nanoTime(), _failureThreshold, _ejectionPeriod);
+    }
+
+    //
+    // Sort the given endpoints by increasing score, ejected endpoints are
+    // moved last rather than removed so that they are still tried if all
+    // the endpoints are ejected. The sort is stable, endpoints with the
+    // same score keep their relative (random) order.
+    //
+    void
+    sort(java.util.List<EndpointI> endpoints)
+    {
+        if(endpoints.size() < 2)
+        {
+            return;
+        }
+
+        final long now = System.nanoTime();
+        final java.util.Map<EndpointI, Long> scores = new java.util.IdentityHashMap<>();
+        for(EndpointI endpoint : endpoints)
+        {
+            Entry entry = get(endpoint);
+            scores.put(endpoint, entry.ejected(now, _failureThreshold) ? Long.MAX_VALUE : entry.score());
+        }
+        java.util.Collections.sort(endpoints, (e1, e2) -> Long.compare(scores.get(e1), scores.get(e2)));
+    }
+
+    //
+    // Remove the entries which haven't been used for IdleTimeout and, if
+    // there are still too many entries, the least recently used entry.
+    //
+    private synchronized void
+    evict()
+    {
+        if(_entries.size() < MaxEntries)
+        {
+            return; // Already evicted by another thread.
+        }
+
+        final long now = System.nanoTime();
+        java.util.Map.Entry<java.lang.Object, Entry> oldest = null;
+        java.util.Iterator<java.util.Map.Entry<java.lang.Object, Entry>> p = _entries.entrySet().iterator();
+        while(p.hasNext())
+        {
+            java.util.Map.Entry<java.lang.Object, Entry> e = p.next();
+            long lastUsed = e.getValue()._lastUsed;
+            if(now - lastUsed > IdleTimeout)
+            {
+                p.remove();
+            }
+            else if(oldest == null || lastUsed - oldest.getValue()._lastUsed < 0)
+            {
+                oldest = e;
+            }
+        }
+
+        if(_entries.size() >= MaxEntries && oldest != null)
+        {
+            _entries.remove(oldest.getKey(), oldest.getValue());
+        }
+    }
+
+    private static final long Decay = 8; // Weight of a new sample is 1/Decay.
+    private static final int MaxEntries = 1024;
+    private static final long IdleTimeout = java.util.concurrent.TimeUnit.MINUTES.toNanos(10);
+
+    private final int _failureThreshold;
+    private final long _ejectionPeriod;
+    private final java.util.concurrent.ConcurrentHashMap<java.lang.Object, Entry> _entries =
+        new java.util.concurrent.ConcurrentHashMap<>();
+}
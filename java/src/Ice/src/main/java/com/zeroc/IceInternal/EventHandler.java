@@ -41,4 +41,9 @@ public abstract class EventHandler
     public int _registered = 0;
     public int _ready = 0;
     public java.nio.channels.SelectionKey _key = null;
+
+    //
+    // The thread pool shard this handler is pinned to if the thread pool uses multiple selectors.
+    //
+    ThreadPool _shard = null;
 }
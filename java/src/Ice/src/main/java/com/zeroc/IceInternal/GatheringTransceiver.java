@@ -0,0 +1,25 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Implemented by the transceivers which can send several buffers with a
+// single gathering write. The connection uses it to send the messages
+// queued while the transport was busy.
+//
+public interface GatheringTransceiver
+{
+    //
+    // Write as much as possible of the given buffers without blocking, in
+    // order. Returns SocketOperation.Write if some data couldn't be sent,
+    // SocketOperation.None otherwise.
+    //
+    int write(java.nio.ByteBuffer[] bufs, int offset, int length);
+}
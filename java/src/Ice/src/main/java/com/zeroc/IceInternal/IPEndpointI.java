@@ -143,6 +143,24 @@ public abstract class IPEndpointI extends EndpointI
             Network.compareAddress(ipEndpointI._sourceAddr, _sourceAddr) == 0;
     }
 
+    @Override
+    public java.lang.Object equivalentKey()
+    {
+        String key = _equivalentKey;
+        if(key == null)
+        {
+            StringBuilder s = new StringBuilder();
+            s.append(type()).append(' ').append(_host).append(' ').append(_port);
+            if(_sourceAddr != null)
+            {
+                s.append(' ').append(_sourceAddr.getAddress().getHostAddress()).append(' ').append(_sourceAddr.getPort());
+            }
+            key = s.toString();
+            _equivalentKey = key; // Immutable, it doesn't matter if several threads compute it.
+        }
+        return key;
+    }
+
     public java.util.List<Connector> connectors(java.util.List<java.net.InetSocketAddress> addresses,
                                                 NetworkProxy proxy)
     {
@@ -377,4 +395,5 @@ public abstract class IPEndpointI extends EndpointI
     protected String _connectionId;
     private boolean _hashInitialized;
     private int _hashValue;
+    private String _equivalentKey;
 }
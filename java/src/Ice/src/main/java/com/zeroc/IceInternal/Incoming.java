@@ -67,6 +67,10 @@ final public class Incoming implements com.zeroc.Ice.Request
         assert(_cookie == null);
 
         _inParamPos = -1;
+        _direct = null;
+        _directParams = null;
+        _hasDirectResult = false;
+        _directResult = null;
     }
 
     public boolean reclaim()
@@ -90,6 +94,10 @@ final public class Incoming implements com.zeroc.Ice.Request
         }
 
         _is = null;
+        _direct = null;
+        _directParams = null;
+        _hasDirectResult = false;
+        _directResult = null;
 
         //_responseHandler = null;
         assert(_responseHandler == null);
@@ -99,6 +107,15 @@ final public class Incoming implements com.zeroc.Ice.Request
         return true;
     }
 
+    //
+    // Called by the collocated request handler before invoke if the
+    // invocation provides direct parameters.
+    //
+    public void setDirect(OutgoingAsync<?> direct)
+    {
+        _direct = direct;
+    }
+
     @Override
     public Current getCurrent()
     {
@@ -261,6 +278,51 @@ final public class Incoming implements com.zeroc.Ice.Request
     public CompletionStage<OutputStream> setResult(OutputStream os)
     {
         _os = os;
+        _hasDirectResult = false;
+        return null; // Response is cached in the Incoming to not have to create unnecessary future
+    }
+
+    //
+    // Returns true if the parameters and results of a collocated invocation
+    // are passed directly rather than marshaled. Only used by operations
+    // which support direct invocations, see OutgoingAsync.invoke.
+    //
+    public boolean isDirect()
+    {
+        return _direct != null;
+    }
+
+    //
+    // Returns false if the dispatch must read the parameters from the
+    // stream with startReadParams, otherwise the parameters are obtained
+    // with getDirectParam.
+    //
+    public boolean readDirectParams()
+    {
+        if(_direct == null)
+        {
+            return false;
+        }
+        readEmptyParams(); // The collocated proxy writes an empty encapsulation in place of the parameters.
+        _directParams = _direct.getDirectParams();
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T getDirectParam(int index)
+    {
+        return (T)_directParams[index];
+    }
+
+    public CompletionStage<OutputStream> setDirectResult(java.lang.Object result)
+    {
+        assert(_direct != null);
+        _os = writeEmptyParams();
+        if(_response)
+        {
+            _directResult = result;
+            _hasDirectResult = true;
+        }
         return null; // Response is cached in the Incoming to not have to create unnecessary future
     }
 
@@ -279,6 +341,16 @@ final public class Incoming implements com.zeroc.Ice.Request
                 {
                     r.completeExceptionally(ex);
                 }
+                else if(_direct != null)
+                {
+                    OutputStream os = writeEmptyParams();
+                    if(_response)
+                    {
+                        _directResult = result;
+                        _hasDirectResult = true;
+                    }
+                    r.complete(os);
+                }
                 else
                 {
                     OutputStream os = startWriteParams();
@@ -361,6 +433,10 @@ final public class Incoming implements com.zeroc.Ice.Request
                 {
                     _observer.reply(_os.size() - Protocol.headerSize - 4);
                 }
+                if(_hasDirectResult)
+                {
+                    _direct.setDirectResult(_directResult);
+                }
                 _responseHandler.sendResponse(_current.requestId, _os, _compress, amd);
             }
             else
@@ -399,6 +475,8 @@ final public class Incoming implements com.zeroc.Ice.Request
             //
             _is.pos(_inParamPos);
             _os = null;
+            _hasDirectResult = false;
+            _directResult = null;
         }
     }
 
@@ -413,6 +491,8 @@ final public class Incoming implements com.zeroc.Ice.Request
 
     public InputStream startReadParams()
     {
+        readMarshaledParams();
+
         //
         // Remember the encoding used by the input parameters, we'll
         // encode the response parameters with the same encoding.
@@ -433,6 +513,7 @@ final public class Incoming implements com.zeroc.Ice.Request
 
     public byte[] readParamEncaps()
     {
+        readMarshaledParams();
         _current.encoding = new com.zeroc.Ice.EncodingVersion();
         return _is.readEncapsulation(_current.encoding);
     }
@@ -524,6 +605,26 @@ final public class Incoming implements com.zeroc.Ice.Request
         }
     }
 
+    //
+    // The dispatch reads the parameters of a direct invocation from the
+    // stream, for example because the servant or a dispatch interceptor
+    // doesn't support direct invocations: the parameters are marshaled and
+    // the dispatch continues as a regular dispatch.
+    //
+    private void readMarshaledParams()
+    {
+        if(_direct != null)
+        {
+            _is = _direct.createDirectParamsStream();
+            if(_inParamPos != -1)
+            {
+                _inParamPos = _is.pos();
+            }
+            _direct = null;
+            _directParams = null;
+        }
+    }
+
     private void warning(Throwable ex)
     {
         assert(_instance != null);
@@ -894,5 +995,10 @@ final public class Incoming implements com.zeroc.Ice.Request
 
     private int _inParamPos = -1;
 
+    private OutgoingAsync<?> _direct;
+    private java.lang.Object[] _directParams;
+    private java.lang.Object _directResult;
+    private boolean _hasDirectResult;
+
     public Incoming next; // For use by ConnectionI.
 }
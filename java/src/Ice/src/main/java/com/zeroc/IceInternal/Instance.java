@@ -364,6 +364,27 @@ public final class Instance implements java.util.function.Function<String, Class
         return _endpointFactoryManager;
     }
 
+    public CompressionCodecManager
+    compressionCodecManager()
+    {
+        // No mutex lock, immutable.
+        return _compressionCodecManager;
+    }
+
+    EndpointStatistics
+    endpointStatistics()
+    {
+        // No mutex lock, immutable.
+        return _endpointStatistics;
+    }
+
+    public CompressionCodec
+    compressionCodec()
+    {
+        // No mutex lock, set once by finishSetup().
+        return _compressionCodec;
+    }
+
     public synchronized com.zeroc.Ice.PluginManager
     pluginManager()
     {
@@ -390,6 +411,13 @@ public final class Instance implements java.util.function.Function<String, Class
         return _batchAutoFlushSize;
     }
 
+    public int
+    batchAutoFlushDelay()
+    {
+        // No mutex lock, immutable.
+        return _batchAutoFlushDelay;
+    }
+
     public com.zeroc.Ice.ToStringMode
     toStringMode()
     {
@@ -404,6 +432,13 @@ public final class Instance implements java.util.function.Function<String, Class
         return _cacheMessageBuffers;
     }
 
+    public com.zeroc.Ice.BufferPool
+    bufferPool()
+    {
+        // No mutex lock, immutable.
+        return _bufferPool;
+    }
+
     public ACMConfig
     clientACM()
     {
@@ -812,6 +847,12 @@ public final class Instance implements java.util.function.Function<String, Class
         return c;
     }
 
+    public ClassFactoryCache
+    classFactoryCache()
+    {
+        return _classFactoryCache;
+    }
+
     public String resolveCompactId(int compactId)
     {
         String className = "com.zeroc.IceCompactId.TypeId_" + Integer.toString(compactId);
@@ -869,6 +910,12 @@ public final class Instance implements java.util.function.Function<String, Class
         return _useApplicationClassLoader;
     }
 
+    public boolean
+    collocationDirect()
+    {
+        return _collocationDirect;
+    }
+
     public boolean
     queueRequests()
     {
@@ -957,6 +1004,32 @@ public final class Instance implements java.util.function.Function<String, Class
                 }
             }
 
+            if(_initData.properties.getPropertyAsInt("Ice.LogAsync") > 0)
+            {
+                int overflow;
+                String overflowStr = _initData.properties.getPropertyWithDefault("Ice.LogAsync.Overflow", "Block");
+                if(overflowStr.equals("Block"))
+                {
+                    overflow = LogRingBuffer.OverflowBlock;
+                }
+                else if(overflowStr.equals("DropTraces"))
+                {
+                    overflow = LogRingBuffer.OverflowDropTraces;
+                }
+                else if(overflowStr.equals("Drop"))
+                {
+                    overflow = LogRingBuffer.OverflowDrop;
+                }
+                else
+                {
+                    throw new com.zeroc.Ice.InitializationException(
+                        "The value for Ice.LogAsync.Overflow must be Block, DropTraces or Drop");
+                }
+                int queueSize = _initData.properties.getPropertyAsIntWithDefault("Ice.LogAsync.QueueSize", 8192);
+                _logRingBuffer = new LogRingBuffer(queueSize, overflow,
+                                                   Util.createThreadName(_initData.properties, "Ice.Logger"));
+            }
+
             if(_initData.logger == null)
             {
                 String logfile = _initData.properties.getProperty("Ice.LogFile");
@@ -974,8 +1047,9 @@ public final class Instance implements java.util.function.Function<String, Class
                 }
                 else if(logfile.length() != 0)
                 {
-                    _initData.logger =
-                        new com.zeroc.Ice.LoggerI(_initData.properties.getProperty("Ice.ProgramName"), logfile);
+                    _initData.logger = new com.zeroc.Ice.LoggerI(_initData.properties.getProperty("Ice.ProgramName"),
+                                                                 logfile, _logRingBuffer);
+                    _asyncLogger = _logRingBuffer != null ? _initData.logger : null;
                 }
                 else
                 {
@@ -987,6 +1061,8 @@ public final class Instance implements java.util.function.Function<String, Class
 
             _useApplicationClassLoader = _initData.properties.getPropertyAsInt("Ice.UseApplicationClassLoader") > 0;
 
+            _collocationDirect = _initData.properties.getPropertyAsInt("Ice.CollocationDirect") > 0;
+
             _traceLevels = new TraceLevels(_initData.properties);
 
             _defaultsAndOverrides = new DefaultsAndOverrides(_initData.properties, _initData.logger);
@@ -1045,6 +1121,19 @@ public final class Instance implements java.util.function.Function<String, Class
                 }
             }
 
+            {
+                int num = _initData.properties.getPropertyAsIntWithDefault("Ice.BatchAutoFlushDelay", 0);
+                if(num < 0)
+                {
+                    StringBuffer msg = new StringBuffer("invalid value for Ice.BatchAutoFlushDelay `");
+                    msg.append(_initData.properties.getProperty("Ice.BatchAutoFlushDelay"));
+                    msg.append("': defaulting to 0");
+                    _initData.logger.warning(msg.toString());
+                    num = 0;
+                }
+                _batchAutoFlushDelay = num; // In milliseconds, 0 if disabled.
+            }
+
             String toStringModeStr = _initData.properties.getPropertyWithDefault("Ice.ToStringMode", "Unicode");
             if(toStringModeStr.equals("Unicode"))
             {
@@ -1101,6 +1190,10 @@ public final class Instance implements java.util.function.Function<String, Class
 
             _endpointFactoryManager = new EndpointFactoryManager(this);
 
+            _compressionCodecManager = new CompressionCodecManager();
+
+            _endpointStatistics = new EndpointStatistics(_initData.properties, _initData.logger);
+
             ProtocolInstance tcpProtocolInstance =
                 new ProtocolInstance(this, com.zeroc.Ice.TCPEndpointType.value, "tcp", false);
             _endpointFactoryManager.add(new TcpEndpointFactory(tcpProtocolInstance));
@@ -1141,14 +1234,89 @@ public final class Instance implements java.util.function.Function<String, Class
             {
                 _cacheMessageBuffers = _initData.properties.getPropertyAsIntWithDefault("Ice.CacheMessageBuffers", 2);
             }
+
+            //
+            // The buffer pool is disabled by default. It's either provided with the
+            // initialization data or configured with Ice.BufferPool.SizeMax, the
+            // maximum amount of memory held by the pool in kilobytes. Pooling isn't
+            // supported with background IO, like caching message buffers.
+            //
+            int poolSizeMax = _initData.properties.getPropertyAsInt("Ice.BufferPool.SizeMax");
+            if(_queueExecutor != null)
+            {
+                if(_initData.bufferPool != null || poolSizeMax > 0)
+                {
+                    _initData.logger.warning("the buffer pool is not supported with background IO and is disabled");
+                }
+                _bufferPool = null;
+            }
+            else if(_initData.bufferPool != null)
+            {
+                _bufferPool = _initData.bufferPool;
+            }
+            else if(poolSizeMax > 0)
+            {
+                int bufferSizeMax = _initData.properties.getPropertyAsIntWithDefault("Ice.BufferPool.BufferSizeMax",
+                                                                                      4096);
+                if(bufferSizeMax < 4)
+                {
+                    String s = "Ice.BufferPool.BufferSizeMax < 4; BufferSizeMax adjusted to 4";
+                    _initData.logger.warning(s);
+                    bufferSizeMax = 4;
+                }
+                else if(bufferSizeMax > 0x40000000 / 1024)
+                {
+                    String s = "Ice.BufferPool.BufferSizeMax too large; BufferSizeMax adjusted to 1GB";
+                    _initData.logger.warning(s);
+                    bufferSizeMax = 0x40000000 / 1024;
+                }
+                int threadCache = _initData.properties.getPropertyAsIntWithDefault("Ice.BufferPool.ThreadCache", 1);
+                if(threadCache < 0)
+                {
+                    String s = "Ice.BufferPool.ThreadCache < 0; ThreadCache adjusted to 0";
+                    _initData.logger.warning(s);
+                    threadCache = 0;
+                }
+                _bufferPool = new SlabBufferPool(4096, bufferSizeMax * 1024, (long)poolSizeMax * 1024, threadCache);
+            }
+            else
+            {
+                _bufferPool = null;
+            }
         }
         catch(com.zeroc.Ice.LocalException ex)
         {
-            destroy(false);
+            try
+            {
+                destroy(false);
+            }
+            finally
+            {
+                destroyLogRingBuffer();
+            }
+            throw ex;
+        }
+        catch(RuntimeException | Error ex)
+        {
+            destroyLogRingBuffer();
             throw ex;
         }
     }
 
+    //
+    // Stops the logging thread of Ice.LogAsync if the constructor fails, destroy()
+    // doesn't reach it if it fails itself on a partially initialized instance and
+    // isn't called for other exceptions. Destroying the ring buffer twice is harmless.
+    //
+    private void
+    destroyLogRingBuffer()
+    {
+        if(_logRingBuffer != null)
+        {
+            _logRingBuffer.destroy();
+        }
+    }
+
     @Override
     protected synchronized void
     finalize()
@@ -1190,6 +1358,17 @@ public final class Instance implements java.util.function.Function<String, Class
         com.zeroc.Ice.PluginManagerI pluginManagerImpl = (com.zeroc.Ice.PluginManagerI)_pluginManager;
         args = pluginManagerImpl.loadPlugins(args);
 
+        //
+        // With Ice.LogAsync, the process logger or the logger installed by the
+        // application, a Logger plugin or for syslog is called from the logger
+        // thread.
+        //
+        if(_logRingBuffer != null && _initData.logger != _asyncLogger)
+        {
+            _asyncLogger = new AsyncLoggerI(_initData.logger, _logRingBuffer);
+            _initData.logger = _asyncLogger;
+        }
+
         //
         // Add WS and WSS endpoint factories if TCP/SSL factories are installed.
         //
@@ -1208,6 +1387,22 @@ public final class Instance implements java.util.function.Function<String, Class
             _endpointFactoryManager.add(new WSEndpointFactory(instance, sslFactory.clone(instance, null)));
         }
 
+        //
+        // Get the preferred compression codec, plug-ins can register additional codecs.
+        //
+        String codecName = _initData.properties.getPropertyWithDefault("Ice.Compression.Codec", "bzip2");
+        CompressionCodec codec = _compressionCodecManager.get(codecName);
+        if(codec == null || !codec.supported())
+        {
+            if(!codecName.equals("bzip2"))
+            {
+                _initData.logger.warning("compression codec `" + codecName + "' is not " +
+                                         (codec == null ? "registered" : "supported") + "; using bzip2");
+            }
+            codec = _compressionCodecManager.get((byte)2);
+        }
+        _compressionCodec = codec;
+
         //
         // Create Admin facets, if enabled.
         //
@@ -1557,6 +1752,15 @@ public final class Instance implements java.util.function.Function<String, Class
                 }
             }
 
+            //
+            // Write the queued log/traces before destroying a Logger plugin, the
+            // log/traces are written by the logging thread from now on.
+            //
+            if(_logRingBuffer != null)
+            {
+                _logRingBuffer.destroy();
+            }
+
             //
             // Destroy last so that a Logger plugin can receive all log/traces before its destruction.
             //
@@ -1592,6 +1796,7 @@ public final class Instance implements java.util.function.Function<String, Class
                 _queueExecutorService = null;
 
                 _typeToClassMap.clear();
+                _classFactoryCache.clear();
 
                 _state = StateDestroyed;
                 notifyAll();
@@ -1880,8 +2085,14 @@ public final class Instance implements java.util.function.Function<String, Class
     private final DefaultsAndOverrides _defaultsAndOverrides; // Immutable, not reset by destroy().
     private final int _messageSizeMax; // Immutable, not reset by destroy().
     private final int _batchAutoFlushSize; // Immutable, not reset by destroy().
+    private final int _batchAutoFlushDelay; // Immutable, not reset by destroy().
     private final com.zeroc.Ice.ToStringMode _toStringMode; // Immutable, not reset by destroy().
     private final int _cacheMessageBuffers; // Immutable, not reset by destroy().
+    private final com.zeroc.Ice.BufferPool _bufferPool; // Immutable, not reset by destroy().
+    private final CompressionCodecManager _compressionCodecManager; // Immutable, not reset by destroy().
+    private final EndpointStatistics _endpointStatistics; // Immutable, not reset by destroy().
+    private LogRingBuffer _logRingBuffer; // Immutable, not reset by destroy(), null unless Ice.LogAsync is set.
+    private com.zeroc.Ice.Logger _asyncLogger; // The asynchronous logger created for Ice.LogAsync.
     private final ACMConfig _clientACM; // Immutable, not reset by destroy().
     private final ACMConfig _serverACM; // Immutable, not reset by destroy().
     private final com.zeroc.Ice.ImplicitContextI _implicitContext;
@@ -1901,6 +2112,7 @@ public final class Instance implements java.util.function.Function<String, Class
     private RetryQueue _retryQueue;
     private Timer _timer;
     private EndpointFactoryManager _endpointFactoryManager;
+    private volatile CompressionCodec _compressionCodec;
     private com.zeroc.Ice.PluginManager _pluginManager;
 
     private boolean _adminEnabled = false;
@@ -1911,8 +2123,10 @@ public final class Instance implements java.util.function.Function<String, Class
     private java.util.Map<Short, BufSizeWarnInfo> _setBufSizeWarn = new java.util.HashMap<>();
 
     private java.util.Map<String, String> _typeToClassMap = new java.util.HashMap<>();
+    private final ClassFactoryCache _classFactoryCache = new ClassFactoryCache(this);
     final private String[] _packages;
     final private boolean _useApplicationClassLoader;
+    final private boolean _collocationDirect;
 
     private static boolean _oneOffDone = false;
     private QueueExecutorService _queueExecutorService;
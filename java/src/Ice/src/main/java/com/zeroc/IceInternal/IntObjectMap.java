@@ -0,0 +1,140 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// A map of non-negative int keys to objects used by the encapsulation
+// decoders for the instance indexes and type id indexes of a class graph.
+// These indexes are allocated sequentially by the sender, so the entries
+// are stored in an array indexed by the key which grows as needed. The
+// keys come from the peer, keys larger than the dense limit (the size of
+// the encapsulation) are stored in a tree map instead of growing the
+// array. The array is kept when the map is cleared to reuse it with the
+// next encapsulation.
+//
+public final class IntObjectMap<V>
+{
+    public
+    IntObjectMap()
+    {
+        _values = new java.lang.Object[InitialCapacity];
+    }
+
+    @SuppressWarnings("unchecked")
+    public V
+    get(int key)
+    {
+        if(key < _values.length)
+        {
+            return key >= 0 ? (V)_values[key] : null;
+        }
+        return _sparse != null ? _sparse.get(key) : null;
+    }
+
+    public void
+    put(int key, V value)
+    {
+        assert(key >= 0 && value != null);
+        if(key >= _values.length)
+        {
+            if(key >= _denseLimit)
+            {
+                if(_sparse == null) // Lazy initialization
+                {
+                    _sparse = new java.util.TreeMap<>();
+                }
+                if(_sparse.put(key, value) == null)
+                {
+                    ++_size;
+                }
+                return;
+            }
+            _values = java.util.Arrays.copyOf(_values, Math.min(Math.max(2 * _values.length, key + 1), _denseLimit));
+        }
+
+        if(_values[key] == null)
+        {
+            ++_size;
+        }
+        _values[key] = value;
+        if(key > _maxKey)
+        {
+            _maxKey = key;
+        }
+    }
+
+    public void
+    remove(int key)
+    {
+        if(key < _values.length)
+        {
+            if(key >= 0 && _values[key] != null)
+            {
+                _values[key] = null;
+                --_size;
+            }
+        }
+        else if(_sparse != null && _sparse.remove(key) != null)
+        {
+            --_size;
+        }
+    }
+
+    public int
+    size()
+    {
+        return _size;
+    }
+
+    public boolean
+    isEmpty()
+    {
+        return _size == 0;
+    }
+
+    //
+    // Sets the largest key stored in the array, larger keys are stored in
+    // the tree map unless the array is already large enough.
+    //
+    public void
+    setDenseLimit(int denseLimit)
+    {
+        _denseLimit = Math.max(denseLimit, InitialCapacity);
+    }
+
+    public void
+    clear()
+    {
+        if(_values.length > MaxRetainedCapacity)
+        {
+            //
+            // Don't keep the array of a large graph, clearing it would be
+            // expensive for the small graphs which usually follow.
+            //
+            _values = new java.lang.Object[InitialCapacity];
+        }
+        else if(_maxKey >= 0)
+        {
+            java.util.Arrays.fill(_values, 0, _maxKey + 1, null);
+        }
+        _maxKey = -1;
+        _sparse = null;
+        _size = 0;
+    }
+
+    private static final int InitialCapacity = 16;
+    private static final int MaxRetainedCapacity = 8192;
+
+    private java.lang.Object[] _values;
+    private java.util.TreeMap<Integer, V> _sparse;
+    private int _maxKey = -1;
+    private int _size;
+    private int _denseLimit = InitialCapacity;
+}
@@ -0,0 +1,369 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// A pure Java implementation of the LZ4 block format. The compressed message
+// layout is the same as the one used by bzip2: the message header, the size
+// of the uncompressed message and the compressed message body.
+//
+final class LZ4Codec implements CompressionCodec
+{
+    @Override
+    public byte id()
+    {
+        return (byte)3;
+    }
+
+    @Override
+    public String name()
+    {
+        return "lz4";
+    }
+
+    @Override
+    public boolean supported()
+    {
+        return true;
+    }
+
+    @Override
+    public Buffer compress(Buffer buf, int headerSize, int compressionLevel)
+    {
+        final java.nio.ByteBuffer src = buf.b;
+        final int size = buf.size();
+        final int uncompressedLen = size - headerSize;
+
+        Buffer r = new Buffer(false);
+        r.resize(headerSize + 4 + uncompressedLen + uncompressedLen / 255 + 16, false);
+        final java.nio.ByteBuffer dst = r.b;
+
+        //
+        // Copy the header from the uncompressed stream to the compressed one and
+        // add the size of the uncompressed stream before the message body.
+        //
+        copy(src, 0, dst, 0, headerSize);
+        dst.putInt(headerSize, size);
+
+        int compressedLen = compressBlock(src, headerSize, size, dst, headerSize + 4) - headerSize - 4;
+
+        //
+        // Don't bother if the compressed data is larger than the
+        // uncompressed data.
+        //
+        if(compressedLen >= uncompressedLen)
+        {
+            return null;
+        }
+
+        r.resize(headerSize + 4 + compressedLen, false);
+        return r;
+    }
+
+    @Override
+    public Buffer uncompress(Buffer buf, int headerSize, int messageSizeMax)
+    {
+        final java.nio.ByteBuffer src = buf.b;
+        if(buf.size() < headerSize + 4)
+        {
+            throw new com.zeroc.Ice.IllegalMessageSizeException();
+        }
+        int uncompressedSize = src.getInt(headerSize);
+        if(uncompressedSize <= headerSize)
+        {
+            throw new com.zeroc.Ice.IllegalMessageSizeException();
+        }
+        if(uncompressedSize > messageSizeMax)
+        {
+            Ex.throwMemoryLimitException(uncompressedSize, messageSizeMax);
+        }
+
+        Buffer r = new Buffer(false);
+        r.resize(uncompressedSize, false);
+        final java.nio.ByteBuffer dst = r.b;
+
+        //
+        // Copy the header from the compressed stream to the uncompressed one.
+        //
+        copy(src, 0, dst, 0, headerSize);
+
+        int ip = headerSize + 4;
+        final int iend = buf.size();
+        int op = headerSize;
+        final int oend = uncompressedSize;
+        while(true)
+        {
+            if(ip >= iend)
+            {
+                throw corrupted();
+            }
+            final int token = src.get(ip++) & 0xff;
+
+            //
+            // Literals
+            //
+            int literalLen = token >>> 4;
+            if(literalLen == 15)
+            {
+                int b;
+                do
+                {
+                    if(ip >= iend || literalLen > oend)
+                    {
+                        throw corrupted();
+                    }
+                    b = src.get(ip++) & 0xff;
+                    literalLen += b;
+                }
+                while(b == 255);
+            }
+            if(literalLen > iend - ip || literalLen > oend - op)
+            {
+                throw corrupted();
+            }
+            copy(src, ip, dst, op, literalLen);
+            ip += literalLen;
+            op += literalLen;
+
+            if(ip == iend)
+            {
+                break; // The last sequence only contains literals.
+            }
+
+            //
+            // Match
+            //
+            if(iend - ip < 2)
+            {
+                throw corrupted();
+            }
+            final int offset = (src.get(ip) & 0xff) | ((src.get(ip + 1) & 0xff) << 8);
+            ip += 2;
+            if(offset == 0 || offset > op - headerSize)
+            {
+                throw corrupted();
+            }
+
+            int matchLen = token & 0x0f;
+            if(matchLen == 15)
+            {
+                int b;
+                do
+                {
+                    if(ip >= iend || matchLen > oend)
+                    {
+                        throw corrupted();
+                    }
+                    b = src.get(ip++) & 0xff;
+                    matchLen += b;
+                }
+                while(b == 255);
+            }
+            matchLen += MIN_MATCH;
+            if(matchLen > oend - op)
+            {
+                throw corrupted();
+            }
+
+            final int ref = op - offset;
+            if(offset >= matchLen)
+            {
+                copy(dst, ref, dst, op, matchLen);
+            }
+            else
+            {
+                //
+                // Overlapping match, copy byte per byte to repeat the pattern.
+                //
+                for(int i = 0; i < matchLen; ++i)
+                {
+                    dst.put(op + i, dst.get(ref + i));
+                }
+            }
+            op += matchLen;
+        }
+
+        if(op != oend)
+        {
+            throw corrupted();
+        }
+        return r;
+    }
+
+    private static int compressBlock(java.nio.ByteBuffer src, int start, int end, java.nio.ByteBuffer dst, int op)
+    {
+        int anchor = start;
+        if(end - start > MFLIMIT)
+        {
+            final int[] table = _hashTable.get();
+            java.util.Arrays.fill(table, -1);
+
+            final int mflimit = end - MFLIMIT;
+            final int matchlimit = end - LAST_LITERALS;
+
+            table[hash(src.getInt(start))] = start;
+            int ip = start + 1;
+
+            search:
+            while(true)
+            {
+                //
+                // Find a match, the search step increases when no match is found
+                // to skip quickly over data which doesn't compress.
+                //
+                int ref;
+                int attempts = 1 << SKIP_STRENGTH;
+                while(true)
+                {
+                    if(ip > mflimit)
+                    {
+                        break search;
+                    }
+                    final int sequence = src.getInt(ip);
+                    final int h = hash(sequence);
+                    ref = table[h];
+                    table[h] = ip;
+                    if(ref >= start && ip - ref <= MAX_DISTANCE && src.getInt(ref) == sequence)
+                    {
+                        break;
+                    }
+                    ip += attempts++ >>> SKIP_STRENGTH;
+                }
+
+                //
+                // Extend the match backward and forward.
+                //
+                while(ip > anchor && ref > start && src.get(ip - 1) == src.get(ref - 1))
+                {
+                    --ip;
+                    --ref;
+                }
+                int matchLen = MIN_MATCH;
+                while(ip + matchLen < matchlimit && src.get(ip + matchLen) == src.get(ref + matchLen))
+                {
+                    ++matchLen;
+                }
+
+                op = writeSequence(src, anchor, ip - anchor, dst, op, ip - ref, matchLen);
+                ip += matchLen;
+                anchor = ip;
+
+                if(ip > mflimit)
+                {
+                    break;
+                }
+                table[hash(src.getInt(ip - 2))] = ip - 2;
+            }
+        }
+
+        //
+        // The last sequence only contains the remaining literals.
+        //
+        final int literalLen = end - anchor;
+        final int token = op++;
+        if(literalLen >= 15)
+        {
+            dst.put(token, (byte)0xf0);
+            op = writeLength(dst, op, literalLen - 15);
+        }
+        else
+        {
+            dst.put(token, (byte)(literalLen << 4));
+        }
+        copy(src, anchor, dst, op, literalLen);
+        return op + literalLen;
+    }
+
+    private static int writeSequence(java.nio.ByteBuffer src, int anchor, int literalLen, java.nio.ByteBuffer dst,
+                                     int op, int offset, int matchLen)
+    {
+        final int token = op++;
+        int t;
+        if(literalLen >= 15)
+        {
+            t = 0xf0;
+            op = writeLength(dst, op, literalLen - 15);
+        }
+        else
+        {
+            t = literalLen << 4;
+        }
+        copy(src, anchor, dst, op, literalLen);
+        op += literalLen;
+
+        dst.put(op++, (byte)offset);
+        dst.put(op++, (byte)(offset >>> 8));
+
+        matchLen -= MIN_MATCH;
+        if(matchLen >= 15)
+        {
+            t |= 0x0f;
+            op = writeLength(dst, op, matchLen - 15);
+        }
+        else
+        {
+            t |= matchLen;
+        }
+        dst.put(token, (byte)t);
+        return op;
+    }
+
+    private static int writeLength(java.nio.ByteBuffer dst, int op, int len)
+    {
+        while(len >= 255)
+        {
+            dst.put(op++, (byte)255);
+            len -= 255;
+        }
+        dst.put(op++, (byte)len);
+        return op;
+    }
+
+    private static void copy(java.nio.ByteBuffer src, int srcPos, java.nio.ByteBuffer dst, int dstPos, int len)
+    {
+        if(src.hasArray() && dst.hasArray())
+        {
+            System.arraycopy(src.array(), src.arrayOffset() + srcPos, dst.array(), dst.arrayOffset() + dstPos, len);
+        }
+        else
+        {
+            for(int i = 0; i < len; ++i)
+            {
+                dst.put(dstPos + i, src.get(srcPos + i));
+            }
+        }
+    }
+
+    private static int hash(int sequence)
+    {
+        return (sequence * -1640531535) >>> (32 - HASH_LOG);
+    }
+
+    private static com.zeroc.Ice.CompressionException corrupted()
+    {
+        return new com.zeroc.Ice.CompressionException("lz4 uncompression failure: corrupted data");
+    }
+
+    private static final int MIN_MATCH = 4;
+    private static final int LAST_LITERALS = 5;
+    private static final int MFLIMIT = 12;
+    private static final int MAX_DISTANCE = 65535;
+    private static final int SKIP_STRENGTH = 6;
+    private static final int HASH_LOG = 12;
+
+    private static final ThreadLocal<int[]> _hashTable = new ThreadLocal<int[]>()
+    {
+        @Override
+        protected int[] initialValue()
+        {
+            return new int[1 << HASH_LOG];
+        }
+    };
+}
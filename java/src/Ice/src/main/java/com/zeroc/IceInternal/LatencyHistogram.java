@@ -0,0 +1,76 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// A histogram of durations in microseconds with log-linear buckets, as
+// described with the lifetimeHistogram member of IceMX::Metrics: the
+// first 16 buckets have a width of 1 and each following power of two
+// range is split in 8 buckets, for a relative error of at most 12.5%.
+// Durations are recorded without locking.
+//
+public final class LatencyHistogram
+{
+    public void
+    record(long duration)
+    {
+        _buckets.incrementAndGet(bucket(duration));
+    }
+
+    //
+    // Returns the bucket counts, up to the last bucket which isn't empty.
+    //
+    public long[]
+    getBuckets()
+    {
+        long[] buckets = new long[BucketCount];
+        int size = 0;
+        for(int i = 0; i < BucketCount; ++i)
+        {
+            buckets[i] = _buckets.get(i);
+            if(buckets[i] != 0)
+            {
+                size = i + 1;
+            }
+        }
+        return java.util.Arrays.copyOf(buckets, size);
+    }
+
+    static int
+    bucket(long duration)
+    {
+        if(duration < 16)
+        {
+            return duration < 0 ? 0 : (int)duration;
+        }
+
+        //
+        // The shift keeps the 4 most significant bits of the duration: the
+        // leading 1 selects the power of two range and the 3 other bits the
+        // bucket in the range.
+        //
+        int shift = 60 - Long.numberOfLeadingZeros(duration);
+        if(shift > MaxShift)
+        {
+            return BucketCount - 1;
+        }
+        return 8 * shift + (int)(duration >>> shift);
+    }
+
+    //
+    // Durations are recorded up to 2^40 microseconds (about 12 days),
+    // longer durations are counted in the last bucket.
+    //
+    private static final int MaxShift = 36;
+    private static final int BucketCount = 8 * MaxShift + 16;
+
+    private final java.util.concurrent.atomic.AtomicLongArray _buckets =
+        new java.util.concurrent.atomic.AtomicLongArray(BucketCount);
+}
@@ -356,11 +356,16 @@ public final class LocatorInfo
     {
         assert(ref.isIndirect());
         EndpointI[] endpoints = null;
-        Holder<Boolean> cached = new Holder<>();
+        Holder<Integer> status = new Holder<>();
         if(!ref.isWellKnown())
         {
-            endpoints = _table.getAdapterEndpoints(ref.getAdapterId(), ttl, cached);
-            if(!cached.value)
+            endpoints = _table.getAdapterEndpoints(ref.getAdapterId(), ttl, status);
+            observeLookup(ref, status.value);
+            if(status.value == LocatorTable.Refresh)
+            {
+                getAdapterRequest(ref).addCallback(ref, wellKnownRef, ttl, null);
+            }
+            else if(status.value != LocatorTable.Hit)
             {
                 if(_background && endpoints != null)
                 {
@@ -375,8 +380,13 @@ public final class LocatorInfo
         }
         else
         {
-            Reference r = _table.getObjectReference(ref.getIdentity(), ttl, cached);
-            if(!cached.value)
+            Reference r = _table.getObjectReference(ref.getIdentity(), ttl, status);
+            observeLookup(ref, status.value);
+            if(status.value == LocatorTable.Refresh)
+            {
+                getObjectRequest(ref).addCallback(ref, null, ttl, null);
+            }
+            else if(status.value != LocatorTable.Hit)
             {
                 if(_background && r != null)
                 {
@@ -445,6 +455,42 @@ public final class LocatorInfo
         }
     }
 
+    private void
+    observeLookup(Reference ref, int status)
+    {
+        com.zeroc.Ice.Instrumentation.CommunicatorObserver obsv = ref.getInstance().initializationData().observer;
+        if(obsv instanceof CommunicatorObserverI)
+        {
+            String result;
+            switch(status)
+            {
+            case LocatorTable.Miss:
+            {
+                result = "miss";
+                break;
+            }
+            case LocatorTable.Stale:
+            {
+                result = "stale";
+                break;
+            }
+            default:
+            {
+                result = "hit";
+                break;
+            }
+            }
+
+            com.zeroc.Ice.Instrumentation.Observer observer =
+                ((CommunicatorObserverI)obsv).getLocatorCacheObserver(_locator, ref, result);
+            if(observer != null)
+            {
+                observer.attach();
+                observer.detach();
+            }
+        }
+    }
+
     private void
     trace(String msg, Reference ref, EndpointI[] endpoints)
     {
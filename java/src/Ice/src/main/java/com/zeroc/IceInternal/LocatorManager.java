@@ -71,6 +71,8 @@ public final class LocatorManager
     LocatorManager(com.zeroc.Ice.Properties properties)
     {
         _background = properties.getPropertyAsInt("Ice.BackgroundLocatorCacheUpdates") > 0;
+        _cacheMaxSize = Math.max(properties.getPropertyAsInt("Ice.LocatorCache.MaxSize"), 0);
+        _cacheRefreshAhead = Math.min(Math.max(properties.getPropertyAsInt("Ice.LocatorCache.RefreshAhead"), 0), 100);
     }
 
     synchronized void
@@ -118,7 +120,7 @@ public final class LocatorManager
                 LocatorTable table = _locatorTables.get(_lookupKey.set(locator));
                 if(table == null)
                 {
-                    table = new LocatorTable();
+                    table = new LocatorTable(_cacheMaxSize, _cacheRefreshAhead);
                     _locatorTables.put(_lookupKey.clone(), table);
                 }
 
@@ -131,6 +133,8 @@ public final class LocatorManager
     }
 
     final private boolean _background;
+    final private int _cacheMaxSize;
+    final private int _cacheRefreshAhead;
 
     private java.util.HashMap<com.zeroc.Ice.LocatorPrx, LocatorInfo> _table = new java.util.HashMap<>();
     private java.util.HashMap<LocatorKey, LocatorTable> _locatorTables = new java.util.HashMap<>();
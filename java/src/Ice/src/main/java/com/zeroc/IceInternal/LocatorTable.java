@@ -9,122 +9,196 @@
 
 package com.zeroc.IceInternal;
 
+//
+// The locator cache. Lookups don't lock: the tables are concurrent maps
+// and the entries are immutable apart from their last access time and
+// refresh flag. When a maximum size is configured, the least recently
+// used entries are evicted once the size is exceeded.
+//
 final class LocatorTable
 {
-    LocatorTable()
+    //
+    // Lookup status.
+    //
+    static final int Miss = 0; // Not in the cache.
+    static final int Hit = 1; // In the cache and not expired.
+    static final int Stale = 2; // In the cache but expired.
+    static final int Refresh = 3; // Like Hit, but the caller should refresh the entry in the background.
+
+    LocatorTable(int maxSize, int refreshAhead)
     {
+        _maxSize = maxSize;
+        _refreshAhead = refreshAhead;
     }
 
-    synchronized void
+    void
     clear()
     {
         _adapterEndpointsTable.clear();
         _objectTable.clear();
     }
 
-    synchronized EndpointI[]
-    getAdapterEndpoints(String adapter, int ttl, Holder<Boolean> cached)
+    EndpointI[]
+    getAdapterEndpoints(String adapter, int ttl, Holder<Integer> status)
     {
-        if(ttl == 0) // Locator cache disabled.
-        {
-            cached.value = false;
-            return null;
-        }
-
-        EndpointTableEntry entry = _adapterEndpointsTable.get(adapter);
-        if(entry != null)
-        {
-            cached.value = checkTTL(entry.time, ttl);
-            return entry.endpoints;
-        }
-        cached.value = false;
-        return null;
+        Entry<EndpointI[]> entry = get(_adapterEndpointsTable, adapter, ttl, status);
+        return entry != null ? entry.value : null;
     }
 
-    synchronized void
+    void
     addAdapterEndpoints(String adapter, EndpointI[] endpoints)
     {
-        _adapterEndpointsTable.put(adapter,
-                new EndpointTableEntry(Time.currentMonotonicTimeMillis(), endpoints));
+        put(_adapterEndpointsTable, adapter, new Entry<>(endpoints));
     }
 
-    synchronized EndpointI[]
+    EndpointI[]
     removeAdapterEndpoints(String adapter)
     {
-        EndpointTableEntry entry = _adapterEndpointsTable.remove(adapter);
-        return entry != null ? entry.endpoints : null;
+        Entry<EndpointI[]> entry = _adapterEndpointsTable.remove(adapter);
+        return entry != null ? entry.value : null;
     }
 
-    synchronized Reference
-    getObjectReference(com.zeroc.Ice.Identity id, int ttl, Holder<Boolean> cached)
+    Reference
+    getObjectReference(com.zeroc.Ice.Identity id, int ttl, Holder<Integer> status)
     {
-        if(ttl == 0) // Locator cache disabled.
-        {
-            cached.value = false;
-            return null;
-        }
-
-        ReferenceTableEntry entry = _objectTable.get(id);
-        if(entry != null)
-        {
-            cached.value = checkTTL(entry.time, ttl);
-            return entry.reference;
-        }
-        cached.value = false;
-        return null;
+        Entry<Reference> entry = get(_objectTable, id, ttl, status);
+        return entry != null ? entry.value : null;
     }
 
-    synchronized void
+    void
     addObjectReference(com.zeroc.Ice.Identity id, Reference ref)
     {
-        _objectTable.put(id, new ReferenceTableEntry(Time.currentMonotonicTimeMillis(), ref));
+        put(_objectTable, id, new Entry<>(ref));
     }
 
-    synchronized Reference
+    Reference
     removeObjectReference(com.zeroc.Ice.Identity id)
     {
-        ReferenceTableEntry entry = _objectTable.remove(id);
-        return entry != null ? entry.reference : null;
+        Entry<Reference> entry = _objectTable.remove(id);
+        return entry != null ? entry.value : null;
     }
 
-    private boolean
-    checkTTL(long time, int ttl)
+    private <K, V> Entry<V>
+    get(java.util.concurrent.ConcurrentHashMap<K, Entry<V>> table, K key, int ttl, Holder<Integer> status)
     {
-        assert(ttl != 0);
+        if(ttl == 0) // Locator cache disabled.
+        {
+            status.value = Miss;
+            return null;
+        }
+
+        Entry<V> entry = table.get(key);
+        if(entry == null)
+        {
+            status.value = Miss;
+            return null;
+        }
+
+        long now = Time.currentMonotonicTimeMillis();
+        if(_maxSize > 0 && entry.lastAccess != now)
+        {
+            entry.lastAccess = now; // Avoid contended writes on hot entries, the resolution is the millisecond.
+        }
         if(ttl < 0) // TTL = infinite
         {
-            return true;
+            status.value = Hit;
         }
         else
         {
-            return Time.currentMonotonicTimeMillis() - time <= ((long)ttl * 1000);
+            long age = now - entry.time;
+            long timeout = (long)ttl * 1000;
+            if(age > timeout)
+            {
+                status.value = Stale;
+            }
+            else if(_refreshAhead > 0 && age * 100 >= timeout * _refreshAhead && entry.startRefresh())
+            {
+                status.value = Refresh;
+            }
+            else
+            {
+                status.value = Hit;
+            }
         }
+        return entry;
     }
 
-    private static final class EndpointTableEntry
+    private <K, V> void
+    put(java.util.concurrent.ConcurrentHashMap<K, Entry<V>> table, K key, Entry<V> entry)
     {
-        public EndpointTableEntry(long time, EndpointI[] endpoints)
+        table.put(key, entry);
+        if(_maxSize > 0 && table.size() > _maxSize)
         {
-            this.time = time;
-            this.endpoints = endpoints;
+            evict(table);
         }
+    }
 
-        final public long time;
-        final public EndpointI[] endpoints;
+    private <K, V> void
+    evict(java.util.concurrent.ConcurrentHashMap<K, Entry<V>> table)
+    {
+        //
+        // Only one thread evicts at a time, other threads adding entries
+        // meanwhile don't wait. To amortize the cost of sorting the
+        // entries, evict down to 7/8 of the maximum size.
+        //
+        if(!_evicting.compareAndSet(false, true))
+        {
+            return;
+        }
+
+        try
+        {
+            int count = table.size() - (_maxSize - _maxSize / 8);
+            if(count <= 0)
+            {
+                return;
+            }
+
+            java.util.List<java.util.Map.Entry<K, Entry<V>>> entries = new java.util.ArrayList<>(table.entrySet());
+            java.util.Collections.sort(entries,
+                                       (e1, e2) -> Long.compare(e1.getValue().lastAccess, e2.getValue().lastAccess));
+            for(java.util.Map.Entry<K, Entry<V>> e : entries)
+            {
+                if(count-- == 0)
+                {
+                    break;
+                }
+                table.remove(e.getKey(), e.getValue());
+            }
+        }
+        finally
+        {
+            _evicting.set(false);
+        }
     }
 
-    private static final class ReferenceTableEntry
+    private static final class Entry<V>
     {
-        public ReferenceTableEntry(long time, Reference reference)
+        Entry(V value)
+        {
+            this.time = Time.currentMonotonicTimeMillis();
+            this.value = value;
+            this.lastAccess = this.time;
+        }
+
+        boolean
+        startRefresh()
         {
-            this.time = time;
-            this.reference = reference;
+            return _refreshing.compareAndSet(false, true);
         }
 
-        final public long time;
-        final public Reference reference;
+        final long time;
+        final V value;
+        volatile long lastAccess;
+        private final java.util.concurrent.atomic.AtomicBoolean _refreshing =
+            new java.util.concurrent.atomic.AtomicBoolean();
     }
 
-    private java.util.Map<String, EndpointTableEntry> _adapterEndpointsTable = new java.util.HashMap<>();
-    private java.util.Map<com.zeroc.Ice.Identity, ReferenceTableEntry> _objectTable = new java.util.HashMap<>();
+    private final int _maxSize; // 0 if unbounded.
+    private final int _refreshAhead; // Percentage of the TTL, 0 if disabled.
+    private final java.util.concurrent.atomic.AtomicBoolean _evicting = new java.util.concurrent.atomic.AtomicBoolean();
+    private final java.util.concurrent.ConcurrentHashMap<String, Entry<EndpointI[]>> _adapterEndpointsTable =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<com.zeroc.Ice.Identity, Entry<Reference>> _objectTable =
+        new java.util.concurrent.ConcurrentHashMap<>();
 }
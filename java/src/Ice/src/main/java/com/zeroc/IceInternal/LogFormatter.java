@@ -0,0 +1,152 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Formats the messages of the Ice logger (com.zeroc.Ice.LoggerI) with the
+// time and the name of the thread at which they were logged, which are not
+// the ones of the thread formatting the message with Ice.LogAsync. The line
+// separator isn't added to the message.
+//
+public final class LogFormatter
+{
+    public
+    LogFormatter(String prefix)
+    {
+        _formattedPrefix = prefix.length() > 0 ? prefix + ": " : "";
+    }
+
+    //
+    // Appends the message to the buffer. The type is one of the LogRingBuffer
+    // message types, the thread name is only used for warnings and errors and
+    // the category for traces.
+    //
+    public void
+    format(StringBuilder s, int type, long time, String threadName, String category, String message)
+    {
+        int start = s.length();
+        switch(type)
+        {
+            case LogRingBuffer.Print:
+            {
+                s.append(message);
+                return;
+            }
+            case LogRingBuffer.Trace:
+            {
+                s.append("-- ");
+                _timestamp.append(s, time);
+                s.append(' ');
+                s.append(_formattedPrefix);
+                s.append(category);
+                s.append(": ");
+                break;
+            }
+            case LogRingBuffer.Warning:
+            {
+                s.append("-! ");
+                _timestamp.append(s, time);
+                s.append(' ');
+                s.append(_formattedPrefix);
+                s.append("warning: ");
+                s.append(threadName);
+                s.append(": ");
+                break;
+            }
+            default:
+            {
+                s.append("!! ");
+                _timestamp.append(s, time);
+                s.append(' ');
+                s.append(_formattedPrefix);
+                s.append("error: ");
+                s.append(threadName);
+                s.append(": ");
+                break;
+            }
+        }
+        s.append(message);
+
+        int idx = start;
+        while((idx = s.indexOf("\n", idx)) != -1)
+        {
+            s.insert(idx + 1, "   ");
+            ++idx;
+        }
+    }
+
+    //
+    // Formats the date and time of the messages. The date, hours and
+    // minutes are formatted once per minute, seconds and milliseconds are
+    // appended to the cached string. Time zone offsets are whole minutes
+    // so local minutes start at the same time as UTC minutes.
+    //
+    private static final class Timestamp
+    {
+        void
+        append(StringBuilder s, long time)
+        {
+            Minute minute = _minute;
+            if(minute == null || time < minute.start || time >= minute.start + 60000)
+            {
+                minute = format(time);
+            }
+            s.append(minute.prefix);
+
+            int ms = (int)(time - minute.start);
+            int seconds = ms / 1000;
+            ms %= 1000;
+            if(seconds < 10)
+            {
+                s.append('0');
+            }
+            s.append(seconds);
+            s.append(':');
+            if(ms < 100)
+            {
+                s.append('0');
+            }
+            if(ms < 10)
+            {
+                s.append('0');
+            }
+            s.append(ms);
+        }
+
+        private synchronized Minute
+        format(long time)
+        {
+            long start = time - Math.floorMod(time, 60000L);
+            java.util.Date date = new java.util.Date(start);
+            Minute minute = new Minute(start, _date.format(date) + _time.format(date));
+            _minute = minute;
+            return minute;
+        }
+
+        private static final class Minute
+        {
+            Minute(long start, String prefix)
+            {
+                this.start = start;
+                this.prefix = prefix;
+            }
+
+            final long start;
+            final String prefix;
+        }
+
+        private final java.text.DateFormat _date = java.text.DateFormat.getDateInstance(java.text.DateFormat.SHORT);
+        private final java.text.SimpleDateFormat _time = new java.text.SimpleDateFormat(" HH:mm:");
+        private volatile Minute _minute;
+    }
+
+    private final String _formattedPrefix;
+    private final Timestamp _timestamp = new Timestamp();
+}
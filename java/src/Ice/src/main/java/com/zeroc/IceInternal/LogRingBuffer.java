@@ -0,0 +1,365 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// The bounded queue of the asynchronous loggers (Ice.LogAsync). Logging
+// threads add messages to a lock-free ring of pre-allocated slots and a
+// dedicated thread writes them with the consumer of each message. The
+// consumer is flushed once per batch of messages rather than after each
+// message.
+//
+// When the ring is full, the overflow policy either blocks the logging
+// thread until there's room, drops traces or drops any message. The
+// number of dropped messages is reported with a warning.
+//
+public final class LogRingBuffer
+{
+    public interface Consumer
+    {
+        void write(int type, long time, String threadName, String category, String message);
+
+        void flush();
+    }
+
+    //
+    // Message types.
+    //
+    public static final int Print = 0;
+    public static final int Trace = 1;
+    public static final int Warning = 2;
+    public static final int Error = 3;
+
+    //
+    // Overflow policies.
+    //
+    public static final int OverflowBlock = 0;
+    public static final int OverflowDropTraces = 1;
+    public static final int OverflowDrop = 2;
+
+    public
+    LogRingBuffer(int capacity, int overflow, String threadName)
+    {
+        int size = 2;
+        while(size < capacity && size < (1 << 30))
+        {
+            size <<= 1;
+        }
+
+        _slots = new Slot[size];
+        for(int i = 0; i < size; ++i)
+        {
+            _slots[i] = new Slot(i);
+        }
+        _mask = size - 1;
+        _overflow = overflow;
+        _threadName = threadName;
+
+        _thread = new Thread(() -> run(), threadName);
+        _thread.setDaemon(true);
+        _thread.start();
+    }
+
+    //
+    // Adds a message to the ring, returns false if the ring is destroyed
+    // in which case the caller writes the message itself.
+    //
+    public boolean
+    add(Consumer consumer, int type, String category, String message)
+    {
+        long time = System.currentTimeMillis();
+        String threadName = type >= Warning ? Thread.currentThread().getName() : null;
+        while(true)
+        {
+            if(_destroyed)
+            {
+                return false;
+            }
+
+            if(offer(consumer, type, time, threadName, category, message))
+            {
+                if(_destroyed)
+                {
+                    //
+                    // The ring was destroyed while the message was added,
+                    // the writer thread might be gone already.
+                    //
+                    drainDestroyed();
+                }
+                else if(_sleeping)
+                {
+                    java.util.concurrent.locks.LockSupport.unpark(_thread);
+                }
+                return true;
+            }
+
+            //
+            // The ring is full. The writer thread never waits for itself,
+            // its messages are dropped if a consumer logs while writing.
+            //
+            if(_overflow == OverflowDrop || (_overflow == OverflowDropTraces && type == Trace) ||
+               Thread.currentThread() == _thread)
+            {
+                _dropped.incrementAndGet();
+                return true;
+            }
+            java.util.concurrent.locks.LockSupport.unpark(_thread);
+            java.util.concurrent.locks.LockSupport.parkNanos(this, BlockWait);
+        }
+    }
+
+    //
+    // Writes the queued messages and stops the writer thread.
+    //
+    public void
+    destroy()
+    {
+        _destroyed = true;
+        java.util.concurrent.locks.LockSupport.unpark(_thread);
+
+        boolean interrupted = false;
+        while(true)
+        {
+            try
+            {
+                _thread.join();
+                break;
+            }
+            catch(InterruptedException ex)
+            {
+                interrupted = true;
+            }
+        }
+        if(interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        //
+        // Write the messages added while the writer thread was exiting.
+        //
+        synchronized(this)
+        {
+            _joined = true;
+            while(drain())
+            {
+            }
+            reportDropped();
+        }
+    }
+
+    //
+    // Writes the messages added after destroy() was called. Until the
+    // writer thread is joined, destroy() writes them itself.
+    //
+    private synchronized void
+    drainDestroyed()
+    {
+        if(_joined)
+        {
+            while(drain())
+            {
+            }
+            reportDropped();
+        }
+    }
+
+    private boolean
+    offer(Consumer consumer, int type, long time, String threadName, String category, String message)
+    {
+        long tail = _tail.get();
+        while(true)
+        {
+            Slot slot = _slots[(int)(tail & _mask)];
+            long sequence = slot.sequence;
+            if(sequence == tail)
+            {
+                if(_tail.compareAndSet(tail, tail + 1))
+                {
+                    slot.consumer = consumer;
+                    slot.type = type;
+                    slot.time = time;
+                    slot.threadName = threadName;
+                    slot.category = category;
+                    slot.message = message;
+                    slot.sequence = tail + 1; // Publish the message to the writer thread.
+                    return true;
+                }
+                tail = _tail.get();
+            }
+            else if(sequence < tail)
+            {
+                return false; // Full
+            }
+            else
+            {
+                tail = _tail.get(); // Another thread took the slot.
+            }
+        }
+    }
+
+    private void
+    run()
+    {
+        while(true)
+        {
+            if(drain())
+            {
+                continue;
+            }
+
+            reportDropped();
+            if(_destroyed)
+            {
+                break;
+            }
+
+            //
+            // Check again for messages once _sleeping is set, a logging
+            // thread that added a message before seeing _sleeping set
+            // doesn't wake up this thread.
+            //
+            _sleeping = true;
+            if(isEmpty() && !_destroyed)
+            {
+                java.util.concurrent.locks.LockSupport.park(this);
+            }
+            _sleeping = false;
+        }
+    }
+
+    //
+    // Writes up to BatchSize messages, returns false if there was none.
+    // Only called by the writer thread, or once it's joined with the
+    // ring locked.
+    //
+    private boolean
+    drain()
+    {
+        Consumer last = null;
+        int count = 0;
+        while(count < BatchSize)
+        {
+            Slot slot = _slots[(int)(_head & _mask)];
+            if(slot.sequence != _head + 1)
+            {
+                break;
+            }
+
+            Consumer consumer = slot.consumer;
+            int type = slot.type;
+            long time = slot.time;
+            String threadName = slot.threadName;
+            String category = slot.category;
+            String message = slot.message;
+            slot.consumer = null;
+            slot.threadName = null;
+            slot.category = null;
+            slot.message = null;
+            slot.sequence = _head + _slots.length; // Release the slot to the logging threads.
+            ++_head;
+
+            if(last != null && consumer != last)
+            {
+                flush(last);
+            }
+            write(consumer, type, time, threadName, category, message);
+            last = consumer;
+            ++count;
+        }
+
+        if(last != null)
+        {
+            flush(last);
+            _lastConsumer = last;
+        }
+        return count > 0;
+    }
+
+    private boolean
+    isEmpty()
+    {
+        return _slots[(int)(_head & _mask)].sequence != _head + 1;
+    }
+
+    private void
+    reportDropped()
+    {
+        long dropped = _dropped.getAndSet(0);
+        if(dropped > 0 && _lastConsumer != null)
+        {
+            write(_lastConsumer, Warning, System.currentTimeMillis(), _threadName, null,
+                  dropped + " log messages dropped, the logger queue is full");
+            flush(_lastConsumer);
+        }
+    }
+
+    private void
+    write(Consumer consumer, int type, long time, String threadName, String category, String message)
+    {
+        try
+        {
+            consumer.write(type, time, threadName, category, message);
+        }
+        catch(java.lang.Exception ex)
+        {
+            // Ignore, there's no logger to report the failure.
+        }
+    }
+
+    private void
+    flush(Consumer consumer)
+    {
+        try
+        {
+            consumer.flush();
+        }
+        catch(java.lang.Exception ex)
+        {
+            // Ignore, there's no logger to report the failure.
+        }
+    }
+
+    private static final class Slot
+    {
+        Slot(long sequence)
+        {
+            this.sequence = sequence;
+        }
+
+        //
+        // The slot is free for the logging thread adding the message at
+        // position sequence, or holds the message at position sequence - 1.
+        //
+        volatile long sequence;
+        Consumer consumer;
+        int type;
+        long time;
+        String threadName;
+        String category;
+        String message;
+    }
+
+    private static final int BatchSize = 256;
+    private static final long BlockWait = 100000; // In nanoseconds.
+
+    private final Slot[] _slots;
+    private final long _mask;
+    private final int _overflow;
+    private final String _threadName;
+    private final Thread _thread;
+    private final java.util.concurrent.atomic.AtomicLong _tail = new java.util.concurrent.atomic.AtomicLong();
+    private final java.util.concurrent.atomic.AtomicLong _dropped = new java.util.concurrent.atomic.AtomicLong();
+    private long _head; // Only accessed by the writer thread.
+    private Consumer _lastConsumer; // Only accessed by the writer thread.
+    private volatile boolean _sleeping;
+    private volatile boolean _destroyed;
+    private boolean _joined; // Guarded by this, true once the writer thread is joined.
+}
@@ -28,7 +28,7 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
         RemoteLoggerPrx remoteLogger = RemoteLoggerPrx.uncheckedCast(prx.ice_twoway());
 
         Filters filters = new Filters(messageTypes, categories);
-        java.util.List<LogMessage> initLogMessages = null;
+        LogMessage[] initLogMessages = null;
 
         synchronized(this)
         {
@@ -59,14 +59,7 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
             _remoteLoggerMap.put(remoteLoggerId,
                                  new RemoteLoggerData(changeCommunicator(remoteLogger, _sendLogCommunicator), filters));
 
-            if(messageMax != 0)
-            {
-                initLogMessages = new java.util.LinkedList<>(_queue); // copy
-            }
-            else
-            {
-                initLogMessages = new java.util.LinkedList<>();
-            }
+            initLogMessages = getLogMessages(filters, messageMax);
         }
 
         if(_traceLevel > 0)
@@ -74,14 +67,9 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
             _logger.trace(_traceCategory, "attached `" + remoteLogger.toString() + "'");
         }
 
-        if(!initLogMessages.isEmpty())
-        {
-            filterLogMessages(initLogMessages, filters.messageTypes, filters.traceCategories, messageMax);
-        }
-
         try
         {
-            remoteLogger.initAsync(_logger.getPrefix(), initLogMessages.toArray(new LogMessage[0])).whenComplete(
+            remoteLogger.initAsync(_logger.getPrefix(), initLogMessages).whenComplete(
                 (Void v, Throwable ex) ->
                 {
                     if(ex != null)
@@ -149,34 +137,20 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
     {
         com.zeroc.Ice.LoggerAdmin.GetLogResult r = new com.zeroc.Ice.LoggerAdmin.GetLogResult();
 
-        java.util.List<LogMessage> logMessages = null;
+        Filters filters = new Filters(messageTypes, categories);
         synchronized(this)
         {
-            if(messageMax != 0)
-            {
-                logMessages = new java.util.LinkedList<>(_queue);
-            }
-            else
-            {
-                logMessages = new java.util.LinkedList<>();
-            }
+            r.returnValue = getLogMessages(filters, messageMax);
         }
 
         r.prefix = _logger.getPrefix();
-
-        if(!logMessages.isEmpty())
-        {
-            Filters filters = new Filters(messageTypes, categories);
-            filterLogMessages(logMessages, filters.messageTypes, filters.traceCategories, messageMax);
-        }
-        r.returnValue = logMessages.toArray(new LogMessage[0]);
         return r;
     }
 
     LoggerAdminI(com.zeroc.Ice.Properties props, LoggerAdminLoggerI logger)
     {
-        _maxLogCount = props.getPropertyAsIntWithDefault("Ice.Admin.Logger.KeepLogs", 100);
-        _maxTraceCount = props.getPropertyAsIntWithDefault("Ice.Admin.Logger.KeepTraces", 100);
+        _logs = new History(props.getPropertyAsIntWithDefault("Ice.Admin.Logger.KeepLogs", 100));
+        _traces = new History(props.getPropertyAsIntWithDefault("Ice.Admin.Logger.KeepTraces", 100));
         _traceLevel = props.getPropertyAsInt("Ice.Trace.Admin.Logger");
         _logger = logger;
     }
@@ -210,87 +184,26 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
         java.util.List<RemoteLoggerPrx> remoteLoggers = null;
 
         //
-        // Put message in _queue
+        // Put message in the history of logs or traces, the oldest message is
+        // overwritten once the history is full.
         //
-        if((logMessage.type != LogMessageType.TraceMessage && _maxLogCount > 0) ||
-           (logMessage.type == LogMessageType.TraceMessage && _maxTraceCount > 0))
+        History history = logMessage.type == LogMessageType.TraceMessage ? _traces : _logs;
+        if(history.capacity() > 0)
         {
-            _queue.add(logMessage); // add at the end
-
-            if(logMessage.type != LogMessageType.TraceMessage)
-            {
-                assert(_maxLogCount > 0);
-                if(_logCount == _maxLogCount)
-                {
-                    //
-                    // Need to remove the oldest log from the queue
-                    //
-                    assert(_oldestLog != -1);
-                    _queue.remove(_oldestLog);
-                    int qs = _queue.size();
-
-                    while(_oldestLog < qs && _queue.get(_oldestLog).type == LogMessageType.TraceMessage)
-                    {
-                        _oldestLog++;
-                    }
-                    assert(_oldestLog < qs); // remember: we just added a log message at end
-                }
-                else
-                {
-                    assert(_logCount < _maxLogCount);
-                    _logCount++;
-                    if(_oldestLog == -1)
-                    {
-                        _oldestLog = _queue.size() - 1;
-                    }
-                }
-            }
-            else
-            {
-                assert(_maxTraceCount > 0);
-                if(_traceCount == _maxTraceCount)
-                {
-                    //
-                    // Need to remove the oldest trace from the queue
-                    //
-                    assert(_oldestTrace != -1);
-                    _queue.remove(_oldestTrace);
-                    int qs = _queue.size();
-                    while(_oldestTrace < qs && _queue.get(_oldestTrace).type != LogMessageType.TraceMessage)
-                    {
-                        _oldestTrace++;
-                    }
-                    assert(_oldestTrace < qs); // remember: we just added a trace message at end
-                }
-                else
-                {
-                    assert(_traceCount < _maxTraceCount);
-                    _traceCount++;
-                    if(_oldestTrace == -1)
-                    {
-                        _oldestTrace = _queue.size() - 1;
-                    }
-                }
-            }
+            history.add(logMessage, _sequence++);
 
             //
-            // Queue updated, now find which remote loggers want this message
+            // History updated, now find which remote loggers want this message
             //
             for(RemoteLoggerData p : _remoteLoggerMap.values())
             {
-                Filters filters = p.filters;
-
-                if(filters.messageTypes.isEmpty() || filters.messageTypes.contains(logMessage.type))
+                if(p.filters.accept(logMessage))
                 {
-                    if(logMessage.type != LogMessageType.TraceMessage || filters.traceCategories.isEmpty() ||
-                       filters.traceCategories.contains(logMessage.traceCategory))
+                    if(remoteLoggers == null)
                     {
-                        if(remoteLoggers == null)
-                        {
-                            remoteLoggers = new java.util.ArrayList<>();
-                        }
-                        remoteLoggers.add(p.remoteLogger);
+                        remoteLoggers = new java.util.ArrayList<>();
                     }
+                    remoteLoggers.add(p.remoteLogger);
                 }
             }
         }
@@ -324,56 +237,46 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
         return _remoteLoggerMap.remove(remoteLogger.ice_getIdentity()) != null;
     }
 
-    private static void filterLogMessages(java.util.List<LogMessage> logMessages,
-                                          java.util.Set<LogMessageType> messageTypes,
-                                          java.util.Set<String> traceCategories, int messageMax)
+    //
+    // Returns the most recent messages of the history accepted by the filters,
+    // at most messageMax (all of them if messageMax is negative) in the order
+    // they were logged. The logs and traces are merged from the most recent
+    // message until there are enough messages.
+    //
+    private LogMessage[] getLogMessages(Filters filters, int messageMax)
     {
-        assert(!logMessages.isEmpty() && messageMax != 0);
+        if(messageMax == 0)
+        {
+            return new LogMessage[0];
+        }
 
-        //
-        // Filter only if one of the 3 filters is set; messageMax < 0 means "give me all"
-        // that match the other filters, if any.
-        //
-        if(!messageTypes.isEmpty() || !traceCategories.isEmpty() || messageMax > 0)
+        int logs = filters.acceptLogs() ? _logs.size() : 0;
+        int traces = filters.acceptTraces() ? _traces.size() : 0;
+        java.util.ArrayList<LogMessage> logMessages = new java.util.ArrayList<>();
+        while((logs > 0 || traces > 0) && (messageMax < 0 || logMessages.size() < messageMax))
         {
-            int count = 0;
-            java.util.ListIterator<LogMessage> p = logMessages.listIterator(logMessages.size());
-            while(p.hasPrevious())
+            LogMessage msg;
+            if(traces == 0 || (logs > 0 && _logs.sequence(logs - 1) > _traces.sequence(traces - 1)))
             {
-                boolean keepIt = false;
-                LogMessage msg = p.previous();
-                if(messageTypes.isEmpty() || messageTypes.contains(msg.type))
-                {
-                    if(msg.type != LogMessageType.TraceMessage || traceCategories.isEmpty() ||
-                       traceCategories.contains(msg.traceCategory))
-                    {
-                        keepIt = true;
-                    }
-                }
+                msg = _logs.get(--logs);
+            }
+            else
+            {
+                msg = _traces.get(--traces);
+            }
 
-                if(keepIt)
-                {
-                    ++count;
-                    if(messageMax > 0 && count >= messageMax)
-                    {
-                        if(p.hasPrevious())
-                        {
-                            int removeCount = p.previousIndex() + 1;
-                            for(int i = 0; i < removeCount; ++i)
-                            {
-                                logMessages.remove(0);
-                            }
-                        }
-                        break; // while
-                    }
-                }
-                else
-                {
-                    p.remove();
-                }
+            if(filters.accept(msg))
+            {
+                logMessages.add(msg);
             }
         }
-        // else, don't need any filtering
+
+        LogMessage[] result = new LogMessage[logMessages.size()];
+        for(int i = 0; i < result.length; ++i)
+        {
+            result[i] = logMessages.get(result.length - 1 - i);
+        }
+        return result;
     }
 
     //
@@ -429,15 +332,96 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
     }
 
 
-    private final java.util.List<LogMessage> _queue = new java.util.LinkedList<>();
-    private int _logCount = 0; // non-trace messages
-    private final int _maxLogCount;
-    private int _traceCount = 0;
-    private final int _maxTraceCount;
+    private final History _logs; // non-trace messages
+    private final History _traces;
+    private long _sequence = 0; // Orders the messages of both histories.
     private final int _traceLevel;
 
-    private int _oldestTrace = -1;
-    private int _oldestLog = -1;
+    //
+    // Ring of the most recent messages, with the sequence number of each
+    // message. The arrays grow as messages are added, up to the capacity,
+    // so a large KeepLogs or KeepTraces only costs memory once that many
+    // messages are logged.
+    //
+    private static class History
+    {
+        History(int capacity)
+        {
+            _capacity = Math.max(capacity, 0);
+            _messages = new LogMessage[0];
+            _sequences = new long[0];
+        }
+
+        int capacity()
+        {
+            return _capacity;
+        }
+
+        int size()
+        {
+            return _size;
+        }
+
+        void add(LogMessage msg, long sequence)
+        {
+            assert(_capacity > 0);
+            if(_size == _messages.length && _size < _capacity)
+            {
+                //
+                // The history never wrapped around since it's not full, the
+                // oldest message is at index 0.
+                //
+                assert(_start == 0);
+                int length = (int)Math.min(Math.max(_messages.length * 2L, InitialLength), _capacity);
+                _messages = java.util.Arrays.copyOf(_messages, length);
+                _sequences = java.util.Arrays.copyOf(_sequences, length);
+            }
+
+            int i = _start + _size;
+            if(i >= _messages.length)
+            {
+                i -= _messages.length;
+            }
+            _messages[i] = msg;
+            _sequences[i] = sequence;
+            if(_size == _messages.length)
+            {
+                _start = i + 1 == _messages.length ? 0 : i + 1; // Overwrote the oldest message
+            }
+            else
+            {
+                ++_size;
+            }
+        }
+
+        //
+        // Returns the message at the given position, 0 being the oldest message.
+        //
+        LogMessage get(int pos)
+        {
+            return _messages[index(pos)];
+        }
+
+        long sequence(int pos)
+        {
+            return _sequences[index(pos)];
+        }
+
+        private int index(int pos)
+        {
+            assert(pos >= 0 && pos < _size);
+            int i = _start + pos;
+            return i >= _messages.length ? i - _messages.length : i;
+        }
+
+        private static final int InitialLength = 16;
+
+        private final int _capacity;
+        private LogMessage[] _messages;
+        private long[] _sequences;
+        private int _start = 0;
+        private int _size = 0;
+    }
 
     private static class Filters
     {
@@ -447,6 +431,27 @@ final class LoggerAdminI implements com.zeroc.Ice.LoggerAdmin
             traceCategories = new java.util.HashSet<>(java.util.Arrays.asList(c));
         }
 
+        boolean accept(LogMessage msg)
+        {
+            if(messageTypes.isEmpty() || messageTypes.contains(msg.type))
+            {
+                return msg.type != LogMessageType.TraceMessage || traceCategories.isEmpty() ||
+                    traceCategories.contains(msg.traceCategory);
+            }
+            return false;
+        }
+
+        boolean acceptLogs()
+        {
+            return messageTypes.isEmpty() || messageTypes.size() > 1 ||
+                !messageTypes.contains(LogMessageType.TraceMessage);
+        }
+
+        boolean acceptTraces()
+        {
+            return messageTypes.isEmpty() || messageTypes.contains(LogMessageType.TraceMessage);
+        }
+
         final java.util.Set<LogMessageType> messageTypes;
         final java.util.Set<String> traceCategories;
     }
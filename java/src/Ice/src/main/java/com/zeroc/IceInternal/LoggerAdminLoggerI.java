@@ -108,7 +108,7 @@ final class LoggerAdminLoggerI implements LoggerAdminLogger, Runnable
 
         for(;;)
         {
-            Job job = null;
+            java.util.Deque<Job> jobs = null;
             synchronized(this)
             {
                 while(!_destroyed && _jobQueue.isEmpty())
@@ -129,55 +129,27 @@ final class LoggerAdminLoggerI implements LoggerAdminLogger, Runnable
                 }
 
                 assert(!_jobQueue.isEmpty());
-                job = _jobQueue.removeFirst();
+                jobs = _jobQueue;
+                _jobQueue = new java.util.ArrayDeque<>();
             }
 
-            for(com.zeroc.Ice.RemoteLoggerPrx p : job.remoteLoggers)
+            //
+            // Group the queued messages by remote logger, in the order they
+            // were logged.
+            //
+            java.util.Map<com.zeroc.Ice.RemoteLoggerPrx, java.util.List<LogMessage>> messages =
+                new java.util.LinkedHashMap<>();
+            for(Job job : jobs)
             {
-                if(_loggerAdmin.getTraceLevel() > 1)
+                for(com.zeroc.Ice.RemoteLoggerPrx p : job.remoteLoggers)
                 {
-                    _localLogger.trace(_traceCategory, "sending log message to `" + p.toString() + "'");
+                    messages.computeIfAbsent(p, k -> new java.util.ArrayList<>()).add(job.logMessage);
                 }
+            }
 
-                try
-                {
-                    //
-                    // p is a proxy associated with the _sendLogCommunicator
-                    //
-                    p.logAsync(job.logMessage).whenComplete(
-                        (Void v, Throwable ex) ->
-                        {
-                            if(ex != null)
-                            {
-                                if(ex instanceof com.zeroc.Ice.CommunicatorDestroyedException)
-                                {
-                                    // Expected if there are outstanding calls during communicator destruction.
-                                }
-                                else if(ex instanceof com.zeroc.Ice.LocalException)
-                                {
-                                    _loggerAdmin.deadRemoteLogger(p, _localLogger, (com.zeroc.Ice.LocalException)ex,
-                                                                  "log");
-                                }
-                                else
-                                {
-                                    _loggerAdmin.deadRemoteLogger(p, _localLogger,
-                                                                  new com.zeroc.Ice.UnknownException(ex), "log");
-                                }
-                            }
-                            else
-                            {
-                                if(_loggerAdmin.getTraceLevel() > 1)
-                                {
-                                    _localLogger.trace(_traceCategory, "log on `" + p.toString() +
-                                                       "' completed successfully");
-                                }
-                            }
-                        });
-                }
-                catch(com.zeroc.Ice.LocalException ex)
-                {
-                    _loggerAdmin.deadRemoteLogger(p, _localLogger, ex, "log");
-                }
+            for(java.util.Map.Entry<com.zeroc.Ice.RemoteLoggerPrx, java.util.List<LogMessage>> e : messages.entrySet())
+            {
+                send(e.getKey(), e.getValue());
             }
         }
 
@@ -228,6 +200,98 @@ final class LoggerAdminLoggerI implements LoggerAdminLogger, Runnable
         }
     }
 
+    //
+    // Sends the given messages to a remote logger. Once connected, all the
+    // messages but the last one are sent in a single batch over the remote
+    // logger connection and the last message is sent with a twoway
+    // invocation to find out if the remote logger is still alive.
+    //
+    private void send(com.zeroc.Ice.RemoteLoggerPrx p, java.util.List<LogMessage> logMessages)
+    {
+        if(_loggerAdmin.getTraceLevel() > 1)
+        {
+            _localLogger.trace(_traceCategory, "sending " + logMessages.size() + " log message(s) to `" +
+                               p.toString() + "'");
+        }
+
+        int first = 0;
+        try
+        {
+            //
+            // p is a proxy associated with the _sendLogCommunicator. The batch
+            // proxy is derived from p to keep its settings (context, encoding,
+            // timeouts...), it reuses the connection of p so the batch is sent
+            // before the last message over the same connection.
+            //
+            if(logMessages.size() > 1 && p.ice_getCachedConnection() != null)
+            {
+                com.zeroc.Ice.RemoteLoggerPrx batch = p.ice_batchOneway();
+                for(LogMessage logMessage : logMessages.subList(0, logMessages.size() - 1))
+                {
+                    batch.logAsync(logMessage);
+                }
+                batch.ice_flushBatchRequestsAsync().whenComplete(
+                    (Void v, Throwable ex) ->
+                    {
+                        if(ex != null)
+                        {
+                            completed(p, ex);
+                        }
+                    });
+                first = logMessages.size() - 1;
+            }
+        }
+        catch(com.zeroc.Ice.LocalException ex)
+        {
+            _loggerAdmin.deadRemoteLogger(p, _localLogger, ex, "log");
+            return;
+        }
+
+        for(LogMessage logMessage : logMessages.subList(first, logMessages.size()))
+        {
+            try
+            {
+                p.logAsync(logMessage).whenComplete(
+                    (Void v, Throwable ex) ->
+                    {
+                        if(ex != null)
+                        {
+                            completed(p, ex);
+                        }
+                        else
+                        {
+                            if(_loggerAdmin.getTraceLevel() > 1)
+                            {
+                                _localLogger.trace(_traceCategory, "log on `" + p.toString() +
+                                                   "' completed successfully");
+                            }
+                        }
+                    });
+            }
+            catch(com.zeroc.Ice.LocalException ex)
+            {
+                _loggerAdmin.deadRemoteLogger(p, _localLogger, ex, "log");
+                break;
+            }
+        }
+    }
+
+    private void completed(com.zeroc.Ice.RemoteLoggerPrx p, Throwable ex)
+    {
+        if(ex instanceof com.zeroc.Ice.CommunicatorDestroyedException)
+        {
+            // Expected if there are outstanding calls during communicator destruction.
+        }
+        else if(ex instanceof com.zeroc.Ice.LocalException)
+        {
+            _loggerAdmin.deadRemoteLogger(p, _localLogger, (com.zeroc.Ice.LocalException)ex, "log");
+        }
+        else
+        {
+            _loggerAdmin.deadRemoteLogger(p, _localLogger, new com.zeroc.Ice.UnknownException(ex), "log");
+        }
+    }
+
     static private long now()
     {
         return java.util.Calendar.getInstance().getTimeInMillis() * 1000;
@@ -249,7 +313,7 @@ final class LoggerAdminLoggerI implements LoggerAdminLogger, Runnable
     private final LoggerAdminI _loggerAdmin;
     private boolean _destroyed = false;
     private Thread _sendLogThread;
-    private final java.util.Deque<Job> _jobQueue = new java.util.ArrayDeque<>();
+    private java.util.Deque<Job> _jobQueue = new java.util.ArrayDeque<>();
 
     static private final String _traceCategory = "Admin.Logger";
 }
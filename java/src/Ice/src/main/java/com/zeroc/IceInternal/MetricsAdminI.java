@@ -19,6 +19,8 @@ public class MetricsAdminI implements com.zeroc.IceMX.MetricsAdmin,
         "Accept.*",
         "Reject.*",
         "RetainDetached",
+        "Histogram",
+        "Stripes",
         "Map.*",
     };
 
@@ -11,17 +11,39 @@ package com.zeroc.IceInternal;
 
 public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
 {
+    //
+    // The counters of an entry are striped: each thread updates the metrics
+    // object of its stripe, with the stripe's own lock, and the stripes are
+    // only added up when the metrics are retrieved. The number of observers
+    // attached to the entry is kept separately, it must be exact to find out
+    // when the entry is detached.
+    //
+    // With histograms enabled, the lifetimes and the write times of
+    // connections are also recorded in histograms, without locking.
+    //
     public class Entry
     {
         Entry(T obj)
         {
             _object = obj;
+            _lifetimeHistogram = _histogram ? new LatencyHistogram() : null;
+            _writeHistogram = _histogram && obj instanceof com.zeroc.IceMX.ConnectionMetrics ?
+                new LatencyHistogram() : null;
+            if(_stripeCount > 1)
+            {
+                _stripes = new java.util.concurrent.atomic.AtomicReferenceArray<>(_stripeCount);
+                _stripes.set(0, obj);
+            }
+            else
+            {
+                _stripes = null;
+            }
         }
 
         public void
         failed(String exceptionName)
         {
-            synchronized(MetricsMap.this)
+            synchronized(_object)
             {
                 ++_object.failures;
                 if(_failures == null)
@@ -37,22 +59,26 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         public <S extends com.zeroc.IceMX.Metrics> MetricsMap<S>.Entry
         getMatching(String mapName, com.zeroc.IceMX.MetricsHelper<S> helper, Class<S> cl)
         {
-            SubMap<S> m;
-            synchronized(MetricsMap.this)
+            java.util.Map<String, SubMap<?>> subMaps = _subMaps;
+            SubMap<S> m = subMaps != null ? (SubMap<S>)subMaps.get(mapName) : null;
+            if(m == null)
             {
-                m = _subMaps != null ? (SubMap<S>)_subMaps.get(mapName) : null;
-                if(m == null)
+                synchronized(this)
                 {
-                    m = createSubMap(mapName, cl);
+                    m = _subMaps != null ? (SubMap<S>)_subMaps.get(mapName) : null;
                     if(m == null)
                     {
-                        return null;
+                        m = createSubMap(mapName, cl);
+                        if(m == null)
+                        {
+                            return null;
+                        }
+                        if(_subMaps == null)
+                        {
+                            _subMaps = new java.util.concurrent.ConcurrentHashMap<>();
+                        }
+                        _subMaps.put(mapName, m);
                     }
-                    if(_subMaps == null)
-                    {
-                        _subMaps = new java.util.HashMap<>();
-                    }
-                    _subMaps.put(mapName, m);
                 }
             }
             return m.getMatching(helper);
@@ -61,22 +87,37 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         public void
         detach(long lifetime)
         {
-            synchronized(MetricsMap.this)
+            T metrics = getStripe();
+            synchronized(metrics)
             {
-                _object.totalLifetime += lifetime;
-                if(--_object.current == 0)
-                {
-                    detached(this);
-                }
+                metrics.totalLifetime += lifetime;
+            }
+            if(_lifetimeHistogram != null)
+            {
+                _lifetimeHistogram.record(lifetime);
+            }
+            if(_current.decrementAndGet() == 0)
+            {
+                detached(this);
+            }
+        }
+
+        public void
+        written(long duration)
+        {
+            if(_writeHistogram != null)
+            {
+                _writeHistogram.record(duration);
             }
         }
 
         public void
         execute(com.zeroc.IceMX.Observer.MetricsUpdate<T> func)
         {
-            synchronized(MetricsMap.this)
+            T metrics = getStripe();
+            synchronized(metrics)
             {
-                func.update(_object);
+                func.update(metrics);
             }
         }
 
@@ -89,28 +130,86 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         private com.zeroc.IceMX.MetricsFailures
         getFailures()
         {
-            if(_failures == null)
+            synchronized(_object)
             {
-                return null;
+                if(_failures == null)
+                {
+                    return null;
+                }
+                com.zeroc.IceMX.MetricsFailures f = new com.zeroc.IceMX.MetricsFailures();
+                f.id = _object.id;
+                f.failures = new java.util.HashMap<>(_failures);
+                return f;
+            }
+        }
+
+        //
+        // Adds an observer to the entry, unless the entry was removed from
+        // the map.
+        //
+        private boolean
+        tryAttach()
+        {
+            while(true)
+            {
+                int current = _current.get();
+                if(current < 0)
+                {
+                    return false;
+                }
+                if(_current.compareAndSet(current, current + 1))
+                {
+                    return true;
+                }
             }
-            com.zeroc.IceMX.MetricsFailures f = new com.zeroc.IceMX.MetricsFailures();
-            f.id = _object.id;
-            f.failures = new java.util.HashMap<>(_failures);
-            return f;
         }
 
         private void
         attach(com.zeroc.IceMX.MetricsHelper<T> helper)
         {
-            ++_object.total;
-            ++_object.current;
-            helper.initMetrics(_object);
+            T metrics = getStripe();
+            synchronized(metrics)
+            {
+                ++metrics.total;
+                helper.initMetrics(metrics);
+            }
         }
 
         private boolean
         isDetached()
         {
-            return _object.current == 0;
+            return _current.get() <= 0;
+        }
+
+        //
+        // Marks the entry as removed if it's still detached, called with the
+        // map locked.
+        //
+        private boolean
+        remove()
+        {
+            return _current.compareAndSet(0, -1);
+        }
+
+        private T
+        getStripe()
+        {
+            if(_stripes == null)
+            {
+                return _object;
+            }
+
+            int i = (int)Thread.currentThread().getId() & (_stripeCount - 1);
+            T metrics = _stripes.get(i);
+            if(metrics == null)
+            {
+                metrics = newMetrics(_object.id);
+                if(!_stripes.compareAndSet(i, null, metrics))
+                {
+                    metrics = _stripes.get(i);
+                }
+            }
+            return metrics;
         }
 
         @Override
@@ -118,10 +217,39 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         public com.zeroc.IceMX.Metrics
         clone()
         {
-            T metrics = (T)_object.clone();
-            if(_subMaps != null)
+            T metrics;
+            synchronized(_object)
+            {
+                metrics = (T)_object.clone();
+            }
+            if(_stripes != null)
             {
-                for(SubMap<?> s : _subMaps.values())
+                for(int i = 1; i < _stripeCount; ++i)
+                {
+                    T stripe = _stripes.get(i);
+                    if(stripe != null)
+                    {
+                        synchronized(stripe)
+                        {
+                            addCounters(metrics, stripe);
+                        }
+                    }
+                }
+            }
+            metrics.current = Math.max(_current.get(), 0);
+            if(_lifetimeHistogram != null)
+            {
+                metrics.setLifetimeHistogram(_lifetimeHistogram.getBuckets());
+            }
+            if(_writeHistogram != null)
+            {
+                ((com.zeroc.IceMX.ConnectionMetrics)metrics).setWriteHistogram(_writeHistogram.getBuckets());
+            }
+
+            java.util.Map<String, SubMap<?>> subMaps = _subMaps;
+            if(subMaps != null)
+            {
+                for(SubMap<?> s : subMaps.values())
                 {
                     s.addSubMapToMetrics(metrics);
                 }
@@ -129,9 +257,14 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
             return metrics;
         }
 
-        private T _object;
+        private final T _object; // The first stripe, also holds the failures.
+        private final java.util.concurrent.atomic.AtomicReferenceArray<T> _stripes; // Null if not striped.
+        private final java.util.concurrent.atomic.AtomicInteger _current =
+            new java.util.concurrent.atomic.AtomicInteger(); // -1 once removed from the map.
+        private final LatencyHistogram _lifetimeHistogram; // Null if histograms aren't enabled.
+        private final LatencyHistogram _writeHistogram; // Null if not enabled or not a connection entry.
         private java.util.Map<String, Integer> _failures;
-        private java.util.Map<String, SubMap<?>> _subMaps;
+        private volatile java.util.Map<String, SubMap<?>> _subMaps;
     }
 
     static class SubMap<S extends com.zeroc.IceMX.Metrics>
@@ -209,6 +342,9 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         _properties = props.getPropertiesForPrefix(mapPrefix);
 
         _retain = props.getPropertyAsIntWithDefault(mapPrefix + "RetainDetached", 10);
+        _histogram = props.getPropertyAsInt(mapPrefix + "Histogram") > 0;
+        _stripeCount = Integer.highestOneBit(
+            Math.min(Math.max(props.getPropertyAsIntWithDefault(mapPrefix + "Stripes", DefaultStripeCount), 1), 16));
         _accept = parseRule(props, mapPrefix + "Accept");
         _reject = parseRule(props, mapPrefix + "Reject");
         _groupByAttributes = new java.util.ArrayList<>();
@@ -293,6 +429,8 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         _groupByAttributes = map._groupByAttributes;
         _groupBySeparators = map._groupBySeparators;
         _retain = map._retain;
+        _histogram = map._histogram;
+        _stripeCount = map._stripeCount;
         _accept = map._accept;
         _reject = map._reject;
         _class = map._class;
@@ -308,13 +446,12 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
     synchronized com.zeroc.IceMX.Metrics[]
     getMetrics()
     {
-        com.zeroc.IceMX.Metrics[] metrics = new com.zeroc.IceMX.Metrics[_objects.size()];
-        int i = 0;
+        java.util.List<com.zeroc.IceMX.Metrics> metrics = new java.util.ArrayList<>(_objects.size());
         for(Entry e : _objects.values())
         {
-	    metrics[i++] = e.clone();  
+            metrics.add(e.clone());
         }
-        return metrics;
+        return metrics.toArray(new com.zeroc.IceMX.Metrics[metrics.size()]);
     }
 
     synchronized com.zeroc.IceMX.MetricsFailures[]
@@ -362,20 +499,27 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
     public Entry
     getMatching(com.zeroc.IceMX.MetricsHelper<T> helper, Entry previous)
     {
+        Rules rules = _rules;
+        if(rules == null || rules.attributes != helper.getAttributeResolver())
+        {
+            rules = new Rules(helper.getAttributeResolver());
+            _rules = rules;
+        }
+
         //
         // Check the accept and reject filters.
         //
-        for(java.util.Map.Entry<String, java.util.regex.Pattern> e : _accept.entrySet())
+        for(Rule r : rules.accept)
         {
-            if(!match(e.getKey(), e.getValue(), helper, false))
+            if(!r.match(helper, false))
             {
                 return null;
             }
         }
 
-        for(java.util.Map.Entry<String, java.util.regex.Pattern> e : _reject.entrySet())
+        for(Rule r : rules.reject)
         {
-            if(match(e.getKey(), e.getValue(), helper, true))
+            if(r.match(helper, true))
             {
                 return null;
             }
@@ -387,20 +531,19 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         String key;
         try
         {
-            if(_groupByAttributes.size() == 1)
+            if(rules.groupBy.length == 1)
             {
-                key = helper.resolve(_groupByAttributes.get(0));
+                key = rules.groupBy[0].resolve(helper);
             }
             else
             {
                 StringBuilder os = new StringBuilder();
-                java.util.Iterator<String> q = _groupBySeparators.iterator();
-                for(String p : _groupByAttributes)
+                for(int i = 0; i < rules.groupBy.length; ++i)
                 {
-                    os.append(helper.resolve(p));
-                    if(q.hasNext())
+                    os.append(rules.groupBy[i].resolve(helper));
+                    if(i < rules.separators.length)
                     {
-                        os.append(q.next());
+                        os.append(rules.separators[i]);
                     }
                 }
                 key = os.toString();
@@ -412,37 +555,33 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         }
 
         //
-        // Lookup the metrics object.
+        // Lookup the metrics object, the map is only locked to add an entry.
         //
-        synchronized(this)
+        if(previous != null && previous._object.id.equals(key))
         {
-            if(previous != null && previous._object.id.equals(key))
-            {
-                assert(_objects.get(key) == previous);
-                return previous;
-            }
+            assert(_objects.get(key) == previous);
+            return previous;
+        }
 
-            Entry e = _objects.get(key);
-            if(e == null)
+        Entry e = _objects.get(key);
+        if(e == null || !e.tryAttach())
+        {
+            synchronized(this)
             {
-                try
+                e = _objects.get(key);
+                if(e == null || !e.tryAttach())
                 {
-                    T t = _class.newInstance();
-                    t.id = key;
-                    e = new Entry(t);
+                    e = new Entry(newMetrics(key));
+                    e.tryAttach();
                     _objects.put(key, e);
                 }
-                catch(Exception ex)
-                {
-                    assert(false);
-                }
             }
-            e.attach(helper);
-            return e;
         }
+        e.attach(helper);
+        return e;
     }
 
-    private void
+    private synchronized void
     detached(Entry entry)
     {
         if(_retain == 0)
@@ -467,16 +606,61 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
             }
         }
 
+        // The entry might have been attached again in the meantime.
+        if(!entry.isDetached())
+        {
+            return;
+        }
+
         // If there's still no room, remove the oldest entry (at the front).
         if(_detachedQueue.size() == _retain)
         {
-            _objects.remove(_detachedQueue.pollFirst()._object.id);
+            Entry e = _detachedQueue.pollFirst();
+            if(e.remove())
+            {
+                _objects.remove(e._object.id);
+            }
         }
 
         // Add the entry at the back of the queue.
         _detachedQueue.add(entry);
     }
 
+    private T
+    newMetrics(String id)
+    {
+        try
+        {
+            T t = _class.newInstance();
+            t.id = id;
+            return t;
+        }
+        catch(Exception ex)
+        {
+            assert(false);
+            return null;
+        }
+    }
+
+    //
+    // Adds the counters of a stripe to the given metrics.
+    //
+    private static void
+    addCounters(com.zeroc.IceMX.Metrics metrics, com.zeroc.IceMX.Metrics stripe)
+    {
+        try
+        {
+            for(Counter c : _counters.get(metrics.getClass()))
+            {
+                c.add(metrics, stripe);
+            }
+        }
+        catch(IllegalAccessException ex)
+        {
+            assert(false);
+        }
+    }
+
     private java.util.Map<String, java.util.regex.Pattern>
     parseRule(com.zeroc.Ice.Properties properties, String name)
     {
@@ -489,30 +673,209 @@ public class MetricsMap<T extends com.zeroc.IceMX.Metrics>
         return pats;
     }
 
-    private boolean
-    match(String attribute, java.util.regex.Pattern regex, com.zeroc.IceMX.MetricsHelper<T> helper, boolean reject)
+    //
+    // An accept or reject rule. The result of the regular expression is
+    // cached for the attribute values matched so far, most attributes only
+    // take a few values (operations, endpoints, adapters, ...).
+    //
+    private static class Rule
     {
-        String value;
-        try
+        Rule(com.zeroc.IceMX.MetricsHelper.AttributeResolver.Resolver resolver, java.util.regex.Pattern regex)
         {
-            value = helper.resolve(attribute);
+            _resolver = resolver;
+            _regex = regex;
         }
-        catch(Exception ex)
+
+        boolean
+        match(com.zeroc.IceMX.MetricsHelper<?> helper, boolean reject)
         {
-            return !reject;
+            String value;
+            try
+            {
+                value = _resolver.resolve(helper);
+            }
+            catch(Exception ex)
+            {
+                return !reject;
+            }
+
+            Boolean matches = _matches.get(value);
+            if(matches == null)
+            {
+                matches = _regex.matcher(value).matches();
+                if(_matches.size() < MatchesCacheSize)
+                {
+                    _matches.put(value, matches);
+                }
+            }
+            return matches;
         }
-        return regex.matcher(value).matches();
+
+        final private com.zeroc.IceMX.MetricsHelper.AttributeResolver.Resolver _resolver;
+        final private java.util.regex.Pattern _regex;
+        final private java.util.Map<String, Boolean> _matches = new java.util.concurrent.ConcurrentHashMap<>();
+    }
+
+    //
+    // The accept, reject and group by attributes bound to the resolvers of
+    // the helpers of this map.
+    //
+    private class Rules
+    {
+        Rules(com.zeroc.IceMX.MetricsHelper.AttributeResolver attributes)
+        {
+            this.attributes = attributes;
+
+            accept = new Rule[_accept.size()];
+            int i = 0;
+            for(java.util.Map.Entry<String, java.util.regex.Pattern> e : _accept.entrySet())
+            {
+                accept[i++] = new Rule(attributes.getResolver(e.getKey()), e.getValue());
+            }
+
+            reject = new Rule[_reject.size()];
+            i = 0;
+            for(java.util.Map.Entry<String, java.util.regex.Pattern> e : _reject.entrySet())
+            {
+                reject[i++] = new Rule(attributes.getResolver(e.getKey()), e.getValue());
+            }
+
+            groupBy = new com.zeroc.IceMX.MetricsHelper.AttributeResolver.Resolver[_groupByAttributes.size()];
+            i = 0;
+            for(String a : _groupByAttributes)
+            {
+                groupBy[i++] = attributes.getResolver(a);
+            }
+            separators = _groupBySeparators.toArray(new String[_groupBySeparators.size()]);
+        }
+
+        final com.zeroc.IceMX.MetricsHelper.AttributeResolver attributes;
+        final Rule[] accept;
+        final Rule[] reject;
+        final com.zeroc.IceMX.MetricsHelper.AttributeResolver.Resolver[] groupBy;
+        final String[] separators;
     }
 
     final private java.util.Map<String, String> _properties;
     final private java.util.List<String> _groupByAttributes;
     final private java.util.List<String> _groupBySeparators;
     final private int _retain;
+    final private boolean _histogram;
+    final private int _stripeCount;
     final private java.util.Map<String, java.util.regex.Pattern> _accept;
     final private java.util.Map<String, java.util.regex.Pattern> _reject;
     final private Class<T> _class;
 
-    final private java.util.Map<String, Entry> _objects = new java.util.HashMap<>();
+    final private java.util.Map<String, Entry> _objects = new java.util.concurrent.ConcurrentHashMap<>();
     final private java.util.Map<String, SubMapCloneFactory<?>> _subMaps;
     private java.util.Deque<Entry> _detachedQueue;
+    private volatile Rules _rules;
+
+    static private final int MatchesCacheSize = 1024;
+
+    //
+    // The default number of stripes per entry, a power of 2 up to the number
+    // of processors (at most 16). It can be set for a map with the Stripes
+    // property, which is rounded down to a power of 2.
+    //
+    static private final int DefaultStripeCount =
+        Integer.highestOneBit(Math.min(Math.max(Runtime.getRuntime().availableProcessors(), 1), 16));
+
+    //
+    // An int or long counter of a metrics class. The value of an optional
+    // counter is only added if it's set in the stripe, and it's then set
+    // in the metrics.
+    //
+    static private final class Counter
+    {
+        Counter(java.lang.reflect.Field value, java.lang.reflect.Field isSet)
+        {
+            _value = value;
+            _isSet = isSet;
+        }
+
+        void
+        add(com.zeroc.IceMX.Metrics metrics, com.zeroc.IceMX.Metrics stripe)
+            throws IllegalAccessException
+        {
+            long base = 0;
+            if(_isSet != null)
+            {
+                if(!_isSet.getBoolean(stripe))
+                {
+                    return;
+                }
+                if(_isSet.getBoolean(metrics))
+                {
+                    base = _value.getLong(metrics);
+                }
+                _isSet.setBoolean(metrics, true);
+            }
+            else
+            {
+                base = _value.getLong(metrics);
+            }
+
+            if(_value.getType() == long.class)
+            {
+                _value.setLong(metrics, base + _value.getLong(stripe));
+            }
+            else
+            {
+                _value.setInt(metrics, (int)base + _value.getInt(stripe));
+            }
+        }
+
+        private final java.lang.reflect.Field _value;
+        private final java.lang.reflect.Field _isSet; // Null if the counter isn't optional.
+    }
+
+    //
+    // The int and long counters of each metrics class. The optional members
+    // are private fields with a boolean field named after the member, with
+    // a leading underscore, telling if the member is set.
+    //
+    static private final ClassValue<Counter[]> _counters = new ClassValue<Counter[]>()
+    {
+        @Override
+        protected Counter[]
+        computeValue(Class<?> cl)
+        {
+            java.util.List<Counter> counters = new java.util.ArrayList<>();
+            for(Class<?> c = cl; c != null && c != Object.class; c = c.getSuperclass())
+            {
+                for(java.lang.reflect.Field f : c.getDeclaredFields())
+                {
+                    int modifiers = f.getModifiers();
+                    if(java.lang.reflect.Modifier.isStatic(modifiers) ||
+                       (f.getType() != long.class && f.getType() != int.class))
+                    {
+                        continue;
+                    }
+
+                    if(java.lang.reflect.Modifier.isPublic(modifiers))
+                    {
+                        counters.add(new Counter(f, null));
+                        continue;
+                    }
+
+                    try
+                    {
+                        java.lang.reflect.Field isSet = c.getDeclaredField("_" + f.getName());
+                        if(isSet.getType() == boolean.class)
+                        {
+                            f.setAccessible(true);
+                            isSet.setAccessible(true);
+                            counters.add(new Counter(f, isSet));
+                        }
+                    }
+                    catch(NoSuchFieldException ex)
+                    {
+                        // Not an optional member.
+                    }
+                }
+            }
+            return counters.toArray(new Counter[counters.size()]);
+        }
+    };
 }
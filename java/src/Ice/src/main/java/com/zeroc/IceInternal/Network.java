@@ -929,6 +929,17 @@ public final class Network
             return addrs;
         }
 
+        return sortAddresses(resolveAddresses(host, port, protocol), protocol, selType, preferIPv6);
+    }
+
+    //
+    // Resolves the host with a blocking lookup. The addresses are returned
+    // in the order of the lookup, sortAddresses() orders them for the
+    // endpoint selection type.
+    //
+    public static java.util.List<java.net.InetSocketAddress>
+    resolveAddresses(String host, int port, int protocol)
+    {
         java.util.List<java.net.InetSocketAddress> addresses = new java.util.ArrayList<>();
         try
         {
@@ -949,23 +960,6 @@ public final class Network
                     addresses.add(new java.net.InetSocketAddress(addr, port));
                 }
             }
-
-            if(selType == EndpointSelectionType.Random)
-            {
-                java.util.Collections.shuffle(addresses);
-            }
-
-            if(protocol == EnableBoth)
-            {
-                if(preferIPv6)
-                {
-                    java.util.Collections.sort(addresses, _preferIPv6Comparator);
-                }
-                else
-                {
-                    java.util.Collections.sort(addresses, _preferIPv4Comparator);
-                }
-            }
         }
         catch(java.net.UnknownHostException ex)
         {
@@ -987,6 +981,34 @@ public final class Network
         return addresses;
     }
 
+    //
+    // Returns a copy of the given addresses in the order of the endpoint
+    // selection type and of the IP version preference.
+    //
+    public static java.util.List<java.net.InetSocketAddress>
+    sortAddresses(java.util.List<java.net.InetSocketAddress> addrs, int protocol, EndpointSelectionType selType,
+                  boolean preferIPv6)
+    {
+        java.util.List<java.net.InetSocketAddress> addresses = new java.util.ArrayList<>(addrs);
+        if(selType == EndpointSelectionType.Random)
+        {
+            java.util.Collections.shuffle(addresses);
+        }
+
+        if(protocol == EnableBoth)
+        {
+            if(preferIPv6)
+            {
+                java.util.Collections.sort(addresses, _preferIPv6Comparator);
+            }
+            else
+            {
+                java.util.Collections.sort(addresses, _preferIPv4Comparator);
+            }
+        }
+        return addresses;
+    }
+
     public static java.util.ArrayList<java.net.InetAddress>
     getLocalAddresses(int protocol)
     {
@@ -111,6 +111,10 @@ public final class ObjectAdapterFactory
         synchronized(this)
         {
             _adapters.clear();
+            _indexedEndpoints.clear();
+            _endpointIndex.clear();
+            _adapterIdIndex.clear();
+            _identityIndex.clear();
         }
     }
 
@@ -173,39 +177,126 @@ public final class ObjectAdapterFactory
             _adapterNamesInUse.add(name);
         }
         _adapters.add(adapter);
+        addToIndex(_adapterIdIndex, adapter.getAdapterId(), adapter);
+        addToIndex(_adapterIdIndex, adapter.getReplicaGroupId(), adapter);
+        updateCollocationIndex(adapter);
         return adapter;
     }
 
     public ObjectAdapter
     findObjectAdapter(com.zeroc.Ice.ObjectPrx proxy)
     {
-        java.util.List<ObjectAdapterI> adapters;
-        synchronized(this)
+        if(_instance == null)
         {
-            if(_instance == null)
+            return null;
+        }
+
+        //
+        // The indexes return the adapters which might be local for the
+        // proxy, the adapter still checks if it's local since the indexes
+        // are updated after the adapter changes its endpoints.
+        //
+        Reference ref = ((com.zeroc.Ice._ObjectPrxI)proxy)._getReference();
+        ObjectAdapterI[] adapters;
+        if(ref.isWellKnown())
+        {
+            adapters = _identityIndex.get(ref.getIdentity());
+        }
+        else if(ref.isIndirect())
+        {
+            adapters = _adapterIdIndex.get(ref.getAdapterId());
+        }
+        else
+        {
+            adapters = null;
+            for(EndpointI endpoint : ref.getEndpoints())
             {
-                return null;
-            }
+                java.lang.Object key = endpoint.equivalentKey();
+                if(key == null)
+                {
+                    //
+                    // The endpoint can only be compared with the endpoints
+                    // of each adapter.
+                    //
+                    return findObjectAdapterInAll(proxy);
+                }
 
-            adapters = new java.util.LinkedList<>(_adapters);
+                ObjectAdapterI[] a = _endpointIndex.get(key);
+                if(a != null)
+                {
+                    adapters = adapters == null ? a : merge(adapters, a);
+                }
+            }
         }
 
-        for(ObjectAdapterI adapter : adapters)
+        if(adapters != null)
         {
-            try
+            for(ObjectAdapterI adapter : adapters)
             {
-                if(adapter.isLocal(proxy))
+                if(isLocal(adapter, proxy))
                 {
                     return adapter;
                 }
             }
-            catch(com.zeroc.Ice.ObjectAdapterDeactivatedException ex)
+        }
+        return null;
+    }
+
+    //
+    // Called when the adapter is activated, deactivated or changes its
+    // published endpoints.
+    //
+    public synchronized void
+    updateCollocationIndex(ObjectAdapterI adapter)
+    {
+        if(_instance == null || !_adapters.contains(adapter))
+        {
+            return;
+        }
+
+        java.util.Set<java.lang.Object> keys = new java.util.HashSet<>();
+        for(EndpointI endpoint : adapter.getLocalEndpoints())
+        {
+            java.lang.Object key = endpoint.equivalentKey();
+            if(key != null)
+            {
+                keys.add(key);
+            }
+        }
+
+        java.util.Set<java.lang.Object> oldKeys = _indexedEndpoints.put(adapter, keys);
+        if(oldKeys != null)
+        {
+            for(java.lang.Object key : oldKeys)
+            {
+                if(!keys.contains(key))
+                {
+                    removeFromIndex(_endpointIndex, key, adapter);
+                }
+            }
+        }
+        for(java.lang.Object key : keys)
+        {
+            if(oldKeys == null || !oldKeys.contains(key))
             {
-                // Ignore.
+                addToIndex(_endpointIndex, key, adapter);
             }
         }
+    }
 
-        return null;
+    //
+    // Only for use by ServantManager, called with the adapter locked.
+    //
+    void
+    addServantIdentity(com.zeroc.Ice.Identity ident, ObjectAdapterI adapter)
+    {
+        addToIndex(_identityIndex, ident, adapter);
+    }
+
+    void
+    removeServantIdentity(com.zeroc.Ice.Identity ident, ObjectAdapterI adapter)
+    {
+        removeFromIndex(_identityIndex, ident, adapter);
     }
 
     public synchronized void
@@ -218,6 +309,18 @@ public final class ObjectAdapterFactory
 
         _adapters.remove(adapter);
         _adapterNamesInUse.remove(adapter.getName());
+
+        ObjectAdapterI adapterI = (ObjectAdapterI)adapter;
+        removeFromIndex(_adapterIdIndex, adapterI.getAdapterId(), adapterI);
+        removeFromIndex(_adapterIdIndex, adapterI.getReplicaGroupId(), adapterI);
+        java.util.Set<java.lang.Object> keys = _indexedEndpoints.remove(adapterI);
+        if(keys != null)
+        {
+            for(java.lang.Object key : keys)
+            {
+                removeFromIndex(_endpointIndex, key, adapterI);
+            }
+        }
     }
 
     public void
@@ -244,6 +347,114 @@ public final class ObjectAdapterFactory
         _communicator = communicator;
     }
 
+    private ObjectAdapter
+    findObjectAdapterInAll(com.zeroc.Ice.ObjectPrx proxy)
+    {
+        java.util.List<ObjectAdapterI> adapters;
+        synchronized(this)
+        {
+            if(_instance == null)
+            {
+                return null;
+            }
+
+            adapters = new java.util.LinkedList<>(_adapters);
+        }
+
+        for(ObjectAdapterI adapter : adapters)
+        {
+            if(isLocal(adapter, proxy))
+            {
+                return adapter;
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean
+    isLocal(ObjectAdapterI adapter, com.zeroc.Ice.ObjectPrx proxy)
+    {
+        try
+        {
+            return adapter.isLocal(proxy);
+        }
+        catch(com.zeroc.Ice.ObjectAdapterDeactivatedException ex)
+        {
+            return false;
+        }
+    }
+
+    private static ObjectAdapterI[]
+    merge(ObjectAdapterI[] adapters, ObjectAdapterI[] others)
+    {
+        java.util.List<ObjectAdapterI> l = new java.util.ArrayList<>(java.util.Arrays.asList(adapters));
+        for(ObjectAdapterI adapter : others)
+        {
+            if(!l.contains(adapter))
+            {
+                l.add(adapter);
+            }
+        }
+        return l.toArray(new ObjectAdapterI[l.size()]);
+    }
+
+    //
+    // The index entries are arrays replaced on each update, lookups don't
+    // need any synchronization.
+    //
+    private static <K> void
+    addToIndex(java.util.concurrent.ConcurrentHashMap<K, ObjectAdapterI[]> index, K key, ObjectAdapterI adapter)
+    {
+        if(key instanceof String && ((String)key).isEmpty())
+        {
+            return;
+        }
+
+        index.compute(key, (k, adapters) ->
+            {
+                if(adapters == null)
+                {
+                    return new ObjectAdapterI[] { adapter };
+                }
+                for(ObjectAdapterI a : adapters)
+                {
+                    if(a == adapter)
+                    {
+                        return adapters;
+                    }
+                }
+                ObjectAdapterI[] a = java.util.Arrays.copyOf(adapters, adapters.length + 1);
+                a[adapters.length] = adapter;
+                return a;
+            });
+    }
+
+    private static <K> void
+    removeFromIndex(java.util.concurrent.ConcurrentHashMap<K, ObjectAdapterI[]> index, K key, ObjectAdapterI adapter)
+    {
+        index.computeIfPresent(key, (k, adapters) ->
+            {
+                int i = 0;
+                while(i < adapters.length && adapters[i] != adapter)
+                {
+                    ++i;
+                }
+                if(i == adapters.length)
+                {
+                    return adapters;
+                }
+                else if(adapters.length == 1)
+                {
+                    return null;
+                }
+                ObjectAdapterI[] a = new ObjectAdapterI[adapters.length - 1];
+                System.arraycopy(adapters, 0, a, 0, i);
+                System.arraycopy(adapters, i + 1, a, i, adapters.length - i - 1);
+                return a;
+            });
+    }
+
     @Override
     protected synchronized void
     finalize()
@@ -264,8 +475,22 @@ public final class ObjectAdapterFactory
         }
     }
 
-    private Instance _instance;
+    private volatile Instance _instance;
     private com.zeroc.Ice.Communicator _communicator;
     private java.util.Set<String> _adapterNamesInUse = new java.util.HashSet<>();
     private java.util.List<ObjectAdapterI> _adapters = new java.util.LinkedList<>();
+
+    //
+    // Indexes of the adapters which might be local for a proxy, by
+    // endpoint key (see EndpointI.equivalentKey), adapter or replica
+    // group id and identity of the servants.
+    //
+    private java.util.Map<ObjectAdapterI, java.util.Set<java.lang.Object>> _indexedEndpoints =
+        new java.util.HashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<java.lang.Object, ObjectAdapterI[]> _endpointIndex =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<String, ObjectAdapterI[]> _adapterIdIndex =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private final java.util.concurrent.ConcurrentHashMap<com.zeroc.Ice.Identity, ObjectAdapterI[]> _identityIndex =
+        new java.util.concurrent.ConcurrentHashMap<>();
 }
@@ -0,0 +1,141 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// A map of objects to positive indexes used by the encapsulation encoders
+// for the instances and type ids of a class graph. The keys are compared
+// by identity or with equals() and the entries are stored in open
+// addressing arrays, adding an entry doesn't allocate anything once the
+// arrays are large enough. The arrays are kept when the map is cleared
+// to reuse them with the next encapsulation.
+//
+public final class ObjectIndexMap
+{
+    public
+    ObjectIndexMap(boolean identity)
+    {
+        _identity = identity;
+        _keys = new java.lang.Object[InitialCapacity];
+        _values = new int[InitialCapacity];
+    }
+
+    //
+    // Returns the index of the key or 0 if the key isn't in the map.
+    //
+    public int
+    get(java.lang.Object key)
+    {
+        final int mask = _keys.length - 1;
+        for(int i = hash(key) & mask;; i = (i + 1) & mask)
+        {
+            java.lang.Object k = _keys[i];
+            if(k == null)
+            {
+                return 0;
+            }
+            else if(k == key || (!_identity && k.equals(key)))
+            {
+                return _values[i];
+            }
+        }
+    }
+
+    //
+    // Adds a key which isn't in the map.
+    //
+    public void
+    put(java.lang.Object key, int index)
+    {
+        assert(key != null && index > 0);
+        if(2 * (_size + 1) > _keys.length)
+        {
+            resize(2 * _keys.length);
+        }
+        insert(key, index);
+        ++_size;
+    }
+
+    public int
+    size()
+    {
+        return _size;
+    }
+
+    public boolean
+    isEmpty()
+    {
+        return _size == 0;
+    }
+
+    public void
+    clear()
+    {
+        if(_keys.length > MaxRetainedCapacity)
+        {
+            //
+            // Don't keep the arrays of a large graph, clearing them would
+            // be expensive for the small graphs which usually follow.
+            //
+            _keys = new java.lang.Object[InitialCapacity];
+            _values = new int[InitialCapacity];
+        }
+        else if(_size > 0)
+        {
+            java.util.Arrays.fill(_keys, null);
+        }
+        _size = 0;
+    }
+
+    private int
+    hash(java.lang.Object key)
+    {
+        int h = _identity ? System.identityHashCode(key) : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private void
+    insert(java.lang.Object key, int index)
+    {
+        final int mask = _keys.length - 1;
+        int i = hash(key) & mask;
+        while(_keys[i] != null)
+        {
+            assert(_keys[i] != key);
+            i = (i + 1) & mask;
+        }
+        _keys[i] = key;
+        _values[i] = index;
+    }
+
+    private void
+    resize(int capacity)
+    {
+        java.lang.Object[] keys = _keys;
+        int[] values = _values;
+        _keys = new java.lang.Object[capacity];
+        _values = new int[capacity];
+        for(int i = 0; i < keys.length; ++i)
+        {
+            if(keys[i] != null)
+            {
+                insert(keys[i], values[i]);
+            }
+        }
+    }
+
+    private static final int InitialCapacity = 16; // Must be a power of 2.
+    private static final int MaxRetainedCapacity = 8192;
+
+    private final boolean _identity;
+    private java.lang.Object[] _keys;
+    private int[] _values;
+    private int _size;
+}
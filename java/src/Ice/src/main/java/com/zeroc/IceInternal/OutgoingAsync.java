@@ -27,6 +27,11 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         V unmarshal(com.zeroc.Ice.InputStream istr);
     }
 
+    //
+    // The direct parameters of operations without in parameters.
+    //
+    public static final java.lang.Object[] NoDirectParams = new java.lang.Object[0];
+
     public OutgoingAsync(com.zeroc.Ice.ObjectPrx prx, String operation, OperationMode mode, boolean synchronous,
                          Class<?>[] userExceptions)
     {
@@ -53,6 +58,19 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
 
     public void invoke(boolean twowayOnly, java.util.Map<String, String> ctx, FormatType format,
                        OutputStream.Marshaler marshal, Unmarshaler<T> unmarshal)
+    {
+        invoke(twowayOnly, ctx, format, null, marshal, unmarshal);
+    }
+
+    //
+    // Operations which support direct collocated invocations also provide
+    // their in parameters. With Ice.CollocationDirect enabled, they are
+    // passed as is to the servant if the invocation is collocated and only
+    // marshaled if the invocation is sent over a connection, see
+    // Incoming.readDirectParams.
+    //
+    public void invoke(boolean twowayOnly, java.util.Map<String, String> ctx, FormatType format,
+                       java.lang.Object[] directParams, OutputStream.Marshaler marshal, Unmarshaler<T> unmarshal)
     {
         _unmarshal = unmarshal;
 
@@ -71,7 +89,19 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         {
             prepare(ctx);
 
-            if(marshal == null)
+            if(directParams != null && _instance.collocationDirect() && !isBatch())
+            {
+                //
+                // Write an empty encapsulation in place of the parameters, it's
+                // replaced by the marshaled parameters in invokeRemote.
+                //
+                _directParams = directParams;
+                _directMarshal = marshal;
+                _directFormat = format;
+                _directParamsPos = _os.size();
+                writeEmptyParams();
+            }
+            else if(marshal == null)
             {
                 writeEmptyParams();
             }
@@ -185,6 +215,12 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         throws RetryException
     {
         _cachedConnection = connection;
+        if(_directParams != null)
+        {
+            _os.resize(_directParamsPos);
+            marshalDirectParams(_os);
+            _directParams = null;
+        }
         return connection.sendAsyncRequest(this, compress, response, 0);
     }
 
@@ -232,7 +268,11 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
                 T r = null;
                 try
                 {
-                    if(_unmarshal != null)
+                    if(_hasDirectResult)
+                    {
+                        r = _directResult;
+                    }
+                    else if(_unmarshal != null)
                     {
                         //
                         // The Unmarshaler callback unmarshals and returns the results.
@@ -307,6 +347,57 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
         return super.completed(_is);
     }
 
+    //
+    // The in parameters if the invocation can be dispatched with direct
+    // parameters, or null if the parameters are marshaled.
+    //
+    java.lang.Object[]
+    getDirectParams()
+    {
+        return _directParams;
+    }
+
+    //
+    // Marshals the direct parameters for a dispatch which reads them from
+    // the stream. Called by the dispatch thread, the stream holds the
+    // parameter encapsulation.
+    //
+    com.zeroc.Ice.InputStream
+    createDirectParamsStream()
+    {
+        OutputStream os = new OutputStream(_instance, Protocol.currentProtocolEncoding);
+        marshalDirectParams(os);
+        InputStream is = new InputStream(_instance, os.getEncoding(), os.getBuffer(), true);
+        is.pos(0);
+        return is;
+    }
+
+    //
+    // Called by the dispatch before sending the response, the response
+    // holds an empty encapsulation in place of the results.
+    //
+    @SuppressWarnings("unchecked")
+    void
+    setDirectResult(java.lang.Object result)
+    {
+        _directResult = (T)result;
+        _hasDirectResult = true;
+    }
+
+    private void marshalDirectParams(OutputStream os)
+    {
+        if(_directMarshal == null)
+        {
+            os.writeEmptyEncapsulation(_encoding);
+        }
+        else
+        {
+            os.startEncapsulation(_encoding, _directFormat);
+            _directMarshal.marshal(os);
+            os.endEncapsulation();
+        }
+    }
+
     private com.zeroc.Ice.OutputStream startWriteParams(FormatType format)
     {
         _os.startEncapsulation(_encoding, format);
@@ -387,4 +478,11 @@ public class OutgoingAsync<T> extends ProxyOutgoingAsyncBaseI<T>
     private boolean _synchronous; // True if this AMI request is being used for a generated synchronous invocation.
     private Class<?>[] _userExceptions; // Valid user exceptions.
     private Unmarshaler<T> _unmarshal;
+
+    private java.lang.Object[] _directParams; // Null once the parameters are marshaled.
+    private OutputStream.Marshaler _directMarshal;
+    private FormatType _directFormat;
+    private int _directParamsPos; // The position of the parameters in _os.
+    private T _directResult;
+    private boolean _hasDirectResult;
 }
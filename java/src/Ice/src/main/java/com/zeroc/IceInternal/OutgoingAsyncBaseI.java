@@ -36,7 +36,7 @@ public abstract class OutgoingAsyncBaseI<T> extends InvocationFutureI<T> impleme
     }
 
     @Override
-    public final void attachRemoteObserver(com.zeroc.Ice.ConnectionInfo info, com.zeroc.Ice.Endpoint endpt,
+    public void attachRemoteObserver(com.zeroc.Ice.ConnectionInfo info, com.zeroc.Ice.Endpoint endpt,
                                            int requestId)
     {
         if(_observer != null)
@@ -172,7 +172,7 @@ public final class OutgoingConnectionFactory
 
     public void
     create(EndpointI[] endpts, boolean hasMore, com.zeroc.Ice.EndpointSelectionType selType,
-           CreateConnectionCallback callback)
+           EndpointStatistics endpointStatistics, CreateConnectionCallback callback)
     {
         assert(endpts.length > 0);
 
@@ -200,7 +200,7 @@ public final class OutgoingConnectionFactory
             return;
         }
 
-        ConnectCallback cb = new ConnectCallback(this, endpoints, hasMore, callback, selType);
+        ConnectCallback cb = new ConnectCallback(this, endpoints, hasMore, callback, selType, endpointStatistics);
         cb.getConnectors();
     }
 
@@ -847,13 +847,15 @@ public final class OutgoingConnectionFactory
     private static class ConnectCallback implements ConnectionI.StartCallback, EndpointI_connectors
     {
         ConnectCallback(OutgoingConnectionFactory f, java.util.List<EndpointI> endpoints, boolean more,
-                        CreateConnectionCallback cb, com.zeroc.Ice.EndpointSelectionType selType)
+                        CreateConnectionCallback cb, com.zeroc.Ice.EndpointSelectionType selType,
+                        EndpointStatistics endpointStatistics)
         {
             _factory = f;
             _endpoints = endpoints;
             _hasMore = more;
             _callback = cb;
             _selType = selType;
+            _endpointStatistics = endpointStatistics;
             _endpointsIter = _endpoints.iterator();
         }
 
@@ -1114,6 +1116,11 @@ public final class OutgoingConnectionFactory
                 _observer.detach();
             }
 
+            if(_endpointStatistics != null && !(ex instanceof com.zeroc.Ice.CommunicatorDestroyedException))
+            {
+                _endpointStatistics.failed(_current.endpoint);
+            }
+
             _factory.handleConnectionException(ex, _hasMore || _iter.hasNext());
             if(ex instanceof com.zeroc.Ice.CommunicatorDestroyedException) // No need to continue.
             {
@@ -1135,6 +1142,7 @@ public final class OutgoingConnectionFactory
         private final CreateConnectionCallback _callback;
         private final java.util.List<EndpointI> _endpoints;
         private final com.zeroc.Ice.EndpointSelectionType _selType;
+        private final EndpointStatistics _endpointStatistics; // Null unless the proxy uses latency-aware selection.
         private java.util.Iterator<EndpointI> _endpointsIter;
         private EndpointI _currentEndpoint;
         private java.util.List<ConnectorInfo> _connectors = new java.util.ArrayList<>();
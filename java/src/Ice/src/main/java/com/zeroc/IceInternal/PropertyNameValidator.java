@@ -0,0 +1,204 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Validates property names against the property names of PropertyNames.
+// The validator is built once per JVM: property names without wildcard
+// are kept in hash tables and the patterns of the other property names
+// are compiled once. It reports the same warnings as matching each
+// property name pattern in turn, first with the case of the property
+// and then ignoring the case.
+//
+public final class PropertyNameValidator
+{
+    //
+    // Checks the given property, logs a warning if it's unknown or
+    // deprecated and returns the name of the property to set: the property
+    // itself or the property deprecating it.
+    //
+    public static String
+    validate(String key, com.zeroc.Ice.Logger logger)
+    {
+        int dotPos = key.indexOf('.');
+        if(dotPos == -1)
+        {
+            return key;
+        }
+
+        Section[] sections = Holder.instance._sections.get(key.substring(0, dotPos).toUpperCase());
+        if(sections == null)
+        {
+            return key;
+        }
+
+        for(Section section : sections)
+        {
+            key = section.validate(key, key.toUpperCase(), logger);
+        }
+        return key;
+    }
+
+    private static final class Holder
+    {
+        static final PropertyNameValidator instance = new PropertyNameValidator();
+    }
+
+    private static final class Entry
+    {
+        Entry(Property property)
+        {
+            this.property = property;
+            String pattern = property.pattern();
+            if(pattern.indexOf('[') == -1)
+            {
+                this.name = pattern.replace("\\", "");
+                this.upperName = this.name.toUpperCase();
+                this.pattern = null;
+                this.upperPattern = null;
+            }
+            else
+            {
+                this.name = null;
+                this.upperName = null;
+                this.pattern = java.util.regex.Pattern.compile(pattern);
+                this.upperPattern = java.util.regex.Pattern.compile(pattern.toUpperCase());
+            }
+        }
+
+        boolean
+        matches(String key)
+        {
+            return name != null ? name.equals(key) : pattern.matcher(key).matches();
+        }
+
+        boolean
+        matchesUpper(String upperKey)
+        {
+            return upperName != null ? upperName.equals(upperKey) : upperPattern.matcher(upperKey).matches();
+        }
+
+        final Property property;
+        final String name; // Null if the property name has wildcards.
+        final String upperName;
+        final java.util.regex.Pattern pattern; // Null if the property name has no wildcard.
+        final java.util.regex.Pattern upperPattern;
+    }
+
+    private static final class Section
+    {
+        Section(Property[] properties)
+        {
+            int count = 0;
+            while(properties[count] != null)
+            {
+                ++count;
+            }
+
+            _entries = new Entry[count];
+            int firstPattern = count;
+            for(int i = 0; i < count; ++i)
+            {
+                Entry entry = new Entry(properties[i]);
+                _entries[i] = entry;
+                if(entry.name != null)
+                {
+                    _names.putIfAbsent(entry.name, i);
+                    _upperNames.putIfAbsent(entry.upperName, i);
+                }
+                else if(firstPattern == count)
+                {
+                    firstPattern = i;
+                }
+            }
+            _firstPattern = firstPattern;
+        }
+
+        String
+        validate(String key, String upperKey, com.zeroc.Ice.Logger logger)
+        {
+            //
+            // The hash tables give the result directly if the property is
+            // a property name without wildcard that no earlier property
+            // name matches, with or without case.
+            //
+            Integer index = _names.get(key);
+            if(index != null && index < _firstPattern && index.equals(_upperNames.get(upperKey)))
+            {
+                return found(_entries[index], key, logger);
+            }
+
+            for(Entry entry : _entries)
+            {
+                if(entry.matches(key))
+                {
+                    return found(entry, key, logger);
+                }
+                else if(entry.matchesUpper(upperKey))
+                {
+                    String otherKey = entry.property.pattern().replaceAll("\\\\", "");
+                    logger.warning("unknown property: `" + key + "'; did you mean `" + otherKey + "'");
+                    return key;
+                }
+            }
+
+            logger.warning("unknown property: " + key);
+            return key;
+        }
+
+        private String
+        found(Entry entry, String key, com.zeroc.Ice.Logger logger)
+        {
+            if(entry.property.deprecated())
+            {
+                logger.warning("deprecated property: " + key);
+                if(entry.property.deprecatedBy() != null)
+                {
+                    return entry.property.deprecatedBy();
+                }
+            }
+            return key;
+        }
+
+        private final Entry[] _entries;
+        private final int _firstPattern; // Index of the first property name with wildcards.
+        private final java.util.Map<String, Integer> _names = new java.util.HashMap<>();
+        private final java.util.Map<String, Integer> _upperNames = new java.util.HashMap<>();
+    }
+
+    private
+    PropertyNameValidator()
+    {
+        //
+        // Sections are indexed by the upper case prefix of their property
+        // names, several sections might have the same prefix.
+        //
+        java.util.Map<String, java.util.List<Section>> sections = new java.util.HashMap<>();
+        for(int i = 0; PropertyNames.validProps[i] != null; ++i)
+        {
+            String pattern = PropertyNames.validProps[i][0].pattern();
+            int dotPos = pattern.indexOf('.');
+            //
+            // Each top level prefix describes a non-empty namespace. Having a string without a
+            // prefix followed by a dot is an error.
+            //
+            assert(dotPos != -1);
+            String prefix = pattern.substring(0, dotPos - 1).toUpperCase();
+            Section section = new Section(PropertyNames.validProps[i]);
+            sections.computeIfAbsent(prefix, k -> new java.util.ArrayList<>()).add(section);
+        }
+        for(java.util.Map.Entry<String, java.util.List<Section>> e : sections.entrySet())
+        {
+            _sections.put(e.getKey(), e.getValue().toArray(new Section[e.getValue().size()]));
+        }
+    }
+
+    private final java.util.Map<String, Section[]> _sections = new java.util.HashMap<>();
+}
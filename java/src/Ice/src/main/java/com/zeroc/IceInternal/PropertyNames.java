@@ -6,7 +6,7 @@
 // ICE_LICENSE file included in this distribution.
 //
 // **********************************************************************
-// Generated by makeprops.py from file ./config/PropertyNames.xml, Tue Feb 28 15:01:12 2017
+// Generated by makeprops.py from file ./config/PropertyNames.xml, Sat Oct 17 02:06:00 2026
 
 // IMPORTANT: Do not edit this file -- any edits made here will be lost!
 
@@ -41,6 +41,8 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.Locator\\.PreferSecure", false, null),
         new Property("Ice\\.Admin\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("Ice\\.Admin\\.Locator\\.InvocationTimeout", false, null),
+        new Property("Ice\\.Admin\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("Ice\\.Admin\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("Ice\\.Admin\\.Locator\\.Locator", false, null),
         new Property("Ice\\.Admin\\.Locator\\.Router", false, null),
         new Property("Ice\\.Admin\\.Locator\\.CollocationOptimized", false, null),
@@ -53,6 +55,8 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.Router\\.PreferSecure", false, null),
         new Property("Ice\\.Admin\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("Ice\\.Admin\\.Router\\.InvocationTimeout", false, null),
+        new Property("Ice\\.Admin\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("Ice\\.Admin\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("Ice\\.Admin\\.Router\\.Locator", false, null),
         new Property("Ice\\.Admin\\.Router\\.Router", false, null),
         new Property("Ice\\.Admin\\.Router\\.CollocationOptimized", false, null),
@@ -66,6 +70,8 @@ public final class PropertyNames
         new Property("Ice\\.Admin\\.ThreadPool\\.Serialize", false, null),
         new Property("Ice\\.Admin\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Ice\\.Admin\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Ice\\.Admin\\.ThreadPool\\.Selectors", false, null),
+        new Property("Ice\\.Admin\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Ice\\.Admin\\.MessageSizeMax", false, null),
         new Property("Ice\\.Admin\\.DelayCreation", false, null),
         new Property("Ice\\.Admin\\.Enabled", false, null),
@@ -78,8 +84,13 @@ public final class PropertyNames
         new Property("Ice\\.BackgroundLocatorCacheUpdates", false, null),
         new Property("Ice\\.BatchAutoFlush", true, null),
         new Property("Ice\\.BatchAutoFlushSize", false, null),
+        new Property("Ice\\.BatchAutoFlushDelay", false, null),
+        new Property("Ice\\.BufferPool\\.BufferSizeMax", false, null),
+        new Property("Ice\\.BufferPool\\.SizeMax", false, null),
+        new Property("Ice\\.BufferPool\\.ThreadCache", false, null),
         new Property("Ice\\.ChangeUser", false, null),
         new Property("Ice\\.ClientAccessPolicyProtocol", false, null),
+        new Property("Ice\\.Compression\\.Codec", false, null),
         new Property("Ice\\.Compression\\.Level", false, null),
         new Property("Ice\\.CollectObjects", false, null),
         new Property("Ice\\.Config", false, null),
@@ -93,6 +104,8 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Locator\\.PreferSecure", false, null),
         new Property("Ice\\.Default\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("Ice\\.Default\\.Locator\\.InvocationTimeout", false, null),
+        new Property("Ice\\.Default\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("Ice\\.Default\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("Ice\\.Default\\.Locator\\.Locator", false, null),
         new Property("Ice\\.Default\\.Locator\\.Router", false, null),
         new Property("Ice\\.Default\\.Locator\\.CollocationOptimized", false, null),
@@ -100,6 +113,7 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Locator", false, null),
         new Property("Ice\\.Default\\.LocatorCacheTimeout", false, null),
         new Property("Ice\\.Default\\.InvocationTimeout", false, null),
+        new Property("Ice\\.Default\\.ConnectionPoolSize", false, null),
         new Property("Ice\\.Default\\.Package", false, null),
         new Property("Ice\\.Default\\.PreferSecure", false, null),
         new Property("Ice\\.Default\\.Protocol", false, null),
@@ -108,6 +122,8 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.Router\\.PreferSecure", false, null),
         new Property("Ice\\.Default\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("Ice\\.Default\\.Router\\.InvocationTimeout", false, null),
+        new Property("Ice\\.Default\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("Ice\\.Default\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("Ice\\.Default\\.Router\\.Locator", false, null),
         new Property("Ice\\.Default\\.Router\\.Router", false, null),
         new Property("Ice\\.Default\\.Router\\.CollocationOptimized", false, null),
@@ -116,14 +132,24 @@ public final class PropertyNames
         new Property("Ice\\.Default\\.SlicedFormat", false, null),
         new Property("Ice\\.Default\\.SourceAddress", false, null),
         new Property("Ice\\.Default\\.Timeout", false, null),
+        new Property("Ice\\.EndpointSelection\\.EjectionPeriod", false, null),
+        new Property("Ice\\.EndpointSelection\\.FailureThreshold", false, null),
         new Property("Ice\\.EventLog\\.Source", false, null),
         new Property("Ice\\.FactoryAssemblies", false, null),
+        new Property("Ice\\.HostResolver\\.CacheTTL", false, null),
+        new Property("Ice\\.HostResolver\\.NegativeCacheTTL", false, null),
+        new Property("Ice\\.HostResolver\\.Size", false, null),
         new Property("Ice\\.HTTPProxyHost", false, null),
         new Property("Ice\\.HTTPProxyPort", false, null),
         new Property("Ice\\.ImplicitContext", false, null),
         new Property("Ice\\.InitPlugins", false, null),
         new Property("Ice\\.IPv4", false, null),
         new Property("Ice\\.IPv6", false, null),
+        new Property("Ice\\.LocatorCache\\.MaxSize", false, null),
+        new Property("Ice\\.LocatorCache\\.RefreshAhead", false, null),
+        new Property("Ice\\.LogAsync", false, null),
+        new Property("Ice\\.LogAsync\\.Overflow", false, null),
+        new Property("Ice\\.LogAsync\\.QueueSize", false, null),
         new Property("Ice\\.LogFile", false, null),
         new Property("Ice\\.LogFile\\.SizeMax", false, null),
         new Property("Ice\\.LogStdErr\\.Convert", false, null),
@@ -158,6 +184,8 @@ public final class PropertyNames
         new Property("Ice\\.ThreadPool\\.Client\\.Serialize", false, null),
         new Property("Ice\\.ThreadPool\\.Client\\.ThreadIdleTime", false, null),
         new Property("Ice\\.ThreadPool\\.Client\\.ThreadPriority", false, null),
+        new Property("Ice\\.ThreadPool\\.Client\\.Selectors", false, null),
+        new Property("Ice\\.ThreadPool\\.Client\\.VirtualThreads", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.Size", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.SizeMax", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.SizeWarn", false, null),
@@ -165,6 +193,8 @@ public final class PropertyNames
         new Property("Ice\\.ThreadPool\\.Server\\.Serialize", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.ThreadIdleTime", false, null),
         new Property("Ice\\.ThreadPool\\.Server\\.ThreadPriority", false, null),
+        new Property("Ice\\.ThreadPool\\.Server\\.Selectors", false, null),
+        new Property("Ice\\.ThreadPool\\.Server\\.VirtualThreads", false, null),
         new Property("Ice\\.ThreadPriority", false, null),
         new Property("Ice\\.ToStringMode", false, null),
         new Property("Ice\\.Trace\\.Admin\\.Properties", false, null),
@@ -190,6 +220,7 @@ public final class PropertyNames
         new Property("Ice\\.Warn\\.UnknownProperties", false, null),
         new Property("Ice\\.Warn\\.UnusedProperties", false, null),
         new Property("Ice\\.CacheMessageBuffers", false, null),
+        new Property("Ice\\.CollocationDirect", false, null),
         new Property("Ice\\.ThreadInterruptSafe", false, null),
         new Property("Ice\\.Voip", false, null),
         null
@@ -202,6 +233,8 @@ public final class PropertyNames
         new Property("IceMX\\.Metrics\\.[^\\s]+\\.RetainDetached", false, null),
         new Property("IceMX\\.Metrics\\.[^\\s]+\\.Accept", false, null),
         new Property("IceMX\\.Metrics\\.[^\\s]+\\.Reject", false, null),
+        new Property("IceMX\\.Metrics\\.[^\\s]+\\.Histogram", false, null),
+        new Property("IceMX\\.Metrics\\.[^\\s]+\\.Stripes", false, null),
         new Property("IceMX\\.Metrics\\.[^\\s]+", false, null),
         null
     };
@@ -219,6 +252,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.Locator\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Multicast\\.Locator\\.CollocationOptimized", false, null),
@@ -231,6 +266,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.Router\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Multicast\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Multicast\\.Router\\.CollocationOptimized", false, null),
@@ -244,6 +281,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Multicast\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Multicast\\.MessageSizeMax", false, null),
         new Property("IceDiscovery\\.Reply\\.ACM\\.Timeout", false, null),
         new Property("IceDiscovery\\.Reply\\.ACM\\.Heartbeat", false, null),
@@ -256,6 +295,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.Locator\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Reply\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
@@ -268,6 +309,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.Router\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Reply\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
@@ -281,6 +324,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Reply\\.MessageSizeMax", false, null),
         new Property("IceDiscovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceDiscovery\\.Locator\\.ACM\\.Heartbeat", false, null),
@@ -293,6 +338,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.Locator\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Locator\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceDiscovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
@@ -305,6 +352,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.Router\\.PreferSecure", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceDiscovery\\.Locator\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceDiscovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceDiscovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
@@ -318,6 +367,8 @@ public final class PropertyNames
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceDiscovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceDiscovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceDiscovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceDiscovery\\.Locator\\.MessageSizeMax", false, null),
         new Property("IceDiscovery\\.Lookup", false, null),
         new Property("IceDiscovery\\.Timeout", false, null),
@@ -343,6 +394,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.PreferSecure", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
@@ -355,6 +408,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.PreferSecure", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
@@ -368,6 +423,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceLocatorDiscovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceLocatorDiscovery\\.Reply\\.MessageSizeMax", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ACM\\.Heartbeat", false, null),
@@ -380,6 +437,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.PreferSecure", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
@@ -392,6 +451,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.PreferSecure", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
@@ -405,6 +466,8 @@ public final class PropertyNames
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceLocatorDiscovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceLocatorDiscovery\\.Locator\\.MessageSizeMax", false, null),
         new Property("IceLocatorDiscovery\\.Lookup", false, null),
         new Property("IceLocatorDiscovery\\.Timeout", false, null),
@@ -419,6 +482,7 @@ public final class PropertyNames
 
     public static final Property IceBoxProps[] = 
     {
+        new Property("IceBox\\.DependsOn\\.[^\\s]+", false, null),
         new Property("IceBox\\.InheritProperties", false, null),
         new Property("IceBox\\.InstanceName", true, null),
         new Property("IceBox\\.LoadOrder", false, null),
@@ -434,7 +498,9 @@ public final class PropertyNames
         new Property("IceBox\\.ServiceManager\\.ThreadPool\\.SizeMax", true, null),
         new Property("IceBox\\.ServiceManager\\.ThreadPool\\.SizeWarn", true, null),
         new Property("IceBox\\.ServiceManager\\.ThreadPool\\.StackSize", true, null),
+        new Property("IceBox\\.StartConcurrency", false, null),
         new Property("IceBox\\.Trace\\.ServiceObserver", false, null),
+        new Property("IceBox\\.Trace\\.ServiceStart", false, null),
         new Property("IceBox\\.UseSharedCommunicator\\.[^\\s]+", false, null),
         null
     };
@@ -446,6 +512,8 @@ public final class PropertyNames
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.PreferSecure", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.LocatorCacheTimeout", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.InvocationTimeout", false, null),
+        new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.ConnectionPoolSize", false, null),
+        new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.BatchAutoFlushDelay", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.Locator", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.Router", false, null),
         new Property("IceBoxAdmin\\.ServiceManager\\.Proxy\\.CollocationOptimized", false, null),
@@ -478,6 +546,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.PreferSecure", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Locator\\.CollocationOptimized", false, null),
@@ -490,6 +560,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.PreferSecure", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.Router\\.CollocationOptimized", false, null),
@@ -503,6 +575,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Reply\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Reply\\.MessageSizeMax", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ACM\\.Timeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ACM\\.Heartbeat", false, null),
@@ -515,6 +589,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.PreferSecure", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Locator\\.CollocationOptimized", false, null),
@@ -527,6 +603,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.PreferSecure", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.Locator", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.Router", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.Router\\.CollocationOptimized", false, null),
@@ -540,6 +618,8 @@ public final class PropertyNames
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGridAdmin\\.Discovery\\.Locator\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGridAdmin\\.Discovery\\.Locator\\.MessageSizeMax", false, null),
         new Property("IceGridAdmin\\.Trace\\.Observers", false, null),
         new Property("IceGridAdmin\\.Trace\\.SaveToRegistry", false, null),
@@ -559,6 +639,8 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.AdminRouter\\.Locator\\.CollocationOptimized", false, null),
@@ -571,6 +653,8 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.AdminRouter\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.Router", false, null),
         new Property("IceGrid\\.AdminRouter\\.Router\\.CollocationOptimized", false, null),
@@ -584,6 +668,8 @@ public final class PropertyNames
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.AdminRouter\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.AdminRouter\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.InstanceName", false, null),
         new Property("IceGrid\\.Node\\.ACM\\.Timeout", false, null),
@@ -597,6 +683,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Node\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Node\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Node\\.Locator\\.CollocationOptimized", false, null),
@@ -609,6 +697,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Node\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Node\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Node\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Node\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Node\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Node\\.Router\\.CollocationOptimized", false, null),
@@ -622,6 +712,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Node\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Node\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Node\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Node\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Node\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Node\\.AllowRunningServersAsRoot", false, null),
         new Property("IceGrid\\.Node\\.AllowEndpointsOverride", false, null),
@@ -646,6 +738,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.PreferSecure", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Node\\.UserAccountMapper\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Node\\.UserAccountMapper\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.Locator", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.Router", false, null),
         new Property("IceGrid\\.Node\\.UserAccountMapper\\.CollocationOptimized", false, null),
@@ -658,6 +752,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminPermissionsVerifier\\.CollocationOptimized", false, null),
@@ -675,6 +771,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Locator\\.CollocationOptimized", false, null),
@@ -687,6 +785,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.Router\\.CollocationOptimized", false, null),
@@ -700,12 +800,16 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSessionManager\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.AdminSessionManager\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.EndpointSelection", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.ConnectionCached", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.AdminSSLPermissionsVerifier\\.CollocationOptimized", false, null),
@@ -722,6 +826,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Locator\\.CollocationOptimized", false, null),
@@ -734,6 +840,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.Router\\.CollocationOptimized", false, null),
@@ -747,6 +855,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Client\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Client\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.CryptPasswords", false, null),
         new Property("IceGrid\\.Registry\\.DefaultTemplates", false, null),
@@ -761,6 +871,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Locator\\.CollocationOptimized", false, null),
@@ -773,6 +885,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Router\\.CollocationOptimized", false, null),
@@ -786,6 +900,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Discovery\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Enabled", false, null),
         new Property("IceGrid\\.Registry\\.Discovery\\.Address", false, null),
@@ -803,6 +919,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Locator\\.CollocationOptimized", false, null),
@@ -815,6 +933,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.Router\\.CollocationOptimized", false, null),
@@ -828,6 +948,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Internal\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Internal\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.LMDB\\.MapSize", false, null),
         new Property("IceGrid\\.Registry\\.LMDB\\.Path", false, null),
@@ -837,6 +959,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.PermissionsVerifier\\.CollocationOptimized", false, null),
@@ -857,6 +981,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Locator\\.CollocationOptimized", false, null),
@@ -869,6 +995,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.Router\\.CollocationOptimized", false, null),
@@ -882,6 +1010,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.Server\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.Server\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.SessionFilters", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ACM\\.Timeout", false, null),
@@ -895,6 +1025,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Locator\\.CollocationOptimized", false, null),
@@ -907,6 +1039,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.Router\\.CollocationOptimized", false, null),
@@ -920,6 +1054,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.Serialize", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.Selectors", false, null),
+        new Property("IceGrid\\.Registry\\.SessionManager\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IceGrid\\.Registry\\.SessionManager\\.MessageSizeMax", false, null),
         new Property("IceGrid\\.Registry\\.SessionTimeout", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.EndpointSelection", false, null),
@@ -927,6 +1063,8 @@ public final class PropertyNames
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.PreferSecure", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.Locator", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.Router", false, null),
         new Property("IceGrid\\.Registry\\.SSLPermissionsVerifier\\.CollocationOptimized", false, null),
@@ -962,6 +1100,8 @@ public final class PropertyNames
         new Property("IcePatch2\\.Locator\\.PreferSecure", false, null),
         new Property("IcePatch2\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("IcePatch2\\.Locator\\.InvocationTimeout", false, null),
+        new Property("IcePatch2\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("IcePatch2\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("IcePatch2\\.Locator\\.Locator", false, null),
         new Property("IcePatch2\\.Locator\\.Router", false, null),
         new Property("IcePatch2\\.Locator\\.CollocationOptimized", false, null),
@@ -974,6 +1114,8 @@ public final class PropertyNames
         new Property("IcePatch2\\.Router\\.PreferSecure", false, null),
         new Property("IcePatch2\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("IcePatch2\\.Router\\.InvocationTimeout", false, null),
+        new Property("IcePatch2\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("IcePatch2\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("IcePatch2\\.Router\\.Locator", false, null),
         new Property("IcePatch2\\.Router\\.Router", false, null),
         new Property("IcePatch2\\.Router\\.CollocationOptimized", false, null),
@@ -987,6 +1129,8 @@ public final class PropertyNames
         new Property("IcePatch2\\.ThreadPool\\.Serialize", false, null),
         new Property("IcePatch2\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("IcePatch2\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("IcePatch2\\.ThreadPool\\.Selectors", false, null),
+        new Property("IcePatch2\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("IcePatch2\\.MessageSizeMax", false, null),
         new Property("IcePatch2\\.Directory", false, null),
         new Property("IcePatch2\\.InstanceName", false, null),
@@ -1079,6 +1223,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.Locator\\.PreferSecure", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.Client\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.Client\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.Locator", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.Router", false, null),
         new Property("Glacier2\\.Client\\.Locator\\.CollocationOptimized", false, null),
@@ -1091,6 +1237,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.Router\\.PreferSecure", false, null),
         new Property("Glacier2\\.Client\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.Client\\.Router\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.Client\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.Client\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.Client\\.Router\\.Locator", false, null),
         new Property("Glacier2\\.Client\\.Router\\.Router", false, null),
         new Property("Glacier2\\.Client\\.Router\\.CollocationOptimized", false, null),
@@ -1104,6 +1252,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Client\\.ThreadPool\\.Serialize", false, null),
         new Property("Glacier2\\.Client\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Glacier2\\.Client\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Glacier2\\.Client\\.ThreadPool\\.Selectors", false, null),
+        new Property("Glacier2\\.Client\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Glacier2\\.Client\\.MessageSizeMax", false, null),
         new Property("Glacier2\\.Client\\.AlwaysBatch", false, null),
         new Property("Glacier2\\.Client\\.Buffered", false, null),
@@ -1126,6 +1276,8 @@ public final class PropertyNames
         new Property("Glacier2\\.PermissionsVerifier\\.PreferSecure", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.PermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.PermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.Locator", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.Router", false, null),
         new Property("Glacier2\\.PermissionsVerifier\\.CollocationOptimized", false, null),
@@ -1137,6 +1289,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SSLPermissionsVerifier\\.PreferSecure", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.SSLPermissionsVerifier\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.SSLPermissionsVerifier\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.Locator", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.Router", false, null),
         new Property("Glacier2\\.SSLPermissionsVerifier\\.CollocationOptimized", false, null),
@@ -1154,6 +1308,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.Locator\\.PreferSecure", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.Server\\.Locator\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.Server\\.Locator\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.Locator", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.Router", false, null),
         new Property("Glacier2\\.Server\\.Locator\\.CollocationOptimized", false, null),
@@ -1166,6 +1322,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.Router\\.PreferSecure", false, null),
         new Property("Glacier2\\.Server\\.Router\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.Server\\.Router\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.Server\\.Router\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.Server\\.Router\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.Server\\.Router\\.Locator", false, null),
         new Property("Glacier2\\.Server\\.Router\\.Router", false, null),
         new Property("Glacier2\\.Server\\.Router\\.CollocationOptimized", false, null),
@@ -1179,6 +1337,8 @@ public final class PropertyNames
         new Property("Glacier2\\.Server\\.ThreadPool\\.Serialize", false, null),
         new Property("Glacier2\\.Server\\.ThreadPool\\.ThreadIdleTime", false, null),
         new Property("Glacier2\\.Server\\.ThreadPool\\.ThreadPriority", false, null),
+        new Property("Glacier2\\.Server\\.ThreadPool\\.Selectors", false, null),
+        new Property("Glacier2\\.Server\\.ThreadPool\\.VirtualThreads", false, null),
         new Property("Glacier2\\.Server\\.MessageSizeMax", false, null),
         new Property("Glacier2\\.Server\\.AlwaysBatch", false, null),
         new Property("Glacier2\\.Server\\.Buffered", false, null),
@@ -1191,6 +1351,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SessionManager\\.PreferSecure", false, null),
         new Property("Glacier2\\.SessionManager\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.SessionManager\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.SessionManager\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.SessionManager\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.SessionManager\\.Locator", false, null),
         new Property("Glacier2\\.SessionManager\\.Router", false, null),
         new Property("Glacier2\\.SessionManager\\.CollocationOptimized", false, null),
@@ -1201,6 +1363,8 @@ public final class PropertyNames
         new Property("Glacier2\\.SSLSessionManager\\.PreferSecure", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.LocatorCacheTimeout", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.InvocationTimeout", false, null),
+        new Property("Glacier2\\.SSLSessionManager\\.ConnectionPoolSize", false, null),
+        new Property("Glacier2\\.SSLSessionManager\\.BatchAutoFlushDelay", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.Locator", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.Router", false, null),
         new Property("Glacier2\\.SSLSessionManager\\.CollocationOptimized", false, null),
@@ -27,6 +27,11 @@ public interface ProtocolPluginFacade
     //
     EndpointFactory getEndpointFactory(short type);
 
+    //
+    // Register a CompressionCodec.
+    //
+    void addCompressionCodec(CompressionCodec codec);
+
     //
     // Look up a Java class by name.
     //
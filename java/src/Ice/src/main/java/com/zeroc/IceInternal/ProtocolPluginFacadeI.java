@@ -45,6 +45,15 @@ public class ProtocolPluginFacadeI implements ProtocolPluginFacade
         return _instance.endpointFactoryManager().get(type);
     }
 
+    //
+    // Register a CompressionCodec.
+    //
+    @Override
+    public void addCompressionCodec(CompressionCodec codec)
+    {
+        _instance.compressionCodecManager().add(codec);
+    }
+
     //
     // Look up a Java class by name.
     //
@@ -12,11 +12,19 @@ package com.zeroc.IceInternal;
 public class ProxyFlushBatch extends ProxyOutgoingAsyncBaseI<Void>
 {
     public ProxyFlushBatch(com.zeroc.Ice._ObjectPrxI prx)
+    {
+        this(prx, "user");
+    }
+
+    //
+    // The reason is reported to the batch flush metrics: "user" for an
+    // application flush, "size" or "delay" for an automatic flush.
+    //
+    ProxyFlushBatch(com.zeroc.Ice._ObjectPrxI prx, String reason)
     {
         super(prx, "ice_flushBatchRequests");
         _observer = ObserverHelper.get(prx, "ice_flushBatchRequests");
-        BatchRequestQueue.SwapResult r = prx._getBatchRequestQueue().swap(_os);
-        _batchRequestNum = r != null ? r.batchRequestNum : 0;
+        _reason = reason;
     }
 
     @Override
@@ -76,7 +84,13 @@ public class ProxyFlushBatch extends ProxyOutgoingAsyncBaseI<Void>
     public void invoke()
     {
         Protocol.checkSupportedProtocol(Protocol.getCompatibleProtocol(_proxy._getReference().getProtocol()));
-        invokeImpl(true); // userThread = true
+        BatchRequestQueue queue = _proxy._getBatchRequestQueue();
+        synchronized(queue.flushMutex())
+        {
+            BatchRequestQueue.SwapResult r = queue.swap(_os, _reason);
+            _batchRequestNum = r != null ? r.batchRequestNum : 0;
+            invokeImpl(true); // userThread = true
+        }
     }
 
     public void waitForResponse()
@@ -112,4 +126,5 @@ public class ProxyFlushBatch extends ProxyOutgoingAsyncBaseI<Void>
     }
 
     protected int _batchRequestNum;
+    private final String _reason;
 }
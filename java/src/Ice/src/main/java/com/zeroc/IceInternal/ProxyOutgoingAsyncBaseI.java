@@ -46,6 +46,12 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
             _childObserver = null;
         }
 
+        if(_endpointSample != null)
+        {
+            _endpointSample.succeeded(System.nanoTime() - _endpointSampleStart);
+            _endpointSample = null;
+        }
+
         byte replyStatus;
         try
         {
@@ -188,6 +194,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
             _childObserver.detach();
             _childObserver = null;
         }
+        endpointSampleFailed(exc);
 
         //
         // NOTE: at this point, synchronization isn't needed, no other threads should be
@@ -209,6 +216,23 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         }
     }
 
+    @Override
+    public void attachRemoteObserver(com.zeroc.Ice.ConnectionInfo info, com.zeroc.Ice.Endpoint endpt, int requestId)
+    {
+        super.attachRemoteObserver(info, endpt, requestId);
+
+        //
+        // Sample the round-trip latency of twoway requests for the
+        // latency-aware endpoint selection.
+        //
+        if(_endpointStatistics != null && requestId > 0)
+        {
+            _endpointSample = _endpointStatistics.get((EndpointI)endpt);
+            _endpointSample.started();
+            _endpointSampleStart = System.nanoTime();
+        }
+    }
+
     @Override
     public void retryException(com.zeroc.Ice.Exception ex)
     {
@@ -280,6 +304,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         _cnt = 0;
         _sent = false;
         _proxyMode = _proxy._getReference().getMode();
+        _endpointStatistics = getEndpointStatistics(_proxy._getReference());
     }
 
     protected ProxyOutgoingAsyncBaseI(com.zeroc.Ice._ObjectPrxI prx, String op, com.zeroc.Ice.OutputStream os)
@@ -290,6 +315,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         _cnt = 0;
         _sent = false;
         _proxyMode = _proxy._getReference().getMode();
+        _endpointStatistics = getEndpointStatistics(_proxy._getReference());
     }
 
     @Override
@@ -360,6 +386,7 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
                         _childObserver.detach();
                         _childObserver = null;
                     }
+                    endpointSampleFailed(ex);
                     final int interval = handleException(ex);
                     if(interval > 0)
                     {
@@ -427,6 +454,35 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
         return super.finished(ok);
     }
 
+    private void endpointSampleFailed(com.zeroc.Ice.Exception ex)
+    {
+        if(_endpointSample != null)
+        {
+            //
+            // Only count transport failures and timeouts against the endpoint,
+            // other failures just end the sample.
+            //
+            if(ex instanceof com.zeroc.Ice.SocketException || ex instanceof com.zeroc.Ice.TimeoutException)
+            {
+                _endpointStatistics.failed(_endpointSample);
+            }
+            else
+            {
+                _endpointSample.finished();
+            }
+            _endpointSample = null;
+        }
+    }
+
+    private static EndpointStatistics getEndpointStatistics(Reference ref)
+    {
+        if(ref instanceof RoutableReference && ((RoutableReference)ref).getLatencySelection())
+        {
+            return ref.getInstance().endpointStatistics();
+        }
+        return null;
+    }
+
     protected int handleException(com.zeroc.Ice.Exception exc)
     {
         Holder<Integer> interval = new Holder<>();
@@ -515,5 +571,9 @@ public abstract class ProxyOutgoingAsyncBaseI<T> extends OutgoingAsyncBaseI<T> i
     private int _cnt;
     private boolean _sent;
 
+    private final EndpointStatistics _endpointStatistics; // Null unless the proxy uses latency-aware selection.
+    private EndpointStatistics.Entry _endpointSample;
+    private long _endpointSampleStart;
+
     private static final java.util.Map<String, String> _emptyContext = new java.util.HashMap<>();
 }
@@ -674,6 +674,8 @@ public final class ReferenceFactory
         "PreferSecure",
         "LocatorCacheTimeout",
         "InvocationTimeout",
+        "ConnectionPoolSize",
+        "BatchAutoFlushDelay",
         "Locator",
         "Router",
         "CollocationOptimized",
@@ -758,8 +760,11 @@ public final class ReferenceFactory
         boolean cacheConnection = true;
         boolean preferSecure = defaultsAndOverrides.defaultPreferSecure;
         com.zeroc.Ice.EndpointSelectionType endpointSelection = defaultsAndOverrides.defaultEndpointSelection;
+        boolean latencySelection = defaultsAndOverrides.defaultLatencySelection;
         int locatorCacheTimeout = defaultsAndOverrides.defaultLocatorCacheTimeout;
         int invocationTimeout = defaultsAndOverrides.defaultInvocationTimeout;
+        int connectionPoolSize = defaultsAndOverrides.defaultConnectionPoolSize;
+        int batchAutoFlushDelay = _instance.batchAutoFlushDelay();
         java.util.Map<String, String> context = null;
 
         //
@@ -827,15 +832,22 @@ public final class ReferenceFactory
                 if(type.equals("Random"))
                 {
                     endpointSelection = com.zeroc.Ice.EndpointSelectionType.Random;
+                    latencySelection = false;
                 }
                 else if(type.equals("Ordered"))
                 {
                     endpointSelection = com.zeroc.Ice.EndpointSelectionType.Ordered;
+                    latencySelection = false;
+                }
+                else if(type.equals("Latency"))
+                {
+                    endpointSelection = com.zeroc.Ice.EndpointSelectionType.Random;
+                    latencySelection = true;
                 }
                 else
                 {
                     throw new com.zeroc.Ice.EndpointSelectionTypeParseException("illegal value `" + type +
-                                                                      "'; expected `Random' or `Ordered'");
+                                                           "'; expected `Random', `Ordered' or `Latency'");
                 }
             }
 
@@ -875,6 +887,42 @@ public final class ReferenceFactory
                 }
             }
 
+            property = propertyPrefix + ".ConnectionPoolSize";
+            value = properties.getProperty(property);
+            if(!value.isEmpty())
+            {
+                connectionPoolSize = properties.getPropertyAsIntWithDefault(property, connectionPoolSize);
+                if(connectionPoolSize < 1)
+                {
+                    connectionPoolSize = 1;
+
+                    StringBuffer msg = new StringBuffer("invalid value for ");
+                    msg.append(property);
+                    msg.append(" '");
+                    msg.append(properties.getProperty(property));
+                    msg.append("': defaulting to 1");
+                    _instance.initializationData().logger.warning(msg.toString());
+                }
+            }
+
+            property = propertyPrefix + ".BatchAutoFlushDelay";
+            value = properties.getProperty(property);
+            if(!value.isEmpty())
+            {
+                batchAutoFlushDelay = properties.getPropertyAsIntWithDefault(property, batchAutoFlushDelay);
+                if(batchAutoFlushDelay < 0)
+                {
+                    batchAutoFlushDelay = 0;
+
+                    StringBuffer msg = new StringBuffer("invalid value for ");
+                    msg.append(property);
+                    msg.append(" '");
+                    msg.append(properties.getProperty(property));
+                    msg.append("': defaulting to 0");
+                    _instance.initializationData().logger.warning(msg.toString());
+                }
+            }
+
             property = propertyPrefix + ".Context.";
             java.util.Map<String, String> contexts = properties.getPropertiesForPrefix(property);
             if(!contexts.isEmpty())
@@ -906,8 +954,11 @@ public final class ReferenceFactory
                                      cacheConnection,
                                      preferSecure,
                                      endpointSelection,
+                                     latencySelection,
                                      locatorCacheTimeout,
                                      invocationTimeout,
+                                     connectionPoolSize,
+                                     batchAutoFlushDelay,
                                      context);
     }
 
@@ -32,6 +32,19 @@ public final class RequestHandlerFactory
             }
         }
 
+        int mode = ref.getMode();
+        if(ref.getCacheConnection() && ref.getConnectionPoolSize() > 1 &&
+           (mode == Reference.ModeTwoway || mode == Reference.ModeOneway))
+        {
+            return proxy._setRequestHandler(new ConnectionPoolRequestHandler(ref, proxy));
+        }
+
+        return proxy._setRequestHandler(connect(ref, proxy));
+    }
+
+    RequestHandler
+    connect(final RoutableReference ref, com.zeroc.Ice._ObjectPrxI proxy)
+    {
         ConnectRequestHandler handler = null;
         boolean connect = false;
         if(ref.getCacheConnection())
@@ -73,7 +86,7 @@ public final class RequestHandlerFactory
                 ref.getConnection(handler);
             }
         }
-        return proxy._setRequestHandler(handler.connect(proxy));
+        return handler.connect(proxy);
     }
 
     void
@@ -67,6 +67,12 @@ public class RoutableReference extends Reference
         return _endpointSelection;
     }
 
+    public final boolean
+    getLatencySelection()
+    {
+        return _latencySelection;
+    }
+
     @Override
     public final int
     getLocatorCacheTimeout()
@@ -81,6 +87,18 @@ public class RoutableReference extends Reference
         return _connectionId;
     }
 
+    public final int
+    getConnectionPoolSize()
+    {
+        return _connectionPoolSize;
+    }
+
+    public final int
+    getBatchAutoFlushDelay()
+    {
+        return _batchAutoFlushDelay;
+    }
+
     @Override
     public Reference
     changeEncoding(com.zeroc.Ice.EncodingVersion newEncoding)
@@ -221,6 +239,7 @@ public class RoutableReference extends Reference
         }
         RoutableReference r = (RoutableReference)getInstance().referenceFactory().copy(this);
         r._endpointSelection = newType;
+        r._latencySelection = false;
         return r;
     }
 
@@ -378,8 +397,15 @@ public class RoutableReference extends Reference
         properties.put(prefix + ".CollocationOptimized", _collocationOptimized ? "1" : "0");
         properties.put(prefix + ".ConnectionCached", _cacheConnection ? "1" : "0");
         properties.put(prefix + ".PreferSecure", _preferSecure ? "1" : "0");
-        properties.put(prefix + ".EndpointSelection",
-                       _endpointSelection == com.zeroc.Ice.EndpointSelectionType.Random ? "Random" : "Ordered");
+        if(_latencySelection)
+        {
+            properties.put(prefix + ".EndpointSelection", "Latency");
+        }
+        else
+        {
+            properties.put(prefix + ".EndpointSelection",
+                           _endpointSelection == com.zeroc.Ice.EndpointSelectionType.Random ? "Random" : "Ordered");
+        }
 
         {
             StringBuffer s = new StringBuffer();
@@ -391,6 +417,18 @@ public class RoutableReference extends Reference
             s.append(_locatorCacheTimeout);
             properties.put(prefix + ".LocatorCacheTimeout", s.toString());
         }
+        if(_connectionPoolSize > 1)
+        {
+            StringBuffer s = new StringBuffer();
+            s.append(_connectionPoolSize);
+            properties.put(prefix + ".ConnectionPoolSize", s.toString());
+        }
+        if(_batchAutoFlushDelay != getInstance().batchAutoFlushDelay())
+        {
+            StringBuffer s = new StringBuffer();
+            s.append(_batchAutoFlushDelay);
+            properties.put(prefix + ".BatchAutoFlushDelay", s.toString());
+        }
 
         if(_routerInfo != null)
         {
@@ -469,10 +507,22 @@ public class RoutableReference extends Reference
         {
             return false;
         }
+        if(_latencySelection != rhs._latencySelection)
+        {
+            return false;
+        }
         if(_locatorCacheTimeout != rhs._locatorCacheTimeout)
         {
             return false;
         }
+        if(_connectionPoolSize != rhs._connectionPoolSize)
+        {
+            return false;
+        }
+        if(_batchAutoFlushDelay != rhs._batchAutoFlushDelay)
+        {
+            return false;
+        }
         if(!_connectionId.equals(rhs._connectionId))
         {
            return false;
@@ -507,7 +557,7 @@ public class RoutableReference extends Reference
     public BatchRequestQueue
     getBatchRequestQueue()
     {
-        return new BatchRequestQueue(getInstance(), getMode() == Reference.ModeBatchDatagram);
+        return new BatchRequestQueue(getInstance(), getMode() == Reference.ModeBatchDatagram, _batchAutoFlushDelay);
     }
 
     public void
@@ -649,8 +699,11 @@ public class RoutableReference extends Reference
                       boolean cacheConnection,
                       boolean prefereSecure,
                       com.zeroc.Ice.EndpointSelectionType endpointSelection,
+                      boolean latencySelection,
                       int locatorCacheTimeout,
                       int invocationTimeout,
+                      int connectionPoolSize,
+                      int batchAutoFlushDelay,
                       java.util.Map<String, String> context)
     {
         super(instance, communicator, identity, facet, mode, secure, protocol, encoding, invocationTimeout, context);
@@ -662,7 +715,10 @@ public class RoutableReference extends Reference
         _cacheConnection = cacheConnection;
         _preferSecure = prefereSecure;
         _endpointSelection = endpointSelection;
+        _latencySelection = latencySelection;
         _locatorCacheTimeout = locatorCacheTimeout;
+        _connectionPoolSize = connectionPoolSize;
+        _batchAutoFlushDelay = batchAutoFlushDelay;
         _overrideTimeout = false;
         _timeout = -1;
 
@@ -778,6 +834,15 @@ public class RoutableReference extends Reference
             }
         }
 
+        //
+        // With latency-aware selection, rank the shuffled endpoints by their
+        // observed latency and move the ejected endpoints last.
+        //
+        if(_latencySelection)
+        {
+            getInstance().endpointStatistics().sort(endpoints);
+        }
+
         //
         // If a secure connection is requested or secure overrides is
         // set, remove all non-secure endpoints. Otherwise if preferSecure is set
@@ -823,13 +888,14 @@ public class RoutableReference extends Reference
         // Finally, create the connection.
         //
         final OutgoingConnectionFactory factory = getInstance().outgoingConnectionFactory();
+        final EndpointStatistics endpointStatistics = _latencySelection ? getInstance().endpointStatistics() : null;
         if(getCacheConnection() || endpoints.length == 1)
         {
             //
             // Get an existing connection or create one if there's no
             // existing connection to one of the given endpoints.
             //
-            factory.create(endpoints, false, getEndpointSelection(),
+            factory.create(endpoints, false, getEndpointSelection(), endpointStatistics,
                            new OutgoingConnectionFactory.CreateConnectionCallback()
                            {
                                @Override
@@ -866,7 +932,7 @@ public class RoutableReference extends Reference
             // connection for one of the endpoints.
             //
 
-            factory.create(new EndpointI[]{ endpoints[0] }, true, getEndpointSelection(),
+            factory.create(new EndpointI[]{ endpoints[0] }, true, getEndpointSelection(), endpointStatistics,
                            new OutgoingConnectionFactory.CreateConnectionCallback()
                            {
                                @Override
@@ -902,7 +968,7 @@ public class RoutableReference extends Reference
 
                                    final boolean more = _i != endpoints.length - 1;
                                    final EndpointI[] endpoint = new EndpointI[]{ endpoints[_i] };
-                                   factory.create(endpoint, more, getEndpointSelection(), this);
+                                   factory.create(endpoint, more, getEndpointSelection(), endpointStatistics, this);
                                }
 
                                private int _i = 0;
@@ -967,7 +1033,10 @@ public class RoutableReference extends Reference
     private boolean _cacheConnection;
     private boolean _preferSecure;
     private com.zeroc.Ice.EndpointSelectionType _endpointSelection;
+    private boolean _latencySelection; // Rank the endpoints by latency, _endpointSelection is Random.
     private int _locatorCacheTimeout;
+    private int _connectionPoolSize;
+    private int _batchAutoFlushDelay; // In milliseconds, 0 if disabled.
 
     private boolean _overrideTimeout;
     private int _timeout; // Only used if _overrideTimeout == true
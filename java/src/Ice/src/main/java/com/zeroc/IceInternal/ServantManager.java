@@ -9,6 +9,13 @@
 
 package com.zeroc.IceInternal;
 
+//
+// The lookup methods used for each dispatch (findServant, hasServant,
+// findServantLocator and findDefaultServant) don't lock. Servants are
+// kept in a concurrent map of immutable facet maps, and the default
+// servant and servant locator maps are copied on write. Updates are
+// still serialized with the ServantManager monitor.
+//
 public final class ServantManager
 {
     public synchronized void
@@ -22,10 +29,10 @@ public final class ServantManager
         }
 
         java.util.Map<String, com.zeroc.Ice.Object> m = _servantMapMap.get(ident);
+        boolean added = m == null;
         if(m == null)
         {
             m = new java.util.HashMap<String, com.zeroc.Ice.Object>();
-            _servantMapMap.put(ident, m);
         }
         else
         {
@@ -41,9 +48,15 @@ public final class ServantManager
                 }
                 throw ex;
             }
+            m = new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
         }
 
         m.put(facet, servant);
+        _servantMapMap.put(ident, m);
+        if(added && _objectAdapterFactory != null)
+        {
+            _objectAdapterFactory.addServantIdentity(ident, _adapter);
+        }
     }
 
     public synchronized void
@@ -60,7 +73,9 @@ public final class ServantManager
             throw ex;
         }
 
-        _defaultServantMap.put(category, servant);
+        java.util.Map<String, com.zeroc.Ice.Object> m = new java.util.HashMap<>(_defaultServantMap);
+        m.put(category, servant);
+        _defaultServantMap = m;
     }
 
     public synchronized com.zeroc.Ice.Object
@@ -75,7 +90,7 @@ public final class ServantManager
 
         java.util.Map<String, com.zeroc.Ice.Object> m = _servantMapMap.get(ident);
         com.zeroc.Ice.Object obj = null;
-        if(m == null || (obj = m.remove(facet)) == null)
+        if(m == null || (obj = m.get(facet)) == null)
         {
             com.zeroc.Ice.NotRegisteredException ex = new com.zeroc.Ice.NotRegisteredException();
             ex.id = com.zeroc.Ice.Util.identityToString(ident, _instance.toStringMode());
@@ -88,9 +103,16 @@ public final class ServantManager
             throw ex;
         }
 
-        if(m.isEmpty())
+        if(m.size() == 1)
         {
             _servantMapMap.remove(ident);
+            removeServantIdentity(ident);
+        }
+        else
+        {
+            m = new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
+            m.remove(facet);
+            _servantMapMap.put(ident, m);
         }
         return obj;
     }
@@ -109,7 +131,9 @@ public final class ServantManager
             throw ex;
         }
 
-        _defaultServantMap.remove(category);
+        java.util.Map<String, com.zeroc.Ice.Object> m = new java.util.HashMap<>(_defaultServantMap);
+        m.remove(category);
+        _defaultServantMap = m;
         return obj;
     }
 
@@ -128,11 +152,12 @@ public final class ServantManager
         }
 
         _servantMapMap.remove(ident);
+        removeServantIdentity(ident);
 
-        return m;
+        return new java.util.HashMap<String, com.zeroc.Ice.Object>(m);
     }
 
-    public synchronized com.zeroc.Ice.Object
+    public com.zeroc.Ice.Object
     findServant(com.zeroc.Ice.Identity ident, String facet)
     {
         //
@@ -152,10 +177,11 @@ public final class ServantManager
         com.zeroc.Ice.Object obj = null;
         if(m == null)
         {
-            obj = _defaultServantMap.get(ident.category);
+            java.util.Map<String, com.zeroc.Ice.Object> defaultServantMap = _defaultServantMap;
+            obj = defaultServantMap.get(ident.category);
             if(obj == null)
             {
-                obj = _defaultServantMap.get("");
+                obj = defaultServantMap.get("");
             }
         }
         else
@@ -166,7 +192,7 @@ public final class ServantManager
         return obj;
     }
 
-    public synchronized com.zeroc.Ice.Object
+    public com.zeroc.Ice.Object
     findDefaultServant(String category)
     {
         assert(_instance != null); // Must not be called after destruction.
@@ -188,7 +214,7 @@ public final class ServantManager
         return new java.util.HashMap<String, com.zeroc.Ice.Object>();
     }
 
-    public synchronized boolean
+    public boolean
     hasServant(com.zeroc.Ice.Identity ident)
     {
         //
@@ -226,7 +252,9 @@ public final class ServantManager
             throw ex;
         }
 
-        _locatorMap.put(category, locator);
+        java.util.Map<String, com.zeroc.Ice.ServantLocator> m = new java.util.HashMap<>(_locatorMap);
+        m.put(category, locator);
+        _locatorMap = m;
     }
 
     public synchronized com.zeroc.Ice.ServantLocator
@@ -235,7 +263,7 @@ public final class ServantManager
         com.zeroc.Ice.ServantLocator l = null;
         assert(_instance != null); // Must not be called after destruction.
 
-        l = _locatorMap.remove(category);
+        l = _locatorMap.get(category);
         if(l == null)
         {
             com.zeroc.Ice.NotRegisteredException ex = new com.zeroc.Ice.NotRegisteredException();
@@ -244,10 +272,14 @@ public final class ServantManager
             ex.kindOfObject = "servant locator";
             throw ex;
         }
+
+        java.util.Map<String, com.zeroc.Ice.ServantLocator> m = new java.util.HashMap<>(_locatorMap);
+        m.remove(category);
+        _locatorMap = m;
         return l;
     }
 
-    public synchronized com.zeroc.Ice.ServantLocator
+    public com.zeroc.Ice.ServantLocator
     findServantLocator(String category)
     {
         //
@@ -266,9 +298,18 @@ public final class ServantManager
     //
     public
     ServantManager(Instance instance, String adapterName)
+    {
+        this(instance, adapterName, null, null);
+    }
+
+    public
+    ServantManager(Instance instance, String adapterName, ObjectAdapterFactory objectAdapterFactory,
+                   com.zeroc.Ice.ObjectAdapterI adapter)
     {
         _instance = instance;
         _adapterName = adapterName;
+        _objectAdapterFactory = objectAdapterFactory;
+        _adapter = adapter;
     }
 
     //
@@ -292,12 +333,16 @@ public final class ServantManager
 
             logger = _instance.initializationData().logger;
 
+            for(com.zeroc.Ice.Identity ident : _servantMapMap.keySet())
+            {
+                removeServantIdentity(ident);
+            }
             _servantMapMap.clear();
 
-            _defaultServantMap.clear();
+            _defaultServantMap = java.util.Collections.emptyMap();
 
             locatorMap.putAll(_locatorMap);
-            _locatorMap.clear();
+            _locatorMap = java.util.Collections.emptyMap();
 
             _instance = null;
         }
@@ -318,12 +363,23 @@ public final class ServantManager
         }
     }
 
+    private void
+    removeServantIdentity(com.zeroc.Ice.Identity ident)
+    {
+        if(_objectAdapterFactory != null)
+        {
+            _objectAdapterFactory.removeServantIdentity(ident, _adapter);
+        }
+    }
+
     private Instance _instance;
     final private String _adapterName;
-    private java.util.Map<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> > _servantMapMap =
-        new java.util.HashMap<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> >();
-    private java.util.Map<String, com.zeroc.Ice.Object> _defaultServantMap =
+    final private ObjectAdapterFactory _objectAdapterFactory; // Indexes the identities, null if there's no adapter.
+    final private com.zeroc.Ice.ObjectAdapterI _adapter;
+    final private java.util.Map<com.zeroc.Ice.Identity, java.util.Map<String, com.zeroc.Ice.Object> > _servantMapMap =
+        new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile java.util.Map<String, com.zeroc.Ice.Object> _defaultServantMap =
         new java.util.HashMap<String, com.zeroc.Ice.Object>();
-    private java.util.Map<String, com.zeroc.Ice.ServantLocator> _locatorMap =
+    private volatile java.util.Map<String, com.zeroc.Ice.ServantLocator> _locatorMap =
         new java.util.HashMap<String, com.zeroc.Ice.ServantLocator>();
 }
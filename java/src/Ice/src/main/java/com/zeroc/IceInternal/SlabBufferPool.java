@@ -0,0 +1,188 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package com.zeroc.IceInternal;
+
+//
+// Buffer pool with power of two size classes. Released buffers are first
+// kept in a small per-thread cache and then in a slab shared by all the
+// threads. The memory held by the shared slabs is capped, buffers released
+// once the cap is reached are left to the garbage collector. Per-thread
+// caches are bounded by their number of entries and not counted against
+// the cap.
+//
+public final class SlabBufferPool implements com.zeroc.Ice.BufferPool
+{
+    public SlabBufferPool(int minSize, int maxSize, long sizeMax, int threadCache)
+    {
+        assert(minSize > 0 && maxSize >= minSize);
+
+        int minShift = 32 - Integer.numberOfLeadingZeros(minSize - 1);
+        int maxShift = 32 - Integer.numberOfLeadingZeros(maxSize - 1);
+
+        _minShift = minShift;
+        _maxSize = 1 << maxShift;
+        _sizeMax = sizeMax;
+        _threadCache = threadCache;
+
+        int classes = maxShift - minShift + 1;
+        _slabs = new Slab[2][classes];
+        for(int i = 0; i < classes; ++i)
+        {
+            _slabs[0][i] = new Slab();
+            _slabs[1][i] = new Slab();
+        }
+    }
+
+    @Override
+    public java.nio.ByteBuffer allocate(int size, boolean direct)
+    {
+        if(size < (1 << _minShift))
+        {
+            //
+            // Too small to be worth pooling.
+            //
+            return direct ? java.nio.ByteBuffer.allocateDirect(size) : java.nio.ByteBuffer.allocate(size);
+        }
+        else if(size > _maxSize)
+        {
+            //
+            // Too large to be pooled.
+            //
+            _misses.increment();
+            return direct ? java.nio.ByteBuffer.allocateDirect(size) : java.nio.ByteBuffer.allocate(size);
+        }
+
+        final int index = sizeClass(size);
+
+        java.nio.ByteBuffer buf = null;
+        if(_threadCache > 0)
+        {
+            java.nio.ByteBuffer[] cache = _caches.get()[direct ? 1 : 0][index];
+            for(int i = 0; i < cache.length; ++i)
+            {
+                if(cache[i] != null)
+                {
+                    buf = cache[i];
+                    cache[i] = null;
+                    break;
+                }
+            }
+        }
+
+        if(buf == null)
+        {
+            buf = _slabs[direct ? 1 : 0][index].buffers.poll();
+            if(buf != null)
+            {
+                _retained.add(-buf.capacity());
+            }
+        }
+
+        if(buf == null)
+        {
+            _misses.increment();
+            int capacity = 1 << (index + _minShift);
+            return direct ? java.nio.ByteBuffer.allocateDirect(capacity) : java.nio.ByteBuffer.allocate(capacity);
+        }
+
+        _hits.increment();
+        buf.clear();
+        return buf;
+    }
+
+    @Override
+    public void release(java.nio.ByteBuffer buf)
+    {
+        final int capacity = buf.capacity();
+        if(capacity > _maxSize || Integer.bitCount(capacity) != 1 || capacity < (1 << _minShift))
+        {
+            return; // Not allocated from a size class.
+        }
+
+        final int index = sizeClass(capacity);
+        final int direct = buf.isDirect() ? 1 : 0;
+
+        if(_threadCache > 0)
+        {
+            java.nio.ByteBuffer[] cache = _caches.get()[direct][index];
+            for(int i = 0; i < cache.length; ++i)
+            {
+                if(cache[i] == null)
+                {
+                    cache[i] = buf;
+                    return;
+                }
+            }
+        }
+
+        //
+        // Only keep the buffer if it doesn't exceed the pool memory cap.
+        //
+        if(_retained.sum() + capacity <= _sizeMax)
+        {
+            _retained.add(capacity);
+            _slabs[direct][index].buffers.offer(buf);
+        }
+    }
+
+    @Override
+    public long hits()
+    {
+        return _hits.sum();
+    }
+
+    @Override
+    public long misses()
+    {
+        return _misses.sum();
+    }
+
+    @Override
+    public long retained()
+    {
+        return _retained.sum();
+    }
+
+    private int sizeClass(int size)
+    {
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - _minShift;
+    }
+
+    private static final class Slab
+    {
+        final java.util.concurrent.ConcurrentLinkedQueue<java.nio.ByteBuffer> buffers =
+            new java.util.concurrent.ConcurrentLinkedQueue<>();
+    }
+
+    private final int _minShift;
+    private final int _maxSize;
+    private final long _sizeMax;
+    private final int _threadCache;
+    private final Slab[][] _slabs; // Indexed by direct flag and size class.
+
+    private final ThreadLocal<java.nio.ByteBuffer[][][]> _caches = new ThreadLocal<java.nio.ByteBuffer[][][]>()
+    {
+        @Override
+        protected java.nio.ByteBuffer[][][] initialValue()
+        {
+            java.nio.ByteBuffer[][][] caches = new java.nio.ByteBuffer[2][_slabs[0].length][];
+            for(int i = 0; i < _slabs[0].length; ++i)
+            {
+                caches[0][i] = new java.nio.ByteBuffer[_threadCache];
+                caches[1][i] = new java.nio.ByteBuffer[_threadCache];
+            }
+            return caches;
+        }
+    };
+
+    private final java.util.concurrent.atomic.LongAdder _hits = new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _misses = new java.util.concurrent.atomic.LongAdder();
+    private final java.util.concurrent.atomic.LongAdder _retained = new java.util.concurrent.atomic.LongAdder();
+}
@@ -254,6 +254,59 @@ public class StreamSocket
         return sent;
     }
 
+    public int write(java.nio.ByteBuffer[] bufs, int offset, int length)
+    {
+        assert(_fd != null && _state == StateConnected);
+
+        if(_maxSendPacketSize > 0)
+        {
+            //
+            // The size of the writes is limited, write the buffers one by one.
+            //
+            for(int i = offset; i < offset + length; ++i)
+            {
+                write(bufs[i]);
+                if(bufs[i].hasRemaining())
+                {
+                    return SocketOperation.Write;
+                }
+            }
+            return SocketOperation.None;
+        }
+
+        int last = offset + length - 1;
+        while(offset <= last)
+        {
+            if(!bufs[offset].hasRemaining())
+            {
+                ++offset;
+                continue;
+            }
+
+            try
+            {
+                long ret = _fd.write(bufs, offset, last - offset + 1);
+                if(ret == -1)
+                {
+                    throw new com.zeroc.Ice.ConnectionLostException();
+                }
+                else if(ret == 0)
+                {
+                    return SocketOperation.Write;
+                }
+            }
+            catch(java.io.InterruptedIOException ex)
+            {
+                continue;
+            }
+            catch(java.io.IOException ex)
+            {
+                throw new com.zeroc.Ice.SocketException(ex);
+            }
+        }
+        return SocketOperation.None;
+    }
+
     public void close()
     {
         assert(_fd != null);
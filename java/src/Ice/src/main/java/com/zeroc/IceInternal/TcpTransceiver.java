@@ -9,7 +9,7 @@
 
 package com.zeroc.IceInternal;
 
-final class TcpTransceiver implements Transceiver
+final class TcpTransceiver implements Transceiver, GatheringTransceiver
 {
     @Override
     public java.nio.channels.SelectableChannel fd()
@@ -57,6 +57,12 @@ final class TcpTransceiver implements Transceiver
         return _stream.write(buf);
     }
 
+    @Override
+    public int write(java.nio.ByteBuffer[] bufs, int offset, int length)
+    {
+        return _stream.write(bufs, offset, length);
+    }
+
     @Override
     public int read(Buffer buf)
     {
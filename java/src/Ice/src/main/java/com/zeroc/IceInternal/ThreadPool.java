@@ -100,7 +100,7 @@ public final class ThreadPool
         _dispatcher = instance.initializationData().dispatcher;
         _destroyed = false;
         _prefix = prefix;
-        _selector = new Selector(instance);
+        _parent = null;
         _threadIndex = 0;
         _inUse = 0;
         _inUseIO = 0;
@@ -108,6 +108,7 @@ public final class ThreadPool
         _serialize = properties.getPropertyAsInt(_prefix + ".Serialize") > 0;
         _serverIdleTime = timeout;
         _threadPrefix = Util.createThreadName(properties, _prefix);
+        _executor = DispatchExecutor.create(instance, _prefix, _threadPrefix, _serialize);
 
         int nProcessors = Runtime.getRuntime().availableProcessors();
 
@@ -158,10 +159,27 @@ public final class ThreadPool
             threadIdleTime = 0;
         }
 
+        //
+        // With more than one selector, the event handlers are spread over several
+        // shards. Each shard has its own selector and its own set of threads, the
+        // size settings apply to each shard.
+        //
+        int selectors = properties.getPropertyAsIntWithDefault(_prefix + ".Selectors", 1);
+        if(selectors == -1)
+        {
+            selectors = nProcessors;
+        }
+        if(selectors < 1)
+        {
+            String s = _prefix + ".Selectors < 1; Selectors adjusted to 1";
+            _instance.initializationData().logger.warning(s);
+            selectors = 1;
+        }
+
         _size = size;
         _sizeMax = sizeMax;
         _sizeWarn = sizeWarn;
-        _sizeIO = Math.min(sizeMax, nProcessors);
+        _sizeIO = Math.min(sizeMax, Math.max(1, nProcessors / selectors));
         _threadIdleTime = threadIdleTime;
 
         int stackSize = properties.getPropertyAsInt( _prefix + ".StackSize");
@@ -183,16 +201,102 @@ public final class ThreadPool
         _hasPriority = hasPriority;
         _priority = priority;
 
-        _workQueue = new ThreadPoolWorkQueue(_instance, this, _selector);
-        _nextHandler = _handlers.iterator();
-
         if(_instance.traceLevels().threadPool >= 1)
         {
             String s = "creating " + _prefix + ": Size = " + _size + ", SizeMax = " + _sizeMax + ", SizeWarn = " +
                        _sizeWarn;
+            if(selectors > 1)
+            {
+                s += ", Selectors = " + selectors;
+            }
+            if(_executor != null)
+            {
+                s += ", VirtualThreads = 1";
+            }
             _instance.initializationData().logger.trace(_instance.traceLevels().threadPoolCat, s);
         }
 
+        if(selectors > 1)
+        {
+            _selector = null;
+            _workQueue = null;
+            _shards = new ThreadPool[selectors];
+            try
+            {
+                for(int i = 0; i < selectors; i++)
+                {
+                    _shards[i] = new ThreadPool(this, i);
+                }
+            }
+            catch(RuntimeException ex)
+            {
+                for(ThreadPool shard : _shards)
+                {
+                    if(shard != null)
+                    {
+                        shard.destroy();
+                        try
+                        {
+                            shard.joinWithAllThreads();
+                        }
+                        catch(InterruptedException e)
+                        {
+                            throw new com.zeroc.Ice.OperationInterruptedException();
+                        }
+                    }
+                }
+                _destroyed = true;
+                throw ex;
+            }
+        }
+        else
+        {
+            _shards = null;
+            _selector = new Selector(instance);
+            _workQueue = new ThreadPoolWorkQueue(_instance, this, _selector);
+            _nextHandler = _handlers.iterator();
+            startThreads();
+        }
+    }
+
+    //
+    // Create a shard of the given thread pool, the shard uses the configuration
+    // of its parent but has its own selector, work queue and threads.
+    //
+    private
+    ThreadPool(ThreadPool parent, int index)
+    {
+        _instance = parent._instance;
+        _dispatcher = parent._dispatcher;
+        _destroyed = false;
+        _prefix = parent._prefix;
+        _parent = parent;
+        _threadIndex = 0;
+        _inUse = 0;
+        _inUseIO = 0;
+        _promote = true;
+        _serialize = parent._serialize;
+        _serverIdleTime = parent._serverIdleTime;
+        _threadPrefix = parent._threadPrefix + "-" + index;
+        _executor = parent._executor;
+        _size = parent._size;
+        _sizeMax = parent._sizeMax;
+        _sizeWarn = parent._sizeWarn;
+        _sizeIO = parent._sizeIO;
+        _threadIdleTime = parent._threadIdleTime;
+        _stackSize = parent._stackSize;
+        _hasPriority = parent._hasPriority;
+        _priority = parent._priority;
+        _shards = null;
+        _selector = new Selector(_instance);
+        _workQueue = new ThreadPoolWorkQueue(_instance, this, _selector);
+        _nextHandler = _handlers.iterator();
+        startThreads();
+    }
+
+    private void
+    startThreads()
+    {
         try
         {
             for(int i = 0; i < _size; i++)
@@ -245,29 +349,83 @@ public final class ThreadPool
         }
     }
 
-    public synchronized void
+    public void
     destroy()
     {
-        if(_destroyed)
+        if(_shards != null)
         {
+            synchronized(this)
+            {
+                _destroyed = true;
+            }
+            for(ThreadPool shard : _shards)
+            {
+                shard.destroy();
+            }
             return;
         }
 
-        _destroyed = true;
-        _workQueue.destroy();
+        synchronized(this)
+        {
+            if(_destroyed)
+            {
+                return;
+            }
+
+            _destroyed = true;
+            _workQueue.destroy();
+        }
     }
 
-    public synchronized void
+    public void
     updateObservers()
     {
-        for(EventHandlerThread thread : _threads)
+        if(_executor != null && _parent == null)
+        {
+            _executor.updateObserver();
+        }
+
+        if(_shards != null)
         {
-            thread.updateObserver();
+            for(ThreadPool shard : _shards)
+            {
+                shard.updateObservers();
+            }
+            return;
+        }
+
+        synchronized(this)
+        {
+            for(EventHandlerThread thread : _threads)
+            {
+                thread.updateObserver();
+            }
         }
     }
 
-    public synchronized void
+    public void
     initialize(final EventHandler handler)
+    {
+        if(_shards != null)
+        {
+            //
+            // Pin the handler to a shard for its lifetime, all its events are
+            // processed by the threads of this shard.
+            //
+            assert(handler._shard == null);
+            handler._shard = _shards[(_nextShard.getAndIncrement() & Integer.MAX_VALUE) % _shards.length];
+            handler._shard.initialize(handler);
+            return;
+        }
+
+        synchronized(this)
+        {
+            initializeImpl(handler);
+        }
+    }
+
+    private void
+    initializeImpl(final EventHandler handler)
     {
         assert(!_destroyed);
         _selector.initialize(handler);
@@ -295,8 +453,23 @@ public final class ThreadPool
         update(handler, SocketOperation.None, op);
     }
 
-    public synchronized void
+    public void
     update(EventHandler handler, int remove, int add)
+    {
+        if(_shards != null)
+        {
+            handler._shard.update(handler, remove, add);
+            return;
+        }
+
+        synchronized(this)
+        {
+            updateImpl(handler, remove, add);
+        }
+    }
+
+    private void
+    updateImpl(EventHandler handler, int remove, int add)
     {
         assert(!_destroyed);
 
@@ -319,17 +492,49 @@ public final class ThreadPool
         update(handler, op, SocketOperation.None);
     }
 
-    public synchronized boolean
+    public boolean
     finish(EventHandler handler, boolean closeNow)
     {
-        assert(!_destroyed);
-        closeNow = _selector.finish(handler, closeNow);
-        _workQueue.queue(new FinishedWorkItem(handler, !closeNow));
-        return closeNow;
+        if(_shards != null)
+        {
+            return handler._shard.finish(handler, closeNow);
+        }
+
+        synchronized(this)
+        {
+            assert(!_destroyed);
+            closeNow = _selector.finish(handler, closeNow);
+            _workQueue.queue(new FinishedWorkItem(handler, !closeNow));
+            return closeNow;
+        }
     }
 
     public void
     dispatchFromThisThread(DispatchWorkItem workItem)
+    {
+        if(_executor != null)
+        {
+            _executor.execute(() -> dispatchImpl(workItem), workItem.getConnection());
+        }
+        else
+        {
+            dispatchImpl(workItem);
+        }
+    }
+
+    //
+    // Returns true if the dispatches don't run from the thread calling
+    // dispatchFromThisThread(), either because a dispatcher is installed
+    // with the communicator or because the thread pool uses virtual threads.
+    //
+    public boolean
+    hasDispatcher()
+    {
+        return _dispatcher != null || _executor != null;
+    }
+
+    private void
+    dispatchImpl(DispatchWorkItem workItem)
     {
         if(_dispatcher != null)
         {
@@ -355,20 +560,51 @@ public final class ThreadPool
         }
     }
 
-    synchronized public void
+    public void
     dispatch(DispatchWorkItem workItem)
     {
-        if(_destroyed)
+        if(_shards != null)
+        {
+            //
+            // Work items for a connection are queued with the shard of the connection
+            // to preserve ordering, other work items are spread over the shards.
+            //
+            ThreadPool shard = null;
+            if(workItem.getConnection() instanceof EventHandler)
+            {
+                shard = ((EventHandler)workItem.getConnection())._shard;
+            }
+            if(shard == null)
+            {
+                shard = _shards[(_nextShard.getAndIncrement() & Integer.MAX_VALUE) % _shards.length];
+            }
+            shard.dispatch(workItem);
+            return;
+        }
+
+        synchronized(this)
         {
-            throw new com.zeroc.Ice.CommunicatorDestroyedException();
+            if(_destroyed)
+            {
+                throw new com.zeroc.Ice.CommunicatorDestroyedException();
+            }
+            _workQueue.queue(workItem);
         }
-        _workQueue.queue(workItem);
     }
 
     public void
     joinWithAllThreads()
         throws InterruptedException
     {
+        if(_shards != null)
+        {
+            for(ThreadPool shard : _shards)
+            {
+                shard.joinWithAllThreads();
+            }
+            return;
+        }
+
         //
         // _threads is immutable after destroy() has been called,
         // therefore no synchronization is needed. (Synchronization
@@ -418,9 +654,14 @@ public final class ThreadPool
                 }
                 catch(Selector.TimeoutException ex)
                 {
+                    //
+                    // If this is a shard, the pool is only idle if the other shards
+                    // are idle as well.
+                    //
+                    boolean idle = _parent == null || _parent.isIdle(this);
                     synchronized(this)
                     {
-                        if(!_destroyed && _inUse == 0)
+                        if(idle && !_destroyed && _inUse == 0)
                         {
                             _workQueue.queue(new ShutdownWorkItem()); // Select timed-out.
                         }
@@ -528,6 +769,26 @@ public final class ThreadPool
         }
     }
 
+    private boolean
+    isIdle(ThreadPool except)
+    {
+        assert(_shards != null);
+        for(ThreadPool shard : _shards)
+        {
+            if(shard != except)
+            {
+                synchronized(shard)
+                {
+                    if(shard._inUse > 0)
+                    {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
     synchronized void
     ioCompleted(ThreadPoolCurrent current)
     {
@@ -687,11 +948,15 @@ public final class ThreadPool
 
     private final Instance _instance;
     private final java.util.function.BiConsumer<Runnable, com.zeroc.Ice.Connection> _dispatcher;
+    private final DispatchExecutor _executor; // Null unless the dispatches run on virtual threads.
     private final ThreadPoolWorkQueue _workQueue;
     private boolean _destroyed;
     private final String _prefix;
     private final String _threadPrefix;
     private final Selector _selector;
+    private final ThreadPool _parent; // The parent thread pool if this thread pool is a shard.
+    private final ThreadPool[] _shards; // The shards if the thread pool uses multiple selectors.
+    private final java.util.concurrent.atomic.AtomicInteger _nextShard = new java.util.concurrent.atomic.AtomicInteger();
 
     final class EventHandlerThread implements Runnable
     {
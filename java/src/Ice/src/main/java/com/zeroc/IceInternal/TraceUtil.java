@@ -420,30 +420,45 @@ public final class TraceUtil
             out.write("\nmessage type = " + (int)type + " (" + getMessageTypeAsString(type) + ')');
             byte compress = stream.readByte();
             out.write("\ncompression status = " + (int)compress + ' ');
-            switch(compress)
+            if(type == Protocol.validateConnectionMsg && compress != 0)
             {
-                case (byte)0:
+                out.write("(not compressed; preferred compression codec)");
+            }
+            else
+            {
+                switch(compress)
                 {
-                    out.write("(not compressed; do not compress response, if any)");
-                    break;
-                }
+                    case (byte)0:
+                    {
+                        out.write("(not compressed; do not compress response, if any)");
+                        break;
+                    }
 
-                case (byte)1:
-                {
-                    out.write("(not compressed; compress response, if any)");
-                    break;
-                }
+                    case (byte)1:
+                    {
+                        out.write("(not compressed; compress response, if any)");
+                        break;
+                    }
 
-                case (byte)2:
-                {
-                    out.write("(compressed; compress response, if any)");
-                    break;
-                }
+                    case (byte)2:
+                    {
+                        out.write("(compressed; compress response, if any)");
+                        break;
+                    }
 
-                default:
-                {
-                    out.write("(unknown)");
-                    break;
+                    default:
+                    {
+                        if(compress < 0)
+                        {
+                            out.write("(not compressed; compress response with codec " + (compress & 0x7f) +
+                                      ", if any)");
+                        }
+                        else
+                        {
+                            out.write("(compressed with codec " + (int)compress + "; compress response, if any)");
+                        }
+                        break;
+                    }
                 }
             }
 
@@ -26,10 +26,14 @@ final class ValueFactoryManagerI implements com.zeroc.Ice.ValueFactoryManager
         _factoryMap.put(id, factory);
     }
 
-    public synchronized ValueFactory find(String id)
+    public ValueFactory find(String id)
     {
         return _factoryMap.get(id);
     }
 
-    private java.util.Map<String, ValueFactory> _factoryMap = new java.util.HashMap<>();
+    //
+    // Concurrent, find() is called for each unmarshaled value and doesn't
+    // lock the manager.
+    //
+    private java.util.Map<String, ValueFactory> _factoryMap = new java.util.concurrent.ConcurrentHashMap<>();
 }
@@ -231,6 +231,12 @@ final class WSEndpoint extends EndpointI
         return _delegate.equivalent(wsEndpointI._delegate);
     }
 
+    @Override
+    public java.lang.Object equivalentKey()
+    {
+        return _delegate.equivalentKey(); // The delegate type is the type of the WS endpoint.
+    }
+
     @Override
     synchronized public int hashCode()
     {
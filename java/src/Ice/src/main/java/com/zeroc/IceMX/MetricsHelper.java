@@ -13,15 +13,32 @@ public class MetricsHelper<T>
 {
     public static class AttributeResolver
     {
-        private abstract class Resolver
+        //
+        // Resolves the value of an attribute. The resolvers are created
+        // with method handles when the attributes are added and metrics maps
+        // look them up once, rather than on each resolution.
+        //
+        public static abstract class Resolver
         {
-            abstract Object resolve(Object obj) throws Exception;
+            Resolver(String name)
+            {
+                //
+                // Resolving some attributes fails for many helpers (the map's
+                // group by attribute isn't an attribute of a sub-map helper,
+                // there's no such context entry, ...), the resolver throws the
+                // same exception rather than creating a new one each time.
+                //
+                _unresolved = new IllegalArgumentException(name);
+            }
 
-            String resolveImpl(Object obj)
+            abstract Object resolve(Object obj) throws Throwable;
+
+            public String
+            resolve(MetricsHelper<?> helper)
             {
                 try
                 {
-                    Object result = resolve(obj);
+                    Object result = resolve((Object)helper);
                     if(result != null)
                     {
                         return result.toString();
@@ -32,13 +49,15 @@ public class MetricsHelper<T>
                 {
                     throw ex;
                 }
-                catch(Exception ex)
+                catch(Throwable ex)
                 {
                     ex.printStackTrace();
                     assert(false);
                     return null;
                 }
             }
+
+            final IllegalArgumentException _unresolved;
         }
 
         protected
@@ -48,34 +67,56 @@ public class MetricsHelper<T>
 
         public String
         resolve(MetricsHelper<?> helper, String attribute)
+        {
+            return getResolver(attribute).resolve(helper);
+        }
+
+        public Resolver
+        getResolver(final String attribute)
         {
             Resolver resolver = _attributes.get(attribute);
             if(resolver == null)
             {
                 if(attribute.equals("none"))
                 {
-                    return "";
+                    return _none;
                 }
-                String v = helper.defaultResolve(attribute);
-                if(v != null)
-                {
-                    return v;
-                }
-                throw new IllegalArgumentException(attribute);
+                return new Resolver(attribute)
+                    {
+                        @Override
+                        Object
+                        resolve(Object obj)
+                        {
+                            throw _unresolved;
+                        }
+
+                        @Override
+                        public String
+                        resolve(MetricsHelper<?> helper)
+                        {
+                            String v = helper.defaultResolve(attribute);
+                            if(v != null)
+                            {
+                                return v;
+                            }
+                            throw _unresolved;
+                        }
+                    };
             }
-            return resolver.resolveImpl(helper);
+            return resolver;
         }
 
         public void
         add(final String name, final java.lang.reflect.Method method)
         {
-            _attributes.put(name, new Resolver()
+            final java.lang.invoke.MethodHandle m = getter(method);
+            _attributes.put(name, new Resolver(name)
                 {
                     @Override
                     public Object
-                    resolve(Object obj) throws Exception
+                    resolve(Object obj) throws Throwable
                     {
-                        return method.invoke(obj);
+                        return m.invokeExact(obj);
                     }
                 });
         }
@@ -83,13 +124,14 @@ public class MetricsHelper<T>
         public void
         add(final String name, final java.lang.reflect.Field field)
         {
-            _attributes.put(name, new Resolver()
+            final java.lang.invoke.MethodHandle f = getter(field);
+            _attributes.put(name, new Resolver(name)
                 {
                     @Override
                     public Object
-                    resolve(Object obj) throws Exception
+                    resolve(Object obj) throws Throwable
                     {
-                        return getField(name, field, obj);
+                        return getField(field, f, obj, _unresolved);
                     }
                 });
         }
@@ -97,13 +139,15 @@ public class MetricsHelper<T>
         public void
         add(final String name, final java.lang.reflect.Method method, final java.lang.reflect.Field field)
         {
-            _attributes.put(name, new Resolver()
+            final java.lang.invoke.MethodHandle m = getter(method);
+            final java.lang.invoke.MethodHandle f = getter(field);
+            _attributes.put(name, new Resolver(name)
                 {
                     @Override
                     public Object
-                    resolve(Object obj) throws Exception
+                    resolve(Object obj) throws Throwable
                     {
-                        return getField(name, field, method.invoke(obj));
+                        return getField(field, f, m.invokeExact(obj), _unresolved);
                     }
                 });
         }
@@ -111,52 +155,108 @@ public class MetricsHelper<T>
         public void
         add(final String name, final java.lang.reflect.Method method, final java.lang.reflect.Method subMethod)
         {
-            _attributes.put(name, new Resolver()
+            final java.lang.invoke.MethodHandle m = getter(method);
+            final java.lang.invoke.MethodHandle sm = getter(subMethod);
+            _attributes.put(name, new Resolver(name)
                 {
                     @Override
                     public Object
-                    resolve(Object obj) throws Exception
+                    resolve(Object obj) throws Throwable
                     {
-                        Object o = method.invoke(obj);
+                        Object o = m.invokeExact(obj);
                         if(o != null)
                         {
-                            return subMethod.invoke(o);
+                            return sm.invokeExact(o);
                         }
-                        throw new IllegalArgumentException(name);
+                        throw _unresolved;
                     }
                 });
         }
 
-        private Object getField(String name, java.lang.reflect.Field field, Object o)
-            throws IllegalArgumentException, IllegalAccessException
+        private static Object getField(java.lang.reflect.Field field, java.lang.invoke.MethodHandle f, Object o,
+                                       IllegalArgumentException unresolved)
+            throws Throwable
         {
             while(o != null)
             {
-                try
+                if(field.getDeclaringClass().isInstance(o))
                 {
-                    return field.get(o);
+                    return f.invokeExact(o);
                 }
-                catch(IllegalArgumentException ex)
+
+                // If we're dealing with an endpoint/connection information class,
+                // check if the field is from the underlying info objects.
+                if(o instanceof com.zeroc.Ice.EndpointInfo)
                 {
-                    // If we're dealing with an endpoint/connection information class,
-                    // check if the field is from the underlying info objects.
-                    if(o instanceof com.zeroc.Ice.EndpointInfo)
-                    {
-                        o = ((com.zeroc.Ice.EndpointInfo)o).underlying;
-                    }
-                    else if(o instanceof com.zeroc.Ice.ConnectionInfo)
-                    {
-                        o = ((com.zeroc.Ice.ConnectionInfo)o).underlying;
-                    }
-                    else
-                    {
-                        throw ex;
-                    }
+                    o = ((com.zeroc.Ice.EndpointInfo)o).underlying;
+                }
+                else if(o instanceof com.zeroc.Ice.ConnectionInfo)
+                {
+                    o = ((com.zeroc.Ice.ConnectionInfo)o).underlying;
+                }
+                else
+                {
+                    throw unresolved;
                 }
             }
-            throw new IllegalArgumentException(name);
+            throw unresolved;
         }
 
+        //
+        // The attributes are accessed with (Object)Object method handles, the
+        // helper classes and their attribute methods aren't necessarily public.
+        //
+        private static java.lang.invoke.MethodHandle getter(java.lang.reflect.Method method)
+        {
+            try
+            {
+                setAccessible(method);
+                return java.lang.invoke.MethodHandles.lookup().unreflect(method).asType(_getterType);
+            }
+            catch(IllegalAccessException ex)
+            {
+                throw new IllegalArgumentException(method.getName(), ex);
+            }
+        }
+
+        private static java.lang.invoke.MethodHandle getter(java.lang.reflect.Field field)
+        {
+            try
+            {
+                setAccessible(field);
+                return java.lang.invoke.MethodHandles.lookup().unreflectGetter(field).asType(_getterType);
+            }
+            catch(IllegalAccessException ex)
+            {
+                throw new IllegalArgumentException(field.getName(), ex);
+            }
+        }
+
+        private static void setAccessible(java.lang.reflect.AccessibleObject member)
+        {
+            try
+            {
+                member.setAccessible(true);
+            }
+            catch(RuntimeException ex)
+            {
+                // Not allowed, unreflect only succeeds if the member is accessible.
+            }
+        }
+
+        private static final java.lang.invoke.MethodType _getterType =
+            java.lang.invoke.MethodType.methodType(Object.class, Object.class);
+
+        private static final Resolver _none = new Resolver("none")
+            {
+                @Override
+                Object
+                resolve(Object obj)
+                {
+                    return "";
+                }
+            };
+
         private java.util.Map<String, Resolver> _attributes = new java.util.HashMap<>();
     }
 
@@ -172,6 +272,12 @@ public class MetricsHelper<T>
         return _attributes.resolve(this, attribute);
     }
 
+    public AttributeResolver
+    getAttributeResolver()
+    {
+        return _attributes;
+    }
+
     public void
     initMetrics(T metrics)
     {
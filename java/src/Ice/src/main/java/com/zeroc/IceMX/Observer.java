@@ -119,6 +119,12 @@ public class Observer<T extends Metrics> extends com.zeroc.IceUtilInternal.StopW
         }
     }
 
+    protected java.util.List<MetricsMap<T>.Entry>
+    getEntries()
+    {
+        return _objects;
+    }
+
     public MetricsMap<T>.Entry
     getEntry(MetricsMap<?> map)
     {
@@ -38,7 +38,7 @@ public class ObserverFactory<T extends Metrics, O extends Observer<T>>
     }
 
     @SuppressWarnings("unchecked")
-    public synchronized O
+    public O
     getObserver(MetricsHelper<T> helper, Object observer, Class<O> cl)
     {
         O old = null;
@@ -49,15 +49,16 @@ public class ObserverFactory<T extends Metrics, O extends Observer<T>>
         catch(ClassCastException ex)
         {
         }
+        java.util.List<MetricsMap<T>> maps = _maps;
         java.util.List<MetricsMap<T>.Entry> metricsObjects = null;
-        for(MetricsMap<T> m : _maps)
+        for(MetricsMap<T> m : maps)
         {
             MetricsMap<T>.Entry e = m.getMatching(helper, old != null ? old.getEntry(m) : null);
             if(e != null)
             {
                 if(metricsObjects == null)
                 {
-                    metricsObjects = new java.util.ArrayList<>(_maps.size());
+                    metricsObjects = new java.util.ArrayList<>(maps.size());
                 }
                 metricsObjects.add(e);
             }
@@ -104,11 +105,11 @@ public class ObserverFactory<T extends Metrics, O extends Observer<T>>
         Runnable updater;
         synchronized(this)
         {
-            _maps.clear();
-            for(MetricsMap<T> m : _metrics.getMaps(_name, _class))
-            {
-                _maps.add(m);
-            }
+            //
+            // The maps are replaced rather than updated, getObserver uses
+            // them without locking.
+            //
+            _maps = new java.util.ArrayList<>(_metrics.getMaps(_name, _class));
             _enabled = !_maps.isEmpty();
             updater = _updater;
         }
@@ -128,7 +129,7 @@ public class ObserverFactory<T extends Metrics, O extends Observer<T>>
     private final com.zeroc.IceInternal.MetricsAdminI _metrics;
     private final String _name;
     private final Class<T> _class;
-    private java.util.List<MetricsMap<T>> _maps = new java.util.ArrayList<>();
+    private volatile java.util.List<MetricsMap<T>> _maps = new java.util.ArrayList<>();
     private volatile boolean _enabled;
     private Runnable _updater;
 }
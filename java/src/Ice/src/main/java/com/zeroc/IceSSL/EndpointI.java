@@ -219,6 +219,12 @@ final class EndpointI extends com.zeroc.IceInternal.EndpointI
         return _delegate.equivalent(endpointI._delegate);
     }
 
+    @Override
+    public java.lang.Object equivalentKey()
+    {
+        return _delegate.equivalentKey(); // The delegate type is the type of the SSL endpoint.
+    }
+
     @Override
     synchronized public int hashCode()
     {
@@ -52,6 +52,8 @@ public class ServiceManagerI implements ServiceManager
 
         _argv = args;
         _traceServiceObserver = props.getPropertyAsInt("IceBox.Trace.ServiceObserver");
+        _traceServiceStart = props.getPropertyAsInt("IceBox.Trace.ServiceStart");
+        _startConcurrency = Math.max(props.getPropertyAsIntWithDefault("IceBox.StartConcurrency", 1), 1);
     }
 
     @Override
@@ -93,10 +95,12 @@ public class ServiceManagerI implements ServiceManager
         }
 
         boolean started = false;
+        long startTime = System.nanoTime();
         try
         {
             info.service.start(name, info.communicator == null ? _sharedCommunicator : info.communicator, info.args);
             started = true;
+            serviceStarted(name, System.nanoTime() - startTime);
         }
         catch(java.lang.Exception e)
         {
@@ -308,6 +312,17 @@ public class ServiceManagerI implements ServiceManager
                 servicesInfo.add(new StartServiceInfo(name, value, _argv));
             }
 
+            //
+            // Order the services according to their dependencies, defined with the
+            // IceBox.DependsOn.<name> properties. A service is started once all the
+            // services it depends on are started and it's stopped before them.
+            //
+            for(StartServiceInfo service : servicesInfo)
+            {
+                service.dependsOn = properties.getPropertyAsList("IceBox.DependsOn." + service.name);
+            }
+            java.util.List<StartServiceInfo> startOrder = sortServices(servicesInfo);
+
             //
             // Check if some services are using the shared communicator in which
             // case we create the shared communicator now with a property set that
@@ -381,9 +396,16 @@ public class ServiceManagerI implements ServiceManager
                 }
             }
 
-            for(StartServiceInfo s : servicesInfo)
+            if(_startConcurrency > 1 && startOrder.size() > 1)
+            {
+                startAll(startOrder);
+            }
+            else
             {
-                start(s.name, s.className, s.classDir, s.absolutePath, s.args);
+                for(StartServiceInfo s : startOrder)
+                {
+                    start(s.name, s.className, s.classDir, s.absolutePath, s.args);
+                }
             }
 
             //
@@ -419,6 +441,7 @@ public class ServiceManagerI implements ServiceManager
             try
             {
                 _communicator.addAdminFacet(this, "IceBox.ServiceManager");
+                _communicator.addAdminFacet(new ServiceStartTimesI(), "IceBox.StartTimes");
                 _communicator.getAdmin();
             }
             catch(com.zeroc.Ice.ObjectAdapterDeactivatedException ex)
@@ -478,10 +501,171 @@ public class ServiceManagerI implements ServiceManager
         return 0;
     }
 
-    synchronized private void start(String service, String className, String classDir, boolean absolutePath,
-                                    String[] args)
+    //
+    // Returns the services in the order they must be started: a service is
+    // moved after the services it depends on, the services are otherwise
+    // kept in the IceBox.LoadOrder order.
+    //
+    private java.util.List<StartServiceInfo> sortServices(java.util.List<StartServiceInfo> servicesInfo)
+        throws FailureException
+    {
+        java.util.Set<String> names = new java.util.HashSet<>();
+        for(StartServiceInfo service : servicesInfo)
+        {
+            names.add(service.name);
+        }
+        for(StartServiceInfo service : servicesInfo)
+        {
+            for(String dependency : service.dependsOn)
+            {
+                if(!names.contains(dependency))
+                {
+                    throw new FailureException("ServiceManager: service `" + service.name +
+                                               "' depends on unknown service `" + dependency + "'");
+                }
+            }
+        }
+
+        java.util.List<StartServiceInfo> startOrder = new java.util.ArrayList<>(servicesInfo.size());
+        java.util.List<StartServiceInfo> remaining = new java.util.LinkedList<>(servicesInfo);
+        java.util.Set<String> sorted = new java.util.HashSet<>();
+        while(!remaining.isEmpty())
+        {
+            StartServiceInfo next = null;
+            for(StartServiceInfo service : remaining)
+            {
+                if(sorted.containsAll(java.util.Arrays.asList(service.dependsOn)))
+                {
+                    next = service;
+                    break;
+                }
+            }
+
+            if(next == null)
+            {
+                java.util.List<String> cycle = new java.util.ArrayList<>();
+                for(StartServiceInfo service : remaining)
+                {
+                    cycle.add(service.name);
+                }
+                throw new FailureException("ServiceManager: circular dependency between services " +
+                                           com.zeroc.IceUtilInternal.StringUtil.joinString(cycle, ", "));
+            }
+
+            remaining.remove(next);
+            sorted.add(next.name);
+            startOrder.add(next);
+        }
+        return startOrder;
+    }
+
+    //
+    // Starts up to IceBox.StartConcurrency services at a time, each service is
+    // started once the services it depends on are started. If a service fails
+    // to start, no other service is started and the failure is raised once the
+    // services being started are started.
+    //
+    private void startAll(java.util.List<StartServiceInfo> startOrder)
         throws FailureException
     {
+        final String threadName = "IceBox.ServiceManager.Start-";
+        final java.util.concurrent.atomic.AtomicInteger threadCount = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.ExecutorService executor = java.util.concurrent.Executors.newFixedThreadPool(
+            Math.min(_startConcurrency, startOrder.size()),
+            r ->
+            {
+                Thread t = new Thread(r, threadName + threadCount.getAndIncrement());
+                t.setDaemon(true);
+                return t;
+            });
+        java.util.concurrent.CompletionService<String> completionService =
+            new java.util.concurrent.ExecutorCompletionService<>(executor);
+
+        java.util.List<StartServiceInfo> pending = new java.util.LinkedList<>(startOrder);
+        java.util.Set<String> started = new java.util.HashSet<>();
+        Throwable failure = null;
+        int running = 0;
+        try
+        {
+            while(true)
+            {
+                if(failure == null)
+                {
+                    java.util.Iterator<StartServiceInfo> p = pending.iterator();
+                    while(p.hasNext())
+                    {
+                        final StartServiceInfo s = p.next();
+                        if(started.containsAll(java.util.Arrays.asList(s.dependsOn)))
+                        {
+                            p.remove();
+                            completionService.submit(() ->
+                                {
+                                    start(s.name, s.className, s.classDir, s.absolutePath, s.args);
+                                    return s.name;
+                                });
+                            ++running;
+                        }
+                    }
+                }
+
+                if(running == 0)
+                {
+                    break;
+                }
+
+                java.util.concurrent.Future<String> result;
+                try
+                {
+                    result = completionService.take();
+                }
+                catch(java.lang.InterruptedException ex)
+                {
+                    continue;
+                }
+                --running;
+
+                try
+                {
+                    started.add(result.get());
+                }
+                catch(java.util.concurrent.ExecutionException ex)
+                {
+                    if(failure == null)
+                    {
+                        failure = ex.getCause();
+                    }
+                }
+                catch(java.lang.InterruptedException ex)
+                {
+                    assert(false); // The task is completed.
+                }
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        if(failure instanceof RuntimeException)
+        {
+            throw (RuntimeException)failure;
+        }
+        else if(failure instanceof Error)
+        {
+            throw (Error)failure;
+        }
+        else if(failure != null)
+        {
+            throw new FailureException("ServiceManager: exception while starting services", failure);
+        }
+        assert(pending.isEmpty());
+    }
+
+    private void start(String service, String className, String classDir, boolean absolutePath, String[] args)
+        throws FailureException
+    {
+        long startTime = System.nanoTime();
+
         //
         // Load the class.
         //
@@ -512,22 +696,25 @@ public class ServiceManagerI implements ServiceManager
                 //
                 ClassLoader cl = null;
 
-                if(_classLoaders == null)
-                {
-                    _classLoaders = new java.util.HashMap<>();
-                }
-                else
+                synchronized(this)
                 {
-                    cl = _classLoaders.get(classDir);
-                }
+                    if(_classLoaders == null)
+                    {
+                        _classLoaders = new java.util.HashMap<>();
+                    }
+                    else
+                    {
+                        cl = _classLoaders.get(classDir);
+                    }
 
-                if(cl == null)
-                {
-                    final java.net.URL[] url = new java.net.URL[] { new java.net.URL("file:///" + classDir) };
+                    if(cl == null)
+                    {
+                        final java.net.URL[] url = new java.net.URL[] { new java.net.URL("file:///" + classDir) };
 
-                    cl = new java.net.URLClassLoader(url);
+                        cl = new java.net.URLClassLoader(url);
 
-                    _classLoaders.put(classDir, cl);
+                        _classLoaders.put(classDir, cl);
+                    }
                 }
 
                 c = cl.loadClass(className);
@@ -757,7 +944,11 @@ public class ServiceManagerI implements ServiceManager
             }
 
             info.status = StatusStarted;
-            _services.add(info);
+            synchronized(this)
+            {
+                _services.add(info);
+            }
+            serviceStarted(service, System.nanoTime() - startTime);
         }
         catch(RuntimeException ex)
         {
@@ -843,6 +1034,16 @@ public class ServiceManagerI implements ServiceManager
         servicesStopped(stoppedServices, _observers);
     }
 
+    private void serviceStarted(String service, long duration)
+    {
+        long ms = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(duration);
+        _startTimes.put(service, ms);
+        if(_traceServiceStart >= 1)
+        {
+            _logger.trace("IceBox.ServiceManager", "started service `" + service + "' in " + ms + "ms");
+        }
+    }
+
     private void servicesStarted(java.util.List<String> services, java.util.Set<ServiceObserverPrx> observers)
     {
         if(services.size() > 0)
@@ -934,6 +1135,19 @@ public class ServiceManagerI implements ServiceManager
         public String[] args;
     }
 
+    //
+    // The IceBox.StartTimes admin facet, with the duration in milliseconds of
+    // the last start of each service.
+    //
+    final class ServiceStartTimesI implements ServiceStartTimes
+    {
+        @Override
+        public java.util.Map<String, Long> getStartTimes(Current current)
+        {
+            return new java.util.TreeMap<>(_startTimes);
+        }
+    }
+
     static class StartServiceInfo
     {
         StartServiceInfo(String service, String value, String[] serverArgs)
@@ -1040,6 +1254,7 @@ public class ServiceManagerI implements ServiceManager
         String className;
         String classDir;
         boolean absolutePath;
+        String[] dependsOn;
     }
 
     private Properties createServiceProperties(String service)
@@ -1162,5 +1377,8 @@ public class ServiceManagerI implements ServiceManager
     private boolean _pendingStatusChanges = false;
     private java.util.HashSet<ServiceObserverPrx> _observers = new java.util.HashSet<>();
     private int _traceServiceObserver = 0;
+    private int _traceServiceStart = 0;
+    private int _startConcurrency = 1;
+    private java.util.Map<String, Long> _startTimes = new java.util.concurrent.ConcurrentHashMap<>();
     private java.util.Map<String, ClassLoader> _classLoaders;
 }
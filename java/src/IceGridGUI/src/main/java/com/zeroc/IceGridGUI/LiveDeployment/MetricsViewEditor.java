@@ -1306,6 +1306,68 @@ public class MetricsViewEditor extends Editor implements MetricsFieldContext
         private TableCellRenderer _cellRenderer;
     }
 
+    //
+    // An optional member of the metrics class, read with its has and get
+    // methods. The value is null if the member isn't set, for example with
+    // metrics from a peer which doesn't know this member.
+    //
+    static public class OptionalMetricsField extends AbstractField
+    {
+        public OptionalMetricsField(MetricsView node, String prefix, String metricsName, String fieldName,
+                                    Field field)
+        {
+            super(node, prefix, metricsName, fieldName, field);
+            _methodSuffix = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        }
+
+        public void setFormat(String format)
+        {
+            _cellRenderer = new FormatedNumberRenderer(format);
+        }
+
+        @Override
+        public Class getColumnClass()
+        {
+            return Long.class;
+        }
+
+        @Override
+        public TableCellRenderer getCellRenderer()
+        {
+            return _cellRenderer;
+        }
+
+        @Override
+        public Object getValue(com.zeroc.IceMX.Metrics m, long timestamp)
+        {
+            try
+            {
+                if(!(Boolean)m.getClass().getMethod("has" + _methodSuffix).invoke(m))
+                {
+                    return null;
+                }
+                return m.getClass().getMethod("get" + _methodSuffix).invoke(m);
+            }
+            catch(NoSuchMethodException ex)
+            {
+                return null;
+            }
+            catch(IllegalAccessException ex)
+            {
+                ex.printStackTrace();
+                return null;
+            }
+            catch(java.lang.reflect.InvocationTargetException ex)
+            {
+                ex.printStackTrace();
+                return null;
+            }
+        }
+
+        private final String _methodSuffix;
+        private TableCellRenderer _cellRenderer;
+    }
+
     static public class AverageLifetimeMetricsField extends AbstractField
     {
         public AverageLifetimeMetricsField(MetricsView node, String prefix, String metricsName, String fieldName,
@@ -1364,6 +1426,136 @@ public class MetricsViewEditor extends Editor implements MetricsFieldContext
         private final Map<String, com.zeroc.IceMX.Metrics> _deltas = new HashMap<>();
     }
 
+    //
+    // A latency percentile computed from the histogram buckets recorded
+    // since the previous refresh. The histogram is an optional member of
+    // the metrics class, only set if histograms are enabled for the
+    // metrics map.
+    //
+    static public class PercentileMetricsField extends AbstractField
+    {
+        public PercentileMetricsField(MetricsView node, String prefix, String metricsName, String fieldName,
+                                      Field field)
+        {
+            super(node, prefix, metricsName, fieldName, field);
+            setFormat("#0.000"); // Set the default format
+        }
+
+        public void setFormat(String format)
+        {
+            _cellRenderer = new FormatedNumberRenderer(format);
+        }
+
+        @Override
+        public Class getColumnClass()
+        {
+            return Float.class;
+        }
+
+        @Override
+        public TableCellRenderer getCellRenderer()
+        {
+            return _cellRenderer;
+        }
+
+        public void setHistogramField(String histogramField)
+        {
+            _histogramField = Character.toUpperCase(histogramField.charAt(0)) + histogramField.substring(1);
+        }
+
+        public void setPercentile(String percentile) throws java.lang.NumberFormatException
+        {
+            _percentile = Double.parseDouble(percentile);
+        }
+
+        public void setScaleFactor(String scaleFactor) throws java.lang.NumberFormatException
+        {
+            _scaleFactor = Double.parseDouble(scaleFactor);
+        }
+
+        @Override
+        public Object getValue(com.zeroc.IceMX.Metrics m, long timestamp)
+        {
+            long[] h2;
+            try
+            {
+                if(!(Boolean)m.getClass().getMethod("has" + _histogramField).invoke(m))
+                {
+                    return null;
+                }
+                h2 = (long[])m.getClass().getMethod("get" + _histogramField).invoke(m);
+            }
+            catch(NoSuchMethodException ex)
+            {
+                return null;
+            }
+            catch(IllegalAccessException ex)
+            {
+                ex.printStackTrace();
+                return null;
+            }
+            catch(java.lang.reflect.InvocationTargetException ex)
+            {
+                ex.printStackTrace();
+                return null;
+            }
+
+            long[] h1 = _deltas.get(m.id);
+            _deltas.put(m.id, h2);
+            if(h1 == null)
+            {
+                return null;
+            }
+
+            //
+            // If the metrics object was re-created since the previous
+            // refresh, the whole histogram is used.
+            //
+            boolean reset = h1.length > h2.length;
+            for(int i = 0; i < h1.length && !reset; ++i)
+            {
+                reset = h2[i] < h1[i];
+            }
+            if(reset)
+            {
+                h1 = new long[0];
+            }
+
+            long count = 0;
+            for(int i = 0; i < h2.length; ++i)
+            {
+                count += h2[i] - (i < h1.length ? h1[i] : 0);
+            }
+            if(count == 0)
+            {
+                return 0.0f;
+            }
+
+            //
+            // Return the upper bound of the bucket of the percentile, see
+            // the description of the buckets with IceMX::Metrics.
+            //
+            long rank = Math.max((long)Math.ceil(count * _percentile / 100.0d), 1);
+            long n = 0;
+            for(int i = 0; i < h2.length; ++i)
+            {
+                n += h2[i] - (i < h1.length ? h1[i] : 0);
+                if(n >= rank)
+                {
+                    long upper = i < 16 ? i + 1 : (i - 8 * (i / 8 - 1) + 1L) << (i / 8 - 1);
+                    return (float)(upper / _scaleFactor);
+                }
+            }
+            return null;
+        }
+
+        private String _histogramField = "LifetimeHistogram";
+        private double _percentile = 99.0d;
+        private double _scaleFactor = 1.0d;
+        private TableCellRenderer _cellRenderer;
+        private final Map<String, long[]> _deltas = new HashMap<>();
+    }
+
     static public class DeltaMeasurement
     {
         public double value;
@@ -0,0 +1,82 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Lookup of the collocated object adapter of a proxy, as done on the first
+// invocation of each proxy, with 40 object adapters in the communicator.
+// The proxy matches the last created adapter.
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class AdapterLookupBenchmark
+{
+    @Param({"direct", "indirect", "wellKnown"})
+    public String proxy;
+
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        for(int i = 0; i < 40; ++i)
+        {
+            initData.properties.setProperty("Adapter" + i + ".Endpoints", "tcp -h 127.0.0.1:udp -h 127.0.0.1");
+            initData.properties.setProperty("Adapter" + i + ".AdapterId", "Adapter" + i);
+        }
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+        _factory = com.zeroc.IceInternal.Util.getInstance(_communicator).objectAdapterFactory();
+
+        com.zeroc.Ice.ObjectPrx obj = null;
+        for(int i = 0; i < 40; ++i)
+        {
+            com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("Adapter" + i);
+            obj = adapter.add(new EchoI(), com.zeroc.Ice.Util.stringToIdentity("echo" + i));
+        }
+
+        if(proxy.equals("direct"))
+        {
+            _proxy = obj;
+        }
+        else if(proxy.equals("indirect"))
+        {
+            _proxy = obj.ice_adapterId("Adapter39");
+        }
+        else
+        {
+            _proxy = _communicator.stringToProxy("echo39");
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.ObjectAdapter findObjectAdapter()
+    {
+        return _factory.findObjectAdapter(_proxy);
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.IceInternal.ObjectAdapterFactory _factory;
+    private com.zeroc.Ice.ObjectPrx _proxy;
+}
@@ -0,0 +1,146 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import benchmarks.Bench.Node;
+
+//
+// Marshaling and unmarshaling of class graphs with the compact and sliced formats.
+// The classes are resolved with the default initialization data or with a class
+// loader set in the initialization data, which enables the factories cached by
+// the communicator.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassGraphBenchmark
+{
+    @Param({"10", "1000"})
+    public int nodes;
+
+    @Param({"compact", "sliced"})
+    public String format;
+
+    @Param({"default", "classLoader"})
+    public String resolver;
+
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("Ice.Package.Bench", "benchmarks");
+        if(resolver.equals("classLoader"))
+        {
+            initData.classLoader = ClassGraphBenchmark.class.getClassLoader();
+        }
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+
+        _format = format.equals("sliced") ? com.zeroc.Ice.FormatType.SlicedFormat :
+            com.zeroc.Ice.FormatType.CompactFormat;
+
+        //
+        // Create a balanced binary tree whose leaves share the same node, so
+        // the graph includes shared references.
+        //
+        Node leaf = new Node(-1, "leaf", null, null);
+        _root = createTree(0, nodes, leaf);
+
+        _data = write().finished();
+
+        _os = new com.zeroc.Ice.OutputStream(_communicator);
+        _is = new com.zeroc.Ice.InputStream(_communicator);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.OutputStream write()
+    {
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        os.startEncapsulation(com.zeroc.Ice.Util.currentEncoding(), _format);
+        os.writeValue(_root);
+        os.writePendingValues();
+        os.endEncapsulation();
+        return os;
+    }
+
+    @Benchmark
+    public Node read()
+    {
+        final Node[] r = new Node[1];
+        com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(_communicator, _data);
+        is.startEncapsulation();
+        is.readValue(v -> r[0] = v, Node.class);
+        is.readPendingValues();
+        is.endEncapsulation();
+        return r[0];
+    }
+
+    //
+    // Write and read with the same streams, as the connections and the
+    // thread pools do, which reuse the index tables of the streams.
+    //
+    @Benchmark
+    public com.zeroc.Ice.OutputStream writeReused()
+    {
+        _os.reset();
+        _os.startEncapsulation(com.zeroc.Ice.Util.currentEncoding(), _format);
+        _os.writeValue(_root);
+        _os.writePendingValues();
+        _os.endEncapsulation();
+        return _os;
+    }
+
+    @Benchmark
+    public Node readReused()
+    {
+        final Node[] r = new Node[1];
+        _is.reset();
+        _is.getBuffer().resize(_data.length, true);
+        _is.getBuffer().b.position(0);
+        _is.getBuffer().b.put(_data);
+        _is.getBuffer().b.position(0);
+        _is.startEncapsulation();
+        _is.readValue(v -> r[0] = v, Node.class);
+        _is.readPendingValues();
+        _is.endEncapsulation();
+        return r[0];
+    }
+
+    private static Node createTree(int first, int count, Node leaf)
+    {
+        if(count == 0)
+        {
+            return leaf;
+        }
+        int middle = count / 2;
+        return new Node(first + middle, "node" + (first + middle), createTree(first, middle, leaf),
+                        createTree(first + middle + 1, count - middle - 1, leaf));
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.Ice.FormatType _format;
+    private Node _root;
+    private byte[] _data;
+    private com.zeroc.Ice.OutputStream _os;
+    private com.zeroc.Ice.InputStream _is;
+}
@@ -0,0 +1,75 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import benchmarks.Bench.*;
+
+//
+// Twoway invocations on a collocated servant, with or without direct
+// parameter passing (Ice.CollocationDirect). The parameters of echoBytes are
+// always marshaled, echoImmutableBytes has the java:immutable metadata.
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollocationBenchmark
+{
+    @Param({"false", "true"})
+    public boolean direct;
+
+    @Param({"16", "1024", "65536"})
+    public int size;
+
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("Ice.MessageSizeMax", "0");
+        initData.properties.setProperty("Ice.CollocationDirect", direct ? "1" : "0");
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+
+        com.zeroc.Ice.ObjectAdapter adapter = _communicator.createObjectAdapter("");
+        _twoway = EchoPrx.uncheckedCast(adapter.add(new EchoI(), com.zeroc.Ice.Util.stringToIdentity("echo")));
+        adapter.activate();
+
+        _seq = new byte[size];
+        new java.util.Random(1).nextBytes(_seq);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public byte[] twowayEcho()
+    {
+        return _twoway.echoBytes(_seq);
+    }
+
+    @Benchmark
+    public byte[] twowayEchoImmutable()
+    {
+        return _twoway.echoImmutableBytes(_seq);
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private EchoPrx _twoway;
+    private byte[] _seq;
+}
@@ -0,0 +1,96 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Compression and decompression of protocol messages with the bzip2 and LZ4
+// codecs. The bzip2 benchmarks require the bzip2 jar in the class path.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompressionBenchmark
+{
+    @Param({"bzip2", "lz4"})
+    public String codec;
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    @Param({"1"})
+    public int level;
+
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+        _codec = com.zeroc.IceInternal.Util.getInstance(_communicator).compressionCodecManager().get(codec);
+        if(_codec == null || !_codec.supported())
+        {
+            throw new IllegalStateException("compression codec `" + codec + "' is not available");
+        }
+
+        //
+        // A request message with a body of Slice encoded text, which compresses
+        // reasonably well.
+        //
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        os.writeBlob(com.zeroc.IceInternal.Protocol.requestHdr);
+        java.util.Random random = new java.util.Random(1);
+        while(os.size() < size)
+        {
+            os.writeString(_words[random.nextInt(_words.length)]);
+            os.writeInt(random.nextInt(1000));
+        }
+        _message = os.getBuffer();
+
+        _compressed = _codec.compress(_message, com.zeroc.IceInternal.Protocol.headerSize, level);
+        if(_compressed == null)
+        {
+            throw new IllegalStateException("message can't be compressed with `" + codec + "'");
+        }
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.IceInternal.Buffer compress()
+    {
+        return _codec.compress(_message, com.zeroc.IceInternal.Protocol.headerSize, level);
+    }
+
+    @Benchmark
+    public com.zeroc.IceInternal.Buffer uncompress()
+    {
+        return _codec.uncompress(_compressed, com.zeroc.IceInternal.Protocol.headerSize, Integer.MAX_VALUE);
+    }
+
+    private static final String[] _words =
+    {
+        "adapter", "endpoint", "connection", "proxy", "servant", "locator", "router", "identity", "facet",
+        "operation", "context", "request", "reply", "batch", "timeout", "compression", "encoding", "protocol"
+    };
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.IceInternal.CompressionCodec _codec;
+    private com.zeroc.IceInternal.Buffer _message;
+    private com.zeroc.IceInternal.Buffer _compressed;
+}
@@ -0,0 +1,32 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import benchmarks.Bench.*;
+
+public final class EchoI implements Echo
+{
+    @Override
+    public void ping(com.zeroc.Ice.Current current)
+    {
+    }
+
+    @Override
+    public byte[] echoBytes(byte[] seq, com.zeroc.Ice.Current current)
+    {
+        return seq;
+    }
+
+    @Override
+    public byte[] echoImmutableBytes(byte[] seq, com.zeroc.Ice.Current current)
+    {
+        return seq;
+    }
+}
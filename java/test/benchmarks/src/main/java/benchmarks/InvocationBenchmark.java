@@ -0,0 +1,104 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import benchmarks.Bench.*;
+
+//
+// Twoway and oneway invocations on a collocated servant, and on a servant in
+// the same process over the loopback interface with the tcp, ssl and ws
+// transports. The ssl transport uses the certificates from the directory set
+// with the benchmarks.certs system property.
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InvocationBenchmark
+{
+    @Param({"collocated", "tcp", "ssl", "ws"})
+    public String transport;
+
+    @Param({"1024"})
+    public int size;
+
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("Ice.MessageSizeMax", "0");
+        if(transport.equals("ssl"))
+        {
+            initData.properties.setProperty("Ice.Plugin.IceSSL", "com.zeroc.IceSSL.PluginFactory");
+            initData.properties.setProperty("IceSSL.DefaultDir", System.getProperty("benchmarks.certs", "../certs"));
+            initData.properties.setProperty("IceSSL.Keystore", "server.jks");
+            initData.properties.setProperty("IceSSL.Password", "password");
+        }
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+
+        String protocol = transport.equals("collocated") ? "tcp" : transport;
+        com.zeroc.Ice.ObjectAdapter adapter =
+            _communicator.createObjectAdapterWithEndpoints("Benchmark", protocol + " -h 127.0.0.1");
+        com.zeroc.Ice.ObjectPrx obj = adapter.add(new EchoI(), com.zeroc.Ice.Util.stringToIdentity("echo"));
+        adapter.activate();
+
+        _twoway = EchoPrx.uncheckedCast(obj.ice_collocationOptimized(transport.equals("collocated")));
+        _oneway = _twoway.ice_oneway();
+        _twoway.ice_ping(); // Establish the connection.
+
+        _seq = new byte[size];
+        new java.util.Random(1).nextBytes(_seq);
+    }
+
+    @TearDown(Level.Iteration)
+    public void flush()
+    {
+        //
+        // Wait for the queued oneway requests to be dispatched.
+        //
+        _twoway.ice_ping();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public void twowayPing()
+    {
+        _twoway.ping();
+    }
+
+    @Benchmark
+    public void onewayPing()
+    {
+        _oneway.ping();
+    }
+
+    @Benchmark
+    public byte[] twowayEcho()
+    {
+        return _twoway.echoBytes(_seq);
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private EchoPrx _twoway;
+    private EchoPrx _oneway;
+    private byte[] _seq;
+}
@@ -0,0 +1,81 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import benchmarks.Bench.*;
+
+//
+// Twoway invocations from 32 threads on the same object, with or without
+// an enabled IceMX metrics view. All the threads update the same metrics
+// entries of the Invocation, Dispatch and Remote/Collocated maps.
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(32)
+@Fork(1)
+public class MetricsBenchmark
+{
+    @Param({"collocated", "tcp"})
+    public String transport;
+
+    @Param({"false", "true"})
+    public boolean metrics;
+
+    @Setup
+    public void setup()
+    {
+        com.zeroc.Ice.InitializationData initData = new com.zeroc.Ice.InitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("Ice.ThreadPool.Server.Size", "4");
+        initData.properties.setProperty("Ice.ThreadPool.Server.SizeMax", "32");
+        if(metrics)
+        {
+            initData.properties.setProperty("Ice.Admin.Enabled", "1");
+            initData.properties.setProperty("Ice.Admin.Endpoints", "tcp -h 127.0.0.1");
+            initData.properties.setProperty("Ice.Admin.InstanceName", "Benchmark");
+            initData.properties.setProperty("IceMX.Metrics.Debug.GroupBy", "id");
+        }
+        _communicator = com.zeroc.Ice.Util.initialize(initData);
+        if(metrics)
+        {
+            _communicator.getAdmin(); // Creates the admin object and enables the metrics views.
+        }
+
+        com.zeroc.Ice.ObjectAdapter adapter =
+            _communicator.createObjectAdapterWithEndpoints("Benchmark", "tcp -h 127.0.0.1");
+        com.zeroc.Ice.ObjectPrx obj = adapter.add(new EchoI(), com.zeroc.Ice.Util.stringToIdentity("echo"));
+        adapter.activate();
+
+        _twoway = EchoPrx.uncheckedCast(obj.ice_collocationOptimized(transport.equals("collocated")));
+        _twoway.ice_ping(); // Establish the connection.
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public void twowayPing()
+    {
+        _twoway.ping();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private EchoPrx _twoway;
+}
@@ -0,0 +1,98 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Parsing of stringified proxies by the ReferenceFactory, and the Reference
+// operations used by the proxy and connection caches.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyBenchmark
+{
+    @Param({"direct", "multi", "indirect"})
+    public String proxy;
+
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+        _referenceFactory = com.zeroc.IceInternal.Util.getInstance(_communicator).referenceFactory();
+
+        if(proxy.equals("direct"))
+        {
+            _str = "category/name -t -e 1.1:tcp -h 127.0.0.1 -p 10000 -t 60000";
+        }
+        else if(proxy.equals("multi"))
+        {
+            _str = "name -f facet:tcp -h 127.0.0.1 -p 10000 -t 60000:ssl -h 127.0.0.1 -p 10001 -t 60000:" +
+                "ws -h 127.0.0.1 -p 10002 -t 60000 -r /path:udp -h 239.255.0.1 -p 10003";
+        }
+        else
+        {
+            _str = "name @ adapter";
+        }
+
+        _reference = _referenceFactory.create(_str, null);
+        _other = _referenceFactory.create(_str, null);
+        _proxy = _communicator.stringToProxy(_str);
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.IceInternal.Reference createReference()
+    {
+        return _referenceFactory.create(_str, null);
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.ObjectPrx stringToProxy()
+    {
+        return _communicator.stringToProxy(_str);
+    }
+
+    @Benchmark
+    public String proxyToString()
+    {
+        return _communicator.proxyToString(_proxy);
+    }
+
+    @Benchmark
+    public boolean referenceEquals()
+    {
+        return _reference.equals(_other);
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.ObjectPrx changeProxy()
+    {
+        return _proxy.ice_timeout(30000).ice_twoway();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.IceInternal.ReferenceFactory _referenceFactory;
+    private String _str;
+    private com.zeroc.IceInternal.Reference _reference;
+    private com.zeroc.IceInternal.Reference _other;
+    private com.zeroc.Ice.ObjectPrx _proxy;
+}
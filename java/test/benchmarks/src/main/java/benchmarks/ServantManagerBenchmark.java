@@ -0,0 +1,93 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// The servant lookups performed by the object adapter for each dispatch,
+// run from all the available processors to measure how lookups scale with
+// the number of server thread pool threads. Use -t to change the number
+// of threads.
+//
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class ServantManagerBenchmark
+{
+    @State(Scope.Thread)
+    public static class Caller
+    {
+        int next()
+        {
+            _index = (_index + 7919) & 0xffff;
+            return _index;
+        }
+
+        private int _index = (int)Thread.currentThread().getId();
+    }
+
+    @Param({"10", "10000"})
+    public int servants;
+
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+        _servantManager =
+            new com.zeroc.IceInternal.ServantManager(com.zeroc.IceInternal.Util.getInstance(_communicator), "Bench");
+
+        com.zeroc.Ice.Object servant = new EchoI();
+        _identities = new com.zeroc.Ice.Identity[servants];
+        for(int i = 0; i < servants; ++i)
+        {
+            _identities[i] = new com.zeroc.Ice.Identity("servant" + i, "");
+            _servantManager.addServant(servant, _identities[i], "");
+        }
+        _servantManager.addDefaultServant(servant, "default");
+        _default = new com.zeroc.Ice.Identity("unknown", "default");
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _servantManager.destroy();
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.Object findServant(Caller caller)
+    {
+        return _servantManager.findServant(_identities[caller.next() % servants], "");
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.Object findDefaultServant()
+    {
+        return _servantManager.findServant(_default, "");
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.ServantLocator findServantLocator()
+    {
+        return _servantManager.findServantLocator("");
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private com.zeroc.IceInternal.ServantManager _servantManager;
+    private com.zeroc.Ice.Identity[] _identities;
+    private com.zeroc.Ice.Identity _default;
+}
@@ -0,0 +1,92 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Communicator initialization with large property sets given on the
+// command line, as for short-lived tools and IceBox services. Each
+// property set mixes Ice properties, properties with wildcards and
+// properties with a prefix which isn't validated.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartupBenchmark
+{
+    @Param({"10", "100", "1000"})
+    public int properties;
+
+    @Setup
+    public void setup()
+    {
+        final String[] ice =
+        {
+            "Ice.Trace.Network=0",
+            "Ice.Trace.Protocol=0",
+            "Ice.Default.Timeout=60000",
+            "Ice.MessageSizeMax=2048",
+            "Ice.ThreadPool.Client.Size=2",
+            "Ice.ThreadPool.Server.SizeMax=10",
+            "Ice.Warn.Connections=1",
+            "Ice.RetryIntervals=0 100 500",
+        };
+
+        _args = new String[properties];
+        for(int i = 0; i < properties; ++i)
+        {
+            switch(i % 4)
+            {
+                case 0:
+                {
+                    _args[i] = "--" + ice[(i / 4) % ice.length];
+                    break;
+                }
+                case 1:
+                {
+                    _args[i] = "--Ice.Default.Locator.Context.key" + i + "=value";
+                    break;
+                }
+                case 2:
+                {
+                    _args[i] = "--IceBox.Service.Service" + i + "=Service" + i + ":create";
+                    break;
+                }
+                default:
+                {
+                    _args[i] = "--Service" + i + ".Endpoints=tcp -h localhost";
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.Properties createProperties()
+    {
+        return com.zeroc.Ice.Util.createProperties(_args);
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.Communicator initialize()
+    {
+        com.zeroc.Ice.Communicator communicator = com.zeroc.Ice.Util.initialize(_args);
+        communicator.destroy();
+        return communicator;
+    }
+
+    private String[] _args;
+}
@@ -0,0 +1,135 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Marshaling and unmarshaling of primitive types and sequences.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamBenchmark
+{
+    @Param({"1000"})
+    public int size;
+
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+
+        java.util.Random random = new java.util.Random(1);
+        _bytes = new byte[size];
+        random.nextBytes(_bytes);
+        _ints = new int[size];
+        _longs = new long[size];
+        _doubles = new double[size];
+        for(int i = 0; i < size; ++i)
+        {
+            _ints[i] = random.nextInt();
+            _longs[i] = random.nextLong();
+            _doubles[i] = random.nextDouble();
+        }
+
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        writePrimitives(os);
+        _primitives = os.finished();
+
+        os = new com.zeroc.Ice.OutputStream(_communicator);
+        writeSequences(os);
+        _sequences = os.finished();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.OutputStream writePrimitives()
+    {
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        writePrimitives(os);
+        return os;
+    }
+
+    @Benchmark
+    public long readPrimitives()
+    {
+        com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(_communicator, _primitives);
+        long r = 0;
+        for(int i = 0; i < size; ++i)
+        {
+            r += is.readBool() ? 1 : 0;
+            r += is.readByte();
+            r += is.readShort();
+            r += is.readInt();
+            r += is.readLong();
+            r += (long)is.readFloat();
+            r += (long)is.readDouble();
+            r += is.readSize();
+        }
+        return r;
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.OutputStream writeSequences()
+    {
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        writeSequences(os);
+        return os;
+    }
+
+    @Benchmark
+    public Object[] readSequences()
+    {
+        com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(_communicator, _sequences);
+        return new Object[] { is.readByteSeq(), is.readIntSeq(), is.readLongSeq(), is.readDoubleSeq() };
+    }
+
+    private void writePrimitives(com.zeroc.Ice.OutputStream os)
+    {
+        for(int i = 0; i < size; ++i)
+        {
+            os.writeBool((_ints[i] & 1) == 0);
+            os.writeByte(_bytes[i]);
+            os.writeShort((short)_ints[i]);
+            os.writeInt(_ints[i]);
+            os.writeLong(_longs[i]);
+            os.writeFloat((float)_doubles[i]);
+            os.writeDouble(_doubles[i]);
+            os.writeSize(_ints[i] & 0x3ff);
+        }
+    }
+
+    private void writeSequences(com.zeroc.Ice.OutputStream os)
+    {
+        os.writeByteSeq(_bytes);
+        os.writeIntSeq(_ints);
+        os.writeLongSeq(_longs);
+        os.writeDoubleSeq(_doubles);
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private byte[] _bytes;
+    private int[] _ints;
+    private long[] _longs;
+    private double[] _doubles;
+    private byte[] _primitives;
+    private byte[] _sequences;
+}
@@ -0,0 +1,109 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+//
+// Marshaling and unmarshaling of strings with 7-bit, Latin-1 and CJK characters.
+//
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringBenchmark
+{
+    @Param({"ascii", "latin", "cjk"})
+    public String charset;
+
+    @Param({"40"})
+    public int length;
+
+    @Param({"100"})
+    public int count;
+
+    @Setup
+    public void setup()
+    {
+        _communicator = com.zeroc.Ice.Util.initialize();
+
+        java.util.Random random = new java.util.Random(1);
+        _strings = new String[count];
+        for(int i = 0; i < count; ++i)
+        {
+            StringBuilder sb = new StringBuilder();
+            for(int j = 0; j < length; ++j)
+            {
+                if(charset.equals("cjk"))
+                {
+                    sb.append((char)(0x4e00 + random.nextInt(1000)));
+                }
+                else if(charset.equals("latin") && j % 4 == 0)
+                {
+                    sb.append((char)(0xe0 + random.nextInt(20)));
+                }
+                else
+                {
+                    sb.append((char)('a' + random.nextInt(26)));
+                }
+            }
+            _strings[i] = sb.toString();
+        }
+
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        os.writeStringSeq(_strings);
+        _data = os.finished();
+    }
+
+    @TearDown
+    public void tearDown()
+    {
+        _communicator.destroy();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.OutputStream writeString()
+    {
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        os.writeString(_strings[0]);
+        return os;
+    }
+
+    @Benchmark
+    public String readString()
+    {
+        com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(_communicator, _data);
+        is.readSize();
+        return is.readString();
+    }
+
+    @Benchmark
+    public com.zeroc.Ice.OutputStream writeStringSeq()
+    {
+        com.zeroc.Ice.OutputStream os = new com.zeroc.Ice.OutputStream(_communicator);
+        os.writeStringSeq(_strings);
+        return os;
+    }
+
+    @Benchmark
+    public String[] readStringSeq()
+    {
+        com.zeroc.Ice.InputStream is = new com.zeroc.Ice.InputStream(_communicator, _data);
+        return is.readStringSeq();
+    }
+
+    private com.zeroc.Ice.Communicator _communicator;
+    private String[] _strings;
+    private byte[] _data;
+}
@@ -447,6 +447,61 @@ public class AllTests
         }
         out.println("ok");
 
+        out.print("testing remote logger batching... ");
+        out.flush();
+        {
+            java.util.Map<String, String> props = new java.util.HashMap<>();
+            props.put("Ice.Admin.Endpoints", "tcp -h 127.0.0.1");
+            props.put("Ice.Admin.InstanceName", "Test");
+            props.put("NullLogger", "1");
+            RemoteCommunicatorPrx rcom = factory.createCommunicator(props);
+
+            com.zeroc.Ice.LoggerAdminPrx logger =
+                com.zeroc.Ice.LoggerAdminPrx.checkedCast(rcom.getAdmin(), "Logger");
+            test(logger != null);
+
+            com.zeroc.Ice.ObjectAdapter adapter =
+                app.communicator().createObjectAdapterWithEndpoints("RemoteLoggerBatchAdapter", "tcp -h localhost");
+            RemoteLoggerI remoteLogger = new RemoteLoggerI();
+            com.zeroc.Ice.RemoteLoggerPrx myProxy =
+                com.zeroc.Ice.RemoteLoggerPrx.uncheckedCast(adapter.addWithUUID(remoteLogger));
+            adapter.activate();
+
+            LogMessageType[] messageTypes = { LogMessageType.TraceMessage };
+            String[] categories = { "batchCat" };
+            com.zeroc.Ice.LoggerAdmin.GetLogResult r = logger.getLog(messageTypes, categories, -1);
+            test(r.returnValue.length == 0);
+            remoteLogger.checkNextInit(r.prefix, r.returnValue);
+            try
+            {
+                logger.attachRemoteLogger(myProxy, messageTypes, categories, -1);
+            }
+            catch(com.zeroc.Ice.RemoteLoggerAlreadyAttachedException ex)
+            {
+                test(false);
+            }
+            remoteLogger.wait(1);
+
+            //
+            // The messages logged while the send log thread is busy are sent
+            // in a batch, followed by a twoway request for the last message.
+            // They're received in the order they were logged.
+            //
+            final int count = 1000;
+            for(int i = 0; i < count; ++i)
+            {
+                remoteLogger.checkNextLog(LogMessageType.TraceMessage, "batch" + i, "batchCat");
+            }
+            rcom.traces("batchCat", "batch", count);
+            remoteLogger.wait(count);
+            test(remoteLogger.getBatchedCalls() > 0);
+
+            test(logger.detachRemoteLogger(myProxy));
+            rcom.destroy();
+            adapter.destroy();
+        }
+        out.println("ok");
+
         out.print("testing custom facet... ");
         out.flush();
         {
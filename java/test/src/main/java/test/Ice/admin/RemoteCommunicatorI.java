@@ -42,6 +42,15 @@ public class RemoteCommunicatorI implements RemoteCommunicator, java.util.functi
         _communicator.getLogger().trace(category, message);
     }
 
+    @Override
+    public void traces(String category, String message, int count, com.zeroc.Ice.Current current)
+    {
+        for(int i = 0; i < count; ++i)
+        {
+            _communicator.getLogger().trace(category, message + i);
+        }
+    }
+
     @Override
     public void warning(String message, com.zeroc.Ice.Current current)
     {
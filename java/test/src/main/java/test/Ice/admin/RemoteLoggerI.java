@@ -27,6 +27,10 @@ class RemoteLoggerI implements com.zeroc.Ice.RemoteLogger
         test(front.type == logMessage.type && front.message.equals(logMessage.message) &&
              front.traceCategory.equals(logMessage.traceCategory));
 
+        if(current.requestId == 0)
+        {
+            _batchedCalls++; // Batch oneway request
+        }
         _receivedCalls++;
         notifyAll();
     }
@@ -60,6 +64,11 @@ class RemoteLoggerI implements com.zeroc.Ice.RemoteLogger
         }
     }
 
+    synchronized int getBatchedCalls()
+    {
+        return _batchedCalls;
+    }
+
     private static void test(boolean b)
     {
         if(!b)
@@ -69,6 +78,7 @@ class RemoteLoggerI implements com.zeroc.Ice.RemoteLogger
     }
 
     private int _receivedCalls;
+    private int _batchedCalls;
     private String _expectedPrefix;
     private com.zeroc.Ice.LogMessage[] _expectedInitMessages;
     private java.util.Deque<com.zeroc.Ice.LogMessage> _expectedLogMessages =
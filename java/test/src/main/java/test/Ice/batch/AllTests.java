@@ -0,0 +1,142 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.batch;
+
+import java.io.PrintWriter;
+
+import test.Ice.batch.Test.TestIntfPrx;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    private static final int ThreadCount = 8;
+    private static final int RequestCount = 2000;
+
+    private interface BatchThread
+    {
+        void run(int thread);
+    }
+
+    private static void runThreads(BatchThread batchThread)
+    {
+        Thread[] threads = new Thread[ThreadCount];
+        for(int i = 0; i < threads.length; ++i)
+        {
+            final int thread = i;
+            threads[i] = new Thread(() -> batchThread.run(thread));
+            threads[i].start();
+        }
+        for(Thread t : threads)
+        {
+            while(true)
+            {
+                try
+                {
+                    t.join();
+                    break;
+                }
+                catch(InterruptedException ex)
+                {
+                }
+            }
+        }
+    }
+
+    private static void checkOrder(TestIntfPrx p, String prefix)
+    {
+        for(int i = 0; i < ThreadCount; ++i)
+        {
+            test(p.getLast(prefix + i) == RequestCount);
+        }
+        test(p.isOrdered());
+    }
+
+    public static void allTests(test.Util.Application app)
+    {
+        PrintWriter out = app.getWriter();
+        com.zeroc.Ice.Communicator communicator = app.communicator();
+
+        out.print("testing checked cast... ");
+        out.flush();
+        TestIntfPrx p = TestIntfPrx.checkedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(0)));
+        test(p != null);
+        out.println("ok");
+
+        out.print("testing batch request ordering with proxy flushes... ");
+        out.flush();
+        {
+            //
+            // The threads share the batch request queue of the proxy. The
+            // batch is auto flushed once it reaches 1KB and half the threads
+            // also flush it explicitly, which must not overtake a pending
+            // auto flush.
+            //
+            final TestIntfPrx batch = p.ice_batchOneway();
+            runThreads(thread ->
+                {
+                    String id = "P" + thread;
+                    for(int i = 1; i <= RequestCount; ++i)
+                    {
+                        batch.opBatch(id, i);
+                        if(thread % 2 == 0 && i % 50 == 0)
+                        {
+                            batch.ice_flushBatchRequests();
+                        }
+                    }
+                    batch.ice_flushBatchRequests();
+                });
+            checkOrder(p, "P");
+        }
+        out.println("ok");
+
+        out.print("testing batch request ordering with connection and communicator flushes... ");
+        out.flush();
+        {
+            //
+            // The threads share the batch request queue of the connection,
+            // which is also flushed with the connection and the communicator.
+            //
+            final com.zeroc.Ice.Connection connection = p.ice_getConnection();
+            final TestIntfPrx batch =
+                TestIntfPrx.uncheckedCast(connection.createProxy(p.ice_getIdentity())).ice_batchOneway();
+            runThreads(thread ->
+                {
+                    String id = "C" + thread;
+                    for(int i = 1; i <= RequestCount; ++i)
+                    {
+                        batch.opBatch(id, i);
+                        if(i % 50 == 0)
+                        {
+                            if(thread % 3 == 0)
+                            {
+                                connection.flushBatchRequests(com.zeroc.Ice.CompressBatch.BasedOnProxy);
+                            }
+                            else if(thread % 3 == 1)
+                            {
+                                communicator.flushBatchRequests(com.zeroc.Ice.CompressBatch.BasedOnProxy);
+                            }
+                        }
+                    }
+                    connection.flushBatchRequests(com.zeroc.Ice.CompressBatch.BasedOnProxy);
+                });
+            checkOrder(p, "C");
+        }
+        out.println("ok");
+
+        p.shutdown();
+    }
+}
@@ -0,0 +1,41 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.batch;
+
+public class Client extends test.Util.Application
+{
+    @Override
+    public int run(String[] args)
+    {
+        AllTests.allTests(this);
+        return 0;
+    }
+
+    @Override
+    protected com.zeroc.Ice.InitializationData getInitData(String[] args, java.util.List<String> rArgs)
+    {
+        com.zeroc.Ice.InitializationData initData = super.getInitData(args, rArgs);
+        initData.properties.setProperty("Ice.Package.Test", "test.Ice.batch");
+
+        //
+        // Auto flush small batches, 1KB.
+        //
+        initData.properties.setProperty("Ice.BatchAutoFlushSize", "1");
+        return initData;
+    }
+
+    public static void main(String[] args)
+    {
+        Client app = new Client();
+        int result = app.main("Client", args);
+        System.gc();
+        System.exit(result);
+    }
+}
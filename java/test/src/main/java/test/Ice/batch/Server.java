@@ -0,0 +1,40 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.batch;
+
+public class Server extends test.Util.Application
+{
+    @Override
+    public int run(String[] args)
+    {
+        com.zeroc.Ice.ObjectAdapter adapter = communicator().createObjectAdapter("TestAdapter");
+        adapter.add(new TestI(), com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.activate();
+        return WAIT;
+    }
+
+    @Override
+    protected com.zeroc.Ice.InitializationData getInitData(String[] args, java.util.List<String> rArgs)
+    {
+        com.zeroc.Ice.InitializationData initData = super.getInitData(args, rArgs);
+        initData.properties.setProperty("Ice.Package.Test", "test.Ice.batch");
+        initData.properties.setProperty("TestAdapter.Endpoints", getTestEndpoint(initData.properties, 0));
+        initData.properties.setProperty("Ice.ThreadPool.Server.Serialize", "1");
+        return initData;
+    }
+
+    public static void main(String[] args)
+    {
+        Server app = new Server();
+        int result = app.main("Server", args);
+        System.gc();
+        System.exit(result);
+    }
+}
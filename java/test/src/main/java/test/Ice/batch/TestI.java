@@ -0,0 +1,52 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.batch;
+
+import test.Ice.batch.Test.TestIntf;
+
+public class TestI implements TestIntf
+{
+    @Override
+    public synchronized void opBatch(String id, int value, com.zeroc.Ice.Current current)
+    {
+        //
+        // The requests batched by a client thread must be received in the
+        // order they were batched.
+        //
+        Integer last = _last.get(id);
+        if(value != (last == null ? 0 : last) + 1)
+        {
+            _ordered = false;
+        }
+        _last.put(id, value);
+    }
+
+    @Override
+    public synchronized int getLast(String id, com.zeroc.Ice.Current current)
+    {
+        Integer last = _last.get(id);
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public synchronized boolean isOrdered(com.zeroc.Ice.Current current)
+    {
+        return _ordered;
+    }
+
+    @Override
+    public void shutdown(com.zeroc.Ice.Current current)
+    {
+        current.adapter.getCommunicator().shutdown();
+    }
+
+    private final java.util.Map<String, Integer> _last = new java.util.HashMap<>();
+    private boolean _ordered = true;
+}
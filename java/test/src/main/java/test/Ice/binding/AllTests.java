@@ -13,6 +13,7 @@ import java.io.PrintWriter;
 
 import test.Ice.binding.Test.RemoteCommunicatorPrx;
 import test.Ice.binding.Test.RemoteObjectAdapterPrx;
+import test.Ice.binding.Test.TestIntf;
 import test.Ice.binding.Test.TestIntfPrx;
 import test.Util.Application;
 
@@ -56,6 +57,28 @@ public class AllTests
         }
     }
 
+    //
+    // Records the connections used to dispatch requests.
+    //
+    static class PoolTestI implements TestIntf
+    {
+        @Override
+        public synchronized String getAdapterName(com.zeroc.Ice.Current current)
+        {
+            _connections.add(current.con);
+            return current.adapter.getName();
+        }
+
+        synchronized java.util.Set<com.zeroc.Ice.Connection> getConnections()
+        {
+            java.util.Set<com.zeroc.Ice.Connection> connections = _connections;
+            _connections = new java.util.HashSet<>();
+            return connections;
+        }
+
+        private java.util.Set<com.zeroc.Ice.Connection> _connections = new java.util.HashSet<>();
+    }
+
     public static void allTests(Application app)
     {
         com.zeroc.Ice.Communicator communicator = app.communicator();
@@ -498,6 +521,72 @@ public class AllTests
         }
         out.println("ok");
 
+        out.print("testing latency endpoint selection... ");
+        out.flush();
+        {
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            initData.properties.setProperty("Ice.Default.EndpointSelection", "Latency");
+            initData.properties.setProperty("Ice.EndpointSelection.FailureThreshold", "1");
+            initData.properties.setProperty("Ice.EndpointSelection.EjectionPeriod", "2");
+            com.zeroc.Ice.Communicator communicator2 = app.initialize(initData);
+            try
+            {
+                java.util.List<RemoteObjectAdapterPrx> adapters = new java.util.ArrayList<>();
+                adapters.add(rcom.createObjectAdapter("Adapter37", "default"));
+                adapters.add(rcom.createObjectAdapter("Adapter38", "default"));
+                TestIntfPrx test = TestIntfPrx.uncheckedCast(
+                    communicator2.stringToProxy(createTestIntfPrx(adapters).toString()));
+                Endpoint[] endpoints = test.ice_getEndpoints();
+
+                //
+                // The first endpoint is unreachable. The endpoints without
+                // latency samples are tried first, so the connection to the
+                // first endpoint fails at the latest when establishing the
+                // second connection and this failure ejects it.
+                //
+                long start = System.nanoTime();
+                rcom.deactivateObjectAdapter(adapters.get(0));
+                for(int i = 0; i < 3; ++i)
+                {
+                    test(test.ice_connectionId("latency-" + i).getAdapterName().equals("Adapter38"));
+                }
+
+                //
+                // The ejected endpoint isn't tried anymore even if it's
+                // reachable again, until the ejection period elapses.
+                //
+                adapters.set(0, rcom.createObjectAdapter("Adapter39", endpoints[0].toString()));
+                for(int i = 3; i < 10; ++i)
+                {
+                    String name = test.ice_connectionId("latency-" + i).getAdapterName();
+                    long elapsed = java.util.concurrent.TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    test(name.equals("Adapter38") || elapsed >= 2000); // Unless the test is too slow.
+                }
+
+                //
+                // Once the ejection period elapsed, the endpoint is tried first
+                // again since it has no latency samples while the other
+                // endpoint has some.
+                //
+                try
+                {
+                    Thread.sleep(2100);
+                }
+                catch(InterruptedException ex)
+                {
+                }
+                test(test.ice_connectionId("latency-10").getAdapterName().equals("Adapter39"));
+
+                deactivate(rcom, adapters);
+            }
+            finally
+            {
+                communicator2.destroy();
+            }
+        }
+        out.println("ok");
+
         out.print("testing per request binding with single endpoint... ");
         out.flush();
         {
@@ -772,6 +861,72 @@ public class AllTests
         }
         out.println("ok");
 
+        out.print("testing connection pool... ");
+        out.flush();
+        {
+            //
+            // The server is held to keep requests outstanding, it runs in a separate
+            // communicator to not be collocated with the client.
+            //
+            com.zeroc.Ice.InitializationData serverInitData = app.createInitializationData();
+            serverInitData.properties = communicator.getProperties()._clone();
+            serverInitData.properties.setProperty("PoolAdapter.Endpoints", "default");
+            com.zeroc.Ice.Communicator serverCommunicator = app.initialize(serverInitData);
+            try
+            {
+                com.zeroc.Ice.ObjectAdapter oa = serverCommunicator.createObjectAdapter("PoolAdapter");
+                PoolTestI servant = new PoolTestI();
+                com.zeroc.Ice.ObjectPrx obj = oa.add(servant, com.zeroc.Ice.Util.stringToIdentity("pool"));
+                oa.activate();
+
+                communicator.getProperties().setProperty("Pool", obj.toString());
+                communicator.getProperties().setProperty("Pool.ConnectionPoolSize", "3");
+                TestIntfPrx test = TestIntfPrx.uncheckedCast(communicator.propertyToProxy("Pool"));
+                test(communicator.proxyToProperty(test, "Pool").get("Pool.ConnectionPoolSize").equals("3"));
+                TestIntfPrx single = TestIntfPrx.uncheckedCast(communicator.stringToProxy(obj.toString()));
+
+                //
+                // Sequential invocations don't have outstanding requests, a single
+                // connection is used.
+                //
+                for(int i = 0; i < 10; ++i)
+                {
+                    test(test.getAdapterName().equals("PoolAdapter"));
+                }
+                test(servant.getConnections().size() == 1);
+
+                //
+                // Concurrent invocations are striped over up to 3 connections, the
+                // default pool size uses a single connection.
+                //
+                for(TestIntfPrx prx : new TestIntfPrx[] { test, single })
+                {
+                    oa.hold();
+                    java.util.List<java.util.concurrent.CompletableFuture<String>> results =
+                        new java.util.ArrayList<>();
+                    for(int i = 0; i < 20; ++i)
+                    {
+                        results.add(prx.getAdapterNameAsync());
+                    }
+                    oa.activate();
+
+                    for(java.util.concurrent.CompletableFuture<String> r : results)
+                    {
+                        test(r.join().equals("PoolAdapter"));
+                    }
+                    test(servant.getConnections().size() == (prx == test ? 3 : 1));
+                }
+
+                communicator.getProperties().setProperty("Pool", "");
+                communicator.getProperties().setProperty("Pool.ConnectionPoolSize", "");
+            }
+            finally
+            {
+                serverCommunicator.destroy();
+            }
+        }
+        out.println("ok");
+
         if(communicator.getProperties().getProperty("Ice.Plugin.IceSSL").length() > 0)
         {
             out.print("testing unsecure vs. secure endpoints... ");
@@ -0,0 +1,249 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.bufferPool;
+
+import com.zeroc.Ice.BufferPool;
+import com.zeroc.Ice.Communicator;
+import com.zeroc.Ice.InitializationData;
+import com.zeroc.Ice.Util;
+import com.zeroc.IceInternal.Buffer;
+
+import java.nio.ByteBuffer;
+
+public class Client extends test.Util.Application
+{
+    public static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    private static Communicator initialize(int threadCache)
+    {
+        InitializationData initData = new InitializationData();
+        initData.properties = Util.createProperties();
+        initData.properties.setProperty("Ice.BufferPool.SizeMax", "64"); // KB
+        initData.properties.setProperty("Ice.BufferPool.BufferSizeMax", "32"); // KB
+        initData.properties.setProperty("Ice.BufferPool.ThreadCache", Integer.toString(threadCache));
+        return Util.initialize(initData);
+    }
+
+    @Override
+    public int run(String[] args)
+    {
+        {
+            System.out.print("testing buffer reuse after release... ");
+            System.out.flush();
+            Communicator communicator = initialize(0);
+            BufferPool pool = Util.getBufferPool(communicator);
+            test(pool != null);
+
+            ByteBuffer b1 = pool.allocate(5000, false);
+            test(b1.capacity() == 8192 && !b1.isDirect());
+            test(b1.position() == 0 && b1.limit() == b1.capacity());
+            test(pool.misses() == 1 && pool.hits() == 0 && pool.retained() == 0);
+            b1.putInt(10);
+            b1.limit(100);
+            pool.release(b1);
+            test(pool.retained() == 8192);
+
+            //
+            // A released buffer is reused for the allocations of the same
+            // size class and kind, it's returned cleared.
+            //
+            ByteBuffer b2 = pool.allocate(4097, false);
+            test(b2 == b1);
+            test(b2.position() == 0 && b2.limit() == b2.capacity());
+            test(pool.hits() == 1 && pool.retained() == 0);
+
+            ByteBuffer b3 = pool.allocate(5000, false);
+            test(b3 != b2 && pool.misses() == 2);
+            pool.release(b2);
+            test(pool.allocate(16384, false) != b2);
+            test(pool.allocate(5000, true) != b2);
+            test(pool.allocate(5000, false) == b2);
+            test(pool.retained() == 0);
+
+            ByteBuffer d = pool.allocate(5000, true);
+            test(d.isDirect() && d.capacity() == 8192);
+            pool.release(d);
+            test(pool.allocate(5000, false) != d);
+            test(pool.allocate(8192, true) == d);
+
+            //
+            // Buffers below the smallest size class aren't pooled.
+            //
+            ByteBuffer small = pool.allocate(100, false);
+            test(small.capacity() == 100);
+            long misses = pool.misses();
+            long hits = pool.hits();
+            pool.release(small);
+            test(pool.retained() == 0);
+            test(pool.misses() == misses && pool.hits() == hits);
+
+            //
+            // With a thread cache, the last released buffer is reused
+            // first without being counted as retained.
+            //
+            communicator.destroy();
+            communicator = initialize(1);
+            pool = Util.getBufferPool(communicator);
+            b1 = pool.allocate(5000, false);
+            b2 = pool.allocate(5000, false);
+            pool.release(b1);
+            pool.release(b2);
+            test(pool.retained() == 8192);
+            test(pool.allocate(5000, false) == b1);
+            test(pool.allocate(5000, false) == b2);
+            test(pool.retained() == 0);
+            communicator.destroy();
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing oversized buffers... ");
+            System.out.flush();
+            Communicator communicator = initialize(0);
+            BufferPool pool = Util.getBufferPool(communicator);
+
+            //
+            // Buffers larger than Ice.BufferPool.BufferSizeMax are allocated
+            // with the requested size and dropped once released.
+            //
+            ByteBuffer b1 = pool.allocate(32 * 1024 + 1, false);
+            test(b1.capacity() == 32 * 1024 + 1);
+            test(pool.misses() == 1);
+            pool.release(b1);
+            test(pool.retained() == 0);
+            ByteBuffer b2 = pool.allocate(32 * 1024 + 1, false);
+            test(b2 != b1 && pool.misses() == 2 && pool.hits() == 0);
+
+            ByteBuffer b3 = pool.allocate(64 * 1024, true);
+            test(b3.capacity() == 64 * 1024 && b3.isDirect());
+            pool.release(b3);
+            test(pool.retained() == 0);
+
+            //
+            // Buffers which don't match a size class aren't pooled.
+            //
+            pool.release(ByteBuffer.allocate(5000));
+            test(pool.retained() == 0);
+
+            //
+            // The pool doesn't retain more than Ice.BufferPool.SizeMax.
+            //
+            ByteBuffer[] buffers = new ByteBuffer[10];
+            for(int i = 0; i < buffers.length; ++i)
+            {
+                buffers[i] = pool.allocate(32 * 1024, false);
+            }
+            for(ByteBuffer b : buffers)
+            {
+                pool.release(b);
+            }
+            test(pool.retained() == 64 * 1024);
+            test(pool.allocate(32 * 1024, false) == buffers[0]);
+            test(pool.allocate(32 * 1024, false) == buffers[1]);
+            test(pool.allocate(32 * 1024, false) != buffers[2]);
+            test(pool.retained() == 0);
+            communicator.destroy();
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing double release... ");
+            System.out.flush();
+            Communicator communicator = initialize(0);
+            BufferPool pool = Util.getBufferPool(communicator);
+
+            //
+            // Clearing a buffer twice only releases its memory once.
+            //
+            Buffer buf = new Buffer(false, pool);
+            buf.resize(5000, false);
+            ByteBuffer memory = buf.b;
+            test(memory.capacity() == 8192);
+            buf.clear();
+            test(pool.retained() == 8192);
+            buf.clear();
+            test(pool.retained() == 8192);
+            test(pool.allocate(5000, false) == memory);
+            test(pool.allocate(5000, false) != memory);
+
+            //
+            // The memory shared by a copy is released once both are cleared.
+            //
+            buf = new Buffer(false, pool);
+            buf.resize(5000, false);
+            memory = buf.b;
+            Buffer copy = new Buffer(buf, false);
+            buf.clear();
+            test(pool.retained() == 0);
+            buf.clear();
+            test(pool.retained() == 0);
+            copy.clear();
+            test(pool.retained() == 8192);
+            copy.clear();
+            test(pool.retained() == 8192);
+            test(pool.allocate(5000, false) == memory);
+            test(pool.retained() == 0);
+
+            //
+            // An adopted buffer is released by the adopting buffer.
+            //
+            buf = new Buffer(false, pool);
+            buf.resize(5000, false);
+            memory = buf.b;
+            Buffer adopted = new Buffer(buf, true);
+            buf.clear();
+            test(pool.retained() == 0);
+            adopted.clear();
+            adopted.clear();
+            test(pool.retained() == 8192);
+            test(pool.allocate(5000, false) == memory);
+
+            //
+            // Growing a buffer releases its previous memory.
+            //
+            buf = new Buffer(false, pool);
+            buf.resize(5000, false);
+            memory = buf.b;
+            buf.resize(20000, false);
+            test(buf.b != memory && buf.b.capacity() == 32 * 1024);
+            test(pool.retained() == 8192);
+            buf.clear();
+            test(pool.retained() == 8192 + 32 * 1024);
+            test(pool.allocate(5000, false) == memory);
+
+            //
+            // Memory referenced outside of the buffer is never released.
+            //
+            buf = new Buffer(false, pool);
+            buf.resize(5000, false);
+            buf.retain();
+            buf.clear();
+            buf.clear();
+            test(pool.retained() == 32 * 1024);
+            communicator.destroy();
+            System.out.println("ok");
+        }
+        return 0;
+    }
+
+    public static void main(String[] args)
+    {
+        Client c = new Client();
+        int status = c.main("Client", args);
+        System.gc();
+        System.exit(status);
+    }
+}
@@ -0,0 +1,207 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+import java.io.PrintWriter;
+
+import test.Ice.collocationDirect.Test.Color;
+import test.Ice.collocationDirect.Test.TestIntf;
+import test.Ice.collocationDirect.Test.TestIntfException;
+import test.Ice.collocationDirect.Test.TestIntfPrx;
+
+public class AllTests
+{
+    private static void
+    test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    public static void
+    allTests(test.Util.Application app, com.zeroc.Ice.ObjectAdapter adapter, TestIntfI servant,
+             InterceptorI interceptor)
+    {
+        com.zeroc.Ice.Communicator communicator = app.communicator();
+        PrintWriter out = app.getWriter();
+
+        TestIntfPrx prx = TestIntfPrx.uncheckedCast(communicator.stringToProxy("test"));
+        test(prx.ice_getConnection() == null);
+
+        byte[] seq = new byte[] { (byte)1, (byte)2, (byte)3 };
+
+        out.print("testing direct parameters... ");
+        out.flush();
+        {
+            test(prx.add(1, 2) == 3);
+            test(servant.getLastConnection() == null);
+
+            TestIntf.OpStringResult r = prx.opString("hello");
+            test(r.returnValue.equals("hello world"));
+            test(r.s2.equals("hello"));
+
+            test(prx.opColor(Color.red) == Color.green);
+            test(prx.opColor(Color.blue) == Color.red);
+
+            try
+            {
+                prx.opException(5);
+                test(false);
+            }
+            catch(TestIntfException ex)
+            {
+                test(ex.value == 5);
+            }
+
+            //
+            // Only immutable sequences are passed to the servant and back
+            // without a copy.
+            //
+            test(prx.opImmutableByteSeq(seq) == seq);
+            byte[] r2 = prx.opByteSeq(seq);
+            test(r2 != seq && java.util.Arrays.equals(r2, seq));
+
+            //
+            // Proxies are marshaled: the servant doesn't get the context
+            // of the caller's proxy.
+            //
+            java.util.Map<String, String> ctx = new java.util.HashMap<>();
+            ctx.put("one", "1");
+            TestIntfPrx p = prx.ice_context(ctx);
+            TestIntfPrx r3 = prx.opProxy(p);
+            test(r3 != p && r3.equals(prx));
+            test(r3.ice_getContext().isEmpty());
+            test(servant.getLastProxy() != p && servant.getLastProxy().ice_getContext().isEmpty());
+            test(prx.opProxy(null) == null);
+
+            test(prx.addAsync(3, 4).join() == 7);
+            test(prx.opImmutableByteSeqAsync(seq).join() == seq);
+        }
+        out.println("ok");
+
+        out.print("testing direct parameters with AMD... ");
+        out.flush();
+        {
+            test(prx.amdAdd(1, 2) == 3);
+            test(prx.amdAddAsync(3, 4).join() == 7);
+            test(prx.amdOpImmutableByteSeq(seq) == seq);
+            test(prx.amdOpImmutableByteSeqAsync(seq).join() == seq);
+        }
+        out.println("ok");
+
+        out.print("testing direct parameters with dispatch interceptor retries... ");
+        out.flush();
+        {
+            TestIntfPrx p = TestIntfPrx.uncheckedCast(communicator.stringToProxy("interceptor"));
+            test(p.addWithRetry(1, 2) == 3);
+            test(interceptor.getRetries() == 10);
+            test(p.amdAddWithRetry(3, 4) == 7);
+            test(interceptor.getRetries() == 10);
+            test(p.amdAddWithRetryAsync(5, 6).join() == 11);
+            test(interceptor.getRetries() == 10);
+            test(p.add(1, 2) == 3);
+            test(p.opImmutableByteSeq(seq) == seq);
+            test(interceptor.getRetries() == 0);
+        }
+        out.println("ok");
+
+        out.print("testing marshaled parameters for servants reading the stream... ");
+        out.flush();
+        {
+            TestIntfPrx p = TestIntfPrx.uncheckedCast(communicator.stringToProxy("blobject"));
+            test(p.add(1, 2) == 3);
+            test(p.addAsync(3, 4).join() == 7);
+            byte[] r = p.opImmutableByteSeq(seq);
+            test(r != seq && java.util.Arrays.equals(r, seq));
+            p.ice_ping();
+        }
+        out.println("ok");
+
+        out.print("testing direct parameters disabled... ");
+        out.flush();
+        {
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            initData.properties.setProperty("Ice.CollocationDirect", "0");
+            com.zeroc.Ice.Communicator communicator2 = app.initialize(initData);
+            try
+            {
+                com.zeroc.Ice.ObjectAdapter adapter2 = communicator2.createObjectAdapter("");
+                TestIntfPrx p = TestIntfPrx.uncheckedCast(adapter2.add(new TestIntfI(),
+                                                                      com.zeroc.Ice.Util.stringToIdentity("test")));
+                test(p.add(1, 2) == 3);
+                byte[] r = p.opImmutableByteSeq(seq);
+                test(r != seq && java.util.Arrays.equals(r, seq));
+            }
+            finally
+            {
+                communicator2.destroy();
+            }
+        }
+        out.println("ok");
+
+        out.print("testing retry with a remote invocation... ");
+        out.flush();
+        {
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            com.zeroc.Ice.Communicator communicator2 = app.initialize(initData);
+            try
+            {
+                com.zeroc.Ice.ObjectAdapter adapter2 =
+                    communicator2.createObjectAdapterWithEndpoints("RemoteAdapter", app.getTestEndpoint(1));
+                TestIntfI remoteServant = new TestIntfI();
+                com.zeroc.Ice.ObjectPrx remote = adapter2.add(remoteServant,
+                                                              com.zeroc.Ice.Util.stringToIdentity("test"));
+                LocatorI locator = new LocatorI();
+                locator.setProxy(remote);
+                com.zeroc.Ice.LocatorPrx locatorPrx = com.zeroc.Ice.LocatorPrx.uncheckedCast(
+                    adapter2.add(locator, com.zeroc.Ice.Util.stringToIdentity("locator")));
+                adapter2.activate();
+
+                //
+                // The well-known proxy is collocated as long as the adapter
+                // hosts the servant. Once the servant is removed, the
+                // ObjectNotExistException is retried and the locator
+                // returns the remote object: the direct parameters of the
+                // retried invocation must be marshaled.
+                //
+                TestIntfPrx p1 = prx.ice_locator(locatorPrx);
+                TestIntfPrx p2 = prx.ice_locator(locatorPrx);
+                test(p1.add(1, 2) == 3);
+                test(p2.opImmutableByteSeq(seq) == seq);
+                test(servant.getLastConnection() == null);
+
+                com.zeroc.Ice.Object removed = adapter.remove(com.zeroc.Ice.Util.stringToIdentity("test"));
+                try
+                {
+                    test(p1.add(3, 4) == 7);
+                    test(remoteServant.getLastConnection() != null);
+                    test(p1.ice_getConnection() != null);
+
+                    byte[] r = p2.opImmutableByteSeqAsync(seq).join();
+                    test(r != seq && java.util.Arrays.equals(r, seq));
+                    test(p2.ice_getConnection() != null);
+                }
+                finally
+                {
+                    adapter.add(removed, com.zeroc.Ice.Util.stringToIdentity("test"));
+                }
+            }
+            finally
+            {
+                communicator2.destroy();
+            }
+        }
+        out.println("ok");
+    }
+}
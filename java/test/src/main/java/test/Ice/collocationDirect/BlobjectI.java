@@ -0,0 +1,47 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+import com.zeroc.Ice.InputStream;
+import com.zeroc.Ice.OutputStream;
+
+//
+// A servant reading the parameters from the stream, the parameters of
+// direct collocated invocations are marshaled for it.
+//
+class BlobjectI implements com.zeroc.Ice.Blobject
+{
+    @Override
+    public com.zeroc.Ice.Object.Ice_invokeResult ice_invoke(byte[] inEncaps, com.zeroc.Ice.Current current)
+    {
+        com.zeroc.Ice.Communicator communicator = current.adapter.getCommunicator();
+        InputStream in = new InputStream(communicator, inEncaps);
+        in.startEncapsulation();
+        OutputStream out = new OutputStream(communicator);
+        out.startEncapsulation();
+        if(current.operation.equals("add"))
+        {
+            int x = in.readInt();
+            int y = in.readInt();
+            out.writeInt(x + y);
+        }
+        else if(current.operation.equals("opImmutableByteSeq"))
+        {
+            out.writeByteSeq(in.readByteSeq());
+        }
+        else if(!current.operation.equals("ice_ping"))
+        {
+            throw new com.zeroc.Ice.OperationNotExistException();
+        }
+        in.endEncapsulation();
+        out.endEncapsulation();
+        return new com.zeroc.Ice.Object.Ice_invokeResult(true, out.finished());
+    }
+}
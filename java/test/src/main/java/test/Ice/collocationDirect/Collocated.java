@@ -0,0 +1,49 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+public class Collocated extends test.Util.Application
+{
+    @Override
+    public int run(String[] args)
+    {
+        communicator().getProperties().setProperty("TestAdapter.Endpoints", getTestEndpoint(0));
+        com.zeroc.Ice.ObjectAdapter adapter = communicator().createObjectAdapter("TestAdapter");
+        TestIntfI servant = new TestIntfI();
+        InterceptorI interceptor = new InterceptorI(new TestIntfI());
+        adapter.add(servant, com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.add(interceptor, com.zeroc.Ice.Util.stringToIdentity("interceptor"));
+        adapter.add(new BlobjectI(), com.zeroc.Ice.Util.stringToIdentity("blobject"));
+        //adapter.activate(); // Don't activate OA to ensure collocation is used.
+
+        AllTests.allTests(this, adapter, servant, interceptor);
+
+        return 0;
+    }
+
+    @Override
+    protected com.zeroc.Ice.InitializationData getInitData(String[] args, java.util.List<String> rArgs)
+    {
+        com.zeroc.Ice.InitializationData initData = super.getInitData(args, rArgs);
+        initData.properties.setProperty("Ice.Package.Test", "test.Ice.collocationDirect");
+        initData.properties.setProperty("Ice.CollocationDirect", "1");
+        initData.properties.setProperty("Ice.Warn.Dispatch", "0");
+        return initData;
+    }
+
+    public static void main(String[] args)
+    {
+        Collocated c = new Collocated();
+        int status = c.main("Collocated", args);
+
+        System.gc();
+        System.exit(status);
+    }
+}
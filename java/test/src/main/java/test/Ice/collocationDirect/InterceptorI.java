@@ -0,0 +1,64 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+import java.util.concurrent.CompletionStage;
+
+import com.zeroc.Ice.OutputStream;
+
+import test.Ice.collocationDirect.Test.RetryException;
+
+class InterceptorI extends com.zeroc.Ice.DispatchInterceptor
+{
+    InterceptorI(com.zeroc.Ice.Object servant)
+    {
+        _servant = servant;
+    }
+
+    @Override
+    public CompletionStage<OutputStream> dispatch(com.zeroc.Ice.Request request)
+        throws com.zeroc.Ice.UserException
+    {
+        com.zeroc.Ice.Current current = request.getCurrent();
+        if(current.operation.equals("addWithRetry") || current.operation.equals("amdAddWithRetry"))
+        {
+            //
+            // Each dispatch gets the parameters again, whether they are
+            // passed directly or read from the stream.
+            //
+            for(int i = 0; i < 10; ++i)
+            {
+                try
+                {
+                    _servant.ice_dispatch(request);
+                    throw new RuntimeException();
+                }
+                catch(RetryException re)
+                {
+                    ++_retries;
+                }
+            }
+
+            current.ctx.put("retry", "no");
+        }
+
+        return _servant.ice_dispatch(request);
+    }
+
+    int getRetries()
+    {
+        int retries = _retries;
+        _retries = 0;
+        return retries;
+    }
+
+    private final com.zeroc.Ice.Object _servant;
+    private int _retries;
+}
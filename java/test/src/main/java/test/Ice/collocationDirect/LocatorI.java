@@ -0,0 +1,46 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CompletableFuture;
+
+import com.zeroc.Ice.ObjectPrx;
+
+//
+// Resolves the well-known object "test" to the proxy set with setProxy.
+//
+class LocatorI implements com.zeroc.Ice.Locator
+{
+    @Override
+    public CompletionStage<ObjectPrx> findObjectByIdAsync(com.zeroc.Ice.Identity id, com.zeroc.Ice.Current current)
+    {
+        return CompletableFuture.completedFuture(_proxy);
+    }
+
+    @Override
+    public CompletionStage<ObjectPrx> findAdapterByIdAsync(String id, com.zeroc.Ice.Current current)
+    {
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public com.zeroc.Ice.LocatorRegistryPrx getRegistry(com.zeroc.Ice.Current current)
+    {
+        return null;
+    }
+
+    void setProxy(ObjectPrx proxy)
+    {
+        _proxy = proxy;
+    }
+
+    private volatile ObjectPrx _proxy;
+}
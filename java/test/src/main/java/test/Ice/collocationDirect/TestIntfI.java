@@ -0,0 +1,129 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.collocationDirect;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CompletableFuture;
+
+import test.Ice.collocationDirect.Test.Color;
+import test.Ice.collocationDirect.Test.RetryException;
+import test.Ice.collocationDirect.Test.TestIntf;
+import test.Ice.collocationDirect.Test.TestIntfException;
+import test.Ice.collocationDirect.Test.TestIntfPrx;
+
+class TestIntfI implements TestIntf
+{
+    @Override
+    public int add(int x, int y, com.zeroc.Ice.Current current)
+    {
+        _lastConnection = current.con;
+        return x + y;
+    }
+
+    @Override
+    public TestIntf.OpStringResult opString(String s1, com.zeroc.Ice.Current current)
+    {
+        return new TestIntf.OpStringResult(s1 + " world", s1);
+    }
+
+    @Override
+    public Color opColor(Color c, com.zeroc.Ice.Current current)
+    {
+        return c == Color.blue ? Color.red : Color.valueOf(c.value() + 1);
+    }
+
+    @Override
+    public TestIntfPrx opProxy(TestIntfPrx p, com.zeroc.Ice.Current current)
+    {
+        _lastProxy = p;
+        return p;
+    }
+
+    @Override
+    public void opException(int value, com.zeroc.Ice.Current current)
+        throws TestIntfException
+    {
+        throw new TestIntfException(value);
+    }
+
+    @Override
+    public int addWithRetry(int x, int y, com.zeroc.Ice.Current current)
+    {
+        String val = current.ctx.get("retry");
+        if(val == null || !val.equals("no"))
+        {
+            throw new RetryException();
+        }
+        return x + y;
+    }
+
+    @Override
+    public byte[] opImmutableByteSeq(byte[] s, com.zeroc.Ice.Current current)
+    {
+        _lastConnection = current.con;
+        return s;
+    }
+
+    @Override
+    public byte[] opByteSeq(byte[] s, com.zeroc.Ice.Current current)
+    {
+        return s;
+    }
+
+    @Override
+    public CompletionStage<Integer> amdAddAsync(int x, int y, com.zeroc.Ice.Current current)
+    {
+        CompletableFuture<Integer> r = new CompletableFuture<>();
+        Thread thread = new Thread(() ->
+            {
+                try
+                {
+                    Thread.sleep(10);
+                }
+                catch(InterruptedException e)
+                {
+                }
+                r.complete(x + y);
+            });
+        thread.setDaemon(true);
+        thread.start();
+        return r;
+    }
+
+    @Override
+    public CompletionStage<Integer> amdAddWithRetryAsync(int x, int y, com.zeroc.Ice.Current current)
+    {
+        String val = current.ctx.get("retry");
+        if(val == null || !val.equals("no"))
+        {
+            throw new RetryException();
+        }
+        return CompletableFuture.completedFuture(x + y);
+    }
+
+    @Override
+    public CompletionStage<byte[]> amdOpImmutableByteSeqAsync(byte[] s, com.zeroc.Ice.Current current)
+    {
+        return CompletableFuture.completedFuture(s);
+    }
+
+    com.zeroc.Ice.Connection getLastConnection()
+    {
+        return _lastConnection;
+    }
+
+    TestIntfPrx getLastProxy()
+    {
+        return _lastProxy;
+    }
+
+    private volatile com.zeroc.Ice.Connection _lastConnection;
+    private volatile TestIntfPrx _lastProxy;
+}
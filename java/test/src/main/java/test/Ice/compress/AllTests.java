@@ -0,0 +1,237 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.compress;
+
+import java.io.PrintWriter;
+
+import com.zeroc.IceInternal.Buffer;
+import com.zeroc.IceInternal.CompressionCodec;
+import com.zeroc.IceInternal.Protocol;
+
+import test.Ice.compress.Test.TestIntfPrx;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Keeps the compression status of the requests and replies traced with
+    // Ice.Trace.Protocol.
+    //
+    static class LoggerI implements com.zeroc.Ice.Logger
+    {
+        @Override
+        public void print(String message)
+        {
+        }
+
+        @Override
+        public synchronized void trace(String category, String message)
+        {
+            if(message.contains("message type = 0 ") || message.contains("message type = 2 "))
+            {
+                int pos = message.indexOf("compression status = ");
+                test(pos >= 0);
+                pos += "compression status = ".length();
+                _statuses.add(Integer.parseInt(message.substring(pos, message.indexOf(' ', pos))));
+            }
+        }
+
+        @Override
+        public void warning(String message)
+        {
+        }
+
+        @Override
+        public void error(String message)
+        {
+        }
+
+        @Override
+        public String getPrefix()
+        {
+            return "";
+        }
+
+        @Override
+        public com.zeroc.Ice.Logger cloneWithPrefix(String prefix)
+        {
+            return this;
+        }
+
+        synchronized java.util.List<Integer> getStatuses()
+        {
+            java.util.List<Integer> statuses = new java.util.ArrayList<>(_statuses);
+            _statuses.clear();
+            return statuses;
+        }
+
+        private java.util.List<Integer> _statuses = new java.util.ArrayList<>();
+    }
+
+    private static byte[] compressibleData(int size)
+    {
+        byte[] data = new byte[size];
+        String text = "The quick brown fox jumps over the lazy dog. ";
+        for(int i = 0; i < size; ++i)
+        {
+            //
+            // Text with runs of zeros, for overlapping matches.
+            //
+            data[i] = (i / 1000) % 3 == 2 ? 0 : (byte)text.charAt((i + i / 4096) % text.length());
+        }
+        return data;
+    }
+
+    private static Buffer message(byte[] body)
+    {
+        byte[] data = new byte[Protocol.headerSize + body.length];
+        for(int i = 0; i < Protocol.headerSize; ++i)
+        {
+            data[i] = (byte)i;
+        }
+        System.arraycopy(body, 0, data, Protocol.headerSize, body.length);
+        return new Buffer(data);
+    }
+
+    private static byte[] toArray(Buffer buf)
+    {
+        byte[] data = new byte[buf.size()];
+        buf.b.position(0);
+        buf.b.get(data);
+        return data;
+    }
+
+    public static void allTests(test.Util.Application app)
+    {
+        com.zeroc.Ice.Communicator communicator = app.communicator();
+        PrintWriter out = app.getWriter();
+
+        com.zeroc.IceInternal.CompressionCodecManager codecManager =
+            com.zeroc.IceInternal.Util.getInstance(communicator).compressionCodecManager();
+        boolean bzip2 = codecManager.get((byte)2).supported();
+
+        out.print("testing lz4 codec... ");
+        out.flush();
+        {
+            CompressionCodec codec = codecManager.get("lz4");
+            test(codec != null && codec.supported() && codec.id() == (byte)3);
+
+            for(int size : new int[] { 100, 1000, 65536, 70000, 300000 })
+            {
+                Buffer buf = message(compressibleData(size));
+                Buffer cbuf = codec.compress(buf, Protocol.headerSize, 1);
+                test(cbuf != null && cbuf.size() < buf.size());
+                Buffer ubuf = codec.uncompress(cbuf, Protocol.headerSize, 1024 * 1024);
+                test(java.util.Arrays.equals(toArray(ubuf), toArray(buf)));
+            }
+
+            //
+            // Random data can't be compressed to a smaller size.
+            //
+            byte[] random = new byte[10000];
+            new java.util.Random(17).nextBytes(random);
+            test(codec.compress(message(random), Protocol.headerSize, 1) == null);
+
+            //
+            // Truncated or oversized input must be rejected.
+            //
+            byte[] compressed = toArray(codec.compress(message(compressibleData(5000)), Protocol.headerSize, 1));
+            for(int size = 0; size < compressed.length; ++size)
+            {
+                try
+                {
+                    codec.uncompress(new Buffer(java.util.Arrays.copyOf(compressed, size)), Protocol.headerSize,
+                                     1024 * 1024);
+                    test(false);
+                }
+                catch(com.zeroc.Ice.CompressionException ex)
+                {
+                }
+                catch(com.zeroc.Ice.IllegalMessageSizeException ex)
+                {
+                    test(size < Protocol.headerSize + 4);
+                }
+            }
+
+            try
+            {
+                codec.uncompress(new Buffer(compressed), Protocol.headerSize, 1024);
+                test(false);
+            }
+            catch(com.zeroc.Ice.MemoryLimitException ex)
+            {
+            }
+        }
+        out.println("ok");
+
+        //
+        // The client also prefers lz4, only the codec advertised by the server
+        // is used for the connection.
+        //
+        LoggerI logger = new LoggerI();
+        com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+        initData.properties = communicator.getProperties()._clone();
+        initData.properties.setProperty("Ice.Compression.Codec", "lz4");
+        initData.properties.setProperty("Ice.Trace.Protocol", "1");
+        initData.logger = logger;
+        com.zeroc.Ice.Communicator traceCommunicator = app.initialize(initData);
+        try
+        {
+            byte[] seq = compressibleData(10000);
+
+            out.print("testing compression with lz4... ");
+            out.flush();
+            {
+                TestIntfPrx obj = TestIntfPrx.uncheckedCast(
+                    traceCommunicator.stringToProxy("test:" + app.getTestEndpoint(0)).ice_compress(true));
+                for(int i = 0; i < 3; ++i)
+                {
+                    test(java.util.Arrays.equals(obj.opByteSeq(seq), seq));
+                }
+                test(logger.getStatuses().equals(java.util.Collections.nCopies(6, 3)));
+            }
+            out.println("ok");
+
+            out.print("testing fallback with peers without lz4... ");
+            out.flush();
+            {
+                //
+                // Peers which don't support lz4 fall back to bzip2, or to no
+                // compression if bzip2 isn't available.
+                //
+                for(int i = 1; i <= 2; ++i)
+                {
+                    TestIntfPrx obj = TestIntfPrx.uncheckedCast(
+                        traceCommunicator.stringToProxy("test:" + app.getTestEndpoint(i)).ice_compress(true));
+                    for(int j = 0; j < 3; ++j)
+                    {
+                        test(java.util.Arrays.equals(obj.opByteSeq(seq), seq));
+                    }
+                    test(logger.getStatuses().equals(java.util.Collections.nCopies(6, bzip2 ? 2 : 0)));
+                }
+            }
+            out.println("ok");
+        }
+        finally
+        {
+            traceCommunicator.destroy();
+        }
+
+        TestIntfPrx obj = TestIntfPrx.checkedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(0)));
+        obj.shutdown();
+    }
+}
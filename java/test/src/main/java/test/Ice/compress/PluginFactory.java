@@ -0,0 +1,77 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.compress;
+
+//
+// Registers a compression codec unknown to the client. A server which prefers
+// this codec behaves like a peer which doesn't support the client's codecs.
+//
+public class PluginFactory implements com.zeroc.Ice.PluginFactory
+{
+    static class CodecI implements com.zeroc.IceInternal.CompressionCodec
+    {
+        @Override
+        public byte id()
+        {
+            return (byte)4;
+        }
+
+        @Override
+        public String name()
+        {
+            return "test";
+        }
+
+        @Override
+        public boolean supported()
+        {
+            return true;
+        }
+
+        @Override
+        public com.zeroc.IceInternal.Buffer compress(com.zeroc.IceInternal.Buffer buf, int headerSize,
+                                                     int compressionLevel)
+        {
+            throw new com.zeroc.Ice.CompressionException("unexpected use of the test codec");
+        }
+
+        @Override
+        public com.zeroc.IceInternal.Buffer uncompress(com.zeroc.IceInternal.Buffer buf, int headerSize,
+                                                       int messageSizeMax)
+        {
+            throw new com.zeroc.Ice.CompressionException("unexpected use of the test codec");
+        }
+    }
+
+    static class PluginI implements com.zeroc.Ice.Plugin
+    {
+        @Override
+        public void initialize()
+        {
+        }
+
+        @Override
+        public void destroy()
+        {
+        }
+    }
+
+    @Override
+    public com.zeroc.Ice.Plugin create(com.zeroc.Ice.Communicator communicator, String name, String[] args)
+    {
+        //
+        // The codec must be registered before the communicator looks up the
+        // codec configured with Ice.Compression.Codec, that is before the
+        // plug-ins are initialized.
+        //
+        com.zeroc.IceInternal.Util.getProtocolPluginFacade(communicator).addCompressionCodec(new CodecI());
+        return new PluginI();
+    }
+}
@@ -0,0 +1,77 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.compress;
+
+public class Server extends test.Util.Application
+{
+    @Override
+    public int run(String[] args)
+    {
+        com.zeroc.Ice.Communicator communicator = communicator();
+        com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter("TestAdapter");
+        adapter.add(new TestI(), com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.activate();
+
+        //
+        // A server which prefers a codec the client doesn't support and a server
+        // which only uses bzip2, like servers which don't support other codecs.
+        //
+        com.zeroc.Ice.InitializationData initData = createInitializationData();
+        initData.properties = communicator.getProperties()._clone();
+        initData.properties.setProperty("Ice.Plugin.TestCodec", "test.Ice.compress.PluginFactory");
+        initData.properties.setProperty("Ice.Compression.Codec", "test");
+        initData.properties.setProperty("TestAdapter.Endpoints", getTestEndpoint(1));
+        com.zeroc.Ice.Communicator testCommunicator = initialize(initData);
+
+        initData = createInitializationData();
+        initData.properties = communicator.getProperties()._clone();
+        initData.properties.setProperty("Ice.Compression.Codec", "bzip2");
+        initData.properties.setProperty("TestAdapter.Endpoints", getTestEndpoint(2));
+        com.zeroc.Ice.Communicator bzip2Communicator = initialize(initData);
+
+        try
+        {
+            for(com.zeroc.Ice.Communicator c : new com.zeroc.Ice.Communicator[] { testCommunicator,
+                                                                                  bzip2Communicator })
+            {
+                com.zeroc.Ice.ObjectAdapter a = c.createObjectAdapter("TestAdapter");
+                a.add(new TestI(), com.zeroc.Ice.Util.stringToIdentity("test"));
+                a.activate();
+            }
+
+            serverReady();
+            communicator.waitForShutdown();
+        }
+        finally
+        {
+            testCommunicator.destroy();
+            bzip2Communicator.destroy();
+        }
+        return 0;
+    }
+
+    @Override
+    protected com.zeroc.Ice.InitializationData getInitData(String[] args, java.util.List<String> rArgs)
+    {
+        com.zeroc.Ice.InitializationData initData = super.getInitData(args, rArgs);
+        initData.properties.setProperty("Ice.Package.Test", "test.Ice.compress");
+        initData.properties.setProperty("Ice.Compression.Codec", "lz4");
+        initData.properties.setProperty("TestAdapter.Endpoints", getTestEndpoint(initData.properties, 0));
+        return initData;
+    }
+
+    public static void main(String[] args)
+    {
+        Server app = new Server();
+        int result = app.main("Server", args);
+        System.gc();
+        System.exit(result);
+    }
+}
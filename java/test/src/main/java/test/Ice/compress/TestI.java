@@ -0,0 +1,27 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.compress;
+
+import test.Ice.compress.Test.TestIntf;
+
+public final class TestI implements TestIntf
+{
+    @Override
+    public byte[] opByteSeq(byte[] seq, com.zeroc.Ice.Current current)
+    {
+        return seq;
+    }
+
+    @Override
+    public void shutdown(com.zeroc.Ice.Current current)
+    {
+        current.adapter.getCommunicator().shutdown();
+    }
+}
@@ -0,0 +1,100 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.executor;
+
+import java.io.PrintWriter;
+
+import test.Ice.executor.Test.TestIntfPrx;
+
+public class AllTests
+{
+    private static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    public static void allTests(test.Util.Application app)
+    {
+        PrintWriter out = app.getWriter();
+        com.zeroc.Ice.Communicator communicator = app.communicator();
+
+        out.print("testing checked cast... ");
+        out.flush();
+        TestIntfPrx p = TestIntfPrx.checkedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(0)));
+        test(p != null);
+        out.println("ok");
+
+        out.print("testing executor dispatch... ");
+        out.flush();
+        test(p.isExecutorThread());
+        out.println("ok");
+
+        out.print("testing serialized dispatch ordering... ");
+        out.flush();
+        {
+            //
+            // The first request is slow to dispatch, the requests sent in
+            // the meantime fill the dispatch queue of the connection and
+            // the server stops reading until there's room in the queue.
+            //
+            TestIntfPrx oneway = p.ice_oneway();
+            oneway.op("A", 1, 500);
+            for(int i = 2; i <= 1000; ++i)
+            {
+                oneway.op("A", i, 0);
+            }
+            test(p.getLast("A") == 1000);
+            test(p.isSerialized());
+        }
+        out.println("ok");
+
+        out.print("testing serialized dispatch ordering with concurrent connections... ");
+        out.flush();
+        {
+            Thread[] threads = new Thread[4];
+            for(int i = 0; i < threads.length; ++i)
+            {
+                final String id = "C" + i;
+                final TestIntfPrx oneway = p.ice_connectionId(id).ice_oneway();
+                threads[i] = new Thread(() ->
+                    {
+                        for(int j = 1; j <= 500; ++j)
+                        {
+                            oneway.op(id, j, j % 100 == 0 ? 10 : 0);
+                        }
+                    });
+                threads[i].start();
+            }
+            for(int i = 0; i < threads.length; ++i)
+            {
+                while(true)
+                {
+                    try
+                    {
+                        threads[i].join();
+                        break;
+                    }
+                    catch(InterruptedException ex)
+                    {
+                    }
+                }
+                String id = "C" + i;
+                test(p.ice_connectionId(id).getLast(id) == 500);
+            }
+            test(p.isSerialized());
+        }
+        out.println("ok");
+
+        p.shutdown();
+    }
+}
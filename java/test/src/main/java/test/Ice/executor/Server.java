@@ -0,0 +1,61 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.executor;
+
+public class Server extends test.Util.Application
+{
+    @Override
+    public int run(String[] args)
+    {
+        com.zeroc.Ice.ObjectAdapter adapter = communicator().createObjectAdapter("TestAdapter");
+        adapter.add(new TestI(), com.zeroc.Ice.Util.stringToIdentity("test"));
+        adapter.activate();
+        return WAIT;
+    }
+
+    @Override
+    protected com.zeroc.Ice.InitializationData getInitData(String[] args, java.util.List<String> rArgs)
+    {
+        com.zeroc.Ice.InitializationData initData = super.getInitData(args, rArgs);
+        assert(_executor == null);
+        _executor = new TestExecutor();
+        initData.properties.setProperty("Ice.Package.Test", "test.Ice.executor");
+        initData.properties.setProperty("TestAdapter.Endpoints", getTestEndpoint(initData.properties, 0));
+
+        //
+        // The dispatches of the server thread pool run with the executor,
+        // the requests received over a connection are serialized.
+        //
+        initData.properties.setProperty("Ice.ThreadPool.Server.VirtualThreads", "1");
+        initData.properties.setProperty("Ice.ThreadPool.Server.Serialize", "1");
+        initData.properties.setProperty("Ice.ThreadPool.Server.Size", "2");
+        initData.executor = _executor;
+        return initData;
+    }
+
+    public void terminate()
+    {
+        if(_executor != null)
+        {
+            _executor.terminate();
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        Server app = new Server();
+        int result = app.main("Server", args);
+        app.terminate();
+        System.gc();
+        System.exit(result);
+    }
+
+    private TestExecutor _executor;
+}
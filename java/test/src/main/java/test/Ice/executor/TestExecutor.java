@@ -0,0 +1,48 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.executor;
+
+//
+// The executor of the dispatches of the server thread pool, provided with
+// the communicator initialization data.
+//
+public class TestExecutor implements java.util.concurrent.Executor
+{
+    @Override
+    public void execute(Runnable runnable)
+    {
+        _executor.execute(runnable);
+    }
+
+    static boolean isExecutorThread()
+    {
+        return Thread.currentThread().getName().startsWith("TestExecutor-");
+    }
+
+    void terminate()
+    {
+        _executor.shutdown();
+    }
+
+    private final java.util.concurrent.ExecutorService _executor =
+        java.util.concurrent.Executors.newFixedThreadPool(4, new java.util.concurrent.ThreadFactory()
+            {
+                @Override
+                public Thread newThread(Runnable runnable)
+                {
+                    Thread t = new Thread(runnable, "TestExecutor-" + _count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+
+                private final java.util.concurrent.atomic.AtomicInteger _count =
+                    new java.util.concurrent.atomic.AtomicInteger();
+            });
+}
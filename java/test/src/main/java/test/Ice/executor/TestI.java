@@ -0,0 +1,84 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.executor;
+
+import test.Ice.executor.Test.TestIntf;
+
+public class TestI implements TestIntf
+{
+    @Override
+    public boolean isExecutorThread(com.zeroc.Ice.Current current)
+    {
+        return TestExecutor.isExecutorThread();
+    }
+
+    @Override
+    public void op(String id, int value, int delay, com.zeroc.Ice.Current current)
+    {
+        //
+        // The requests received over a connection are dispatched one
+        // after the other, in the order they were sent.
+        //
+        synchronized(this)
+        {
+            if(!_dispatching.add(current.con))
+            {
+                _serialized = false;
+            }
+            Integer last = _last.get(id);
+            if(value != (last == null ? 0 : last) + 1)
+            {
+                _serialized = false;
+            }
+            _last.put(id, value);
+        }
+
+        try
+        {
+            if(delay > 0)
+            {
+                Thread.sleep(delay);
+            }
+        }
+        catch(InterruptedException ex)
+        {
+        }
+        finally
+        {
+            synchronized(this)
+            {
+                _dispatching.remove(current.con);
+            }
+        }
+    }
+
+    @Override
+    public synchronized int getLast(String id, com.zeroc.Ice.Current current)
+    {
+        Integer last = _last.get(id);
+        return last == null ? 0 : last;
+    }
+
+    @Override
+    public synchronized boolean isSerialized(com.zeroc.Ice.Current current)
+    {
+        return _serialized;
+    }
+
+    @Override
+    public void shutdown(com.zeroc.Ice.Current current)
+    {
+        current.adapter.getCommunicator().shutdown();
+    }
+
+    private final java.util.Map<String, Integer> _last = new java.util.HashMap<>();
+    private final java.util.Set<com.zeroc.Ice.Connection> _dispatching = new java.util.HashSet<>();
+    private boolean _serialized = true;
+}
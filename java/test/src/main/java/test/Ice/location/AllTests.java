@@ -580,6 +580,106 @@ public class AllTests
         }
         out.println("ok");
 
+        out.print("testing locator cache size limit... ");
+        out.flush();
+        {
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            initData.properties.setProperty("Ice.LocatorCache.MaxSize", "8");
+            com.zeroc.Ice.Communicator ic = app.initialize(initData);
+
+            for(int i = 0; i < 9; ++i)
+            {
+                registry.setAdapterDirectProxy("TestAdapterLRU" + i, locator.findAdapterById("TestAdapter"));
+            }
+
+            //
+            // The last access time has a millisecond resolution, we sleep between
+            // lookups to order the entries.
+            //
+            count = locator.getRequestCount();
+            for(int i = 0; i < 8; ++i)
+            {
+                ic.stringToProxy("test@TestAdapterLRU" + i).ice_ping();
+                Thread.sleep(2);
+            }
+            count += 8;
+            test(count == locator.getRequestCount());
+            ic.stringToProxy("test@TestAdapterLRU0").ice_ping(); // Most recently used.
+            Thread.sleep(2);
+            test(count == locator.getRequestCount());
+
+            //
+            // Exceeding the maximum size evicts the least recently used entries
+            // down to 7/8 of the maximum size: TestAdapterLRU1 and TestAdapterLRU2.
+            //
+            ic.stringToProxy("test@TestAdapterLRU8").ice_ping();
+            test(++count == locator.getRequestCount());
+            for(int i : new int[] { 0, 3, 4, 5, 6, 7, 8 })
+            {
+                ic.stringToProxy("test@TestAdapterLRU" + i).ice_ping();
+            }
+            test(count == locator.getRequestCount());
+            ic.stringToProxy("test@TestAdapterLRU1").ice_ping();
+            ic.stringToProxy("test@TestAdapterLRU2").ice_ping();
+            count += 2;
+            test(count == locator.getRequestCount());
+            ic.destroy();
+        }
+        out.println("ok");
+
+        out.print("testing locator cache refresh ahead... ");
+        out.flush();
+        {
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            initData.properties.setProperty("Ice.LocatorCache.RefreshAhead", "10");
+            com.zeroc.Ice.Communicator ic = app.initialize(initData);
+
+            registry.setAdapterDirectProxy("TestAdapter6", locator.findAdapterById("TestAdapter"));
+            registry.addObject(communicator.stringToProxy("test3@TestAdapter"));
+
+            count = locator.getRequestCount();
+            ic.stringToProxy("test@TestAdapter6").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+            ic.stringToProxy("test3").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+            count += 3;
+            test(count == locator.getRequestCount());
+            registry.setAdapterDirectProxy("TestAdapter6", null);
+            registry.addObject(communicator.stringToProxy("test3:tcp"));
+            ic.stringToProxy("test@TestAdapter6").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+            ic.stringToProxy("test3").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+            test(count == locator.getRequestCount());
+            Thread.sleep(1200);
+
+            //
+            // The entries are older than 10% of the timeout, the following requests
+            // should trigger their refresh but still use the cached endpoints and
+            // therefore succeed. The entries are updated long before they expire.
+            //
+            ic.stringToProxy("test@TestAdapter6").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+            ic.stringToProxy("test3").ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+
+            for(String s : new String[] { "test@TestAdapter6", "test3" })
+            {
+                int i = 0;
+                try
+                {
+                    for(; i < 500; ++i)
+                    {
+                        ic.stringToProxy(s).ice_locatorCacheTimeout(10).ice_ping(); // 10s timeout.
+                        Thread.sleep(10);
+                    }
+                }
+                catch(com.zeroc.Ice.LocalException ex)
+                {
+                    // Expected to fail once the endpoints have been refreshed in the background.
+                }
+                test(i < 500);
+            }
+            ic.destroy();
+        }
+        out.println("ok");
+
         out.print("testing proxy from server after shutdown... ");
         out.flush();
         hello = obj.getReplicatedHello();
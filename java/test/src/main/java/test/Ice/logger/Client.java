@@ -0,0 +1,406 @@
+// **********************************************************************
+//
+// Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+//
+// This copy of Ice is licensed to you under the terms described in the
+// ICE_LICENSE file included in this distribution.
+//
+// **********************************************************************
+
+package test.Ice.logger;
+
+import com.zeroc.Ice.Communicator;
+import com.zeroc.Ice.InitializationData;
+import com.zeroc.Ice.Logger;
+import com.zeroc.Ice.Util;
+
+import java.util.concurrent.CountDownLatch;
+
+public class Client extends test.Util.Application
+{
+    public static void test(boolean b)
+    {
+        if(!b)
+        {
+            throw new RuntimeException();
+        }
+    }
+
+    //
+    // Records the messages and the threads which write them. Writing a
+    // "block" message blocks the writer thread until release() is called.
+    //
+    static class TestLogger implements Logger
+    {
+        @Override
+        public void print(String message)
+        {
+            add("print", message);
+        }
+
+        @Override
+        public void trace(String category, String message)
+        {
+            add(category, message);
+        }
+
+        @Override
+        public void warning(String message)
+        {
+            if(message.endsWith(" log messages dropped, the logger queue is full"))
+            {
+                synchronized(this)
+                {
+                    _dropped += Integer.parseInt(message.substring(0, message.indexOf(' ')));
+                }
+            }
+            else
+            {
+                add("warning", message);
+            }
+        }
+
+        @Override
+        public void error(String message)
+        {
+            add("error", message);
+        }
+
+        @Override
+        public String getPrefix()
+        {
+            return "";
+        }
+
+        @Override
+        public Logger cloneWithPrefix(String prefix)
+        {
+            return this;
+        }
+
+        void waitForBlocked()
+            throws InterruptedException
+        {
+            _blocked.await();
+        }
+
+        void release()
+        {
+            _release.countDown();
+        }
+
+        synchronized java.util.List<String> getMessages()
+        {
+            return new java.util.ArrayList<>(_messages);
+        }
+
+        synchronized java.util.Set<String> getThreads()
+        {
+            return new java.util.HashSet<>(_threads);
+        }
+
+        synchronized int getDropped()
+        {
+            return _dropped;
+        }
+
+        private void add(String type, String message)
+        {
+            if(message.equals("block"))
+            {
+                _blocked.countDown();
+                try
+                {
+                    _release.await();
+                }
+                catch(InterruptedException ex)
+                {
+                    throw new RuntimeException(ex);
+                }
+            }
+
+            synchronized(this)
+            {
+                _messages.add(type + ": " + message);
+                _threads.add(Thread.currentThread().getName());
+            }
+        }
+
+        private final CountDownLatch _blocked = new CountDownLatch(1);
+        private final CountDownLatch _release = new CountDownLatch(1);
+        private final java.util.List<String> _messages = new java.util.ArrayList<>();
+        private final java.util.Set<String> _threads = new java.util.HashSet<>();
+        private int _dropped;
+    }
+
+    private static Communicator initialize(TestLogger logger, String overflow, int queueSize)
+    {
+        InitializationData initData = new InitializationData();
+        initData.properties = Util.createProperties();
+        initData.properties.setProperty("Ice.LogAsync", "1");
+        initData.properties.setProperty("Ice.LogAsync.Overflow", overflow);
+        initData.properties.setProperty("Ice.LogAsync.QueueSize", Integer.toString(queueSize));
+        initData.logger = logger;
+        return Util.initialize(initData);
+    }
+
+    @Override
+    public int run(String[] args)
+    {
+        try
+        {
+            allTests();
+        }
+        catch(InterruptedException ex)
+        {
+            throw new RuntimeException(ex);
+        }
+        return 0;
+    }
+
+    private static void allTests()
+        throws InterruptedException
+    {
+        {
+            System.out.print("testing asynchronous logger message ordering... ");
+            System.out.flush();
+            TestLogger logger = new TestLogger();
+            Communicator communicator = initialize(logger, "Block", 64);
+            final Logger l = communicator.getLogger();
+            test(l != logger);
+
+            Thread[] threads = new Thread[4];
+            for(int i = 0; i < threads.length; ++i)
+            {
+                final String category = "T" + i;
+                threads[i] = new Thread(() ->
+                    {
+                        for(int j = 0; j < 1000; ++j)
+                        {
+                            l.trace(category, Integer.toString(j));
+                        }
+                    });
+                threads[i].start();
+            }
+            for(int j = 0; j < 100; ++j)
+            {
+                l.print(Integer.toString(j));
+                l.warning(Integer.toString(j));
+                l.error(Integer.toString(j));
+            }
+            for(Thread t : threads)
+            {
+                t.join();
+            }
+            communicator.destroy();
+
+            //
+            // The messages of each thread are written in the order they
+            // were logged, by the logger thread.
+            //
+            java.util.List<String> messages = logger.getMessages();
+            test(messages.size() == threads.length * 1000 + 300);
+            java.util.Map<String, Integer> next = new java.util.HashMap<>();
+            java.util.List<String> main = new java.util.ArrayList<>();
+            for(String m : messages)
+            {
+                int pos = m.indexOf(": ");
+                String type = m.substring(0, pos);
+                int n = Integer.parseInt(m.substring(pos + 2));
+                Integer expected = next.get(type);
+                test(n == (expected == null ? 0 : expected));
+                next.put(type, n + 1);
+                if(!type.startsWith("T"))
+                {
+                    main.add(m);
+                }
+            }
+            for(int j = 0; j < 100; ++j)
+            {
+                test(main.get(j * 3).equals("print: " + j));
+                test(main.get(j * 3 + 1).equals("warning: " + j));
+                test(main.get(j * 3 + 2).equals("error: " + j));
+            }
+            test(logger.getThreads().equals(java.util.Collections.singleton("Ice.Logger")));
+            test(logger.getDropped() == 0);
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing asynchronous logger drain on destroy... ");
+            System.out.flush();
+            TestLogger logger = new TestLogger();
+            Communicator communicator = initialize(logger, "Block", 16);
+            Logger l = communicator.getLogger();
+            l.print("block");
+            logger.waitForBlocked();
+            for(int i = 0; i < 16; ++i)
+            {
+                l.trace("Test", Integer.toString(i));
+            }
+
+            //
+            // destroy() waits for the queued messages to be written.
+            //
+            Thread destroy = new Thread(() -> communicator.destroy());
+            destroy.start();
+            destroy.join(200);
+            test(destroy.isAlive());
+            test(logger.getMessages().isEmpty());
+            logger.release();
+            destroy.join();
+
+            java.util.List<String> messages = logger.getMessages();
+            test(messages.size() == 17);
+            test(messages.get(0).equals("print: block"));
+            for(int i = 0; i < 16; ++i)
+            {
+                test(messages.get(i + 1).equals("Test: " + i));
+            }
+
+            //
+            // The messages logged after destroy are written by the logging thread.
+            //
+            l.print("destroyed");
+            test(logger.getMessages().size() == 18);
+            test(logger.getThreads().contains(Thread.currentThread().getName()));
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing asynchronous logger Block overflow... ");
+            System.out.flush();
+            TestLogger logger = new TestLogger();
+            Communicator communicator = initialize(logger, "Block", 4);
+            final Logger l = communicator.getLogger();
+            l.print("block");
+            logger.waitForBlocked();
+
+            Thread t = new Thread(() ->
+                {
+                    for(int i = 0; i < 20; ++i)
+                    {
+                        l.trace("Test", Integer.toString(i));
+                    }
+                });
+            t.start();
+            t.join(200);
+            test(t.isAlive()); // Blocked, the queue is full.
+            logger.release();
+            t.join();
+            communicator.destroy();
+
+            java.util.List<String> messages = logger.getMessages();
+            test(messages.size() == 21);
+            for(int i = 0; i < 20; ++i)
+            {
+                test(messages.get(i + 1).equals("Test: " + i));
+            }
+            test(logger.getDropped() == 0);
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing asynchronous logger DropTraces overflow... ");
+            System.out.flush();
+            TestLogger logger = new TestLogger();
+            Communicator communicator = initialize(logger, "DropTraces", 4);
+            final Logger l = communicator.getLogger();
+            l.print("block");
+            logger.waitForBlocked();
+
+            //
+            // The queue has room for 4 messages, the other traces are
+            // dropped without blocking while warnings wait for room.
+            //
+            for(int i = 0; i < 20; ++i)
+            {
+                l.trace("Test", Integer.toString(i));
+            }
+            Thread t = new Thread(() ->
+                {
+                    for(int i = 0; i < 10; ++i)
+                    {
+                        l.warning(Integer.toString(i));
+                    }
+                });
+            t.start();
+            t.join(200);
+            test(t.isAlive());
+            logger.release();
+            t.join();
+            communicator.destroy();
+
+            java.util.List<String> messages = logger.getMessages();
+            test(messages.size() == 1 + 4 + 10);
+            for(int i = 0; i < 4; ++i)
+            {
+                test(messages.get(i + 1).equals("Test: " + i));
+            }
+            for(int i = 0; i < 10; ++i)
+            {
+                test(messages.get(i + 5).equals("warning: " + i));
+            }
+            test(logger.getDropped() == 16);
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing asynchronous logger Drop overflow... ");
+            System.out.flush();
+            TestLogger logger = new TestLogger();
+            Communicator communicator = initialize(logger, "Drop", 4);
+            Logger l = communicator.getLogger();
+            l.print("block");
+            logger.waitForBlocked();
+
+            for(int i = 0; i < 10; ++i)
+            {
+                l.trace("Test", Integer.toString(i));
+                l.warning(Integer.toString(i));
+            }
+            logger.release();
+            communicator.destroy();
+
+            java.util.List<String> messages = logger.getMessages();
+            test(messages.size() == 1 + 4);
+            test(messages.get(1).equals("Test: 0"));
+            test(messages.get(2).equals("warning: 0"));
+            test(messages.get(3).equals("Test: 1"));
+            test(messages.get(4).equals("warning: 1"));
+            test(logger.getDropped() == 16);
+            System.out.println("ok");
+        }
+
+        {
+            System.out.print("testing asynchronous logger thread with initialization failure... ");
+            System.out.flush();
+            InitializationData initData = new InitializationData();
+            initData.properties = Util.createProperties();
+            initData.properties.setProperty("Ice.LogAsync", "1");
+            initData.properties.setProperty("Ice.UseSyslog", "1");
+            initData.properties.setProperty("Ice.LogFile", "log.txt");
+            try
+            {
+                Util.initialize(initData);
+                test(System.getProperty("os.name").startsWith("Windows"));
+            }
+            catch(com.zeroc.Ice.InitializationException ex)
+            {
+            }
+            for(Thread t : Thread.getAllStackTraces().keySet())
+            {
+                test(!t.getName().equals("Ice.Logger"));
+            }
+            System.out.println("ok");
+        }
+    }
+
+    public static void main(String[] args)
+    {
+        Client c = new Client();
+        int status = c.main("Client", args);
+        System.gc();
+        System.exit(status);
+    }
+}
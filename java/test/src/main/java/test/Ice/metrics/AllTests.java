@@ -367,6 +367,16 @@ public class AllTests
         }
     }
 
+    static long histogramCount(long[] buckets)
+    {
+        long count = 0;
+        for(long c : buckets)
+        {
+            count += c;
+        }
+        return count;
+    }
+
     static Map<String, com.zeroc.IceMX.Metrics> toMap(com.zeroc.IceMX.Metrics[] mmap)
     {
         Map<String, com.zeroc.IceMX.Metrics> m = new java.util.HashMap<>();
@@ -1176,6 +1186,374 @@ public class AllTests
 
         out.println("ok");
 
+        out.print("testing batch flush metrics... ");
+        out.flush();
+
+        metricsBatchOneway.ice_flushBatchRequests(); // Flush the requests queued by the invocation tests.
+
+        props.put("IceMX.Metrics.View.Map.BatchFlush.GroupBy", "reason");
+        updateProps(clientProps, serverProps, props, "BatchFlush");
+        test(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush").length == 0);
+
+        //
+        // Explicit flush of the batch queue.
+        //
+        metricsBatchOneway.op();
+        metricsBatchOneway.op();
+        metricsBatchOneway.ice_flushBatchRequests();
+
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush"));
+        test(map.size() == 1);
+        BatchFlushMetrics bf = (BatchFlushMetrics)map.get("user");
+        test(bf.current == 0 && bf.total == 1 && bf.failures == 0);
+        test(bf.requests == 2 && bf.size > 0);
+        long requestSize = (bf.size - 14 - 4) / 2; // Remove the batch header and request count.
+
+        //
+        // Auto flush once the batch auto flush delay elapsed.
+        //
+        communicator.getProperties().setProperty("MetricsBatch", "metrics:" + endpoint);
+        communicator.getProperties().setProperty("MetricsBatch.BatchAutoFlushDelay", "100");
+        MetricsPrx metricsDelay = MetricsPrx.uncheckedCast(communicator.propertyToProxy("MetricsBatch"));
+        metricsDelay = metricsDelay.ice_batchOneway();
+        test(!metricsDelay.equals(metricsBatchOneway));
+        test(communicator.proxyToProperty(metricsDelay, "MetricsBatch").get(
+                 "MetricsBatch.BatchAutoFlushDelay").equals("100"));
+
+        metricsDelay.op();
+        metricsDelay.op();
+        metricsDelay.op();
+        bf = null;
+        for(int i = 0; i < 100; ++i)
+        {
+            map = toMap(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush"));
+            bf = (BatchFlushMetrics)map.get("delay");
+            if(bf != null)
+            {
+                break;
+            }
+            try
+            {
+                Thread.sleep(50);
+            }
+            catch(InterruptedException ex)
+            {
+            }
+        }
+        test(bf != null && bf.total == 1 && bf.failures == 0);
+        test(bf.requests == 3 && bf.size == 14 + 4 + 3 * requestSize);
+
+        //
+        // An explicit flush cancels the delayed flush.
+        //
+        metricsDelay.op();
+        metricsDelay.ice_flushBatchRequests();
+        try
+        {
+            Thread.sleep(300);
+        }
+        catch(InterruptedException ex)
+        {
+        }
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush"));
+        test(map.size() == 2);
+        test(map.get("user").total == 2 && map.get("delay").total == 1);
+        test(((BatchFlushMetrics)map.get("user")).requests == 3);
+
+        //
+        // The batch auto flush delay isn't used by proxies without it.
+        //
+        metricsBatchOneway.op();
+        try
+        {
+            Thread.sleep(300);
+        }
+        catch(InterruptedException ex)
+        {
+        }
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush"));
+        test(map.get("delay").total == 1 && map.get("user").total == 2);
+        metricsBatchOneway.ice_flushBatchRequests();
+
+        //
+        // Auto flush once the batch exceeds Ice.BatchAutoFlushSize (1MB).
+        //
+        byte[] seq = new byte[600 * 1024];
+        metricsBatchOneway.opByteS(seq);
+        metricsBatchOneway.opByteS(seq);
+        metricsBatchOneway.ice_flushBatchRequests();
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("BatchFlush"));
+        test(map.size() == 3);
+        bf = (BatchFlushMetrics)map.get("size");
+        test(bf.total == 1 && bf.requests == 1 && bf.size > 600 * 1024);
+        test(map.get("user").total == 4);
+
+        testAttribute(clientMetrics, clientProps, "BatchFlush", "parent", "Communicator", new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    metricsBatchOneway.op();
+                    metricsBatchOneway.ice_flushBatchRequests();
+                }
+            }, out);
+
+        communicator.getProperties().setProperty("MetricsBatch", "");
+        communicator.getProperties().setProperty("MetricsBatch.BatchAutoFlushDelay", "");
+        props.remove("IceMX.Metrics.View.Map.BatchFlush.GroupBy");
+
+        out.println("ok");
+
+        out.print("testing latency histograms... ");
+        out.flush();
+
+        Map<String, String> histogramProps = new java.util.HashMap<>();
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.GroupBy", "operation");
+        updateProps(clientProps, serverProps, histogramProps, "Invocation");
+        metrics.op();
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("Invocation"));
+        test(!map.get("op").hasLifetimeHistogram());
+
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.Histogram", "1");
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.Map.Remote.GroupBy", "id");
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.Map.Remote.Histogram", "1");
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.Map.Collocated.GroupBy", "id");
+        histogramProps.put("IceMX.Metrics.View.Map.Invocation.Map.Collocated.Histogram", "1");
+        updateProps(clientProps, serverProps, histogramProps, "Invocation");
+        for(int i = 0; i < 10; ++i)
+        {
+            metrics.op();
+        }
+        waitForCurrent(clientMetrics, "View", "Invocation", 0); // The lifetime is recorded once detached.
+        map = toMap(clientMetrics.getMetricsView("View").returnValue.get("Invocation"));
+        im1 = (InvocationMetrics)map.get("op");
+        test(im1.total == 10 && im1.hasLifetimeHistogram());
+        test(histogramCount(im1.getLifetimeHistogram()) == 10);
+        rim1 = (ChildInvocationMetrics)(collocated ? im1.collocated[0] : im1.remotes[0]);
+        test(rim1.total == 10 && rim1.hasLifetimeHistogram());
+        test(histogramCount(rim1.getLifetimeHistogram()) == 10);
+
+        histogramProps.clear();
+        histogramProps.put("IceMX.Metrics.View.Map.Dispatch.GroupBy", "operation");
+        histogramProps.put("IceMX.Metrics.View.Map.Dispatch.Histogram", "1");
+        updateProps(clientProps, serverProps, histogramProps, "Dispatch");
+        for(int i = 0; i < 10; ++i)
+        {
+            metrics.op();
+        }
+        waitForCurrent(serverMetrics, "View", "Dispatch", 0);
+        map = toMap(serverMetrics.getMetricsView("View").returnValue.get("Dispatch"));
+        dm1 = (DispatchMetrics)map.get("op");
+        test(dm1.total == 10 && dm1.hasLifetimeHistogram());
+        test(histogramCount(dm1.getLifetimeHistogram()) == 10);
+
+        if(!collocated)
+        {
+            histogramProps.clear();
+            histogramProps.put("IceMX.Metrics.View.Map.Connection.GroupBy", "none");
+            histogramProps.put("IceMX.Metrics.View.Map.Connection.Histogram", "1");
+            updateProps(clientProps, serverProps, histogramProps, "Connection");
+            for(int i = 0; i < 10; ++i)
+            {
+                metrics.op();
+            }
+            ConnectionMetrics cm1 =
+                (ConnectionMetrics)clientMetrics.getMetricsView("View").returnValue.get("Connection")[0];
+            test(cm1.hasLifetimeHistogram() && cm1.hasWriteHistogram());
+            test(histogramCount(cm1.getWriteHistogram()) == 10);
+            test(histogramCount(cm1.getLifetimeHistogram()) == 0); // The connection is still open.
+        }
+
+        out.println("ok");
+
+        if(!collocated)
+        {
+            out.print("testing striped connection metrics... ");
+            out.flush();
+
+            //
+            // The messages are sent by several threads which update different
+            // stripes of the connection metrics, the optional members of the
+            // stripes must be added up as well.
+            //
+            Map<String, String> stripesProps = new java.util.HashMap<>();
+            stripesProps.put("IceMX.Metrics.View.Map.Connection.GroupBy", "none");
+            stripesProps.put("IceMX.Metrics.View.Map.Connection.Stripes", "4");
+            updateProps(clientProps, serverProps, stripesProps, "Connection");
+
+            final MetricsPrx m = metrics;
+            Thread[] threads = new Thread[8];
+            for(int i = 0; i < threads.length; ++i)
+            {
+                threads[i] = new Thread(() ->
+                    {
+                        for(int j = 0; j < 50; ++j)
+                        {
+                            m.op();
+                        }
+                    });
+                threads[i].start();
+            }
+            for(Thread t : threads)
+            {
+                try
+                {
+                    t.join();
+                }
+                catch(InterruptedException ex)
+                {
+                    test(false);
+                }
+            }
+
+            ConnectionMetrics cm1 =
+                (ConnectionMetrics)clientMetrics.getMetricsView("View").returnValue.get("Connection")[0];
+            test(cm1.hasSentMessages() && cm1.getSentMessages() == 400);
+            test(cm1.hasWrites() && cm1.getWrites() >= 1 && cm1.getWrites() <= 400);
+            test(cm1.sentBytes > 0 && cm1.sentBytes % 400 == 0); // The requests have the same size.
+
+            out.println("ok");
+        }
+
+        if(!collocated)
+        {
+            out.print("testing sent messages and writes metrics... ");
+            out.flush();
+
+            Map<String, String> writesProps = new java.util.HashMap<>();
+            writesProps.put("IceMX.Metrics.View.Map.Connection.GroupBy", "none");
+            updateProps(clientProps, serverProps, writesProps, "Connection");
+
+            //
+            // Without queued messages, each message is sent with its own write.
+            //
+            for(int i = 0; i < 10; ++i)
+            {
+                metrics.op();
+            }
+            ConnectionMetrics cm1 =
+                (ConnectionMetrics)clientMetrics.getMetricsView("View").returnValue.get("Connection")[0];
+            test(cm1.getSentMessages() == 10 && cm1.getWrites() == 10);
+
+            //
+            // The requests queued behind a large request, which can't be sent
+            // while the server is holding, are sent with gathering writes.
+            //
+            ControllerPrx controller = ControllerPrx.checkedCast(
+                communicator.stringToProxy("controller:" + app.getTestEndpoint(1)));
+            controller.hold();
+            java.util.List<CompletableFuture<Void>> results = new java.util.ArrayList<>();
+            results.add(metrics.opByteSAsync(new byte[10000000]));
+            for(int i = 0; i < 1000; ++i)
+            {
+                results.add(metrics.opAsync());
+            }
+            controller.resume();
+            for(CompletableFuture<Void> f : results)
+            {
+                f.join();
+            }
+            ConnectionMetrics cm2 =
+                (ConnectionMetrics)clientMetrics.getMetricsView("View").returnValue.get("Connection")[0];
+            test(cm2.getSentMessages() - cm1.getSentMessages() == 1001);
+
+            //
+            // A gathering write sends up to 64 messages, the large request
+            // needs a few writes.
+            //
+            long writes = cm2.getWrites() - cm1.getWrites();
+            test(writes >= 1000 / 64 && writes < 100);
+
+            out.println("ok");
+        }
+
+        if(!collocated)
+        {
+            out.print("testing host cache metrics... ");
+            out.flush();
+
+            com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+            initData.properties = communicator.getProperties()._clone();
+            for(String key : initData.properties.getPropertiesForPrefix("IceMX").keySet())
+            {
+                initData.properties.setProperty(key, "");
+            }
+            initData.properties.setProperty("Ice.Admin.InstanceName", "hostcache");
+            initData.properties.setProperty("Ice.HostResolver.CacheTTL", "60");
+            initData.properties.setProperty("Ice.HostResolver.NegativeCacheTTL", "60");
+            initData.properties.setProperty("Ice.RetryIntervals", "-1");
+            initData.properties.setProperty("IceMX.Metrics.View.Map.HostCache.GroupBy", "result");
+            com.zeroc.Ice.Communicator hostCacheCommunicator = app.initialize(initData);
+            try
+            {
+                MetricsAdminPrx hostCacheMetrics =
+                    MetricsAdminPrx.checkedCast(hostCacheCommunicator.getAdmin(), "Metrics");
+                test(hostCacheMetrics.getMetricsView("View").returnValue.get("HostCache").length == 0);
+
+                //
+                // Concurrent lookups of the same host are coalesced, later
+                // lookups are cache hits.
+                //
+                MetricsPrx prx = MetricsPrx.uncheckedCast(
+                    hostCacheCommunicator.stringToProxy("metrics:" + protocol + " -h localhost -p " + port));
+                java.util.List<CompletableFuture<Void>> results = new java.util.ArrayList<>();
+                for(int i = 0; i < 5; ++i)
+                {
+                    results.add(prx.ice_connectionId("Con" + i).ice_pingAsync());
+                }
+                for(CompletableFuture<Void> f : results)
+                {
+                    f.join();
+                }
+
+                map = toMap(hostCacheMetrics.getMetricsView("View").returnValue.get("HostCache"));
+                long misses = map.get("miss").total;
+                long coalesced = map.containsKey("coalesced") ? map.get("coalesced").total : 0;
+                long hits = map.containsKey("hit") ? map.get("hit").total : 0;
+                test(misses >= 1 && misses + coalesced + hits == 5);
+
+                prx.ice_connectionId("Con5").ice_ping();
+                map = toMap(hostCacheMetrics.getMetricsView("View").returnValue.get("HostCache"));
+                test(map.get("miss").total == misses && map.get("hit").total == hits + 1);
+                test(map.get("hit").failures == 0);
+
+                //
+                // DNS failures are cached with Ice.HostResolver.NegativeCacheTTL.
+                //
+                prx = MetricsPrx.uncheckedCast(
+                    hostCacheCommunicator.stringToProxy("metrics:" + protocol + " -h unknown.invalid -p " + port));
+                for(int i = 0; i < 2; ++i)
+                {
+                    try
+                    {
+                        prx.ice_ping();
+                        test(false);
+                    }
+                    catch(com.zeroc.Ice.DNSException ex)
+                    {
+                    }
+                }
+                map = toMap(hostCacheMetrics.getMetricsView("View").returnValue.get("HostCache"));
+                test(map.get("miss").total == misses + 1 && map.get("hit").total == hits + 2);
+                test(map.get("hit").failures == 1);
+
+                com.zeroc.Ice.PropertiesAdminPrx hostCacheProps =
+                    com.zeroc.Ice.PropertiesAdminPrx.checkedCast(hostCacheCommunicator.getAdmin(), "Properties");
+                Connect c = new Connect(hostCacheCommunicator.stringToProxy(
+                                            "metrics:" + protocol + " -h localhost -p " + port));
+                testAttribute(hostCacheMetrics, hostCacheProps, "HostCache", "parent", "Communicator", c, out);
+                testAttribute(hostCacheMetrics, hostCacheProps, "HostCache", "result", "hit", c, out);
+                testAttribute(hostCacheMetrics, hostCacheProps, "HostCache", "host", "localhost", c, out);
+                testAttribute(hostCacheMetrics, hostCacheProps, "HostCache", "port", port, c, out);
+            }
+            finally
+            {
+                hostCacheCommunicator.destroy();
+            }
+
+            out.println("ok");
+        }
+
         out.print("testing metrics view enable/disable...");
         out.flush();
 
@@ -0,0 +1,23 @@
+# -*- coding: utf-8 -*-
+# **********************************************************************
+#
+# Copyright (c) 2003-2017 ZeroC, Inc. All rights reserved.
+#
+# This copy of Ice is licensed to you under the terms described in the
+# ICE_LICENSE file included in this distribution.
+#
+# **********************************************************************
+
+#
+# The client and server thread pools are also tested with several selectors,
+# their connections are spread over the selectors of the thread pools.
+#
+TestSuite(__name__, [
+    ClientServerTestCase(),
+    ClientAMDServerTestCase(),
+    CollocatedTestCase(),
+    ClientServerTestCase("client/server with multiple selectors",
+                         props={ "Ice.ThreadPool.Client.Selectors" : 2, "Ice.ThreadPool.Server.Selectors" : 2 }),
+    ClientAMDServerTestCase("client/amd server with multiple selectors",
+                            props={ "Ice.ThreadPool.Client.Selectors" : 2, "Ice.ThreadPool.Server.Selectors" : 2 }),
+])
@@ -22,6 +22,51 @@ public class Client extends test.Util.Application
         }
     }
 
+    static class WarningLogger implements com.zeroc.Ice.Logger
+    {
+        @Override
+        public void print(String message)
+        {
+        }
+
+        @Override
+        public void trace(String category, String message)
+        {
+        }
+
+        @Override
+        public void warning(String message)
+        {
+            _warnings.add(message);
+        }
+
+        @Override
+        public void error(String message)
+        {
+        }
+
+        @Override
+        public String getPrefix()
+        {
+            return "";
+        }
+
+        @Override
+        public com.zeroc.Ice.Logger cloneWithPrefix(String prefix)
+        {
+            return this;
+        }
+
+        java.util.List<String> getWarnings()
+        {
+            java.util.List<String> warnings = new java.util.ArrayList<>(_warnings);
+            _warnings.clear();
+            return warnings;
+        }
+
+        private final java.util.List<String> _warnings = new java.util.ArrayList<>();
+    }
+
     class PropertiesClient extends com.zeroc.Ice.Application
     {
         @Override
@@ -102,6 +147,67 @@ public class Client extends test.Util.Application
             System.out.println("ok");
         }
 
+        {
+            System.out.print("testing property name validation... ");
+            com.zeroc.Ice.Logger processLogger = Util.getProcessLogger();
+            WarningLogger logger = new WarningLogger();
+            Util.setProcessLogger(logger);
+            try
+            {
+                Properties properties = Util.createProperties();
+
+                properties.setProperty("Ice.Trace.Network", "1");
+                properties.setProperty("Ice.Default.Locator.Context.Foo", "1");
+                properties.setProperty("Foo.Bar", "1");
+                properties.setProperty("NoDot", "1");
+                test(logger.getWarnings().isEmpty());
+
+                properties.setProperty("Ice.Trace.Foo", "1");
+                java.util.List<String> warnings = logger.getWarnings();
+                test(warnings.size() == 1 && warnings.get(0).equals("unknown property: Ice.Trace.Foo"));
+                test(properties.getProperty("Ice.Trace.Foo").equals("1"));
+
+                properties.setProperty("ice.trace.network", "2");
+                warnings = logger.getWarnings();
+                test(warnings.size() == 1 && warnings.get(0).equals(
+                         "unknown property: `ice.trace.network'; did you mean `Ice.Trace.Network'"));
+                test(properties.getProperty("ice.trace.network").equals("2"));
+                test(properties.getProperty("Ice.Trace.Network").equals("1"));
+
+                properties.setProperty("ICE.DEFAULT.LOCATOR", "locator");
+                warnings = logger.getWarnings();
+                test(warnings.size() == 1 && warnings.get(0).equals(
+                         "unknown property: `ICE.DEFAULT.LOCATOR'; did you mean `Ice.Default.Locator'"));
+
+                properties.setProperty("Ice.BatchAutoFlush", "1");
+                warnings = logger.getWarnings();
+                test(warnings.size() == 1 && warnings.get(0).equals("deprecated property: Ice.BatchAutoFlush"));
+                test(properties.getProperty("Ice.BatchAutoFlush").equals("1"));
+
+                properties.setProperty("IceSSL.CertAuthFile", "cacert.pem");
+                warnings = logger.getWarnings();
+                test(warnings.size() == 1 && warnings.get(0).equals("deprecated property: IceSSL.CertAuthFile"));
+                test(properties.getProperty("IceSSL.CertAuthFile").isEmpty());
+                test(properties.getProperty("IceSSL.CAs").equals("cacert.pem"));
+
+                //
+                // Command-line properties are validated when parsed.
+                //
+                String[] args1 = new String[]{"--Ice.Trace.Bar=1", "--IceSSL.CertAuthDir=certs"};
+                properties = Util.createProperties(args1);
+                warnings = logger.getWarnings();
+                test(warnings.size() == 2);
+                test(warnings.get(0).equals("unknown property: Ice.Trace.Bar"));
+                test(warnings.get(1).equals("deprecated property: IceSSL.CertAuthDir"));
+                test(properties.getProperty("IceSSL.CAs").equals("certs"));
+            }
+            finally
+            {
+                Util.setProcessLogger(processLogger);
+            }
+            System.out.println("ok");
+        }
+
         return 0;
     }
 
@@ -211,6 +211,161 @@ public class Client extends test.Util.Application
 
         printWriter.println("ok");
 
+        printWriter.print("testing strings... ");
+        printWriter.flush();
+
+        {
+            StringBuilder ascii = new StringBuilder();
+            StringBuilder latin = new StringBuilder();
+            StringBuilder cjk = new StringBuilder();
+            for(int i = 0; i < 300; ++i)
+            {
+                ascii.append((char)('a' + i % 26));
+                latin.append('\u00e9');
+                cjk.append('\u4e2d');
+            }
+
+            final String[] strings =
+            {
+                "",
+                "hello world",
+                "h\u00e9llo w\u00f6rld",
+                "\u4e2d\u56fd",
+                "\ud83d\ude00 smile \ud83d\ude00",
+                ascii.substring(0, 254), // 254 bytes, the size is encoded with 1 byte.
+                ascii.substring(0, 255), // 255 bytes, the size is encoded with 5 bytes.
+                ascii.substring(0, 253) + "\u00e9", // 254 characters encoded with 255 bytes.
+                ascii.substring(0, 252) + "\u00e9", // 253 characters encoded with 254 bytes.
+                ascii.substring(0, 200) + "\u4e2d" + ascii.substring(0, 53), // 254 characters, 256 bytes.
+                latin.substring(0, 127), // 254 bytes.
+                latin.substring(0, 128), // 256 bytes.
+                cjk.substring(0, 84), // 252 bytes.
+                cjk.substring(0, 85), // 255 bytes.
+                cjk.toString(),
+                ascii.substring(0, 250) + "\ud83d\ude00", // 252 characters, 254 bytes.
+                ascii.substring(0, 251) + "\ud83d\ude00", // 253 characters, 255 bytes.
+            };
+
+            for(boolean direct : new boolean[] { false, true })
+            {
+                for(String str : strings)
+                {
+                    out = new OutputStream(comm, direct);
+                    out.writeInt(7);
+                    out.writeString(str);
+                    out.writeInt(8);
+                    byte[] data = out.finished();
+
+                    //
+                    // Check the encoding against the UTF-8 encoder of the JDK.
+                    //
+                    byte[] utf8 = str.getBytes(java.nio.charset.StandardCharsets.UTF_8);
+                    int sizeLen = utf8.length < 255 ? 1 : 5;
+                    test(data.length == 4 + sizeLen + utf8.length + 4);
+                    java.nio.ByteBuffer buf = java.nio.ByteBuffer.wrap(data).order(java.nio.ByteOrder.LITTLE_ENDIAN);
+                    if(sizeLen == 1)
+                    {
+                        test((buf.get(4) & 0xff) == utf8.length);
+                    }
+                    else
+                    {
+                        test(buf.get(4) == (byte)-1 && buf.getInt(5) == utf8.length);
+                    }
+                    for(int i = 0; i < utf8.length; ++i)
+                    {
+                        test(data[4 + sizeLen + i] == utf8[i]);
+                    }
+
+                    //
+                    // Read the string from a heap buffer and from a direct buffer.
+                    //
+                    java.nio.ByteBuffer directBuf = java.nio.ByteBuffer.allocateDirect(data.length);
+                    directBuf.put(data);
+                    directBuf.flip();
+                    for(InputStream is : new InputStream[] { new InputStream(comm, data),
+                                                             new InputStream(comm, directBuf) })
+                    {
+                        test(is.readInt() == 7);
+                        test(is.readString().equals(str));
+                        test(is.readInt() == 8);
+                    }
+                }
+
+                //
+                // A string with an unpaired surrogate can't be encoded, the
+                // stream is left unchanged.
+                //
+                final String[] invalid =
+                {
+                    "\ud800",
+                    "\udc00",
+                    "a\ud800b",
+                    "ab\udc00\ud800",
+                    "\u00e9\ud83d",
+                    ascii.substring(0, 254) + "\ud800",
+                };
+                for(String str : invalid)
+                {
+                    out = new OutputStream(comm, direct);
+                    out.writeInt(7);
+                    try
+                    {
+                        out.writeString(str);
+                        test(false);
+                    }
+                    catch(com.zeroc.Ice.MarshalException ex)
+                    {
+                    }
+                    out.writeString("ok");
+                    byte[] data = out.finished();
+                    test(data.length == 4 + 1 + 2);
+                    in = new InputStream(comm, data);
+                    test(in.readInt() == 7);
+                    test(in.readString().equals("ok"));
+                }
+            }
+
+            //
+            // Malformed UTF-8 sequences raise MarshalException.
+            //
+            final byte[][] malformed =
+            {
+                { (byte)0x80 }, // Unexpected continuation byte.
+                { 'a', (byte)0xc3 }, // Truncated sequence.
+                { (byte)0xc3, 'a' }, // Missing continuation byte.
+                { (byte)0xc0, (byte)0x80 }, // Overlong encoding.
+                { (byte)0xe0, (byte)0x80, (byte)0xaf }, // Overlong encoding.
+                { (byte)0xed, (byte)0xa0, (byte)0x80 }, // Surrogate.
+                { (byte)0xf4, (byte)0x90, (byte)0x80, (byte)0x80 }, // Above U+10FFFF.
+                { (byte)0xff },
+                { 'a', 'b', (byte)0xe4, (byte)0xb8 }, // Truncated sequence.
+            };
+            for(byte[] bytes : malformed)
+            {
+                byte[] data = new byte[bytes.length + 1];
+                data[0] = (byte)bytes.length;
+                System.arraycopy(bytes, 0, data, 1, bytes.length);
+
+                java.nio.ByteBuffer directBuf = java.nio.ByteBuffer.allocateDirect(data.length);
+                directBuf.put(data);
+                directBuf.flip();
+                for(InputStream is : new InputStream[] { new InputStream(comm, data),
+                                                         new InputStream(comm, directBuf) })
+                {
+                    try
+                    {
+                        is.readString();
+                        test(false);
+                    }
+                    catch(com.zeroc.Ice.MarshalException ex)
+                    {
+                    }
+                }
+            }
+        }
+
+        printWriter.println("ok");
+
         printWriter.print("testing constructed types... ");
         printWriter.flush();
 
@@ -23,6 +23,83 @@ public class AllTests
         }
     }
 
+    static class ErrorLogger implements com.zeroc.Ice.Logger
+    {
+        @Override
+        public void print(String message)
+        {
+        }
+
+        @Override
+        public void trace(String category, String message)
+        {
+        }
+
+        @Override
+        public void warning(String message)
+        {
+        }
+
+        @Override
+        public void error(String message)
+        {
+            _errors.add(message);
+        }
+
+        @Override
+        public String getPrefix()
+        {
+            return "";
+        }
+
+        @Override
+        public com.zeroc.Ice.Logger cloneWithPrefix(String prefix)
+        {
+            return this;
+        }
+
+        java.util.List<String> getErrors()
+        {
+            return _errors;
+        }
+
+        private final java.util.List<String> _errors = new java.util.ArrayList<>();
+    }
+
+    //
+    // Runs a service manager with the given dependencies in this process, the
+    // service manager must fail before starting any service.
+    //
+    private static void testInvalidDependencies(test.Util.Application app, String[] dependencies, String error)
+    {
+        com.zeroc.Ice.InitializationData initData = app.createInitializationData();
+        initData.properties = com.zeroc.Ice.Util.createProperties();
+        initData.properties.setProperty("IceBox.Service.Service1", "test.IceBox.configuration.TestServiceI");
+        initData.properties.setProperty("IceBox.Service.Service2", "test.IceBox.configuration.TestServiceI");
+        initData.properties.setProperty("IceBox.Service.Service3", "test.IceBox.configuration.TestServiceI");
+        initData.properties.setProperty("IceBox.LoadOrder", "Service1 Service2 Service3");
+        for(int i = 0; i < dependencies.length; i += 2)
+        {
+            initData.properties.setProperty("IceBox.DependsOn." + dependencies[i], dependencies[i + 1]);
+        }
+        ErrorLogger logger = new ErrorLogger();
+        initData.logger = logger;
+        com.zeroc.Ice.Communicator communicator = app.initialize(initData);
+        try
+        {
+            com.zeroc.IceBox.ServiceManagerI serviceManager =
+                new com.zeroc.IceBox.ServiceManagerI(communicator, new String[0]);
+            test(serviceManager.run() == 1);
+            test(logger.getErrors().size() == 1);
+            test(logger.getErrors().get(0).startsWith(error));
+            test(TestServiceI.getStartOrder().length == 0);
+        }
+        finally
+        {
+            communicator.destroy();
+        }
+    }
+
     public static void allTests(test.Util.Application app)
     {
         com.zeroc.Ice.Communicator communicator=app.communicator();
@@ -31,6 +108,8 @@ public class AllTests
         TestIntfPrx service2 = TestIntfPrx.uncheckedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(1)));
         TestIntfPrx service3 = TestIntfPrx.uncheckedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(2)));
         TestIntfPrx service4 = TestIntfPrx.uncheckedCast(communicator.stringToProxy("test:" + app.getTestEndpoint(3)));
+        com.zeroc.IceBox.ServiceStartTimesPrx startTimes = com.zeroc.IceBox.ServiceStartTimesPrx.uncheckedCast(
+            communicator.stringToProxy("DemoIceBox/admin -f IceBox.StartTimes:default -p 9996"));
 
         if(service1.getProperty("IceBox.InheritProperties").equals(""))
         {
@@ -75,6 +154,25 @@ public class AllTests
             test(java.util.Arrays.equals(service4.getArgs(), args4));
 
             out.println("ok");
+
+            out.print("testing service dependencies... ");
+            out.flush();
+
+            String[] startOrder = {"Service3", "Service1", "Service4", "Service2"};
+            test(java.util.Arrays.equals(service1.getStartOrder(), startOrder));
+            test(startTimes.getStartTimes().keySet().equals(
+                     new java.util.HashSet<>(java.util.Arrays.asList(startOrder))));
+
+            testInvalidDependencies(app, new String[] { "Service1", "Service2", "Service2", "Service1" },
+                                    "ServiceManager: circular dependency between services Service1, Service2");
+            testInvalidDependencies(app, new String[] { "Service1", "Service2", "Service2", "Service3",
+                                                        "Service3", "Service1" },
+                                    "ServiceManager: circular dependency between services Service1, Service2, " +
+                                    "Service3");
+            testInvalidDependencies(app, new String[] { "Service2", "Service1 Service4" },
+                                    "ServiceManager: service `Service2' depends on unknown service `Service4'");
+
+            out.println("ok");
         }
         else
         {
@@ -95,6 +193,16 @@ public class AllTests
             test(service2.getProperty("Service2.Prop").equals("1"));
 
             out.println("ok");
+
+            out.print("testing concurrent start with service dependencies... ");
+            out.flush();
+
+            String[] startOrder = {"Service2", "Service1"};
+            test(java.util.Arrays.equals(service1.getStartOrder(), startOrder));
+            test(startTimes.getStartTimes().keySet().equals(
+                     new java.util.HashSet<>(java.util.Arrays.asList(startOrder))));
+
+            out.println("ok");
         }
     }
 }
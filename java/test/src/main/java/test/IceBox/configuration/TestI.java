@@ -29,6 +29,12 @@ public class TestI implements TestIntf
     {
         return _args;
     }
+
+    @Override
+    public String[] getStartOrder(com.zeroc.Ice.Current current)
+    {
+        return TestServiceI.getStartOrder();
+    }
     
     final private String[] _args;
 }
@@ -14,6 +14,11 @@ public class TestServiceI implements com.zeroc.IceBox.Service
     @Override
     public void start(String name, com.zeroc.Ice.Communicator communicator, String[] args)
     {
+        synchronized(_startOrder)
+        {
+            _startOrder.add(name);
+        }
+
         communicator.getProperties().setProperty("Ice.Package.Test", "test.IceBox.configuration");
         
         com.zeroc.Ice.ObjectAdapter adapter = communicator.createObjectAdapter(name + "OA");
@@ -25,4 +30,14 @@ public class TestServiceI implements com.zeroc.IceBox.Service
     public void stop()
     {
     }
+
+    static String[] getStartOrder()
+    {
+        synchronized(_startOrder)
+        {
+            return _startOrder.toArray(new String[0]);
+        }
+    }
+
+    private static final java.util.List<String> _startOrder = new java.util.ArrayList<>();
 }